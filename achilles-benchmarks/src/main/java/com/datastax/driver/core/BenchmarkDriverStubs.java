@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.datastax.driver.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Build real driver rows and prepared statements without any connection to Cassandra.
+ * This class lives in the driver package to reach package-private constructors, like
+ * {@link com.datastax.driver.core.UserTypeBuilder} does in achilles-core
+ */
+public class BenchmarkDriverStubs {
+
+    public static final ProtocolVersion PROTOCOL_VERSION = ProtocolVersion.V4;
+
+    public static ColumnDefinitions columnDefinitions(String keyspace, String table, Map<String, DataType> columns, CodecRegistry codecRegistry) {
+        final ColumnDefinitions.Definition[] definitions = columns
+                .entrySet()
+                .stream()
+                .map(entry -> new ColumnDefinitions.Definition(keyspace, table, entry.getKey(), entry.getValue()))
+                .toArray(ColumnDefinitions.Definition[]::new);
+        return new ColumnDefinitions(definitions, codecRegistry);
+    }
+
+    public static Row row(ColumnDefinitions columnDefinitions, List<ByteBuffer> serializedValues) {
+        return ArrayBackedRow.fromData(columnDefinitions, null, PROTOCOL_VERSION, serializedValues);
+    }
+
+    public static PreparedStatement preparedStatement(Cluster cluster, String keyspace, String queryString, ColumnDefinitions variables) {
+        final MD5Digest digest = MD5Digest.wrap(Hashing.md5().hashString(queryString, UTF_8).asBytes());
+        final PreparedId preparedId = new PreparedId(new PreparedId.PreparedMetadata(digest, variables),
+                new PreparedId.PreparedMetadata(null, null), new int[0], PROTOCOL_VERSION);
+        return new DefaultPreparedStatement(preparedId, queryString, keyspace, null, cluster);
+    }
+}
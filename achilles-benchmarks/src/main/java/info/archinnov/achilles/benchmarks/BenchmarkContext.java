@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks;
+
+import static com.datastax.driver.core.BenchmarkDriverStubs.PROTOCOL_VERSION;
+import static info.archinnov.achilles.benchmarks.entities.BenchmarkEntity.KEYSPACE;
+import static info.archinnov.achilles.benchmarks.entities.BenchmarkEntity.TABLE;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.core.querybuilder.Insert;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import info.archinnov.achilles.benchmarks.entities.BenchmarkEntity;
+import info.archinnov.achilles.benchmarks.entities.BenchmarkUDT;
+import info.archinnov.achilles.generated.manager.BenchmarkEntity_Manager;
+import info.archinnov.achilles.generated.meta.entity.BenchmarkEntity_AchillesMeta;
+import info.archinnov.achilles.internals.cache.StatementsCache;
+import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.factory.DefaultBeanFactory;
+import info.archinnov.achilles.internals.factory.TupleTypeFactory;
+import info.archinnov.achilles.internals.factory.UserTypeFactory;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.runtime.BeanValueExtractor;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.json.DefaultJacksonMapperFactory;
+import info.archinnov.achilles.type.CompletionMode;
+import info.archinnov.achilles.type.factory.BeanFactory;
+import info.archinnov.achilles.type.strategy.InsertStrategy;
+
+/**
+ * Wire the generated meta classes of {@link BenchmarkEntity} the way the ManagerFactory does at bootstrap,
+ * but against a never connected {@link Cluster} and a stub {@link Session}. The stub session prepares
+ * statements locally, resolving the type of each bind marker from the entity columns, so that no Cassandra
+ * instance is needed
+ * <br/>
+ * <br/>
+ * Run all benchmarks with <strong>java -jar achilles-benchmarks/target/benchmarks.jar</strong>
+ */
+public class BenchmarkContext {
+
+    private static final Pattern BIND_MARKER = Pattern.compile(":(\\w+)");
+
+    public final Cluster cluster;
+    public final CodecRegistry codecRegistry;
+    public final Session session;
+    public final RuntimeEngine rte;
+    public final BenchmarkEntity_AchillesMeta meta = new BenchmarkEntity_AchillesMeta();
+    public final BenchmarkEntity_Manager manager;
+
+    private final Map<String, DataType> columnTypes = new LinkedHashMap<>();
+    private final ColumnDefinitions rowDefinitions;
+
+    public BenchmarkContext() {
+        this(new DefaultBeanFactory());
+    }
+
+    public BenchmarkContext(BeanFactory beanFactory) {
+        this.cluster = Cluster.builder().addContactPoint("127.0.0.1").withoutJMXReporting().build();
+        this.codecRegistry = cluster.getConfiguration().getCodecRegistry();
+        this.session = stubSession();
+
+        final ConfigurationContext configContext = new ConfigurationContext();
+        configContext.setSession(session);
+        configContext.setCurrentKeyspace(Optional.of(KEYSPACE));
+        configContext.setStatementsCache(new StatementsCache(10000));
+        configContext.setExecutorService(MoreExecutors.newDirectExecutorService());
+        configContext.setCompletionMode(CompletionMode.DIRECT);
+        configContext.setDefaultBeanFactory(beanFactory);
+        configContext.setJacksonMapperFactory(new DefaultJacksonMapperFactory());
+        configContext.setGlobalInsertStrategy(InsertStrategy.ALL_FIELDS);
+        configContext.setInterceptors(new ArrayList<>());
+        configContext.setDefaultReadConsistencyLevel(Optional.empty());
+        configContext.setDefaultWriteConsistencyLevel(Optional.empty());
+        configContext.setDefaultSerialConsistencyLevel(Optional.empty());
+        configContext.setDMLResultsDisplaySize(CassandraOptions.MAX_RESULTS_DISPLAY_SIZE);
+
+        this.rte = new RuntimeEngine(configContext);
+        rte.tupleTypeFactory = new TupleTypeFactory(PROTOCOL_VERSION, codecRegistry);
+        rte.userTypeFactory = new UserTypeFactory(PROTOCOL_VERSION, codecRegistry);
+        configContext.injectDependencies(rte.tupleTypeFactory, rte.userTypeFactory, meta);
+        meta.injectConsistencyLevels(session, configContext);
+
+        for (AbstractProperty<BenchmarkEntity, ?, ?> column : meta.allColumns) {
+            columnTypes.put(column.fieldInfo.cqlColumn, column.getDataType());
+        }
+        this.rowDefinitions = BenchmarkDriverStubs.columnDefinitions(KEYSPACE, TABLE, columnTypes, codecRegistry);
+        columnTypes.put("ttl", DataType.cint());
+
+        this.manager = new BenchmarkEntity_Manager(BenchmarkEntity.class, meta, rte);
+    }
+
+    public BenchmarkEntity newEntity(long id) {
+        final BenchmarkEntity entity = new BenchmarkEntity();
+        entity.setId(id);
+        entity.setBucket((int) (id % 16));
+        entity.setValue("value_" + id);
+        entity.setTags(Arrays.asList("tag1", "tag2", "tag3", "tag4", "tag5"));
+        final Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 5; i++) {
+            counts.put("count" + i, i);
+        }
+        entity.setCounts(counts);
+        entity.setAddress(new BenchmarkUDT("Champs Elysees", 1, Arrays.asList("line1", "line2")));
+        final Map<String, List<Integer>> metadata = new HashMap<>();
+        metadata.put("primes", Arrays.asList(2, 3, 5, 7, 11));
+        metadata.put("evens", Arrays.asList(2, 4, 6, 8, 10));
+        entity.setMetadata(metadata);
+        return entity;
+    }
+
+    /**
+     * Build a driver {@link Row} holding the serialized columns of the given entity,
+     * as it would be returned by <strong>SELECT * FROM achilles_benchmarks.benchmark_entity</strong>
+     */
+    public Row rowFor(BenchmarkEntity entity) {
+        final List<Object> encodedValues = BeanValueExtractor
+                .extractAllValues(entity, meta, new CassandraOptions())
+                .getEncodedValues();
+        final List<ByteBuffer> serializedValues = new ArrayList<>();
+        int index = 0;
+        for (ColumnDefinitions.Definition definition : rowDefinitions) {
+            serializedValues.add(codecRegistry.codecFor(definition.getType()).serialize(encodedValues.get(index++), PROTOCOL_VERSION));
+        }
+        return BenchmarkDriverStubs.row(rowDefinitions, serializedValues);
+    }
+
+    /**
+     * Same statement as the static INSERT statement generated for the entity: all columns followed by the ttl
+     */
+    public PreparedStatement prepareInsert() {
+        final Insert insert = QueryBuilder.insertInto(KEYSPACE, TABLE);
+        for (AbstractProperty<BenchmarkEntity, ?, ?> column : meta.allColumns) {
+            insert.value(column.fieldInfo.quotedCqlColumn, QueryBuilder.bindMarker(column.fieldInfo.cqlColumn));
+        }
+        insert.using(QueryBuilder.ttl(QueryBuilder.bindMarker("ttl")));
+        return session.prepare(insert);
+    }
+
+    private PreparedStatement prepareLocally(String queryString) {
+        final Map<String, DataType> variables = new LinkedHashMap<>();
+        final Matcher matcher = BIND_MARKER.matcher(queryString);
+        while (matcher.find()) {
+            final String marker = matcher.group(1);
+            variables.put(marker, columnTypes.get(marker));
+        }
+        return BenchmarkDriverStubs.preparedStatement(cluster, KEYSPACE, queryString,
+                BenchmarkDriverStubs.columnDefinitions(KEYSPACE, TABLE, variables, codecRegistry));
+    }
+
+    private Session stubSession() {
+        return (Session) Proxy.newProxyInstance(Session.class.getClassLoader(), new Class<?>[]{Session.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "prepare":
+                    return prepareLocally(queryStringOf(args[0]));
+                case "prepareAsync":
+                    return Futures.immediateFuture(prepareLocally(queryStringOf(args[0])));
+                case "getCluster":
+                    return cluster;
+                case "getLoggedKeyspace":
+                    return KEYSPACE;
+                case "toString":
+                    return "BenchmarkStubSession";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    throw new UnsupportedOperationException(String.format("Stub session does not support '%s'", method.getName()));
+            }
+        });
+    }
+
+    private static String queryStringOf(Object statement) {
+        return statement instanceof RegularStatement ? ((RegularStatement) statement).getQueryString() : statement.toString();
+    }
+}
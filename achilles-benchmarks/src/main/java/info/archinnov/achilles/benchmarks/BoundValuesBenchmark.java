@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+
+import info.archinnov.achilles.benchmarks.entities.BenchmarkEntity;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.runtime.BeanValueExtractor;
+import info.archinnov.achilles.internals.statements.BoundValuesWrapper;
+import info.archinnov.achilles.type.strategy.InsertStrategy;
+
+/**
+ * Extraction of the entity values and binding to the static INSERT statement
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoundValuesBenchmark {
+
+    private BenchmarkContext context;
+    private BenchmarkEntity entity;
+    private PreparedStatement insert;
+    private CassandraOptions options;
+
+    @Setup
+    public void setUp() {
+        context = new BenchmarkContext();
+        entity = context.newEntity(1L);
+        insert = context.prepareInsert();
+        options = new CassandraOptions();
+    }
+
+    @Benchmark
+    public BoundValuesWrapper extractAllValues() {
+        return BeanValueExtractor.extractAllValues(entity, context.meta, options);
+    }
+
+    @Benchmark
+    public BoundStatement bindWithAllFieldsStrategy() {
+        return BeanValueExtractor.extractAllValues(entity, context.meta, options)
+                .bindWithInsertStrategy(insert, InsertStrategy.ALL_FIELDS)
+                .getBoundStatement();
+    }
+
+    @Benchmark
+    public BoundStatement bindWithNotNullFieldsStrategy() {
+        return BeanValueExtractor.extractAllValues(entity, context.meta, options)
+                .bindWithInsertStrategy(insert, InsertStrategy.NOT_NULL_FIELDS)
+                .getBoundStatement();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks;
+
+import static info.archinnov.achilles.generated.meta.entity.BenchmarkEntity_AchillesMeta.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.datastax.driver.core.UDTValue;
+
+import info.archinnov.achilles.benchmarks.entities.BenchmarkEntity;
+import info.archinnov.achilles.benchmarks.entities.BenchmarkUDT;
+
+/**
+ * Encoding and decoding of the collection, UDT and JSON columns
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    private BenchmarkEntity entity;
+    private List<String> encodedTags;
+    private Map<String, Integer> encodedCounts;
+    private UDTValue encodedAddress;
+    private String encodedMetadata;
+
+    @Setup
+    public void setUp() {
+        final BenchmarkContext context = new BenchmarkContext();
+        entity = context.newEntity(1L);
+        encodedTags = tags.encodeFromJava(entity.getTags());
+        encodedCounts = counts.encodeFromJava(entity.getCounts());
+        encodedAddress = address.encodeFromJava(entity.getAddress());
+        encodedMetadata = metadata.encodeFromJava(entity.getMetadata());
+    }
+
+    @Benchmark
+    public List<String> encodeList() {
+        return tags.encodeFromJava(entity.getTags());
+    }
+
+    @Benchmark
+    public List<String> decodeList() {
+        return tags.decodeFromRaw(encodedTags);
+    }
+
+    @Benchmark
+    public Map<String, Integer> encodeMap() {
+        return counts.encodeFromJava(entity.getCounts());
+    }
+
+    @Benchmark
+    public Map<String, Integer> decodeMap() {
+        return counts.decodeFromRaw(encodedCounts);
+    }
+
+    @Benchmark
+    public UDTValue encodeUDT() {
+        return address.encodeFromJava(entity.getAddress());
+    }
+
+    @Benchmark
+    public BenchmarkUDT decodeUDT() {
+        return address.decodeFromRaw(encodedAddress);
+    }
+
+    @Benchmark
+    public String encodeJSON() {
+        return metadata.encodeFromJava(entity.getMetadata());
+    }
+
+    @Benchmark
+    public Map<String, List<Integer>> decodeJSON() {
+        return metadata.decodeFromRaw(encodedMetadata);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+
+/**
+ * Construction of DSL queries and lookup of their prepared statement. The cache is warmed up
+ * during setup so that the benchmarks measure the hit path
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DSLQueryBenchmark {
+
+    private BenchmarkContext context;
+    private String selectQueryString;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        context = new BenchmarkContext();
+        selectQueryString = context.manager.dsl().select().allColumns_FromBaseTable().where()
+                .id().Eq(0L)
+                .bucket().Eq(0)
+                .getStatementAsString();
+        context.rte.cache.getDynamicCache(selectQueryString, context.session);
+    }
+
+    @Benchmark
+    public String buildSelectQueryString() {
+        id++;
+        return context.manager.dsl().select().allColumns_FromBaseTable().where()
+                .id().Eq(id)
+                .bucket().Eq(1)
+                .getStatementAsString();
+    }
+
+    @Benchmark
+    public BoundStatement buildAndBindSelect() {
+        id++;
+        return context.manager.dsl().select().allColumns_FromBaseTable().where()
+                .id().Eq(id)
+                .bucket().Eq(1)
+                .generateAndGetBoundStatement();
+    }
+
+    @Benchmark
+    public BoundStatement buildAndBindUpdate() {
+        id++;
+        return context.manager.dsl().update().fromBaseTable()
+                .value().Set("value_" + id)
+                .where()
+                .id().Eq(id)
+                .bucket().Eq(1)
+                .generateAndGetBoundStatement();
+    }
+
+    @Benchmark
+    public PreparedStatement getDynamicCache() {
+        return context.rte.cache.getDynamicCache(selectQueryString, context.session);
+    }
+}
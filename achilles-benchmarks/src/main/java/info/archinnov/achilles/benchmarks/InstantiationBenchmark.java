@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.benchmarks.entities.BenchmarkEntity;
+import info.archinnov.achilles.internals.factory.DefaultBeanFactory;
+import info.archinnov.achilles.type.factory.BeanFactory;
+
+/**
+ * Instantiation of entities through reflection ({@link DefaultBeanFactory#newInstance(Class)})
+ * versus the constructor reference generated on the entity meta class, alone and as part of
+ * the decoding of a {@link Row} holding a nested UDT
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstantiationBenchmark {
+
+    private final BeanFactory reflectiveBeanFactory = new DefaultBeanFactory();
+    private final Supplier<BenchmarkEntity> constructorReference = BenchmarkEntity::new;
+
+    private BenchmarkContext generatedContext;
+    private BenchmarkContext reflectiveContext;
+    private Row row;
+
+    @Setup
+    public void setUp() {
+        generatedContext = new BenchmarkContext();
+        // Any other bean factory than DefaultBeanFactory disables the generated instantiators
+        reflectiveContext = new BenchmarkContext(new DefaultBeanFactory() {
+        });
+        row = generatedContext.rowFor(generatedContext.newEntity(1L));
+    }
+
+    @Benchmark
+    public BenchmarkEntity reflectiveNewInstance() {
+        return reflectiveBeanFactory.newInstance(BenchmarkEntity.class);
+    }
+
+    @Benchmark
+    public BenchmarkEntity constructorReference() {
+        return constructorReference.get();
+    }
+
+    @Benchmark
+    public BenchmarkEntity createEntityFromWithReflection() {
+        return reflectiveContext.meta.createEntityFrom(row);
+    }
+
+    @Benchmark
+    public BenchmarkEntity createEntityFromWithGeneratedInstantiator() {
+        return generatedContext.meta.createEntityFrom(row);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.benchmarks.entities.BenchmarkEntity;
+import info.archinnov.achilles.internals.dsl.TypedMapAware;
+import info.archinnov.achilles.type.TypedMap;
+
+/**
+ * Decoding of a driver {@link Row} into an entity and into a {@link TypedMap}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMappingBenchmark {
+
+    private BenchmarkContext context;
+    private Row row;
+    private TypedMapAware typedMapAware;
+
+    @Setup
+    public void setUp() {
+        context = new BenchmarkContext();
+        row = context.rowFor(context.newEntity(1L));
+        typedMapAware = context.manager.dsl().select().allColumns_FromBaseTable().where().id().Eq(1L);
+    }
+
+    @Benchmark
+    public BenchmarkEntity createEntityFrom() {
+        return context.meta.createEntityFrom(row);
+    }
+
+    @Benchmark
+    public TypedMap mapRowToTypedMap() {
+        return typedMapAware.mapRowToTypedMap(row);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.runtime.BeanValueExtractor;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.strategy.InsertStrategy;
+
+/**
+ * DML logging and async listeners pipeline applied around each query execution,
+ * with the DML loggers disabled and no listener registered.
+ * <br/>
+ * <br/>
+ * Run with <strong>-prof gc</strong>: <em>gc.alloc.rate.norm</em> should be 0 B/op
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementLoggingBenchmark {
+
+    private StatementWrapper statementWrapper;
+    private CassandraOptions options;
+    private ResultSet resultSet;
+    private Row row;
+
+    @Setup
+    public void setUp() {
+        final BenchmarkContext context = new BenchmarkContext();
+        options = new CassandraOptions();
+        statementWrapper = BeanValueExtractor.extractAllValues(context.newEntity(1L), context.meta, options)
+                .bindWithInsertStrategy(context.prepareInsert(), InsertStrategy.ALL_FIELDS);
+        row = context.rowFor(context.newEntity(1L));
+
+        // Any access to the result set means the disabled path is not taken
+        resultSet = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException("Unexpected call to ResultSet." + method.getName());
+                });
+    }
+
+    @Benchmark
+    public ResultSet queryPipeline() {
+        statementWrapper.logDML();
+        final ResultSet rs = options.resultSetAsyncListener(resultSet);
+        return statementWrapper.logTrace(statementWrapper.logReturnResults(rs, CassandraOptions.MAX_RESULTS_DISPLAY_SIZE));
+    }
+
+    @Benchmark
+    public void rowPipeline(Blackhole blackhole) {
+        blackhole.consume(statementWrapper.logReturnedRow(options.rowAsyncListener(row)));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmarks.entities;
+
+import java.util.List;
+import java.util.Map;
+
+import info.archinnov.achilles.annotations.ClusteringColumn;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.Frozen;
+import info.archinnov.achilles.annotations.JSON;
+import info.archinnov.achilles.annotations.PartitionKey;
+import info.archinnov.achilles.annotations.Table;
+
+@Table(keyspace = BenchmarkEntity.KEYSPACE, table = BenchmarkEntity.TABLE)
+public class BenchmarkEntity {
+
+    public static final String KEYSPACE = "achilles_benchmarks";
+    public static final String TABLE = "benchmark_entity";
+
+    @PartitionKey
+    private Long id;
+
+    @ClusteringColumn
+    private Integer bucket;
+
+    @Column
+    private String value;
+
+    @Column
+    private List<String> tags;
+
+    @Column
+    private Map<String, Integer> counts;
+
+    @Frozen
+    @Column
+    private BenchmarkUDT address;
+
+    @JSON
+    @Column
+    private Map<String, List<Integer>> metadata;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(Integer bucket) {
+        this.bucket = bucket;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public Map<String, Integer> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<String, Integer> counts) {
+        this.counts = counts;
+    }
+
+    public BenchmarkUDT getAddress() {
+        return address;
+    }
+
+    public void setAddress(BenchmarkUDT address) {
+        this.address = address;
+    }
+
+    public Map<String, List<Integer>> getMetadata() {
+        return metadata;
+    }
+
+    public void setMetadata(Map<String, List<Integer>> metadata) {
+        this.metadata = metadata;
+    }
+}
@@ -17,6 +17,7 @@
 package info.archinnov.achilles.internals.futures;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 
 import com.google.common.util.concurrent.FutureCallback;
@@ -30,6 +31,10 @@ import com.google.common.util.concurrent.ListenableFuture;
 public class FutureUtils {
 
     public static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> listenableFuture, ExecutorService executor) {
+        return toCompletableFuture(listenableFuture, (Executor) executor);
+    }
+
+    public static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> listenableFuture, Executor executor) {
         CompletableFuture<T> completable = new CompletableListenableFuture<>(listenableFuture);
 
         Futures.addCallback(listenableFuture, new FutureCallback<T>() {
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.ConsistencyLevel;
@@ -32,15 +33,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import info.archinnov.achilles.configuration.ArgumentExtractor;
 import info.archinnov.achilles.configuration.ConfigurationParameters;
+import info.archinnov.achilles.internals.cache.EntityCacheSettings;
 import info.archinnov.achilles.internals.cache.StatementsCache;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.dsl.counter.CounterCoalescingSettings;
 import info.archinnov.achilles.internals.runtime.AbstractManagerFactory;
 import info.archinnov.achilles.internals.types.ConfigMap;
 import info.archinnov.achilles.json.JacksonMapperFactory;
+import info.archinnov.achilles.type.CompletionMode;
 import info.archinnov.achilles.type.SchemaNameProvider;
 import info.archinnov.achilles.type.codec.Codec;
 import info.archinnov.achilles.type.codec.CodecSignature;
 import info.archinnov.achilles.type.interceptor.Interceptor;
+import info.archinnov.achilles.type.metrics.MetricsRecorder;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
 import info.archinnov.achilles.validation.Validator;
 
@@ -188,6 +193,23 @@ public abstract class AbstractManagerFactoryBuilder<T extends AbstractManagerFac
         return getThis();
     }
 
+    /**
+     * Whether Achilles should prepare at start-up the statements of the most common DSL paths:
+     * <code>select().allColumns_FromBaseTable().where()</code> and <code>delete().allColumns_FromBaseTable().where()</code>
+     * restricted by the full primary key or by the partition key with equalities.
+     * They are prepared asynchronously together with the static statements.
+     * This only removes the prepare round trip of the first call: the DSL still
+     * renders its query string on each call to look up the prepared statement.
+     * Defaults to false.
+     *
+     * @return ManagerFactoryBuilder
+     * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Configuration-Parameters#prepared-statements-cache" target="_blank">Prepared statements cache</a>
+     */
+    public T prepareDSLTemplates(boolean prepareDSLTemplates) {
+        configMap.put(PREPARE_DSL_TEMPLATES, prepareDSLTemplates);
+        return getThis();
+    }
+
     /**
      * Define the pre-configured {@code com.datastax.driver.core.Session} object to
      * be used instead of creating a new one
@@ -281,6 +303,47 @@ public abstract class AbstractManagerFactoryBuilder<T extends AbstractManagerFac
         return getThis();
     }
 
+    /**
+     * Specify the maximum number of statements prepared concurrently at start-up.
+     * All static statements (insert, delete, find ...) of managed entities are prepared
+     * asynchronously and put into the cache as soon as their preparation completes.
+     * <br/><br/>
+     * Default value is <strong>16</strong>. Use <strong>1</strong> to prepare them one at a time.
+     *
+     * @return ManagerFactoryBuilder
+     * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Configuration-Parameters#prepared-statements-cache" target="_blank">Prepared statements cache</a>
+     */
+    public T withPreparedStatementsParallelism(int preparedStatementsParallelism) {
+        configMap.put(PREPARED_STATEMENTS_PARALLELISM, preparedStatementsParallelism);
+        return getThis();
+    }
+
+    /**
+     * Prepare static statements (insert, delete, find ...) the first time they are used
+     * instead of at start-up. Useful when only a few of many declared entities are actually used.
+     * <br/><br/>
+     * Default value is <strong>false</strong>
+     *
+     * @return ManagerFactoryBuilder
+     * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Configuration-Parameters#prepared-statements-cache" target="_blank">Prepared statements cache</a>
+     */
+    public T withLazyStaticStatementsPreparation(boolean lazyStaticStatementsPreparation) {
+        configMap.put(LAZY_STATIC_STATEMENTS_PREPARATION, lazyStaticStatementsPreparation);
+        return getThis();
+    }
+
+    /**
+     * Define a list of entities whose static statements are prepared at start-up
+     * even when lazy static statements preparation is enabled
+     *
+     * @param entityClasses entities to warm up
+     * @return ManagerFactoryBuilder
+     */
+    public T withStaticStatementsWarmUpEntities(Class<?>... entityClasses) {
+        configMap.put(STATIC_STATEMENTS_WARM_UP_ENTITIES, Arrays.asList(entityClasses));
+        return getThis();
+    }
+
     /**
      * Define the global insert strategy
      *
@@ -424,6 +487,36 @@ public abstract class AbstractManagerFactoryBuilder<T extends AbstractManagerFac
         return getThis();
     }
 
+    /**
+     * Define on which thread the futures of asynchronous queries are completed.
+     * <br/>
+     * Default value is {@code CompletionMode.EXECUTOR_SERVICE}. Use {@code CompletionMode.DIRECT} only if
+     * your continuations never block, they will run on the Java driver I/O threads
+     *
+     * @param completionMode the completion mode
+     * @return ManagerFactoryBuilder
+     * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Asynchronous-Operations">Asynchronous Operations</a>
+     */
+    public T withCompletionMode(CompletionMode completionMode) {
+        configMap.put(COMPLETION_MODE, completionMode);
+        return getThis();
+    }
+
+    /**
+     * Pass a dedicated ExecutorService (ThreadPool) to complete the futures of asynchronous queries.
+     * Only used with {@code CompletionMode.DEDICATED_EXECUTOR_SERVICE}
+     * <br/>
+     * If omitted, the dedicated ExecutorService is configured like the default ExecutorService
+     *
+     * @param completionExecutorService an executor service (thread pool) dedicated to query completions
+     * @return ManagerFactoryBuilder
+     * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Asynchronous-Operations">Asynchronous Operations</a>
+     */
+    public T withCompletionExecutorService(ExecutorService completionExecutorService) {
+        configMap.put(COMPLETION_EXECUTOR_SERVICE, completionExecutorService);
+        return getThis();
+    }
+
     /**
      * Define a list of entities to be managed by <strong>Achilles</strong>.
      * Specifically, schema validation will be performed at bootstrap for those entities
@@ -460,6 +553,90 @@ public abstract class AbstractManagerFactoryBuilder<T extends AbstractManagerFac
         return getThis();
     }
 
+    /**
+     * Define the recorder collecting the metrics of all operations. Use
+     * {@link info.archinnov.achilles.internals.metrics.InProcessMetricsRecorder} for
+     * in-memory metrics, optionally exported through JMX
+     * <br/><br/>
+     * Default value is <strong>MetricsRecorder.NO_OP</strong>
+     *
+     * @param metricsRecorder metrics recorder
+     * @return ManagerFactoryBuilder
+     */
+    public T withMetricsRecorder(MetricsRecorder metricsRecorder) {
+        configMap.put(METRICS_RECORDER, metricsRecorder);
+        return getThis();
+    }
+
+    /**
+     * Enable a bounded read cache for <strong>findById()</strong> on the given entity
+     * <br/>
+     * <pre class="code"><code class="java">
+     *
+     *  ManagerFactoryBuilder
+     *      .builder(cluster)
+     *      <strong>.withEntityCache(Country.class, 10_000L, 5, TimeUnit.MINUTES)</strong>
+     *      .build();
+     * </code></pre>
+     * <br/>
+     * The cached row is invalidated by <strong>insert()</strong>, <strong>update()</strong>,
+     * <strong>delete()</strong> and <strong>deleteByPartition()</strong> from this Achilles instance.
+     * Mutations done through the DSL, native statements or other clients are only
+     * seen once the entry expires, so only enable it on read-mostly entities.
+     * <br/>
+     * Cached rows are served regardless of consistency level: a <strong>findById()</strong> setting
+     * a consistency level or a serial consistency level explicitly always reads from Cassandra
+     *
+     * @param entityClass      entity class
+     * @param maximumSize      maximum number of cached primary keys
+     * @param expireAfterWrite time to live of a cached row
+     * @param timeUnit         unit of the time to live
+     * @return ManagerFactoryBuilder
+     */
+    public T withEntityCache(Class<?> entityClass, long maximumSize, long expireAfterWrite, TimeUnit timeUnit) {
+        Validator.validateNotNull(entityClass, "The entity class for the entity cache should not be null");
+        if (!configMap.containsKey(ENTITY_CACHES)) {
+            configMap.put(ENTITY_CACHES, new HashMap<Class<?>, EntityCacheSettings>());
+        }
+        configMap.<Map<Class<?>, EntityCacheSettings>>getTyped(ENTITY_CACHES)
+                .put(entityClass, EntityCacheSettings.of(maximumSize, expireAfterWrite, timeUnit));
+        return getThis();
+    }
+
+    /**
+     * Enable client-side coalescing of the increments on the given counter entity
+     * <br/>
+     * <pre class="code"><code class="java">
+     *
+     *  ManagerFactoryBuilder
+     *      .builder(cluster)
+     *      <strong>.withCounterCoalescing(PageViews.class, 10_000, 1, TimeUnit.SECONDS)</strong>
+     *      .build();
+     *
+     *  manager.counterCoalescer().increment(new PageViews(pageId, 1L));
+     * </code></pre>
+     * <br/>
+     * Increments are summed per primary key and counter column and written with a single UPDATE
+     * per primary key once the number of pending primary keys reaches <em>maxPendingKeys</em>
+     * or every <em>flushInterval</em>. Pending increments are flushed on <strong>shutDown()</strong>
+     * but are lost if the JVM crashes before a flush
+     *
+     * @param entityClass    counter entity class
+     * @param maxPendingKeys number of pending primary keys triggering a flush
+     * @param flushInterval  interval between two periodic flushes
+     * @param timeUnit       unit of the flush interval
+     * @return ManagerFactoryBuilder
+     */
+    public T withCounterCoalescing(Class<?> entityClass, int maxPendingKeys, long flushInterval, TimeUnit timeUnit) {
+        Validator.validateNotNull(entityClass, "The entity class for the counter coalescing should not be null");
+        if (!configMap.containsKey(COUNTER_COALESCING)) {
+            configMap.put(COUNTER_COALESCING, new HashMap<Class<?>, CounterCoalescingSettings>());
+        }
+        configMap.<Map<Class<?>, CounterCoalescingSettings>>getTyped(COUNTER_COALESCING)
+                .put(entityClass, CounterCoalescingSettings.of(maxPendingKeys, flushInterval, timeUnit));
+        return getThis();
+    }
+
 
     /**
      * Pass an arbitrary parameter to configure Achilles
@@ -17,6 +17,7 @@
 package info.archinnov.achilles.configuration;
 
 import static info.archinnov.achilles.configuration.ConfigurationParameters.*;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
 import static javax.validation.Validation.buildDefaultValidatorFactory;
 
 import java.util.*;
@@ -35,18 +36,22 @@ import com.google.common.collect.ImmutableMap;
 
 import info.archinnov.achilles.async.DefaultExecutorThreadFactory;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.cache.EntityCacheSettings;
 import info.archinnov.achilles.internals.cache.StatementsCache;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.dsl.counter.CounterCoalescingSettings;
 import info.archinnov.achilles.internals.factory.DefaultBeanFactory;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.types.ConfigMap;
 import info.archinnov.achilles.json.DefaultJacksonMapperFactory;
 import info.archinnov.achilles.json.JacksonMapperFactory;
+import info.archinnov.achilles.type.CompletionMode;
 import info.archinnov.achilles.type.SchemaNameProvider;
 import info.archinnov.achilles.type.codec.Codec;
 import info.archinnov.achilles.type.codec.CodecSignature;
 import info.archinnov.achilles.type.factory.BeanFactory;
 import info.archinnov.achilles.type.interceptor.Interceptor;
+import info.archinnov.achilles.type.metrics.MetricsRecorder;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
 import info.archinnov.achilles.type.strategy.NamingStrategy;
 
@@ -56,6 +61,7 @@ import info.archinnov.achilles.type.strategy.NamingStrategy;
 public class ArgumentExtractor {
 
     static final int DEFAULT_LRU_CACHE_SIZE = 10000;
+    static final int DEFAULT_PREPARED_STATEMENTS_PARALLELISM = 16;
     static final boolean DEFAULT_ENABLE_PRE_MUTATE_BEAN_VALIDATION = false;
     static final boolean DEFAULT_ENABLE_POST_LOAD_BEAN_VALIDATION = false;
     static final int DEFAULT_THREAD_POOL_MIN_THREAD_COUNT = 10;
@@ -67,6 +73,7 @@ public class ArgumentExtractor {
     static final NamingStrategy DEFAULT_GLOBAL_NAMING_STRATEGY = NamingStrategy.LOWER_CASE;
     static final BeanFactory DEFAULT_BEAN_FACTORY = new DefaultBeanFactory();
     static final Integer DEFAULT_DML_RESULTS_DISPLAY_SIZE = 10;
+    static final CompletionMode DEFAULT_COMPLETION_MODE = CompletionMode.EXECUTOR_SERVICE;
     private static final Logger LOGGER = LoggerFactory.getLogger(ArgumentExtractor.class);
 
     public static ConfigurationContext initConfigContext(Cluster cluster, ConfigMap configurationMap) {
@@ -87,17 +94,27 @@ public class ArgumentExtractor {
         configContext.setPostLoadBeanValidationEnabled(initPostLoadBeanValidation(configurationMap));
         configContext.setInterceptors(initInterceptors(configurationMap));
         configContext.setPreparedStatementLRUCacheSize(initPreparedStatementsCacheSize(configurationMap));
+        configContext.setPreparedStatementsParallelism(initPreparedStatementsParallelism(configurationMap));
+        configContext.setLazyStaticStatementsPreparation(initLazyStaticStatementsPreparation(configurationMap));
+        configContext.setStaticStatementsWarmUpEntities(initStaticStatementsWarmUpEntities(configurationMap));
         configContext.setGlobalInsertStrategy(initInsertStrategy(configurationMap));
         configContext.setGlobalNamingStrategy(initGlobalNamingStrategy(configurationMap));
         configContext.setSchemaNameProvider(initSchemaNameProvider(configurationMap));
         configContext.setExecutorService(initExecutorService(configurationMap));
         configContext.setProvidedExecutorService(initProvidedExecutorService(configurationMap));
+        configContext.setCompletionMode(initCompletionMode(configurationMap));
+        configContext.setCompletionExecutorService(initCompletionExecutorService(configurationMap));
+        configContext.setProvidedCompletionExecutorService(initProvidedCompletionExecutorService(configurationMap));
         configContext.setDefaultBeanFactory(initDefaultBeanFactory(configurationMap));
         configContext.setSession(initSession(cluster, configurationMap));
         configContext.setProvidedSession(initProvidedSession(configurationMap));
         configContext.setStatementsCache(initStatementCache(configurationMap));
+        configContext.setMetricsRecorder(initMetricsRecorder(configurationMap));
+        configContext.setEntityCaches(initEntityCaches(configurationMap));
+        configContext.setCounterCoalescing(initCounterCoalescing(configurationMap));
         configContext.setRuntimeCodecs(initRuntimeCodecs(configurationMap));
         configContext.setValidateSchema(initValidateSchema(configurationMap));
+        configContext.setPrepareDSLTemplates(initPrepareDSLTemplates(configurationMap));
         configContext.setDMLResultsDisplaySize(initDMLResultsDisplayLimit(configurationMap));
         return configContext;
     }
@@ -107,6 +124,11 @@ public class ArgumentExtractor {
         return configurationMap.getTypedOr(VALIDATE_SCHEMA, true);
     }
 
+    static boolean initPrepareDSLTemplates(ConfigMap configurationMap) {
+        LOGGER.trace("Extract 'DSL templates preparation enabled' from configuration map");
+        return configurationMap.getTypedOr(PREPARE_DSL_TEMPLATES, false);
+    }
+
     static boolean initForceSchemaCreation(ConfigMap configurationMap) {
         LOGGER.trace("Extract 'force table creation' from configuration map");
         return configurationMap.getTypedOr(FORCE_SCHEMA_GENERATION, false);
@@ -228,6 +250,23 @@ public class ArgumentExtractor {
         return configMap.getTypedOr(PREPARED_STATEMENTS_CACHE_SIZE, DEFAULT_LRU_CACHE_SIZE);
     }
 
+    public static Integer initPreparedStatementsParallelism(ConfigMap configMap) {
+        LOGGER.trace("Extract or init prepared statements parallelism");
+        final Integer parallelism = configMap.getTypedOr(PREPARED_STATEMENTS_PARALLELISM, DEFAULT_PREPARED_STATEMENTS_PARALLELISM);
+        validateTrue(parallelism > 0, "The prepared statements parallelism '%s' should be strictly positive", parallelism);
+        return parallelism;
+    }
+
+    static boolean initLazyStaticStatementsPreparation(ConfigMap configMap) {
+        LOGGER.trace("Extract 'lazy static statements preparation' from configuration map");
+        return configMap.getTypedOr(LAZY_STATIC_STATEMENTS_PREPARATION, false);
+    }
+
+    static List<Class<?>> initStaticStatementsWarmUpEntities(ConfigMap configMap) {
+        LOGGER.trace("Extract static statements warm-up entity classes from configuration map");
+        return configMap.getTypedOr(STATIC_STATEMENTS_WARM_UP_ENTITIES, new ArrayList<>());
+    }
+
     public static InsertStrategy initInsertStrategy(ConfigMap configMap) {
         LOGGER.trace("Extract or init global Insert strategy");
         return configMap.getTypedOr(GLOBAL_INSERT_STRATEGY, DEFAULT_INSERT_STRATEGY);
@@ -253,6 +292,24 @@ public class ArgumentExtractor {
         return Optional.ofNullable(configMap.<ExecutorService>getTyped(EXECUTOR_SERVICE)).isPresent();
     }
 
+    public static CompletionMode initCompletionMode(ConfigMap configMap) {
+        LOGGER.trace("Extract completion mode for asynchronous queries");
+        return configMap.getTypedOr(COMPLETION_MODE, DEFAULT_COMPLETION_MODE);
+    }
+
+    public static Optional<ExecutorService> initCompletionExecutorService(ConfigMap configMap) {
+        LOGGER.trace("Extract or init dedicated completion executor service (thread pool)");
+        if (initCompletionMode(configMap) == CompletionMode.DEDICATED_EXECUTOR_SERVICE) {
+            return Optional.of(configMap.getTypedOr(COMPLETION_EXECUTOR_SERVICE, initializeDefaultExecutor(configMap)));
+        }
+        return Optional.empty();
+    }
+
+    public static boolean initProvidedCompletionExecutorService(ConfigMap configMap) {
+        LOGGER.trace("Is completion executor service provided or built internally ? ");
+        return Optional.ofNullable(configMap.<ExecutorService>getTyped(COMPLETION_EXECUTOR_SERVICE)).isPresent();
+    }
+
     private static Supplier<ExecutorService> initializeDefaultExecutor(final ConfigMap configMap) {
         return () -> {
             int minThreads = configMap.getTypedOr(DEFAULT_EXECUTOR_SERVICE_MIN_THREAD, DEFAULT_THREAD_POOL_MIN_THREAD_COUNT);
@@ -285,6 +342,29 @@ public class ArgumentExtractor {
         }
     }
 
+    static MetricsRecorder initMetricsRecorder(final ConfigMap configMap) {
+        LOGGER.trace("Extract or init default metrics recorder");
+        return configMap.getTypedOr(METRICS_RECORDER, MetricsRecorder.NO_OP);
+    }
+
+    static Map<Class<?>, EntityCacheSettings> initEntityCaches(final ConfigMap configMap) {
+        LOGGER.trace("Extract or init default entity caches");
+        if (configMap.containsKey(ENTITY_CACHES)) {
+            return configMap.getTyped(ENTITY_CACHES);
+        } else {
+            return new HashMap<>();
+        }
+    }
+
+    static Map<Class<?>, CounterCoalescingSettings> initCounterCoalescing(final ConfigMap configMap) {
+        LOGGER.trace("Extract or init default counter coalescing");
+        if (configMap.containsKey(COUNTER_COALESCING)) {
+            return configMap.getTyped(COUNTER_COALESCING);
+        } else {
+            return new HashMap<>();
+        }
+    }
+
     private static Map<CodecSignature<?, ?>, Codec<?, ?>> initRuntimeCodecs(final ConfigMap configMap) {
         LOGGER.trace("Extract or init default runtime codecs");
         if (configMap.containsKey(RUNTIME_CODECS)) {
@@ -137,6 +137,18 @@ package info.archinnov.achilles.configuration;
  The default size is <code>10000</code> entries. Once the limit is reached, oldest prepared statements are evicted, causing <strong>Achilles</strong> to re-prepare them and get warnings from the Java Driver.</p>
  You can get details on the LRU cache state by putting the logger <code>info.archinnov.achilles.internal.statement.cache.CacheManager</code> on <strong>DEBUG</strong></p>
  * </li>
+ * <li><strong>PREPARED_STATEMENTS_PARALLELISM</strong> (OPTIONAL): maximum number of statements being prepared
+ * concurrently at start-up. Static statements of all entities are prepared asynchronously and put into the cache as soon as
+ * their preparation completes. Set it to 1 to prepare them one at a time.
+ * <strong>Default = 16</strong>
+ * </li>
+ * <li><strong>LAZY_STATIC_STATEMENTS_PREPARATION</strong> (OPTIONAL): do not prepare static statements at start-up but
+ * the first time they are used. Concurrent first usages share the same preparation.
+ * <strong>Default = 'false'</strong>
+ * </li>
+ * <li><strong>STATIC_STATEMENTS_WARM_UP_ENTITIES</strong> (OPTIONAL): list of entities whose static statements are still
+ * prepared at start-up when <strong>LAZY_STATIC_STATEMENTS_PREPARATION</strong> is enabled
+ * </li>
  * <li>
  * <strong>STATEMENTS_CACHE</strong> (OPTIONAL): provide an instance of the class {@link info.archinnov.achilles.internals.cache.StatementsCache}
  * to store all prepared statements. This option is useful for unit testing to avoid re-preparing many times the same prepared statements
@@ -145,6 +157,34 @@ package info.archinnov.achilles.configuration;
  * Remark: if your provide the statement cache object yourself, the parameter PREPARED_STATEMENTS_CACHE_SIZE will be ignored
  * </em>
  * </li>
+ * <li>
+ * <strong>METRICS_RECORDER</strong> (OPTIONAL): provide an implementation of {@link info.archinnov.achilles.type.metrics.MetricsRecorder}
+ * to collect statement latencies, bound values, LWT failures, codec/interceptor timings and prepared statements cache usage.
+ * {@link info.archinnov.achilles.internals.metrics.InProcessMetricsRecorder} keeps them in memory and can export them through JMX.
+ * <strong>Default = MetricsRecorder.NO_OP</strong>
+ * </li>
+ * <li>
+ * <strong>ENTITY_CACHES</strong> (OPTIONAL): a map of entity class and {@link info.archinnov.achilles.internals.cache.EntityCacheSettings}
+ * enabling a bounded, time-limited read cache for <strong>findById()</strong> on these entities. The cached row is invalidated
+ * by the <strong>insert()</strong>, <strong>update()</strong>, <strong>delete()</strong> and <strong>deleteByPartition()</strong>
+ * operations of the same Achilles instance, but <strong>not</strong> by DSL, native or external mutations. Finds setting a consistency
+ * level or a serial consistency level explicitly bypass the cache.
+ * <strong>Default = no entity cache</strong>
+ * </li>
+ * <li>
+ * <strong>COUNTER_COALESCING</strong> (OPTIONAL): a map of counter entity class and {@link info.archinnov.achilles.internals.dsl.counter.CounterCoalescingSettings}
+ * enabling <strong>manager.counterCoalescer()</strong> on these entities. Increments are summed client-side per primary key and counter column
+ * and written once the number of pending primary keys or the flush interval is reached. Pending increments are flushed by
+ * <strong>ManagerFactory.shutDown()</strong>.
+ * <strong>Default = no counter coalescing</strong>
+ * </li>
+ * <li>
+ * <strong>PREPARE_DSL_TEMPLATES</strong> (OPTIONAL): also prepare at start-up the statements of the most common DSL paths,
+ * <code>select().allColumns_FromBaseTable().where()</code> and <code>delete().allColumns_FromBaseTable().where()</code>
+ * restricted by the full primary key or by the partition key with equalities.
+ * This only removes the prepare round trip of the first call: the DSL still renders its query string on each call.
+ * <strong>Default = 'false'</strong>
+ * </li>
  * </ul>
  * <br/>
  * <br/>
@@ -250,6 +290,17 @@ package info.archinnov.achilles.configuration;
  * </code></pre>
  * For more details, please check <strong><a href="https://github.com/doanduyhai/Achilles/wiki/Asynchronous-Operations">Asynchronous Operations</a></strong></p>
  * </li>
+ * <li>
+ * <strong>COMPLETION_MODE</strong> (OPTIONAL): define on which thread the futures of asynchronous queries are completed.
+ * Possible values are {@code CompletionMode.DIRECT} (Java driver I/O thread), {@code CompletionMode.EXECUTOR_SERVICE}
+ * (the executor service above) and {@code CompletionMode.DEDICATED_EXECUTOR_SERVICE}.
+ * Default value is {@code CompletionMode.EXECUTOR_SERVICE}
+ * </li>
+ * <li>
+ * <strong>COMPLETION_EXECUTOR_SERVICE</strong> (OPTIONAL): define the executor service to be used when
+ * <strong>COMPLETION_MODE</strong> is {@code CompletionMode.DEDICATED_EXECUTOR_SERVICE}.
+ * If omitted, a thread pool configured like the default executor service is created
+ * </li>
  * </ul>
  */
 public enum ConfigurationParameters {
@@ -272,6 +323,8 @@ public enum ConfigurationParameters {
 
     VALIDATE_SCHEMA("achilles.validate.schema"),
 
+    PREPARE_DSL_TEMPLATES("achilles.prepare.dsl.templates"),
+
     MANAGED_ENTITIES("achilles.managed.entities"),
 
     BEAN_VALIDATION_ENABLE("achilles.bean.validation.enable"),
@@ -279,6 +332,9 @@ public enum ConfigurationParameters {
     BEAN_VALIDATION_VALIDATOR("achilles.bean.validation.validator"),
 
     PREPARED_STATEMENTS_CACHE_SIZE("achilles.prepared.statements.cache.size"),
+    PREPARED_STATEMENTS_PARALLELISM("achilles.prepared.statements.parallelism"),
+    LAZY_STATIC_STATEMENTS_PREPARATION("achilles.prepared.statements.lazy"),
+    STATIC_STATEMENTS_WARM_UP_ENTITIES("achilles.prepared.statements.warm.up.entities"),
 
     DEFAULT_BEAN_FACTORY("achilles.bean.factory"),
 
@@ -288,6 +344,9 @@ public enum ConfigurationParameters {
 
     EXECUTOR_SERVICE("achilles.executor.service"),
     STATEMENTS_CACHE("achilles.statements.cache"),
+    METRICS_RECORDER("achilles.metrics.recorder"),
+    ENTITY_CACHES("achilles.entity.caches"),
+    COUNTER_COALESCING("achilles.counter.coalescing"),
 
     RUNTIME_CODECS("achilles.runtime.codecs"),
 
@@ -297,6 +356,9 @@ public enum ConfigurationParameters {
     DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE("achilles.executor.service.default.queue.size"),
     DEFAULT_EXECUTOR_SERVICE_THREAD_FACTORY("achilles.executor.service.thread.factory"),
 
+    COMPLETION_MODE("achilles.completion.mode"),
+    COMPLETION_EXECUTOR_SERVICE("achilles.completion.executor.service"),
+
     DML_RESULTS_DISPLAY_SIZE("achilles.dml.results_display.size");
 
 
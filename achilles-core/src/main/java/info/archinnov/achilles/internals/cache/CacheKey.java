@@ -20,6 +20,7 @@ import static info.archinnov.achilles.internals.statements.PreparedStatementGene
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,9 +76,7 @@ public class CacheKey {
                 }
 
                 final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, FIND));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateSelectQuery(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, FIND, provider, () -> generateSelectQuery(meta, provider));
 
             }
         },
@@ -89,9 +88,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsert(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, INSERT, provider, () -> generateInsert(meta, provider));
             }
         },
         INSERT_JSON {
@@ -102,9 +99,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT_JSON));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsertJSON(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, INSERT_JSON, provider, () -> generateInsertJSON(meta, provider));
             }
         },
         INSERT_STATIC {
@@ -115,9 +110,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT_STATIC));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsertStatic(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, INSERT_STATIC, provider, () -> generateInsertStatic(meta, provider));
             }
         },
         INSERT_IF_NOT_EXISTS {
@@ -128,9 +121,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT_IF_NOT_EXISTS));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsertIfNotExists(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, INSERT_IF_NOT_EXISTS, provider, () -> generateInsertIfNotExists(meta, provider));
             }
         },
         INSERT_IF_NOT_EXISTS_JSON {
@@ -141,9 +132,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT_IF_NOT_EXISTS_JSON));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsertIfNotExistsJson(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, INSERT_IF_NOT_EXISTS_JSON, provider, () -> generateInsertIfNotExistsJson(meta, provider));
             }
         },
         INSERT_STATIC_IF_NOT_EXISTS {
@@ -154,9 +143,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT_STATIC_IF_NOT_EXISTS));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsertStaticIfNotExists(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, INSERT_STATIC_IF_NOT_EXISTS, provider, () -> generateInsertStaticIfNotExists(meta, provider));
             }
         },
         DELETE {
@@ -167,9 +154,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, DELETE));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateDeleteByKeys(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, DELETE, provider, () -> generateDeleteByKeys(meta, provider));
             }
         },
         DELETE_IF_EXISTS {
@@ -180,9 +165,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, DELETE_IF_EXISTS));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateDeleteByKeysIfExists(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, DELETE_IF_EXISTS, provider, () -> generateDeleteByKeysIfExists(meta, provider));
             }
         },
         DELETE_BY_PARTITION {
@@ -193,9 +176,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, DELETE_BY_PARTITION));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateDeleteByPartition(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, DELETE_BY_PARTITION, provider, () -> generateDeleteByPartition(meta, provider));
             }
         },
         UPDATE {
@@ -209,5 +190,16 @@ public class CacheKey {
         private static final Logger LOGGER = LoggerFactory.getLogger(Operation.class);
 
         public abstract PreparedStatement getPreparedStatement(RuntimeEngine rte, AbstractEntityProperty<?> meta, CassandraOptions cassandraOptions);
+
+        /**
+         * Same as {@link #getPreparedStatement(RuntimeEngine, AbstractEntityProperty, CassandraOptions)} but a static
+         * statement prepared lazily is awaited without blocking the calling thread
+         */
+        public CompletableFuture<PreparedStatement> getPreparedStatementAsync(RuntimeEngine rte, AbstractEntityProperty<?> meta, CassandraOptions cassandraOptions) {
+            if (cassandraOptions.getSchemaNameProvider().isPresent()) {
+                return CompletableFuture.completedFuture(getPreparedStatement(rte, meta, cassandraOptions));
+            }
+            return rte.getStaticCacheAsync(new CacheKey(meta.entityClass, this));
+        }
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.cache;
+
+import java.util.BitSet;
+import java.util.Objects;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+
+/**
+ * Structural fingerprint of a dynamically generated statement.
+ * <br/>
+ * Two statements with equal keys render the same CQL, so a cached
+ * {@link com.datastax.driver.core.PreparedStatement} can be looked up without building the query string.
+ * <br/>
+ * Only statements built from entity metadata (CRUD update, counter increments) have such a key. The DSL
+ * select/update/delete builders accumulate free-form relations: their query string is still rendered
+ * on each call and used as the cache key
+ */
+public class DynamicStatementKey {
+
+    private final Class<?> entityClass;
+    private final OperationType operation;
+    private final String schemaName;
+    private final BitSet columns;
+    private final int flags;
+    private final int hashCode;
+
+    /**
+     * @param entityClass entity class
+     * @param operation   operation type
+     * @param schemaName  keyspace.table when resolved at runtime, null for the static one
+     * @param columns     indices of the columns present in the statement
+     * @param flags       bit mask of the options changing the statement shape
+     */
+    public DynamicStatementKey(Class<?> entityClass, OperationType operation, String schemaName, BitSet columns, int flags) {
+        this.entityClass = entityClass;
+        this.operation = operation;
+        this.schemaName = schemaName;
+        this.columns = columns;
+        this.flags = flags;
+        this.hashCode = Objects.hash(entityClass, operation, schemaName, columns, flags);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DynamicStatementKey that = (DynamicStatementKey) o;
+        return hashCode == that.hashCode &&
+                flags == that.flags &&
+                Objects.equals(entityClass, that.entityClass) &&
+                Objects.equals(operation, that.operation) &&
+                Objects.equals(schemaName, that.schemaName) &&
+                Objects.equals(columns, that.columns);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DynamicStatementKey{");
+        sb.append("entityClass=").append(entityClass);
+        sb.append(", operation=").append(operation);
+        sb.append(", schemaName=").append(schemaName);
+        sb.append(", columns=").append(columns);
+        sb.append(", flags=").append(flags);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.cache;
+
+import static java.lang.String.format;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.Row;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Read cache of an entity, keyed by encoded primary key.
+ * <br/>
+ * <br/>
+ * The cached value is the loaded {@link Row} (or its absence) rather than the entity so that each read
+ * maps a fresh, independently mutable entity instance. Concurrent misses on the same key share a single
+ * load. A failed load is not cached.
+ * <br/>
+ * <br/>
+ * A cached row is served whatever the consistency level it was read with. Finds setting a consistency
+ * level or a serial consistency level explicitly, as well as finds with a schema name provider, bypass the cache
+ */
+public class EntityCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityCache.class);
+
+    private final Class<?> entityClass;
+    private final Cache<List<Object>, CompletableFuture<Optional<Row>>> cache;
+    private final ConcurrentMap<List<Object>, CompletableFuture<Optional<Row>>> cacheMap;
+
+    public EntityCache(Class<?> entityClass, EntityCacheSettings settings) {
+        this.entityClass = entityClass;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(settings.maximumSize)
+                .expireAfterWrite(settings.expireAfterWrite, settings.timeUnit)
+                .recordStats()
+                .build();
+        this.cacheMap = cache.asMap();
+    }
+
+    /**
+     * Return the cached row for this primary key or start the given load,
+     * unless a load for the same key is already in flight
+     */
+    public CompletableFuture<Optional<Row>> getOrLoad(Object[] encodedPrimaryKey, Supplier<CompletableFuture<Optional<Row>>> loader) {
+        final List<Object> key = Arrays.asList(encodedPrimaryKey);
+        final CompletableFuture<Optional<Row>> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final CompletableFuture<Optional<Row>> loading = new CompletableFuture<>();
+        final CompletableFuture<Optional<Row>> existing = cacheMap.putIfAbsent(key, loading);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Entity cache miss for %s with primary key %s", entityClass.getCanonicalName(), key));
+        }
+
+        CompletableFuture<Optional<Row>> load;
+        try {
+            load = loader.get();
+        } catch (Throwable throwable) {
+            load = new CompletableFuture<>();
+            load.completeExceptionally(throwable);
+        }
+        load.whenComplete((row, throwable) -> {
+            if (throwable != null) {
+                cacheMap.remove(key, loading);
+                loading.completeExceptionally(throwable);
+            } else {
+                loading.complete(row);
+            }
+        });
+        return loading;
+    }
+
+    public void invalidate(Object[] encodedPrimaryKey) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Invalidate entity cache of %s for primary key %s",
+                    entityClass.getCanonicalName(), Arrays.toString(encodedPrimaryKey)));
+        }
+        cache.invalidate(Arrays.asList(encodedPrimaryKey));
+    }
+
+    public void invalidateAll() {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Invalidate whole entity cache of %s", entityClass.getCanonicalName()));
+        }
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.cache;
+
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size and time to live of the read cache of an entity, see
+ * {@link info.archinnov.achilles.configuration.ConfigurationParameters#ENTITY_CACHES}
+ */
+public class EntityCacheSettings {
+
+    public final long maximumSize;
+    public final long expireAfterWrite;
+    public final TimeUnit timeUnit;
+
+    private EntityCacheSettings(long maximumSize, long expireAfterWrite, TimeUnit timeUnit) {
+        this.maximumSize = maximumSize;
+        this.expireAfterWrite = expireAfterWrite;
+        this.timeUnit = timeUnit;
+    }
+
+    /**
+     * @param maximumSize      maximum number of cached primary keys
+     * @param expireAfterWrite time to live of a cached row
+     * @param timeUnit         unit of the time to live
+     */
+    public static EntityCacheSettings of(long maximumSize, long expireAfterWrite, TimeUnit timeUnit) {
+        validateTrue(maximumSize > 0, "The entity cache maximum size '%s' should be strictly positive", maximumSize);
+        validateTrue(expireAfterWrite > 0, "The entity cache time to live '%s' should be strictly positive", expireAfterWrite);
+        validateNotNull(timeUnit, "The entity cache time to live unit should not be null");
+        return new EntityCacheSettings(maximumSize, expireAfterWrite, timeUnit);
+    }
+
+    @Override
+    public String toString() {
+        return "EntityCacheSettings{" +
+                "maximumSize=" + maximumSize +
+                ", expireAfterWrite=" + expireAfterWrite +
+                ", timeUnit=" + timeUnit +
+                '}';
+    }
+}
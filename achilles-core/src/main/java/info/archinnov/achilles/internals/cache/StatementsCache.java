@@ -19,32 +19,70 @@ package info.archinnov.achilles.internals.cache;
 import static com.google.common.cache.CacheBuilder.newBuilder;
 import static java.lang.String.format;
 
+import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.Session;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.type.metrics.MetricsRecorder;
+import info.archinnov.achilles.type.metrics.StatementCacheType;
 
 public class StatementsCache {
     private static final Logger LOGGER = LoggerFactory.getLogger(StatementsCache.class);
 
     private final Cache<String, PreparedStatement> dynamicCache;
+    private final Cache<DynamicStatementKey, String> renderedQueries;
     private final Cache<CacheKey, PreparedStatement> staticCache;
+    private final ConcurrentMap<CacheKey, Supplier<CompletableFuture<PreparedStatement>>> lazyStaticStatements = new ConcurrentHashMap<>();
+    private final ConcurrentMap<CacheKey, CompletableFuture<PreparedStatement>> lazyPreparations = new ConcurrentHashMap<>();
+    private final Cache<TenantStatementKey, PreparedStatement> tenantStaticCache;
     private final int maxLRUCacheSize;
+    private volatile MetricsRecorder metricsRecorder = MetricsRecorder.NO_OP;
 
 
     public StatementsCache(int maxLRUCacheSize) {
         this.maxLRUCacheSize = maxLRUCacheSize;
-        this.dynamicCache = newBuilder().maximumSize(maxLRUCacheSize).build();
+        this.dynamicCache = newBuilder().maximumSize(maxLRUCacheSize)
+                .removalListener(this::onDynamicCacheRemoval)
+                .build();
+        this.renderedQueries = newBuilder().maximumSize(maxLRUCacheSize).build();
         this.staticCache = newBuilder().build();
+        this.tenantStaticCache = newBuilder().maximumSize(maxLRUCacheSize)
+                .removalListener(this::onTenantStaticCacheRemoval)
+                .build();
+    }
+
+    public void setMetricsRecorder(MetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    private void onDynamicCacheRemoval(RemovalNotification<String, PreparedStatement> notification) {
+        if (notification.wasEvicted()) {
+            metricsRecorder.recordStatementCacheEviction(StatementCacheType.DYNAMIC);
+        }
+    }
+
+    private void onTenantStaticCacheRemoval(RemovalNotification<TenantStatementKey, PreparedStatement> notification) {
+        if (notification.wasEvicted()) {
+            metricsRecorder.recordStatementCacheEviction(StatementCacheType.TENANT_STATIC);
+        }
     }
 
     public void putStaticCache(CacheKey cacheKey, Callable<PreparedStatement> psSupplier) {
@@ -58,15 +96,186 @@ public class StatementsCache {
         }
     }
 
+    /**
+     * Register a static statement to be prepared on first use. Concurrent first
+     * callers of {@link #getStaticCacheAsync(CacheKey)} share the same in-flight preparation.
+     * <br/>
+     * The registration is kept once prepared, a caller that missed the static cache
+     * while another one was loading must still find it
+     */
+    public void putLazyStaticCache(CacheKey cacheKey, Supplier<CompletableFuture<PreparedStatement>> psSupplier) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Registering lazy static cache for key %s", cacheKey));
+        }
+        lazyStaticStatements.putIfAbsent(cacheKey, psSupplier);
+    }
+
+    /**
+     * Lookup a static statement, blocking on its preparation if it is prepared lazily
+     * and not prepared yet. Asynchronous callers should use {@link #getStaticCacheAsync(CacheKey)}
+     */
     public PreparedStatement getStaticCache(CacheKey cacheKey) {
         final PreparedStatement preparedStatement = staticCache.getIfPresent(cacheKey);
-        if (preparedStatement == null) {
+        if (preparedStatement != null) {
+            metricsRecorder.recordStatementCacheLookup(StatementCacheType.STATIC, true);
+            return preparedStatement;
+        }
+        try {
+            return getStaticCacheAsync(cacheKey).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof AchillesException
+                    ? (AchillesException) e.getCause()
+                    : new AchillesException(e.getCause());
+        }
+    }
+
+    /**
+     * Lookup a static statement. A statement prepared lazily is prepared asynchronously on
+     * the first call, concurrent first callers share the same in-flight preparation
+     */
+    public CompletableFuture<PreparedStatement> getStaticCacheAsync(CacheKey cacheKey) {
+        PreparedStatement preparedStatement = staticCache.getIfPresent(cacheKey);
+        if (preparedStatement != null) {
+            metricsRecorder.recordStatementCacheLookup(StatementCacheType.STATIC, true);
+            return CompletableFuture.completedFuture(preparedStatement);
+        }
+
+        final Supplier<CompletableFuture<PreparedStatement>> lazyStatement = lazyStaticStatements.get(cacheKey);
+        if (lazyStatement == null) {
             throw new AchillesException(format("Cannot find static cached prepared statement for cache key %s", cacheKey));
         }
+
+        CompletableFuture<PreparedStatement> preparation = lazyPreparations.get(cacheKey);
+        if (preparation == null) {
+            // The preparation may have completed between the two lookups
+            preparedStatement = staticCache.getIfPresent(cacheKey);
+            if (preparedStatement != null) {
+                metricsRecorder.recordStatementCacheLookup(StatementCacheType.STATIC, true);
+                return CompletableFuture.completedFuture(preparedStatement);
+            }
+            final CompletableFuture<PreparedStatement> newPreparation = new CompletableFuture<>();
+            preparation = lazyPreparations.putIfAbsent(cacheKey, newPreparation);
+            if (preparation == null) {
+                preparation = newPreparation;
+                prepareLazyStaticStatement(cacheKey, lazyStatement, newPreparation);
+            }
+        }
+        metricsRecorder.recordStatementCacheLookup(StatementCacheType.STATIC, false);
+        return preparation;
+    }
+
+    private void prepareLazyStaticStatement(CacheKey cacheKey, Supplier<CompletableFuture<PreparedStatement>> lazyStatement,
+                                            CompletableFuture<PreparedStatement> preparation) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Preparing on first use static statement for key %s", cacheKey));
+        }
+        CompletableFuture<PreparedStatement> prepared;
+        try {
+            prepared = lazyStatement.get();
+        } catch (Throwable throwable) {
+            prepared = new CompletableFuture<>();
+            prepared.completeExceptionally(throwable);
+        }
+        prepared.whenComplete((preparedStatement, throwable) -> {
+            // Put into the static cache before removing the in-flight preparation
+            // so that a concurrent caller always finds one of them
+            if (throwable == null) {
+                staticCache.put(cacheKey, preparedStatement);
+            }
+            lazyPreparations.remove(cacheKey, preparation);
+            if (throwable == null) {
+                preparation.complete(preparedStatement);
+            } else {
+                preparation.completeExceptionally(new AchillesException(
+                        format("Cannot prepare static statement for cache key %s", cacheKey), unwrap(throwable)));
+            }
+        });
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
+
+    /**
+     * Lookup the static statement of an entity for the keyspace and table given by a
+     * {@link info.archinnov.achilles.type.SchemaNameProvider}. The statement is generated and
+     * prepared on first use only, concurrent first callers share the same preparation
+     */
+    public PreparedStatement getTenantStaticCache(TenantStatementKey tenantKey, Supplier<RegularStatement> statementSupplier, Session session) {
+        final PreparedStatement cached = tenantStaticCache.getIfPresent(tenantKey);
+        if (cached != null) {
+            metricsRecorder.recordStatementCacheLookup(StatementCacheType.TENANT_STATIC, true);
+            return cached;
+        }
+        metricsRecorder.recordStatementCacheLookup(StatementCacheType.TENANT_STATIC, false);
+        try {
+            return tenantStaticCache.get(tenantKey, () -> {
+                final RegularStatement statement = statementSupplier.get();
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug(format("Preparing tenant static statement for key %s : %s", tenantKey, statement.getQueryString()));
+                }
+                return session.prepare(statement);
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new AchillesException(format("Cannot prepare tenant static statement for key %s", tenantKey), e.getCause());
+        }
+    }
+
+    /**
+     * Drop all the tenant static statements prepared for the given keyspace,
+     * e.g. when the tenant is removed or its schema changes
+     */
+    public void invalidateTenantStaticCache(String keyspace) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Invalidating tenant static statements for keyspace %s", keyspace));
+        }
+        tenantStaticCache.asMap().keySet().removeIf(key -> Objects.equals(key.getKeyspace(), keyspace));
+    }
+
+    /**
+     * Put an already prepared dynamic statement, e.g. a DSL template prepared at bootstrap
+     */
+    public void putDynamicCache(String queryString, PreparedStatement preparedStatement) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Putting dynamic cache for query %s", queryString));
+        }
+        dynamicCache.put(queryString, preparedStatement);
+    }
+
+    /**
+     * Lookup a dynamic prepared statement by its structural key. The key only memoizes the rendered
+     * query string, bounded like the LRU cache, so a hit skips the query rendering while the prepared
+     * statement itself is still held and evicted by the LRU cache only.
+     * <br/>
+     * The statement is prepared from the generated {@link RegularStatement} so that the driver
+     * computes its idempotence, like for the static statements
+     */
+    public PreparedStatement getDynamicCache(DynamicStatementKey statementKey, Supplier<RegularStatement> statementSupplier, Session session) {
+        final String renderedQuery = renderedQueries.getIfPresent(statementKey);
+        if (renderedQuery != null) {
+            return getDynamicCache(renderedQuery, () -> session.prepare(statementSupplier.get()));
+        }
+        final RegularStatement statement = statementSupplier.get();
+        final String queryString = statement.getQueryString();
+        renderedQueries.put(statementKey, queryString);
+        final PreparedStatement preparedStatement = getDynamicCache(queryString, () -> session.prepare(statement));
+        if (preparedStatement.isIdempotent() == null && statement.isIdempotent() != null) {
+            // Same query string already prepared from a raw string
+            preparedStatement.setIdempotent(statement.isIdempotent());
+        }
         return preparedStatement;
     }
 
+    /**
+     * Lookup a dynamic prepared statement by its rendered query string, as done by the DSL
+     */
     public PreparedStatement getDynamicCache(final String queryString, Session session) {
+        return getDynamicCache(queryString, () -> session.prepare(queryString));
+    }
+
+    private PreparedStatement getDynamicCache(final String queryString, Callable<PreparedStatement> preparation) {
         AtomicBoolean displayStats = new AtomicBoolean(false);
         try {
             final PreparedStatement preparedStatement = dynamicCache.get(queryString, () -> {
@@ -74,9 +283,10 @@ public class StatementsCache {
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("Preparing dynamic query : " + queryString);
                 }
-                return session.prepare(queryString);
+                return preparation.call();
             });
 
+            metricsRecorder.recordStatementCacheLookup(StatementCacheType.DYNAMIC, !displayStats.get());
             if (displayStats.get()) displayCacheStatistics();
             return preparedStatement;
         } catch (ExecutionException e) {
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+import info.archinnov.achilles.type.codec.Codec;
+
+/**
+ * Serialize a value with the binary Smile format into a <strong>blob</strong> column.
+ * The reader and writer are derived once from the injected ObjectMapper so that its
+ * configuration (modules, features) applies while the encoding works on byte arrays
+ */
+public class JSONSmileCodec<TYPE> implements Codec<TYPE, ByteBuffer> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JSONSmileCodec.class);
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+    private final Class<?> sourceType;
+    private final JavaType exactType;
+
+    private ObjectReader objectReader;
+    private ObjectWriter objectWriter;
+
+    public JSONSmileCodec(Class<?> sourceType, JavaType exactType) {
+        this.sourceType = sourceType;
+        this.exactType = exactType;
+    }
+
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        this.objectReader = objectMapper.reader(exactType);
+        this.objectWriter = objectMapper.writer();
+    }
+
+    @Override
+    public Class<TYPE> sourceType() {
+        return (Class<TYPE>) sourceType;
+    }
+
+    @Override
+    public Class<ByteBuffer> targetType() {
+        return ByteBuffer.class;
+    }
+
+    @Override
+    public ByteBuffer encode(TYPE fromJava) throws AchillesTranscodingException {
+        if (fromJava == null) return null;
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(String.format("Encoding object %s to Smile", fromJava));
+        }
+        final ByteArrayBuilder output = new ByteArrayBuilder();
+        try (JsonGenerator generator = SMILE_FACTORY.createGenerator(output)) {
+            objectWriter.writeValue(generator, fromJava);
+        } catch (IOException e) {
+            throw new AchillesTranscodingException(e);
+        }
+        return ByteBuffer.wrap(output.toByteArray());
+    }
+
+    @Override
+    public TYPE decode(ByteBuffer fromCassandra) throws AchillesTranscodingException {
+        if (fromCassandra == null) return null;
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(String.format("Decoding object type %s from Smile %s", exactType, fromCassandra));
+        }
+        try (JsonParser parser = createParser(fromCassandra)) {
+            return objectReader.readValue(parser);
+        } catch (IOException e) {
+            throw new AchillesTranscodingException(e);
+        }
+    }
+
+    private JsonParser createParser(ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            return SMILE_FACTORY.createParser(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return SMILE_FACTORY.createParser(bytes);
+    }
+}
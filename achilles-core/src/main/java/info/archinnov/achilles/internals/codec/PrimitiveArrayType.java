@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codec;
+
+import java.nio.ByteBuffer;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.exceptions.InvalidTypeException;
+import com.google.common.reflect.TypeToken;
+
+/**
+ * Numeric CQL type read and written straight into a primitive array, without boxing
+ */
+abstract class PrimitiveArrayType<A> {
+
+    static final PrimitiveArrayType<int[]> INT = new PrimitiveArrayType<int[]>(DataType.cint(), int[].class, 4) {
+        @Override
+        int[] newArray(int size) {
+            return new int[size];
+        }
+
+        @Override
+        int length(int[] array) {
+            return array.length;
+        }
+
+        @Override
+        void read(ByteBuffer input, int[] array, int index) {
+            array[index] = input.getInt();
+        }
+
+        @Override
+        void write(ByteBuffer output, int[] array, int index) {
+            output.putInt(array[index]);
+        }
+
+        @Override
+        String format(int[] array, int index) {
+            return Integer.toString(array[index]);
+        }
+
+        @Override
+        void parse(String value, int[] array, int index) {
+            array[index] = Integer.parseInt(value);
+        }
+    };
+
+    static final PrimitiveArrayType<long[]> BIGINT = new PrimitiveArrayType<long[]>(DataType.bigint(), long[].class, 8) {
+        @Override
+        long[] newArray(int size) {
+            return new long[size];
+        }
+
+        @Override
+        int length(long[] array) {
+            return array.length;
+        }
+
+        @Override
+        void read(ByteBuffer input, long[] array, int index) {
+            array[index] = input.getLong();
+        }
+
+        @Override
+        void write(ByteBuffer output, long[] array, int index) {
+            output.putLong(array[index]);
+        }
+
+        @Override
+        String format(long[] array, int index) {
+            return Long.toString(array[index]);
+        }
+
+        @Override
+        void parse(String value, long[] array, int index) {
+            array[index] = Long.parseLong(value);
+        }
+    };
+
+    static final PrimitiveArrayType<float[]> FLOAT = new PrimitiveArrayType<float[]>(DataType.cfloat(), float[].class, 4) {
+        @Override
+        float[] newArray(int size) {
+            return new float[size];
+        }
+
+        @Override
+        int length(float[] array) {
+            return array.length;
+        }
+
+        @Override
+        void read(ByteBuffer input, float[] array, int index) {
+            array[index] = input.getFloat();
+        }
+
+        @Override
+        void write(ByteBuffer output, float[] array, int index) {
+            output.putFloat(array[index]);
+        }
+
+        @Override
+        String format(float[] array, int index) {
+            return Float.toString(array[index]);
+        }
+
+        @Override
+        void parse(String value, float[] array, int index) {
+            array[index] = Float.parseFloat(value);
+        }
+    };
+
+    static final PrimitiveArrayType<double[]> DOUBLE = new PrimitiveArrayType<double[]>(DataType.cdouble(), double[].class, 8) {
+        @Override
+        double[] newArray(int size) {
+            return new double[size];
+        }
+
+        @Override
+        int length(double[] array) {
+            return array.length;
+        }
+
+        @Override
+        void read(ByteBuffer input, double[] array, int index) {
+            array[index] = input.getDouble();
+        }
+
+        @Override
+        void write(ByteBuffer output, double[] array, int index) {
+            output.putDouble(array[index]);
+        }
+
+        @Override
+        String format(double[] array, int index) {
+            return Double.toString(array[index]);
+        }
+
+        @Override
+        void parse(String value, double[] array, int index) {
+            array[index] = Double.parseDouble(value);
+        }
+    };
+
+    final DataType cqlType;
+    final TypeToken<A> javaType;
+    final int elementSize;
+
+    private PrimitiveArrayType(DataType cqlType, Class<A> javaClass, int elementSize) {
+        this.cqlType = cqlType;
+        this.javaType = TypeToken.of(javaClass);
+        this.elementSize = elementSize;
+    }
+
+    /**
+     * Read one element of a serialized collection, its size then its value
+     */
+    void readElement(ByteBuffer input, A array, int index, ProtocolVersion protocolVersion) {
+        final int size = readSize(input, protocolVersion);
+        if (size != elementSize) {
+            throw new InvalidTypeException(String.format("Invalid %s element of size %s in collection, expecting %s bytes",
+                    cqlType, size, elementSize));
+        }
+        read(input, array, index);
+    }
+
+    /**
+     * Write one element of a serialized collection, its size then its value
+     */
+    void writeElement(ByteBuffer output, A array, int index, ProtocolVersion protocolVersion) {
+        writeSize(output, elementSize, protocolVersion);
+        write(output, array, index);
+    }
+
+    /**
+     * Collection sizes are serialized on 4 bytes since protocol v3, on 2 bytes before
+     */
+    static int sizeOfSize(ProtocolVersion protocolVersion) {
+        return protocolVersion.compareTo(ProtocolVersion.V2) > 0 ? 4 : 2;
+    }
+
+    static int readSize(ByteBuffer input, ProtocolVersion protocolVersion) {
+        return sizeOfSize(protocolVersion) == 4 ? input.getInt() : input.getShort() & 0xFFFF;
+    }
+
+    static void writeSize(ByteBuffer output, int size, ProtocolVersion protocolVersion) {
+        if (sizeOfSize(protocolVersion) == 4) {
+            output.putInt(size);
+        } else {
+            if (size > 65535) {
+                throw new InvalidTypeException(String.format("Collection of %s elements cannot be serialized before protocol v3", size));
+            }
+            output.putShort((short) size);
+        }
+    }
+
+    abstract A newArray(int size);
+
+    abstract int length(A array);
+
+    abstract void read(ByteBuffer input, A array, int index);
+
+    abstract void write(ByteBuffer output, A array, int index);
+
+    abstract String format(A array, int index);
+
+    abstract void parse(String value, A array, int index);
+}
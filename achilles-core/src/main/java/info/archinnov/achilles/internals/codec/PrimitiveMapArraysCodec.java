@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codec;
+
+import java.nio.ByteBuffer;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.TypeCodec;
+import com.datastax.driver.core.exceptions.InvalidTypeException;
+import com.google.common.reflect.TypeParameter;
+import com.google.common.reflect.TypeToken;
+
+import info.archinnov.achilles.type.tuples.Tuple2;
+
+/**
+ * Driver codec mapping a numeric CQL <strong>map</strong> to a pair of primitive arrays of the same length,
+ * the keys and their values, e.g. <strong>map&lt;int, float&gt;</strong> sparse vectors to
+ * <strong>Tuple2&lt;int[], float[]&gt;</strong>. Entries are read from the protocol {@link java.nio.ByteBuffer}
+ * straight into the arrays, without boxing, in the order of the map (ascending keys).
+ * The keys to encode should not contain duplicates, Cassandra keeps only one of them
+ */
+public class PrimitiveMapArraysCodec<K, V> extends TypeCodec<Tuple2<K, V>> {
+
+    public static final PrimitiveMapArraysCodec<int[], int[]> INT_INT_MAP = new PrimitiveMapArraysCodec<>(PrimitiveArrayType.INT, PrimitiveArrayType.INT);
+    public static final PrimitiveMapArraysCodec<int[], long[]> INT_BIGINT_MAP = new PrimitiveMapArraysCodec<>(PrimitiveArrayType.INT, PrimitiveArrayType.BIGINT);
+    public static final PrimitiveMapArraysCodec<int[], float[]> INT_FLOAT_MAP = new PrimitiveMapArraysCodec<>(PrimitiveArrayType.INT, PrimitiveArrayType.FLOAT);
+    public static final PrimitiveMapArraysCodec<int[], double[]> INT_DOUBLE_MAP = new PrimitiveMapArraysCodec<>(PrimitiveArrayType.INT, PrimitiveArrayType.DOUBLE);
+    public static final PrimitiveMapArraysCodec<long[], int[]> BIGINT_INT_MAP = new PrimitiveMapArraysCodec<>(PrimitiveArrayType.BIGINT, PrimitiveArrayType.INT);
+    public static final PrimitiveMapArraysCodec<long[], long[]> BIGINT_BIGINT_MAP = new PrimitiveMapArraysCodec<>(PrimitiveArrayType.BIGINT, PrimitiveArrayType.BIGINT);
+    public static final PrimitiveMapArraysCodec<long[], float[]> BIGINT_FLOAT_MAP = new PrimitiveMapArraysCodec<>(PrimitiveArrayType.BIGINT, PrimitiveArrayType.FLOAT);
+    public static final PrimitiveMapArraysCodec<long[], double[]> BIGINT_DOUBLE_MAP = new PrimitiveMapArraysCodec<>(PrimitiveArrayType.BIGINT, PrimitiveArrayType.DOUBLE);
+
+    private final PrimitiveArrayType<K> keyType;
+    private final PrimitiveArrayType<V> valueType;
+
+    private PrimitiveMapArraysCodec(PrimitiveArrayType<K> keyType, PrimitiveArrayType<V> valueType) {
+        super(DataType.map(keyType.cqlType, valueType.cqlType), javaType(keyType, valueType));
+        this.keyType = keyType;
+        this.valueType = valueType;
+    }
+
+    private static <K, V> TypeToken<Tuple2<K, V>> javaType(PrimitiveArrayType<K> keyType, PrimitiveArrayType<V> valueType) {
+        return new TypeToken<Tuple2<K, V>>() {}
+                .where(new TypeParameter<K>() {}, keyType.javaType)
+                .where(new TypeParameter<V>() {}, valueType.javaType);
+    }
+
+    @Override
+    public ByteBuffer serialize(Tuple2<K, V> keysAndValues, ProtocolVersion protocolVersion) throws InvalidTypeException {
+        if (keysAndValues == null) return null;
+        final K keys = keysAndValues._1();
+        final V values = keysAndValues._2();
+        final int length = checkSameLength(keys, values);
+        final int sizeOfSize = PrimitiveArrayType.sizeOfSize(protocolVersion);
+        final ByteBuffer output = ByteBuffer.allocate(sizeOfSize
+                + length * (2 * sizeOfSize + keyType.elementSize + valueType.elementSize));
+        PrimitiveArrayType.writeSize(output, length, protocolVersion);
+        for (int i = 0; i < length; i++) {
+            keyType.writeElement(output, keys, i, protocolVersion);
+            valueType.writeElement(output, values, i, protocolVersion);
+        }
+        output.flip();
+        return output;
+    }
+
+    @Override
+    public Tuple2<K, V> deserialize(ByteBuffer bytes, ProtocolVersion protocolVersion) throws InvalidTypeException {
+        if (bytes == null || bytes.remaining() == 0) return Tuple2.of(keyType.newArray(0), valueType.newArray(0));
+        final ByteBuffer input = bytes.duplicate();
+        final int size = PrimitiveArrayType.readSize(input, protocolVersion);
+        final K keys = keyType.newArray(size);
+        final V values = valueType.newArray(size);
+        for (int i = 0; i < size; i++) {
+            keyType.readElement(input, keys, i, protocolVersion);
+            valueType.readElement(input, values, i, protocolVersion);
+        }
+        return Tuple2.of(keys, values);
+    }
+
+    @Override
+    public Tuple2<K, V> parse(String value) throws InvalidTypeException {
+        if (value == null || value.isEmpty() || value.equalsIgnoreCase("NULL")) return null;
+        final String trimmed = value.trim();
+        if (!trimmed.startsWith("{") || !trimmed.endsWith("}")) {
+            throw new InvalidTypeException(String.format("Cannot parse map value from \"%s\"", value));
+        }
+        final String content = trimmed.substring(1, trimmed.length() - 1).trim();
+        if (content.isEmpty()) return Tuple2.of(keyType.newArray(0), valueType.newArray(0));
+        final String[] entries = content.split(",");
+        final K keys = keyType.newArray(entries.length);
+        final V values = valueType.newArray(entries.length);
+        try {
+            for (int i = 0; i < entries.length; i++) {
+                final String[] entry = entries[i].split(":");
+                if (entry.length != 2) {
+                    throw new InvalidTypeException(String.format("Cannot parse map value from \"%s\"", value));
+                }
+                keyType.parse(entry[0].trim(), keys, i);
+                valueType.parse(entry[1].trim(), values, i);
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidTypeException(String.format("Cannot parse map value from \"%s\"", value), e);
+        }
+        return Tuple2.of(keys, values);
+    }
+
+    @Override
+    public String format(Tuple2<K, V> keysAndValues) throws InvalidTypeException {
+        if (keysAndValues == null) return "NULL";
+        final K keys = keysAndValues._1();
+        final V values = keysAndValues._2();
+        final int length = checkSameLength(keys, values);
+        final StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < length; i++) {
+            if (i > 0) builder.append(",");
+            builder.append(keyType.format(keys, i)).append(":").append(valueType.format(values, i));
+        }
+        return builder.append("}").toString();
+    }
+
+    private int checkSameLength(K keys, V values) {
+        if (keys == null || values == null) {
+            throw new InvalidTypeException("Cannot encode a map from null keys or values arrays");
+        }
+        final int length = keyType.length(keys);
+        if (valueType.length(values) != length) {
+            throw new InvalidTypeException(String.format("Cannot encode %s keys with %s values", length, valueType.length(values)));
+        }
+        return length;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codec;
+
+import java.nio.ByteBuffer;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.TypeCodec;
+import com.datastax.driver.core.exceptions.InvalidTypeException;
+
+/**
+ * Driver codec mapping a numeric CQL <strong>set</strong> to a primitive array. Elements are
+ * read from the protocol {@link java.nio.ByteBuffer} straight into the array, without boxing,
+ * in the order of the set (ascending). The array to encode should not contain duplicates,
+ * Cassandra keeps only one of them
+ */
+public class PrimitiveSetArrayCodec<A> extends TypeCodec<A> {
+
+    public static final PrimitiveSetArrayCodec<int[]> INT_SET = new PrimitiveSetArrayCodec<>(PrimitiveArrayType.INT);
+    public static final PrimitiveSetArrayCodec<long[]> BIGINT_SET = new PrimitiveSetArrayCodec<>(PrimitiveArrayType.BIGINT);
+    public static final PrimitiveSetArrayCodec<float[]> FLOAT_SET = new PrimitiveSetArrayCodec<>(PrimitiveArrayType.FLOAT);
+    public static final PrimitiveSetArrayCodec<double[]> DOUBLE_SET = new PrimitiveSetArrayCodec<>(PrimitiveArrayType.DOUBLE);
+
+    private final PrimitiveArrayType<A> elementType;
+
+    private PrimitiveSetArrayCodec(PrimitiveArrayType<A> elementType) {
+        super(DataType.set(elementType.cqlType), elementType.javaType);
+        this.elementType = elementType;
+    }
+
+    @Override
+    public ByteBuffer serialize(A array, ProtocolVersion protocolVersion) throws InvalidTypeException {
+        if (array == null) return null;
+        final int length = elementType.length(array);
+        final int sizeOfSize = PrimitiveArrayType.sizeOfSize(protocolVersion);
+        final ByteBuffer output = ByteBuffer.allocate(sizeOfSize + length * (sizeOfSize + elementType.elementSize));
+        PrimitiveArrayType.writeSize(output, length, protocolVersion);
+        for (int i = 0; i < length; i++) {
+            elementType.writeElement(output, array, i, protocolVersion);
+        }
+        output.flip();
+        return output;
+    }
+
+    @Override
+    public A deserialize(ByteBuffer bytes, ProtocolVersion protocolVersion) throws InvalidTypeException {
+        if (bytes == null || bytes.remaining() == 0) return elementType.newArray(0);
+        final ByteBuffer input = bytes.duplicate();
+        final int size = PrimitiveArrayType.readSize(input, protocolVersion);
+        final A array = elementType.newArray(size);
+        for (int i = 0; i < size; i++) {
+            elementType.readElement(input, array, i, protocolVersion);
+        }
+        return array;
+    }
+
+    @Override
+    public A parse(String value) throws InvalidTypeException {
+        if (value == null || value.isEmpty() || value.equalsIgnoreCase("NULL")) return null;
+        final String trimmed = value.trim();
+        if (!trimmed.startsWith("{") || !trimmed.endsWith("}")) {
+            throw new InvalidTypeException(String.format("Cannot parse set value from \"%s\"", value));
+        }
+        final String content = trimmed.substring(1, trimmed.length() - 1).trim();
+        if (content.isEmpty()) return elementType.newArray(0);
+        final String[] elements = content.split(",");
+        final A array = elementType.newArray(elements.length);
+        try {
+            for (int i = 0; i < elements.length; i++) {
+                elementType.parse(elements[i].trim(), array, i);
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidTypeException(String.format("Cannot parse set value from \"%s\"", value), e);
+        }
+        return array;
+    }
+
+    @Override
+    public String format(A array) throws InvalidTypeException {
+        if (array == null) return "NULL";
+        final StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < elementType.length(array); i++) {
+            if (i > 0) builder.append(",");
+            builder.append(elementType.format(array, i));
+        }
+        return builder.append("}").toString();
+    }
+}
@@ -19,8 +19,11 @@ package info.archinnov.achilles.internals.codegen.crud;
 import static info.archinnov.achilles.internals.metamodel.columns.ColumnType.CLUSTERING;
 import static info.archinnov.achilles.internals.metamodel.columns.ColumnType.PARTITION;
 import static info.archinnov.achilles.internals.parser.TypeUtils.*;
+import static java.util.stream.Collectors.toList;
 
 import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 import javax.lang.model.element.Modifier;
 
 import com.squareup.javapoet.*;
@@ -28,6 +31,7 @@ import com.squareup.javapoet.*;
 import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen.EntityMetaSignature;
 import info.archinnov.achilles.internals.metamodel.columns.ClusteringColumnInfo;
 import info.archinnov.achilles.internals.metamodel.columns.PartitionKeyInfo;
+import info.archinnov.achilles.type.tuples.Tuple;
 import info.archinnov.achilles.type.tuples.Tuple3;
 
 public abstract class CrudAPICodeGen {
@@ -48,14 +52,22 @@ public abstract class CrudAPICodeGen {
                 .addMethod(buildWithSchemaNameProvider(signature))
                 .addMethod(buildFind(signature));
 
+        buildFindByIds(signature).ifPresent(crudClass::addMethod);
+
         // API for table
         if (signature.isTable()) {
             crudClass.addMethod(buildDeleteInstance(signature))
-                    .addMethod(buildDeleteByKeys(signature));
+                    .addMethod(buildDeleteByKeys(signature))
+                    .addMethod(buildBulk(signature, "deleteAll", "deleteAllInternal", "deleted", DELETE_WITH_OPTIONS, ITERABLE))
+                    .addMethod(buildBulk(signature, "deleteAll", "deleteAllInternal", "deleted", DELETE_WITH_OPTIONS, STREAM));
 
             if (!signature.isCounterEntity()) {
                 crudClass.addMethod(buildInsert(signature));
                 crudClass.addMethod(buildUpdate(signature));
+                crudClass.addMethod(buildBulk(signature, "insertAll", "insertAllInternal", "inserted", INSERT_WITH_OPTIONS, ITERABLE));
+                crudClass.addMethod(buildBulk(signature, "insertAll", "insertAllInternal", "inserted", INSERT_WITH_OPTIONS, STREAM));
+                crudClass.addMethod(buildBulk(signature, "updateAll", "updateAllInternal", "updated", UPDATE_WITH_OPTIONS, ITERABLE));
+                crudClass.addMethod(buildBulk(signature, "updateAll", "updateAllInternal", "updated", UPDATE_WITH_OPTIONS, STREAM));
                 if (signature.hasStatic()) {
                     crudClass.addMethod(buildInsertStatic(signature));
                     crudClass.addMethod(buildUpdateStatic(signature));
@@ -133,6 +145,57 @@ public abstract class CrudAPICodeGen {
         return builder.build();
     }
 
+    /*
+       public FindByIdsWithOptions<KEY, ENTITY> findByIds(Collection<KEY> primaryKeys) {
+         KEY = type of the primary key column or TupleN of the partition keys then clustering columns
+       }
+    */
+    private static Optional<MethodSpec> buildFindByIds(EntityMetaSignature signature) {
+        final List<TypeName> primaryKeyTypes = signature.fieldMetaSignatures
+                .stream()
+                .filter(x -> x.context.columnType == PARTITION)
+                .map(x -> Tuple3.of(x.context.fieldName, x.sourceType, (PartitionKeyInfo) x.context.columnInfo))
+                .sorted(PARTITION_KEY_SORTER)
+                .map(x -> x._2().box())
+                .collect(toList());
+
+        signature.fieldMetaSignatures
+                .stream()
+                .filter(x -> x.context.columnType == CLUSTERING)
+                .map(x -> Tuple3.of(x.context.fieldName, x.sourceType, (ClusteringColumnInfo) x.context.columnInfo))
+                .sorted(CLUSTERING_COLUMN_SORTER)
+                .map(x -> x._2().box())
+                .forEach(primaryKeyTypes::add);
+
+        // No TupleN type beyond 10 components
+        if (primaryKeyTypes.size() > 10) {
+            return Optional.empty();
+        }
+
+        final TypeName keyType;
+        final CodeBlock keyComponents;
+        if (primaryKeyTypes.size() == 1) {
+            keyType = primaryKeyTypes.get(0);
+            keyComponents = CodeBlock.builder().add("$T::singletonList", COLLECTIONS).build();
+        } else {
+            final ClassName tupleType = ClassName.get(Tuple.class.getPackage().getName(), "Tuple" + primaryKeyTypes.size());
+            keyType = genericType(tupleType, primaryKeyTypes.toArray(new TypeName[primaryKeyTypes.size()]));
+            keyComponents = CodeBlock.builder().add("$T::values", tupleType).build();
+        }
+
+        final ParameterizedTypeName returnType = genericType(FIND_BY_IDS_WITH_OPTIONS, keyType, signature.entityRawClass);
+        return Optional.of(MethodSpec.methodBuilder("findByIds")
+                .addJavadoc("Find several entities by their complete primary key. Keys of the same partition are grouped with an IN on the last clustering column\n\n")
+                .addJavadoc("@param primaryKeys complete primary keys, partition key(s) first then clustering column(s)\n")
+                .addJavadoc("@return FindByIdsWithOptions<$T, $T>", keyType, signature.entityRawClass)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(genericType(COLLECTION, keyType), "primaryKeys", Modifier.FINAL)
+                .addStatement("$T.validateNotNull($N, $S)", VALIDATOR, "primaryKeys", "The primary keys should not be null")
+                .addStatement("return new $T(meta, rte, primaryKeys, $L, cassandraOptions)", returnType, keyComponents)
+                .returns(returnType)
+                .build());
+    }
+
     private static MethodSpec buildInsert(EntityMetaSignature signature) {
         return MethodSpec.methodBuilder("insert")
                 .addJavadoc("Insert this entity\n\n")
@@ -158,6 +221,21 @@ public abstract class CrudAPICodeGen {
     }
 
 
+    private static MethodSpec buildBulk(EntityMetaSignature signature, String methodName, String internalMethodName,
+                                        String action, ClassName mutationType, ClassName sourceType) {
+        final TypeName returnType = genericType(BULK_WRITE, signature.entityRawClass, genericType(mutationType, signature.entityRawClass));
+        return MethodSpec.methodBuilder(methodName)
+                .addJavadoc("Bulk write: each entity is $L with a bounded number of requests in flight\n\n", action)
+                .addJavadoc("@param instances the instances of $T\n", signature.entityRawClass)
+                .addJavadoc("@return $T<$T, $T<$T>>", BULK_WRITE, signature.entityRawClass, mutationType, signature.entityRawClass)
+                .addModifiers(Modifier.FINAL, Modifier.PUBLIC)
+                .addParameter(genericType(sourceType, signature.entityRawClass), "instances", Modifier.FINAL)
+                .addStatement("$T.validateNotNull($N, $S)", VALIDATOR, "instances", "The entities to be " + action + " should not be null")
+                .addStatement("return $L(instances.iterator(), cassandraOptions)", internalMethodName)
+                .returns(returnType)
+                .build();
+    }
+
     private static MethodSpec buildInsertStatic(EntityMetaSignature signature) {
         return MethodSpec.methodBuilder("insertStatic")
                 .addJavadoc("Insert only partition key(s) and static column(s).\n\n")
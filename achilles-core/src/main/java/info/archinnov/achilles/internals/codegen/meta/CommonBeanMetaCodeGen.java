@@ -23,6 +23,7 @@ import java.util.Optional;
 import javax.lang.model.element.Modifier;
 
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
 
 import info.archinnov.achilles.annotations.Strategy;
 import info.archinnov.achilles.internals.strategy.naming.InternalNamingStrategy;
@@ -45,6 +46,19 @@ public interface CommonBeanMetaCodeGen {
         }
     }
 
+    /**
+     * Instantiate the bean with its public default constructor through a method reference
+     * instead of reflection
+     */
+    default MethodSpec buildGetInstantiator(TypeName rawBeanType) {
+        return MethodSpec.methodBuilder("getInstantiator")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PROTECTED)
+                .returns(genericType(OPTIONAL, genericType(SUPPLIER, rawBeanType)))
+                .addStatement("return $T.of($T::new)", OPTIONAL, rawBeanType)
+                .build();
+    }
+
     default MethodSpec emptyOption(MethodSpec.Builder builder) {
         return builder
                 .addStatement("return $T.empty()", OPTIONAL)
@@ -174,6 +174,9 @@ public class EntityMetaCodeGen implements CommonBeanMetaCodeGen {
         }
 
         builder.addMethod(buildNewInstanceFromCustomConstructor(customConstructorFieldMetaSignatures, rawClassTypeName));
+        if (customConstructorFieldMetaSignatures.isEmpty()) {
+            builder.addMethod(buildGetInstantiator(rawClassTypeName));
+        }
 
         for(FieldMetaSignature x: fieldMetaSignatures) {
             builder.addField(x.buildPropertyAsField());
@@ -70,6 +70,10 @@ public class UDTMetaCodeGen implements CommonBeanMetaCodeGen {
                 .addMethod(buildCreateUDTFromBeanT(rawBeanType, fieldMetaSignatures))
                 .addMethod(buildNewInstanceFromCustomConstructor(rawBeanType, customConstructorFieldMetaSignatures));
 
+        if (customConstructorFieldMetaSignatures.isEmpty()) {
+            builder.addMethod(buildGetInstantiator(rawBeanType));
+        }
+
         for (FieldMetaSignature x : fieldMetaSignatures) {
             builder.addField(x.buildPropertyAsField());
         }
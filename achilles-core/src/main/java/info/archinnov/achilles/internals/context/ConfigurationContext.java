@@ -15,6 +15,9 @@
  */
 package info.archinnov.achilles.internals.context;
 
+import static info.archinnov.achilles.validation.Validator.validateBeanMappingTrue;
+
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,18 +32,23 @@ import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.Session;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import info.archinnov.achilles.internals.cache.EntityCache;
+import info.archinnov.achilles.internals.cache.EntityCacheSettings;
 import info.archinnov.achilles.internals.cache.StatementsCache;
+import info.archinnov.achilles.internals.dsl.counter.CounterCoalescingSettings;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.interceptor.DefaultPostLoadBeanValidationInterceptor;
 import info.archinnov.achilles.internals.interceptor.DefaultPreMutateBeanValidationInterceptor;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.json.JacksonMapperFactory;
+import info.archinnov.achilles.type.CompletionMode;
 import info.archinnov.achilles.type.SchemaNameProvider;
 import info.archinnov.achilles.type.codec.Codec;
 import info.archinnov.achilles.type.codec.CodecSignature;
 import info.archinnov.achilles.type.factory.BeanFactory;
 import info.archinnov.achilles.type.interceptor.Interceptor;
+import info.archinnov.achilles.type.metrics.MetricsRecorder;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
 import info.archinnov.achilles.type.strategy.NamingStrategy;
 
@@ -54,6 +62,8 @@ public class ConfigurationContext {
     private boolean forceSchemaGeneration;
     private boolean validateSchema = true;
 
+    private boolean prepareDSLTemplates = false;
+
     private List<Class<?>> manageEntities;
 
     private JacksonMapperFactory jacksonMapperFactory;
@@ -74,6 +84,12 @@ public class ConfigurationContext {
 
     private int preparedStatementLRUCacheSize;
 
+    private int preparedStatementsParallelism = 16;
+
+    private boolean lazyStaticStatementsPreparation = false;
+
+    private List<Class<?>> staticStatementsWarmUpEntities = new ArrayList<>();
+
     private InsertStrategy globalInsertStrategy;
     private NamingStrategy globalNamingStrategy;
 
@@ -82,6 +98,10 @@ public class ConfigurationContext {
     private ExecutorService executorService;
     private boolean providedExecutorService;
 
+    private CompletionMode completionMode = CompletionMode.EXECUTOR_SERVICE;
+    private Optional<ExecutorService> completionExecutorService = Optional.empty();
+    private boolean providedCompletionExecutorService;
+
     private BeanFactory defaultBeanFactory;
 
     private Session session;
@@ -91,6 +111,12 @@ public class ConfigurationContext {
 
     private StatementsCache statementsCache;
 
+    private MetricsRecorder metricsRecorder = MetricsRecorder.NO_OP;
+
+    private Map<Class<?>, EntityCacheSettings> entityCaches = new HashMap<>();
+
+    private Map<Class<?>, CounterCoalescingSettings> counterCoalescing = new HashMap<>();
+
     private Map<CodecSignature<?,?>, Codec<?, ?>> runtimeCodecs = new HashMap<>();
 
     private Integer DMLResultsDisplaySize;
@@ -111,6 +137,14 @@ public class ConfigurationContext {
         this.validateSchema = validateSchema;
     }
 
+    public boolean isPrepareDSLTemplates() {
+        return prepareDSLTemplates;
+    }
+
+    public void setPrepareDSLTemplates(boolean prepareDSLTemplates) {
+        this.prepareDSLTemplates = prepareDSLTemplates;
+    }
+
     public List<Class<?>> getManageEntities() {
         return manageEntities;
     }
@@ -182,6 +216,30 @@ public class ConfigurationContext {
         this.preparedStatementLRUCacheSize = preparedStatementLRUCacheSize;
     }
 
+    public int getPreparedStatementsParallelism() {
+        return preparedStatementsParallelism;
+    }
+
+    public void setPreparedStatementsParallelism(int preparedStatementsParallelism) {
+        this.preparedStatementsParallelism = preparedStatementsParallelism;
+    }
+
+    public boolean isLazyStaticStatementsPreparation() {
+        return lazyStaticStatementsPreparation;
+    }
+
+    public void setLazyStaticStatementsPreparation(boolean lazyStaticStatementsPreparation) {
+        this.lazyStaticStatementsPreparation = lazyStaticStatementsPreparation;
+    }
+
+    public List<Class<?>> getStaticStatementsWarmUpEntities() {
+        return staticStatementsWarmUpEntities;
+    }
+
+    public void setStaticStatementsWarmUpEntities(List<Class<?>> staticStatementsWarmUpEntities) {
+        this.staticStatementsWarmUpEntities = staticStatementsWarmUpEntities;
+    }
+
     public InsertStrategy getGlobalInsertStrategy() {
         return globalInsertStrategy;
     }
@@ -290,6 +348,30 @@ public class ConfigurationContext {
         this.providedExecutorService = providedExecutorService;
     }
 
+    public CompletionMode getCompletionMode() {
+        return completionMode;
+    }
+
+    public void setCompletionMode(CompletionMode completionMode) {
+        this.completionMode = completionMode;
+    }
+
+    public Optional<ExecutorService> getCompletionExecutorService() {
+        return completionExecutorService;
+    }
+
+    public void setCompletionExecutorService(Optional<ExecutorService> completionExecutorService) {
+        this.completionExecutorService = completionExecutorService;
+    }
+
+    public boolean isProvidedCompletionExecutorService() {
+        return providedCompletionExecutorService;
+    }
+
+    public void setProvidedCompletionExecutorService(boolean providedCompletionExecutorService) {
+        this.providedCompletionExecutorService = providedCompletionExecutorService;
+    }
+
     public void injectDependencies(TupleTypeFactory tupleTypeFactory, UserTypeFactory userTypeFactory, AbstractEntityProperty<?> entityProperty) {
         LOGGER.debug("Start injecting dependencies to meta classes");
 
@@ -314,6 +396,20 @@ public class ConfigurationContext {
         LOGGER.debug("Injecting global Insert strategy");
         entityProperty.inject(globalInsertStrategy);
 
+        LOGGER.debug("Injecting metrics recorder");
+        entityProperty.inject(metricsRecorder);
+
+        if (entityCaches.containsKey(entityClass) && entityProperty.isTable()) {
+            LOGGER.debug("Injecting entity cache");
+            entityProperty.inject(new EntityCache(entityClass, entityCaches.get(entityClass)));
+        }
+
+        if (counterCoalescing.containsKey(entityClass)) {
+            validateBeanMappingTrue(entityProperty.counterTable,
+                    "Counter coalescing is configured for entity '%s' but it is not a counter entity",
+                    entityClass.getCanonicalName());
+        }
+
         if (!interceptors.isEmpty()) {
             LOGGER.debug("Injecting bean interceptors");
             interceptors.stream()
@@ -334,6 +430,7 @@ public class ConfigurationContext {
                 entityProperty.interceptors.add(0, (Interceptor) postLoadBeanValidationInterceptor.get());
             }
         }
+        entityProperty.buildInterceptorsDispatch();
 
         LOGGER.debug("Injecting global consistency levels");
         entityProperty.injectConsistencyLevels(session, this);
@@ -355,6 +452,30 @@ public class ConfigurationContext {
         this.statementsCache = statementsCache;
     }
 
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+    public void setMetricsRecorder(MetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    public Map<Class<?>, EntityCacheSettings> getEntityCaches() {
+        return entityCaches;
+    }
+
+    public void setEntityCaches(Map<Class<?>, EntityCacheSettings> entityCaches) {
+        this.entityCaches = entityCaches;
+    }
+
+    public Map<Class<?>, CounterCoalescingSettings> getCounterCoalescing() {
+        return counterCoalescing;
+    }
+
+    public void setCounterCoalescing(Map<Class<?>, CounterCoalescingSettings> counterCoalescing) {
+        this.counterCoalescing = counterCoalescing;
+    }
+
     public Map<CodecSignature<?, ?>, Codec<?, ?>> getRuntimeCodecs() {
         return runtimeCodecs;
     }
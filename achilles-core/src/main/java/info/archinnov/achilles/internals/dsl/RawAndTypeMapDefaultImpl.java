@@ -22,6 +22,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import org.reactivestreams.Publisher;
+
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.ResultSet;
@@ -31,6 +33,7 @@ import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.runtime.RuntimeEngine;
 import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.types.ResultSetPublisher;
 import info.archinnov.achilles.internals.types.TypedMapIteratorWrapper;
 import info.archinnov.achilles.type.TypedMap;
 import info.archinnov.achilles.type.tuples.Tuple2;
@@ -104,4 +107,23 @@ public interface RawAndTypeMapDefaultImpl extends TypedMapAware, StatementTypeAw
         TypedMapIteratorWrapper iterator = (TypedMapIteratorWrapper) this.typedMapIterator();
         return Tuple2.of(iterator, iterator.getExecutionInfo());
     }
+
+    @Override
+    default Publisher<TypedMap> typedMapPublisher() {
+        final StatementWrapper statementWrapper = new BoundStatementWrapper(getOperationType(boundStatement()),
+                meta(), boundStatement(), encodedBoundValues());
+        final CassandraOptions options = options();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Generate publisher for typed query : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        final RuntimeEngine rte = runtimeEngine();
+        return ResultSetPublisher.forRows(() -> rte.execute(statementWrapper), statementWrapper, options, row -> {
+            statementWrapper.logReturnedRow(row);
+            options.rowAsyncListener(row);
+            return mapRowToTypedMap(row);
+        }, rte.completionDispatcher);
+    }
 }
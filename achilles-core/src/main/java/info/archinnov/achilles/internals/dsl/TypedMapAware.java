@@ -23,6 +23,8 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.IntStream;
 
+import org.reactivestreams.Publisher;
+
 import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.ResultSet;
@@ -55,6 +57,14 @@ public interface TypedMapAware extends AsyncAware {
      */
     CompletableFuture<Tuple2<List<TypedMap>, ExecutionInfo>> getTypedMapsAsyncWithStats();
 
+    /**
+     * Return a {@link org.reactivestreams.Publisher}&lt;{@link info.archinnov.achilles.type.TypedMap}&gt; over <strong>all</strong> the pages of the SELECT action.
+     * <br/>
+     * The query is executed on each subscription and next pages are fetched asynchronously
+     * only when the subscriber demand exceeds the rows already fetched
+     */
+    Publisher<TypedMap> typedMapPublisher();
+
     /**
      * Execute the SELECT action and return an {@link java.util.concurrent.CompletableFuture}&lt;
      * {@link java.util.List}&lt;{@link info.archinnov.achilles.type.TypedMap}&gt;&gt;
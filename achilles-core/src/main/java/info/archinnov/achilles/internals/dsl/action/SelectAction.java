@@ -20,6 +20,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.reactivestreams.Publisher;
 
 import com.datastax.driver.core.ExecutionInfo;
 import com.google.common.util.concurrent.Uninterruptibles;
@@ -124,4 +128,54 @@ public interface SelectAction<ENTITY> extends AsyncAware {
      * a list of entity instances with {@link com.datastax.driver.core.ExecutionInfo}
      */
     CompletableFuture<Tuple2<List<ENTITY>, ExecutionInfo>> getListAsyncWithStats();
+
+    /**
+     * Execute the SELECT action
+     * and return a lazy {@link java.util.stream.Stream}&lt;ENTITY&gt; over <strong>all</strong> the pages,
+     * prefetching the next page while the current one is consumed
+     * <br/>
+     * WARNING: <strong>this method blocks when the entities fetched so far are exhausted</strong>
+     */
+    default Stream<ENTITY> stream() {
+        return stream(1);
+    }
+
+    /**
+     * Execute the SELECT action
+     * and return a lazy {@link java.util.stream.Stream}&lt;ENTITY&gt; over <strong>all</strong> the pages,
+     * requesting the next page in the background once fewer than <strong>prefetchPages</strong> pages of entities
+     * remain to be consumed (0 disables prefetching). At most one page is in flight at a time
+     * <br/>
+     * WARNING: <strong>this method blocks when the entities fetched so far are exhausted</strong>
+     */
+    Stream<ENTITY> stream(int prefetchPages);
+
+    /**
+     * Execute the SELECT action asynchronously and push the entities of <strong>all</strong> the pages
+     * to the consumer, prefetching the next page while the current one is consumed
+     * <br/>
+     * The returned {@link java.util.concurrent.CompletableFuture} completes with the
+     * {@link com.datastax.driver.core.ExecutionInfo} of every fetched page once the last entity has been consumed
+     */
+    default CompletableFuture<List<ExecutionInfo>> forEachAsync(Consumer<ENTITY> consumer) {
+        return forEachAsync(consumer, 1);
+    }
+
+    /**
+     * Execute the SELECT action asynchronously and push the entities of <strong>all</strong> the pages
+     * to the consumer, requesting the next page in the background once fewer than <strong>prefetchPages</strong> pages
+     * of entities remain to be consumed (0 disables prefetching). At most one page is in flight at a time
+     * <br/>
+     * The returned {@link java.util.concurrent.CompletableFuture} completes with the
+     * {@link com.datastax.driver.core.ExecutionInfo} of every fetched page once the last entity has been consumed
+     */
+    CompletableFuture<List<ExecutionInfo>> forEachAsync(Consumer<ENTITY> consumer, int prefetchPages);
+
+    /**
+     * Return a {@link org.reactivestreams.Publisher}&lt;ENTITY&gt; over <strong>all</strong> the pages of the SELECT action.
+     * <br/>
+     * The query is executed on each subscription and next pages are fetched asynchronously
+     * only when the subscriber demand exceeds the entities already fetched
+     */
+    Publisher<ENTITY> publisher();
 }
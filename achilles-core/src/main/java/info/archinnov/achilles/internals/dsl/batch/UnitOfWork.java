@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.batch;
+
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.dsl.StatementProvider;
+import info.archinnov.achilles.internals.dsl.action.MutationAction;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.type.tuples.Tuple4;
+
+/**
+ * Collect mutations (CRUD insert/update/delete or DSL update/delete) and flush them
+ * grouped by partition: all the mutations targeting the same partition are sent in
+ * <strong>UNLOGGED</strong> batches of at most <em>maxStatementsPerBatch</em> statements.
+ * Different partitions are flushed concurrently.
+ * <br/>
+ * <br/>
+ * The partition of a mutation is given by the keyspace, the table and the routing key of its bound statement.
+ * Mutations on different tables are never batched together, even if they share the same partition key
+ * value, and counter mutations are sent in <strong>COUNTER</strong> batches.
+ * Mutations without routing key are sent alone.
+ * <br/>
+ * <br/>
+ * <em>Remark: interceptors and LWT result listeners of the collected mutations are not triggered</em>
+ *
+ * <pre class="code"><code class="java">
+ *   manager
+ *      .batch()
+ *      .add(manager.crud().insert(entity1))
+ *      .add(manager.crud().update(entity2))
+ *      .add(manager.crud().delete(entity3))
+ *      .flush();
+ * </code></pre>
+ */
+public class UnitOfWork implements AsyncAware {
+
+    public static final int DEFAULT_MAX_STATEMENTS_PER_BATCH = 100;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UnitOfWork.class);
+
+    private final RuntimeEngine rte;
+    private final List<BoundStatement> statements = new ArrayList<>();
+    private int maxStatementsPerBatch = DEFAULT_MAX_STATEMENTS_PER_BATCH;
+    private Optional<ConsistencyLevel> consistencyLevel = Optional.empty();
+    private Optional<ConsistencyLevel> serialConsistencyLevel = Optional.empty();
+
+    public UnitOfWork(RuntimeEngine rte) {
+        this.rte = rte;
+    }
+
+    /**
+     * Add a mutation to this unit of work. The statement is generated and bound immediately
+     */
+    public <T extends MutationAction & StatementProvider> UnitOfWork add(T mutation) {
+        validateNotNull(mutation, "Mutation to be added to the unit of work should not be null");
+        statements.add(mutation.generateAndGetBoundStatement());
+        return this;
+    }
+
+    /**
+     * Add a native bound statement to this unit of work
+     */
+    public UnitOfWork add(BoundStatement boundStatement) {
+        validateNotNull(boundStatement, "Bound statement to be added to the unit of work should not be null");
+        statements.add(boundStatement);
+        return this;
+    }
+
+    /**
+     * Maximum number of statements in a single batch. A partition with more mutations
+     * is flushed in several batches. Default value is {@value #DEFAULT_MAX_STATEMENTS_PER_BATCH}
+     */
+    public UnitOfWork withMaxStatementsPerBatch(int maxStatementsPerBatch) {
+        validateTrue(maxStatementsPerBatch > 0, "The max statements per batch '%s' should be strictly positive", maxStatementsPerBatch);
+        this.maxStatementsPerBatch = maxStatementsPerBatch;
+        return this;
+    }
+
+    /**
+     * Consistency level of the batches. By default the consistency level of
+     * the first statement of each batch is used
+     */
+    public UnitOfWork withConsistencyLevel(ConsistencyLevel consistencyLevel) {
+        this.consistencyLevel = Optional.ofNullable(consistencyLevel);
+        return this;
+    }
+
+    /**
+     * Serial consistency level of the batches. By default the serial consistency level of
+     * the first statement of each batch is used
+     */
+    public UnitOfWork withSerialConsistencyLevel(ConsistencyLevel serialConsistencyLevel) {
+        this.serialConsistencyLevel = Optional.ofNullable(serialConsistencyLevel);
+        return this;
+    }
+
+    /**
+     * @return number of mutations not flushed yet
+     */
+    public int size() {
+        return statements.size();
+    }
+
+    /**
+     * Flush all collected mutations and wait for completion
+     */
+    public void flush() {
+        flushWithStats();
+    }
+
+    /**
+     * Flush all collected mutations, wait for completion
+     * and return the {@link com.datastax.driver.core.ExecutionInfo} of each sent statement or batch
+     */
+    public List<ExecutionInfo> flushWithStats() {
+        try {
+            return Uninterruptibles.getUninterruptibly(flushAsync());
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * Flush asynchronously all collected mutations. The unit of work is empty
+     * afterward and can be re-used
+     */
+    public CompletableFuture<List<ExecutionInfo>> flushAsync() {
+        final Map<Object, List<BoundStatement>> partitions = groupByPartition(statements);
+        statements.clear();
+
+        final List<CompletableFuture<ExecutionInfo>> futures = new ArrayList<>();
+        for (List<BoundStatement> partition : partitions.values()) {
+            final BatchStatement.Type batchType = isCounter(partition.get(0))
+                    ? BatchStatement.Type.COUNTER
+                    : BatchStatement.Type.UNLOGGED;
+            for (int from = 0; from < partition.size(); from += maxStatementsPerBatch) {
+                final List<BoundStatement> chunk = partition.subList(from, Math.min(from + maxStatementsPerBatch, partition.size()));
+                futures.add(executeChunk(chunk, batchType).thenApply(ResultSet::getExecutionInfo));
+            }
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Flushing unit of work as %s statement(s) or batch(es) over %s partition(s)",
+                    futures.size(), partitions.size()));
+        }
+
+        return CompletableFuture
+                .allOf(futures.toArray(new CompletableFuture<?>[futures.size()]))
+                .thenApply(x -> futures.stream().map(CompletableFuture::join).collect(toList()));
+    }
+
+    private CompletableFuture<ResultSet> executeChunk(List<BoundStatement> chunk, BatchStatement.Type batchType) {
+        if (chunk.size() == 1) {
+            return rte.execute(chunk.get(0));
+        }
+        final BatchStatement batch = new BatchStatement(batchType);
+        batch.addAll(chunk);
+        final BoundStatement first = chunk.get(0);
+        batch.setConsistencyLevel(consistencyLevel.orElse(first.getConsistencyLevel()));
+        batch.setSerialConsistencyLevel(serialConsistencyLevel.orElse(first.getSerialConsistencyLevel()));
+        return rte.execute(batch);
+    }
+
+    private Map<Object, List<BoundStatement>> groupByPartition(List<BoundStatement> boundStatements) {
+        final Configuration configuration = rte.getCluster().getConfiguration();
+        final ProtocolVersion protocolVersion = configuration.getProtocolOptions().getProtocolVersion();
+        final CodecRegistry codecRegistry = configuration.getCodecRegistry();
+
+        final Map<Object, List<BoundStatement>> partitions = new LinkedHashMap<>();
+        for (BoundStatement boundStatement : boundStatements) {
+            final ByteBuffer routingKey = boundStatement.getRoutingKey(protocolVersion, codecRegistry);
+            final Object partition = routingKey == null
+                    ? new Object()
+                    : Tuple4.of(boundStatement.getKeyspace(), getTable(boundStatement), isCounter(boundStatement), routingKey);
+            partitions.computeIfAbsent(partition, x -> new ArrayList<>()).add(boundStatement);
+        }
+        return partitions;
+    }
+
+    private static String getTable(BoundStatement boundStatement) {
+        final ColumnDefinitions variables = boundStatement.preparedStatement().getVariables();
+        return variables.size() > 0 ? variables.getTable(0) : null;
+    }
+
+    /**
+     * A counter mutation binds at least one counter value. Cassandra rejects
+     * a batch mixing counter and non-counter mutations
+     */
+    private static boolean isCounter(BoundStatement boundStatement) {
+        for (ColumnDefinitions.Definition variable : boundStatement.preparedStatement().getVariables()) {
+            if (variable.getType().getName() == DataType.Name.COUNTER) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
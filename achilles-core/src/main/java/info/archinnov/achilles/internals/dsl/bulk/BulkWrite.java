@@ -0,0 +1,436 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.bulk;
+
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.core.exceptions.DriverException;
+
+import info.archinnov.achilles.internals.dsl.StatementProvider;
+import info.archinnov.achilles.internals.dsl.action.MutationAction;
+import info.archinnov.achilles.internals.dsl.batch.UnitOfWork;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.type.tuples.Tuple2;
+
+/**
+ * Write a large number of entities with a bounded number of requests in flight.
+ * The calling thread iterates over the entities and blocks as long as
+ * <em>maxInFlight</em> requests are pending.
+ * <br/>
+ * <br/>
+ * Failed entities are collected in the returned {@link BulkWriteStats} instead of aborting the
+ * whole write. A failed request is retried up to <em>retries</em> times, but only if the driver
+ * considers its statement idempotent (plain INSERT/UPDATE/DELETE are, LWT mutations are not)
+ * and the failure is a driver exception.
+ * Each retry waits for an exponential backoff, starting at {@link #withRetryBackoff(long, TimeUnit)}.
+ * A retry only re-executes the bound statement: interceptors already triggered by the failed
+ * attempt are not triggered again, and POST interceptors are not triggered for a retried mutation
+ * <br/>
+ * <br/>
+ * When {@link #groupByPartition(int)} is enabled, entities are buffered and the mutations
+ * targeting the same partition are sent as <strong>UNLOGGED</strong> batches.
+ * <em>Remark: in this mode interceptors and LWT result listeners are not triggered</em>
+ *
+ * <pre class="code"><code class="java">
+ *   final BulkWriteStats&lt;User&gt; stats = manager
+ *      .crud()
+ *      .insertAll(users)
+ *      .withMaxInFlight(256)
+ *      .withRetries(2)
+ *      .withRetryBackoff(50, TimeUnit.MILLISECONDS)
+ *      .withMutationOptions(insert -&gt; insert.withConsistencyLevel(ConsistencyLevel.ONE))
+ *      .execute();
+ * </code></pre>
+ */
+public class BulkWrite<ENTITY, MUTATION extends MutationAction & StatementProvider> {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 128;
+    public static final long DEFAULT_RETRY_BACKOFF_MILLIS = 100L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkWrite.class);
+
+    private final RuntimeEngine rte;
+    private final Iterator<ENTITY> instances;
+    private final Function<ENTITY, MUTATION> mutationFactory;
+    private final Consumer<ENTITY> afterStatementWrite;
+    private final Consumer<ENTITY> afterFailedStatementWrite;
+    private UnaryOperator<MUTATION> mutationOptions = UnaryOperator.identity();
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+    private int retries = 0;
+    private long retryBackoffNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_RETRY_BACKOFF_MILLIS);
+    private Optional<Integer> partitionBufferSize = Optional.empty();
+    private int maxStatementsPerBatch = UnitOfWork.DEFAULT_MAX_STATEMENTS_PER_BATCH;
+
+    public BulkWrite(RuntimeEngine rte, Iterator<ENTITY> instances, Function<ENTITY, MUTATION> mutationFactory) {
+        this(rte, instances, mutationFactory, instance -> {}, instance -> {});
+    }
+
+    /**
+     * @param afterStatementWrite       called for each entity written by executing its bound statement directly
+     *                                  (grouped by partition or retried), since the mutation itself is not
+     *                                  executed in this case
+     * @param afterFailedStatementWrite called for each entity whose bound statement has been executed directly
+     *                                  and failed. The write may still have been applied
+     */
+    public BulkWrite(RuntimeEngine rte, Iterator<ENTITY> instances, Function<ENTITY, MUTATION> mutationFactory,
+                     Consumer<ENTITY> afterStatementWrite, Consumer<ENTITY> afterFailedStatementWrite) {
+        this.rte = rte;
+        this.instances = instances;
+        this.mutationFactory = mutationFactory;
+        this.afterStatementWrite = afterStatementWrite;
+        this.afterFailedStatementWrite = afterFailedStatementWrite;
+    }
+
+    /**
+     * Maximum number of requests (single mutations or batches) sent and not yet completed.
+     * Default value is {@value #DEFAULT_MAX_IN_FLIGHT}
+     */
+    public BulkWrite<ENTITY, MUTATION> withMaxInFlight(int maxInFlight) {
+        validateTrue(maxInFlight > 0, "The max in flight requests '%s' should be strictly positive", maxInFlight);
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    /**
+     * Number of retries of a failed idempotent request. Default value is 0
+     */
+    public BulkWrite<ENTITY, MUTATION> withRetries(int retries) {
+        validateTrue(retries >= 0, "The number of retries '%s' should be positive", retries);
+        this.retries = retries;
+        return this;
+    }
+
+    /**
+     * Delay before the first retry of a failed request, doubled for each subsequent retry.
+     * Default value is {@value #DEFAULT_RETRY_BACKOFF_MILLIS} milliseconds, 0 retries immediately
+     */
+    public BulkWrite<ENTITY, MUTATION> withRetryBackoff(long initialDelay, TimeUnit timeUnit) {
+        validateTrue(initialDelay >= 0, "The retry backoff '%s' should be positive", initialDelay);
+        validateNotNull(timeUnit, "The retry backoff time unit should not be null");
+        this.retryBackoffNanos = timeUnit.toNanos(initialDelay);
+        return this;
+    }
+
+    /**
+     * Options applied to the mutation created for each entity (consistency level, TTL ...)
+     */
+    public BulkWrite<ENTITY, MUTATION> withMutationOptions(UnaryOperator<MUTATION> mutationOptions) {
+        validateNotNull(mutationOptions, "The mutation options should not be null");
+        this.mutationOptions = mutationOptions;
+        return this;
+    }
+
+    /**
+     * Buffer up to <em>bufferSize</em> entities and send the mutations targeting the
+     * same partition as <strong>UNLOGGED</strong> batches.
+     * Interceptors and LWT result listeners are not triggered in this mode
+     */
+    public BulkWrite<ENTITY, MUTATION> groupByPartition(int bufferSize) {
+        validateTrue(bufferSize > 0, "The partition grouping buffer size '%s' should be strictly positive", bufferSize);
+        this.partitionBufferSize = Optional.of(bufferSize);
+        return this;
+    }
+
+    /**
+     * Maximum number of statements in a single batch when grouping by partition.
+     * Default value is {@value info.archinnov.achilles.internals.dsl.batch.UnitOfWork#DEFAULT_MAX_STATEMENTS_PER_BATCH}
+     */
+    public BulkWrite<ENTITY, MUTATION> withMaxStatementsPerBatch(int maxStatementsPerBatch) {
+        validateTrue(maxStatementsPerBatch > 0, "The max statements per batch '%s' should be strictly positive", maxStatementsPerBatch);
+        this.maxStatementsPerBatch = maxStatementsPerBatch;
+        return this;
+    }
+
+    /**
+     * Write all the entities and wait for the completion of the last request
+     *
+     * @return {@link BulkWriteStats} of this bulk write
+     */
+    public BulkWriteStats<ENTITY> execute() {
+        final BulkWriteStats<ENTITY> stats = new BulkWriteStats<>();
+        final Semaphore inFlight = new Semaphore(maxInFlight);
+        final long start = System.nanoTime();
+        final Optional<ScheduledExecutorService> retryScheduler = retries > 0 && retryBackoffNanos > 0
+                ? Optional.of(createRetryScheduler())
+                : Optional.empty();
+
+        try {
+            if (partitionBufferSize.isPresent()) {
+                writeGroupedByPartition(inFlight, stats, retryScheduler);
+            } else {
+                writeOneByOne(inFlight, stats, retryScheduler);
+            }
+
+            inFlight.acquireUninterruptibly(maxInFlight);
+            inFlight.release(maxInFlight);
+        } finally {
+            retryScheduler.ifPresent(ScheduledExecutorService::shutdown);
+        }
+        stats.setElapsedNanos(System.nanoTime() - start);
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Bulk write done : %s", stats));
+        }
+        return stats;
+    }
+
+    /**
+     * The first attempt executes the whole mutation, with its interceptors and LWT result listeners.
+     * Retries only execute its bound statement, generated once from the entity as left by the first attempt
+     */
+    private void writeOneByOne(Semaphore inFlight, BulkWriteStats<ENTITY> stats, Optional<ScheduledExecutorService> retryScheduler) {
+        while (instances.hasNext()) {
+            final ENTITY instance = instances.next();
+            final Optional<MUTATION> mutation = createMutation(instance, stats);
+            if (!mutation.isPresent()) {
+                continue;
+            }
+
+            inFlight.acquireUninterruptibly();
+            attempt(mutation.get()::executeAsyncWithStats)
+                    .handle((result, throwable) -> throwable)
+                    .thenCompose(throwable -> throwable == null
+                            ? CompletableFuture.<Object>completedFuture(null)
+                            : retryStatement(instance, mutation.get(), throwable, stats, retryScheduler))
+                    .whenComplete((result, throwable) -> {
+                        if (throwable == null) {
+                            stats.addSucceeded(1);
+                        } else {
+                            stats.addFailure(instance, unwrap(throwable));
+                        }
+                        inFlight.release();
+                    });
+        }
+    }
+
+    private CompletableFuture<Object> retryStatement(ENTITY instance, MUTATION mutation, Throwable failure,
+                                                     BulkWriteStats<ENTITY> stats, Optional<ScheduledExecutorService> retryScheduler) {
+        if (retries == 0 || !isRetryable(failure)) {
+            return failedFuture(failure);
+        }
+        final BoundStatement boundStatement;
+        try {
+            boundStatement = mutation.generateAndGetBoundStatement();
+        } catch (Throwable throwable) {
+            return failedFuture(failure);
+        }
+        if (!isIdempotent(boundStatement)) {
+            return failedFuture(failure);
+        }
+
+        return retry(() -> rte.execute(boundStatement), () -> true, failure, stats, retryScheduler, 1)
+                .whenComplete((result, throwable) -> {
+                    if (throwable == null) {
+                        afterStatementWrite.accept(instance);
+                    } else {
+                        afterFailedStatementWrite.accept(instance);
+                    }
+                });
+    }
+
+    private void writeGroupedByPartition(Semaphore inFlight, BulkWriteStats<ENTITY> stats, Optional<ScheduledExecutorService> retryScheduler) {
+        final int bufferSize = partitionBufferSize.get();
+        final List<Tuple2<ENTITY, BoundStatement>> buffer = new ArrayList<>(bufferSize);
+        while (instances.hasNext()) {
+            final ENTITY instance = instances.next();
+            createMutation(instance, stats)
+                    .flatMap(mutation -> generateBoundStatement(instance, mutation, stats))
+                    .ifPresent(boundStatement -> buffer.add(Tuple2.of(instance, boundStatement)));
+
+            if (buffer.size() >= bufferSize || !instances.hasNext()) {
+                for (List<Tuple2<ENTITY, BoundStatement>> partition : groupByPartition(buffer)) {
+                    for (int from = 0; from < partition.size(); from += maxStatementsPerBatch) {
+                        final List<Tuple2<ENTITY, BoundStatement>> chunk = new ArrayList<>(
+                                partition.subList(from, Math.min(from + maxStatementsPerBatch, partition.size())));
+                        inFlight.acquireUninterruptibly();
+                        executeChunk(chunk, stats, retryScheduler)
+                                .whenComplete((result, throwable) -> {
+                                    if (throwable == null) {
+                                        chunk.forEach(x -> afterStatementWrite.accept(x._1()));
+                                        stats.addSucceeded(chunk.size());
+                                    } else {
+                                        final Throwable cause = unwrap(throwable);
+                                        chunk.forEach(x -> afterFailedStatementWrite.accept(x._1()));
+                                        chunk.forEach(x -> stats.addFailure(x._1(), cause));
+                                        stats.addFailedBatch();
+                                    }
+                                    inFlight.release();
+                                });
+                    }
+                }
+                buffer.clear();
+            }
+        }
+    }
+
+    private CompletableFuture<?> executeChunk(List<Tuple2<ENTITY, BoundStatement>> chunk, BulkWriteStats<ENTITY> stats,
+                                              Optional<ScheduledExecutorService> retryScheduler) {
+        if (chunk.size() == 1) {
+            final BoundStatement boundStatement = chunk.get(0)._2();
+            return executeWithRetries(() -> rte.execute(boundStatement), () -> isIdempotent(boundStatement), stats, retryScheduler);
+        }
+        final BatchStatement batch = new BatchStatement(BatchStatement.Type.UNLOGGED);
+        chunk.forEach(x -> batch.add(x._2()));
+        final BoundStatement first = chunk.get(0)._2();
+        batch.setConsistencyLevel(first.getConsistencyLevel());
+        batch.setSerialConsistencyLevel(first.getSerialConsistencyLevel());
+        return executeWithRetries(() -> rte.execute(batch), () -> isIdempotent(batch), stats, retryScheduler);
+    }
+
+    private CompletableFuture<?> executeWithRetries(Supplier<CompletableFuture<?>> execution, Supplier<Boolean> idempotent,
+                                                    BulkWriteStats<ENTITY> stats, Optional<ScheduledExecutorService> retryScheduler) {
+        return attempt(execution)
+                .handle((value, throwable) -> throwable)
+                .thenCompose(throwable -> throwable == null
+                        ? CompletableFuture.<Object>completedFuture(null)
+                        : retry(execution, idempotent, throwable, stats, retryScheduler, 1));
+    }
+
+    /**
+     * Retry a failed idempotent request after the backoff of this attempt, until it succeeds or
+     * the retries are exhausted
+     */
+    private CompletableFuture<Object> retry(Supplier<CompletableFuture<?>> execution, Supplier<Boolean> idempotent,
+                                            Throwable failure, BulkWriteStats<ENTITY> stats,
+                                            Optional<ScheduledExecutorService> retryScheduler, int attempt) {
+        if (attempt > retries || !isRetryable(failure) || !idempotent.get()) {
+            return failedFuture(failure);
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Retrying bulk write request (attempt %s) after failure : %s",
+                    attempt, unwrap(failure).getMessage()));
+        }
+        stats.addRetry();
+
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        final Runnable retry = () -> attempt(execution).whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                result.complete(value);
+            } else {
+                retry(execution, idempotent, throwable, stats, retryScheduler, attempt + 1)
+                        .whenComplete((retryValue, retryThrowable) -> {
+                            if (retryThrowable == null) {
+                                result.complete(retryValue);
+                            } else {
+                                result.completeExceptionally(retryThrowable);
+                            }
+                        });
+            }
+        });
+
+        if (retryScheduler.isPresent()) {
+            final long backoffNanos = retryBackoffNanos << Math.min(attempt - 1, 20);
+            retryScheduler.get().schedule(retry, backoffNanos, TimeUnit.NANOSECONDS);
+        } else {
+            retry.run();
+        }
+        return result;
+    }
+
+    private static CompletableFuture<?> attempt(Supplier<CompletableFuture<?>> execution) {
+        try {
+            return execution.get();
+        } catch (Throwable throwable) {
+            return failedFuture(throwable);
+        }
+    }
+
+    private static CompletableFuture<Object> failedFuture(Throwable throwable) {
+        final CompletableFuture<Object> failed = new CompletableFuture<>();
+        failed.completeExceptionally(throwable);
+        return failed;
+    }
+
+    private static ScheduledExecutorService createRetryScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "achilles-bulk-write-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private Optional<MUTATION> createMutation(ENTITY instance, BulkWriteStats<ENTITY> stats) {
+        try {
+            return Optional.of(mutationOptions.apply(mutationFactory.apply(instance)));
+        } catch (Throwable throwable) {
+            stats.addFailure(instance, throwable);
+            return Optional.empty();
+        }
+    }
+
+    private Optional<BoundStatement> generateBoundStatement(ENTITY instance, MUTATION mutation, BulkWriteStats<ENTITY> stats) {
+        try {
+            return Optional.of(mutation.generateAndGetBoundStatement());
+        } catch (Throwable throwable) {
+            stats.addFailure(instance, throwable);
+            return Optional.empty();
+        }
+    }
+
+    private Collection<List<Tuple2<ENTITY, BoundStatement>>> groupByPartition(List<Tuple2<ENTITY, BoundStatement>> buffer) {
+        final Configuration configuration = rte.getCluster().getConfiguration();
+        final ProtocolVersion protocolVersion = configuration.getProtocolOptions().getProtocolVersion();
+        final CodecRegistry codecRegistry = configuration.getCodecRegistry();
+
+        final Map<Object, List<Tuple2<ENTITY, BoundStatement>>> partitions = new LinkedHashMap<>();
+        for (Tuple2<ENTITY, BoundStatement> tuple : buffer) {
+            final ByteBuffer routingKey = tuple._2().getRoutingKey(protocolVersion, codecRegistry);
+            final Object partition = routingKey == null
+                    ? new Object()
+                    : Tuple2.of(tuple._2().getKeyspace(), routingKey);
+            partitions.computeIfAbsent(partition, x -> new ArrayList<>()).add(tuple);
+        }
+        return partitions.values();
+    }
+
+    /**
+     * Only failures of the statement execution itself are retried, not failures of the
+     * mutation pipeline (interceptors, validation ...) which would fail again
+     */
+    private static boolean isRetryable(Throwable failure) {
+        return unwrap(failure) instanceof DriverException;
+    }
+
+    private static boolean isIdempotent(Statement statement) {
+        return Boolean.TRUE.equals(statement.isIdempotent());
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
+}
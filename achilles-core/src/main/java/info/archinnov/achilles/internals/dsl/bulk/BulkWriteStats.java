@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import info.archinnov.achilles.type.tuples.Tuple2;
+
+/**
+ * Outcome of a {@link BulkWrite}: number of written entities, entities that could not be
+ * written along with the failure cause, number of retries and throughput
+ */
+public class BulkWriteStats<ENTITY> {
+
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final Queue<Tuple2<ENTITY, Throwable>> failures = new ConcurrentLinkedQueue<>();
+    private volatile long elapsedNanos;
+
+    void addSucceeded(int count) {
+        succeeded.add(count);
+    }
+
+    void addFailure(ENTITY instance, Throwable cause) {
+        failures.add(Tuple2.of(instance, cause));
+    }
+
+    void addFailedBatch() {
+        failedBatches.increment();
+    }
+
+    void addRetry() {
+        retries.increment();
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return number of entities successfully written
+     */
+    public long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    /**
+     * @return number of entities which could not be written
+     */
+    public long getFailed() {
+        return failures.size();
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    /**
+     * @return entities which could not be written, with the failure cause
+     */
+    public List<Tuple2<ENTITY, Throwable>> getFailures() {
+        return new ArrayList<>(failures);
+    }
+
+    /**
+     * @return number of failed requests (batches or single statements) when grouping by partition.
+     * Each entity of a failed request is also reported in {@link #getFailures()}
+     */
+    public long getFailedBatches() {
+        return failedBatches.sum();
+    }
+
+    /**
+     * @return number of retried requests
+     */
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getElapsed(TimeUnit unit) {
+        return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return number of processed entities (written or failed) per second
+     */
+    public double getThroughput() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+        return (getSucceeded() + getFailed()) * 1_000_000_000d / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkWriteStats{succeeded=%s, failed=%s, failedBatches=%s, retries=%s, elapsedMs=%s, throughput=%.1f/s}",
+                getSucceeded(), getFailed(), getFailedBatches(), getRetries(), getElapsed(TimeUnit.MILLISECONDS), getThroughput());
+    }
+}
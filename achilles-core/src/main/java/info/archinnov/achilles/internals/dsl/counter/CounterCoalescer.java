@@ -0,0 +1,331 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.counter;
+
+import static info.archinnov.achilles.internals.runtime.BeanInternalValidator.validatePrimaryKey;
+import static info.archinnov.achilles.internals.runtime.BeanValueExtractor.extractPrimaryKeyValues;
+import static info.archinnov.achilles.internals.statements.PreparedStatementGenerator.generateCounterIncrement;
+import static info.archinnov.achilles.validation.Validator.validateFalse;
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+
+import info.archinnov.achilles.internals.cache.DynamicStatementKey;
+import info.archinnov.achilles.internals.cache.EntityCache;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.columns.ColumnType;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.tuples.Tuple2;
+
+/**
+ * Client-side writer summing the increments of a counter entity per primary key.
+ * <br/>
+ * Pending increments are written as one <strong>UPDATE ... SET counter = counter + ?</strong>
+ * per primary key when <strong>maxPendingKeys</strong> distinct keys are pending, every
+ * <strong>flushInterval</strong>, on {@link #flush()} and when the manager factory is shut down.
+ * <br/>
+ * Counter writes are not idempotent so a failed write is logged and its increments are dropped
+ * rather than retried. Pending increments are lost if the JVM stops without a shut down
+ * <br/>
+ * Once a write completes, the cached instance of its primary key is evicted from the entity
+ * cache, if any, or the whole cache when a static counter was incremented
+ * <br/>
+ * {@link #close()} waits for every write started by this coalescer, whatever triggered it.
+ * Increments are merged under a shared lock and closing takes it exclusively, so an increment
+ * either completes before the final flush or is rejected
+ */
+public class CounterCoalescer<ENTITY> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CounterCoalescer.class);
+
+    /**
+     * Distinct from the flags of the CRUD update statements sharing the dynamic statements cache
+     */
+    private static final int COUNTER_INCREMENT_FLAG = 8;
+
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final RuntimeEngine rte;
+    private final CounterCoalescingSettings settings;
+    private final int[] counterIndices;
+    private final ConcurrentHashMap<PrimaryKey, PendingIncrements> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushingOnSize = new AtomicBoolean(false);
+    private final Set<CompletableFuture<ResultSet>> inFlightWrites = ConcurrentHashMap.newKeySet();
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private final ScheduledFuture<?> periodicFlush;
+    private volatile boolean closed = false;
+
+    public CounterCoalescer(AbstractEntityProperty<ENTITY> meta, RuntimeEngine rte,
+                            CounterCoalescingSettings settings, ScheduledExecutorService scheduler) {
+        this.meta = meta;
+        this.rte = rte;
+        this.settings = settings;
+        this.counterIndices = counterIndices(meta);
+        this.periodicFlush = scheduler.scheduleWithFixedDelay(this::periodicFlush,
+                settings.flushInterval, settings.flushInterval, settings.timeUnit);
+    }
+
+    private static int[] counterIndices(AbstractEntityProperty<?> meta) {
+        final List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < meta.allColumns.size(); i++) {
+            final ColumnType columnType = meta.allColumns.get(i).fieldInfo.columnType;
+            if (columnType == ColumnType.COUNTER || columnType == ColumnType.STATIC_COUNTER) {
+                indices.add(i);
+            }
+        }
+        return indices.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Add the counter values of the given entity to the pending increments of its primary key.
+     * <br/>
+     * Counter fields left <strong>null</strong> are not incremented, negative values decrement the counter.
+     * Increments are rejected once the coalescer is closed
+     *
+     * @param instance entity with primary key and counter deltas
+     */
+    public void increment(ENTITY instance) {
+        validateNotNull(instance, "Entity to be incremented should not be null");
+        validatePrimaryKey(instance, meta, Optional.empty());
+
+        final long[] deltas = new long[counterIndices.length];
+        boolean hasDelta = false;
+        for (int i = 0; i < counterIndices.length; i++) {
+            final Object value = meta.allColumns.get(counterIndices[i]).getJavaValue(instance);
+            if (value != null) {
+                deltas[i] = ((Number) value).longValue();
+                hasDelta |= deltas[i] != 0L;
+            }
+        }
+
+        if (!hasDelta) {
+            return;
+        }
+
+        final Tuple2<Object[], Object[]> primaryKey = extractPrimaryKeyValues(instance, meta, Optional.empty());
+        closeLock.readLock().lock();
+        try {
+            validateFalse(closed, "The counter coalescer of entity '%s' has been shut down", meta.entityClass.getCanonicalName());
+            pending.compute(new PrimaryKey(primaryKey._2()), (key, increments) -> {
+                final PendingIncrements merged = increments != null
+                        ? increments
+                        : new PendingIncrements(primaryKey._1(), primaryKey._2(), counterIndices.length);
+                merged.add(deltas);
+                return merged;
+            });
+        } finally {
+            closeLock.readLock().unlock();
+        }
+
+        if (pending.size() >= settings.maxPendingKeys && flushingOnSize.compareAndSet(false, true)) {
+            try {
+                flush();
+            } finally {
+                flushingOnSize.set(false);
+            }
+        }
+    }
+
+    /**
+     * Write all pending increments, one statement per primary key
+     *
+     * @return CompletableFuture completed once all the writes have completed
+     */
+    public CompletableFuture<Void> flush() {
+        final List<CompletableFuture<ResultSet>> writes = new ArrayList<>();
+        closeLock.readLock().lock();
+        try {
+            for (PrimaryKey key : pending.keySet()) {
+                final PendingIncrements increments = pending.remove(key);
+                if (increments != null) {
+                    writes.add(write(increments));
+                }
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Flushing coalesced increments of %s primary keys for entity %s",
+                    writes.size(), meta.entityClass.getCanonicalName()));
+        }
+        return CompletableFuture.allOf(writes.toArray(new CompletableFuture[writes.size()]));
+    }
+
+    /**
+     * @return number of primary keys with pending increments
+     */
+    public int pendingKeys() {
+        return pending.size();
+    }
+
+    /**
+     * Stop the periodic flush and write all pending increments. Further increments are rejected
+     *
+     * @return CompletableFuture completed once all the writes of this coalescer have completed,
+     * including the ones started by a periodic or size-triggered flush
+     */
+    public CompletableFuture<Void> close() {
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+            periodicFlush.cancel(false);
+            flush();
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        return CompletableFuture.allOf(inFlightWrites.toArray(new CompletableFuture[0]));
+    }
+
+    private void periodicFlush() {
+        try {
+            if (!pending.isEmpty()) {
+                flush();
+            }
+        } catch (Throwable throwable) {
+            LOGGER.error(format("Cannot flush coalesced increments of entity %s",
+                    meta.entityClass.getCanonicalName()), throwable);
+        }
+    }
+
+    private CompletableFuture<ResultSet> write(PendingIncrements increments) {
+        final BitSet columns = new BitSet(meta.allColumns.size());
+        final long[] deltas = increments.deltas;
+        int deltaCount = 0;
+        for (int i = 0; i < counterIndices.length; i++) {
+            if (deltas[i] != 0L) {
+                columns.set(counterIndices[i]);
+                deltaCount++;
+            }
+        }
+
+        if (deltaCount == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final int primaryKeyCount = increments.encodedPrimaryKey.length;
+        final Object[] boundValues = new Object[deltaCount + primaryKeyCount];
+        final Object[] encodedValues = new Object[deltaCount + primaryKeyCount];
+        int index = 0;
+        for (long delta : deltas) {
+            if (delta != 0L) {
+                boundValues[index] = delta;
+                encodedValues[index] = delta;
+                index++;
+            }
+        }
+        System.arraycopy(increments.primaryKey, 0, boundValues, deltaCount, primaryKeyCount);
+        System.arraycopy(increments.encodedPrimaryKey, 0, encodedValues, deltaCount, primaryKeyCount);
+
+        final PreparedStatement ps = rte.prepareDynamicQuery(
+                new DynamicStatementKey(meta.entityClass, OperationType.UPDATE, null, columns, COUNTER_INCREMENT_FLAG),
+                () -> generateCounterIncrement(meta, columns));
+
+        final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.UPDATE, meta, ps, boundValues, encodedValues);
+        statementWrapper.applyOptions(new CassandraOptions());
+
+        final CompletableFuture<ResultSet> write = rte.execute(statementWrapper).whenComplete((rs, throwable) -> {
+            if (meta.getEntityCache().isPresent()) {
+                invalidateEntityCache(increments, columns);
+            }
+            if (throwable != null) {
+                LOGGER.error(format("Cannot write coalesced increments %s of entity %s for primary key %s",
+                        Arrays.toString(deltas), meta.entityClass.getCanonicalName(),
+                        Arrays.toString(increments.primaryKey)), throwable);
+            }
+        });
+        inFlightWrites.add(write);
+        write.whenComplete((rs, throwable) -> inFlightWrites.remove(write));
+        return write;
+    }
+
+    /**
+     * A static counter is shared by every row of the partition, drop the whole cache in this case
+     */
+    private void invalidateEntityCache(PendingIncrements increments, BitSet columns) {
+        final EntityCache entityCache = meta.getEntityCache().get();
+        for (int i = columns.nextSetBit(0); i >= 0; i = columns.nextSetBit(i + 1)) {
+            if (meta.allColumns.get(i).fieldInfo.columnType == ColumnType.STATIC_COUNTER) {
+                entityCache.invalidateAll();
+                return;
+            }
+        }
+        entityCache.invalidate(increments.encodedPrimaryKey);
+    }
+
+    private static final class PrimaryKey {
+        private final Object[] encodedValues;
+        private final int hashCode;
+
+        private PrimaryKey(Object[] encodedValues) {
+            this.encodedValues = encodedValues;
+            this.hashCode = Arrays.hashCode(encodedValues);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return Arrays.equals(encodedValues, ((PrimaryKey) o).encodedValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class PendingIncrements {
+        private final Object[] primaryKey;
+        private final Object[] encodedPrimaryKey;
+        private final long[] deltas;
+
+        private PendingIncrements(Object[] primaryKey, Object[] encodedPrimaryKey, int counterCount) {
+            this.primaryKey = primaryKey;
+            this.encodedPrimaryKey = encodedPrimaryKey;
+            this.deltas = new long[counterCount];
+        }
+
+        private void add(long[] increments) {
+            for (int i = 0; i < increments.length; i++) {
+                deltas[i] += increments[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.counter;
+
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flush triggers of the counter coalescer of an entity, see
+ * {@link info.archinnov.achilles.configuration.ConfigurationParameters#COUNTER_COALESCING}
+ */
+public class CounterCoalescingSettings {
+
+    public final int maxPendingKeys;
+    public final long flushInterval;
+    public final TimeUnit timeUnit;
+
+    private CounterCoalescingSettings(int maxPendingKeys, long flushInterval, TimeUnit timeUnit) {
+        this.maxPendingKeys = maxPendingKeys;
+        this.flushInterval = flushInterval;
+        this.timeUnit = timeUnit;
+    }
+
+    /**
+     * @param maxPendingKeys number of pending primary keys triggering a flush
+     * @param flushInterval  interval between two periodic flushes
+     * @param timeUnit       unit of the flush interval
+     */
+    public static CounterCoalescingSettings of(int maxPendingKeys, long flushInterval, TimeUnit timeUnit) {
+        validateTrue(maxPendingKeys > 0, "The counter coalescing max pending keys '%s' should be strictly positive", maxPendingKeys);
+        validateTrue(flushInterval > 0, "The counter coalescing flush interval '%s' should be strictly positive", flushInterval);
+        validateNotNull(timeUnit, "The counter coalescing flush interval unit should not be null");
+        return new CounterCoalescingSettings(maxPendingKeys, flushInterval, timeUnit);
+    }
+
+    @Override
+    public String toString() {
+        return "CounterCoalescingSettings{" +
+                "maxPendingKeys=" + maxPendingKeys +
+                ", flushInterval=" + flushInterval +
+                ", timeUnit=" + timeUnit +
+                '}';
+    }
+}
@@ -67,8 +67,16 @@ public class DeleteByPartitionWithOptions<ENTITY> extends AbstractOptionsForUpda
 
     @Override
     public CompletableFuture<ExecutionInfo> executeAsyncWithStats() {
+        final CompletableFuture<PreparedStatement> preparation = DELETE_BY_PARTITION.getPreparedStatementAsync(rte, meta, options);
+        if (!preparation.isDone() || preparation.isCompletedExceptionally()) {
+            // Static statement prepared lazily, run once it is prepared without blocking
+            return preparation.thenCompose(this::executeAsyncWithStats);
+        }
+        return executeAsyncWithStats(preparation.join());
+    }
 
-        StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+    private CompletableFuture<ExecutionInfo> executeAsyncWithStats(PreparedStatement ps) {
+        StatementWrapper statementWrapper = getInternalBoundStatementWrapper(ps);
         final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
 
         if (LOGGER.isTraceEnabled()) {
@@ -76,6 +84,9 @@ public class DeleteByPartitionWithOptions<ENTITY> extends AbstractOptionsForUpda
         }
 
         CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
+        if (meta.getEntityCache().isPresent()) {
+            cfutureRS = cfutureRS.whenComplete((rs, throwable) -> meta.getEntityCache().get().invalidateAll());
+        }
 
         return cfutureRS
                 .thenApply(options::resultSetAsyncListener)
@@ -116,11 +127,14 @@ public class DeleteByPartitionWithOptions<ENTITY> extends AbstractOptionsForUpda
     }
 
     private StatementWrapper getInternalBoundStatementWrapper() {
+        return getInternalBoundStatementWrapper(DELETE_BY_PARTITION.getPreparedStatement(rte, meta, options));
+    }
+
+    private StatementWrapper getInternalBoundStatementWrapper(PreparedStatement ps) {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Get bound statement wrapper"));
         }
 
-        PreparedStatement ps = DELETE_BY_PARTITION.getPreparedStatement(rte, meta, options);
         StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.DELETE, meta, ps, partitionKeys, encodedPartitionKeys);
         statementWrapper.applyOptions(options);
         return statementWrapper;
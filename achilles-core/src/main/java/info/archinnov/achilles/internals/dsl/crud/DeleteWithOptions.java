@@ -78,13 +78,21 @@ public class DeleteWithOptions<ENTITY> extends AbstractOptionsForUpdateOrDelete<
     }
 
     public CompletableFuture<ExecutionInfo> executeAsyncWithStats() {
+        final CompletableFuture<PreparedStatement> preparation = getInternalOperation().getPreparedStatementAsync(rte, meta, options);
+        if (!preparation.isDone() || preparation.isCompletedExceptionally()) {
+            // Static statement prepared lazily, run once it is prepared without blocking
+            return preparation.thenCompose(this::executeAsyncWithStats);
+        }
+        return executeAsyncWithStats(preparation.join());
+    }
 
+    private CompletableFuture<ExecutionInfo> executeAsyncWithStats(PreparedStatement ps) {
         if (this.instance.isPresent()) {
             final ENTITY entity = this.instance.get();
             meta.triggerInterceptorsForEvent(PRE_DELETE, entity);
         }
 
-        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper(ps);
         final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
 
         if (LOGGER.isTraceEnabled()) {
@@ -92,6 +100,9 @@ public class DeleteWithOptions<ENTITY> extends AbstractOptionsForUpdateOrDelete<
         }
 
         CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
+        if (meta.getEntityCache().isPresent()) {
+            cfutureRS = cfutureRS.whenComplete((rs, throwable) -> meta.getEntityCache().get().invalidate(encodedPrimaryKeyValues));
+        }
 
         return cfutureRS
                 .thenApply(options::resultSetAsyncListener)
@@ -135,21 +146,28 @@ public class DeleteWithOptions<ENTITY> extends AbstractOptionsForUpdateOrDelete<
     }
 
     private StatementWrapper getInternalBoundStatementWrapper() {
+        return getInternalBoundStatementWrapper(getInternalPreparedStatement());
+    }
+
+    private StatementWrapper getInternalBoundStatementWrapper(PreparedStatement ps) {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Generate bound statement wrapper"));
         }
 
-        final PreparedStatement ps = getInternalPreparedStatement();
         final BoundStatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.DELETE, meta, ps, primaryKeyValues, encodedPrimaryKeyValues);
         statementWrapper.applyOptions(options);
         return statementWrapper;
     }
 
     private PreparedStatement getInternalPreparedStatement() {
+        return getInternalOperation().getPreparedStatement(rte, meta, options);
+    }
+
+    private CacheKey.Operation getInternalOperation() {
         if (ifExists.isPresent() && ifExists.get() == true) {
-            return DELETE_IF_EXISTS.getPreparedStatement(rte, meta, options);
+            return DELETE_IF_EXISTS;
         } else {
-            return DELETE.getPreparedStatement(rte, meta, options);
+            return DELETE;
         }
     }
 
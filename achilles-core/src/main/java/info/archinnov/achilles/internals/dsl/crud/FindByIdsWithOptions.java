@@ -0,0 +1,355 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.crud;
+
+import static info.archinnov.achilles.internals.cache.CacheKey.Operation.FIND;
+import static info.archinnov.achilles.internals.statements.PreparedStatementGenerator.generateSelectQueryWithLastClusteringIn;
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForSelect;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.ListProperty;
+import info.archinnov.achilles.internals.metamodel.MapProperty;
+import info.archinnov.achilles.internals.metamodel.SetProperty;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.interceptor.Event;
+
+/**
+ * Find several entities by their complete primary key.
+ * <br/>
+ * <br/>
+ * Keys sharing the same partition and the same clustering values except the last one are fetched
+ * with a single <strong>SELECT ... WHERE ... AND lastClustering IN :lastClustering</strong> query,
+ * in chunks of at most {@value #MAX_IN_VALUES} values. The other keys are fetched one by one, as well as all the keys
+ * when the entity has non-frozen collections and a node is older than Cassandra 2.2, which rejects IN on clustering
+ * columns in this case.
+ * At most <em>concurrency</em> queries are in flight at the same time
+ *
+ * <pre class="code"><code class="java">
+ *   final Map&lt;Tuple2&lt;Long, UUID&gt;, Message&gt; messages = manager
+ *      .crud()
+ *      .findByIds(keys)
+ *      .withConcurrency(32)
+ *      .getMap();
+ * </code></pre>
+ */
+public class FindByIdsWithOptions<KEY, ENTITY> extends AbstractOptionsForSelect<FindByIdsWithOptions<KEY, ENTITY>>
+        implements AsyncAware {
+
+    public static final int DEFAULT_CONCURRENCY = 16;
+    public static final int MAX_IN_VALUES = 100;
+    private static final VersionNumber IN_WITH_COLLECTIONS_MIN_VERSION = VersionNumber.parse("2.2.0");
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FindByIdsWithOptions.class);
+
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final RuntimeEngine rte;
+    private final List<KEY> keys;
+    private final Function<KEY, List<Object>> keyComponents;
+    private final List<AbstractProperty<ENTITY, ?, ?>> primaryKeys;
+    private final CassandraOptions options;
+    private int concurrency = DEFAULT_CONCURRENCY;
+
+    public FindByIdsWithOptions(AbstractEntityProperty<ENTITY> meta, RuntimeEngine rte, Collection<KEY> keys,
+                                Function<KEY, List<Object>> keyComponents, Optional<CassandraOptions> cassandraOptions) {
+        this.meta = meta;
+        this.rte = rte;
+        this.keys = new ArrayList<>(keys);
+        this.keyComponents = keyComponents;
+        this.primaryKeys = new ArrayList<>(meta.partitionKeys);
+        this.primaryKeys.addAll(meta.clusteringColumns);
+        this.options = cassandraOptions.orElse(new CassandraOptions());
+    }
+
+    /**
+     * Maximum number of queries in flight. Default value is {@value #DEFAULT_CONCURRENCY}
+     */
+    public FindByIdsWithOptions<KEY, ENTITY> withConcurrency(int concurrency) {
+        validateTrue(concurrency > 0, "The concurrency '%s' should be strictly positive", concurrency);
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * @return found entities indexed by their key, in the order of the given keys.
+     * Keys with no matching entity are absent from the map
+     */
+    public Map<KEY, ENTITY> getMap() {
+        try {
+            return Uninterruptibles.getUninterruptibly(getMapAsync());
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * @return found entities in the order of the given keys.
+     * Keys with no matching entity are skipped
+     */
+    public List<ENTITY> getList() {
+        try {
+            return Uninterruptibles.getUninterruptibly(getListAsync());
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    public CompletableFuture<List<ENTITY>> getListAsync() {
+        return getMapAsync().thenApply(map -> new ArrayList<>(map.values()));
+    }
+
+    public CompletableFuture<Map<KEY, ENTITY>> getMapAsync() {
+        final Map<List<Object>, KEY> keysByEncodedComponents = new LinkedHashMap<>();
+        final Map<List<Object>, List<List<Object>>> groups = new LinkedHashMap<>();
+        final int clusteringCount = meta.clusteringColumns.size();
+
+        for (KEY key : keys) {
+            final List<Object> encodedComponents = encodeComponents(key);
+            if (keysByEncodedComponents.putIfAbsent(encodedComponents, key) == null) {
+                final List<Object> groupKey = clusteringCount == 0
+                        ? encodedComponents
+                        : encodedComponents.subList(0, encodedComponents.size() - 1);
+                groups.computeIfAbsent(groupKey, x -> new ArrayList<>()).add(encodedComponents);
+            }
+        }
+
+        final boolean lastClusteringIn = clusteringCount > 0 && supportsLastClusteringIn();
+        final List<Supplier<CompletableFuture<List<ENTITY>>>> queries = new ArrayList<>();
+        for (List<List<Object>> group : groups.values()) {
+            if (group.size() == 1 || !lastClusteringIn) {
+                group.forEach(encodedComponents -> queries.add(() -> findOne(encodedComponents)));
+            } else {
+                for (int from = 0; from < group.size(); from += MAX_IN_VALUES) {
+                    final List<List<Object>> chunk = group.subList(from, Math.min(from + MAX_IN_VALUES, group.size()));
+                    queries.add(() -> findWithLastClusteringIn(chunk));
+                }
+            }
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Find %s key(s) of entity %s with %s queries", keysByEncodedComponents.size(),
+                    meta.entityClass.getCanonicalName(), queries.size()));
+        }
+
+        return executeWithConcurrency(queries)
+                .thenApply(results -> {
+                    final Map<List<Object>, ENTITY> entitiesByEncodedComponents = new HashMap<>();
+                    for (List<ENTITY> entities : results) {
+                        for (ENTITY entity : entities) {
+                            entitiesByEncodedComponents.put(encodePrimaryKey(entity), entity);
+                        }
+                    }
+
+                    final Map<KEY, ENTITY> found = new LinkedHashMap<>();
+                    keysByEncodedComponents.forEach((encodedComponents, key) -> {
+                        final ENTITY entity = entitiesByEncodedComponents.get(encodedComponents);
+                        if (entity != null) {
+                            found.put(key, entity);
+                        }
+                    });
+                    return found;
+                });
+    }
+
+    @Override
+    protected CassandraOptions getOptions() {
+        return options;
+    }
+
+    @Override
+    protected FindByIdsWithOptions<KEY, ENTITY> getThis() {
+        return this;
+    }
+
+    private CompletableFuture<List<ENTITY>> findOne(List<Object> encodedComponents) {
+        final Object[] encodedValues = encodedComponents.toArray();
+        return FIND.getPreparedStatementAsync(rte, meta, options)
+                .thenCompose(ps -> execute(new BoundStatementWrapper(OperationType.SELECT, meta, ps, encodedValues, encodedValues)));
+    }
+
+    private CompletableFuture<List<ENTITY>> findWithLastClusteringIn(List<List<Object>> chunk) {
+        final PreparedStatement ps = rte.prepareDynamicQuery(generateSelectQueryWithLastClusteringIn(meta, options.getSchemaNameProvider()));
+        final List<Object> first = chunk.get(0);
+        final int lastIndex = first.size() - 1;
+        final List<Object> lastClusteringValues = new ArrayList<>(chunk.size());
+        for (List<Object> encodedComponents : chunk) {
+            lastClusteringValues.add(encodedComponents.get(lastIndex));
+        }
+
+        final Object[] encodedValues = new Object[first.size()];
+        for (int i = 0; i < lastIndex; i++) {
+            encodedValues[i] = first.get(i);
+        }
+        encodedValues[lastIndex] = lastClusteringValues;
+
+        final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.SELECT, meta, ps, encodedValues, encodedValues);
+        return execute(statementWrapper, chunk.size());
+    }
+
+    private CompletableFuture<List<ENTITY>> execute(StatementWrapper statementWrapper) {
+        return execute(statementWrapper, 1);
+    }
+
+    private CompletableFuture<List<ENTITY>> execute(StatementWrapper statementWrapper, int expectedRows) {
+        statementWrapper.applyOptions(options);
+
+        // All the rows should be available without fetching another page from the callback.
+        // Without fetch size on the statement, the one of the cluster query options applies
+        final BoundStatement boundStatement = statementWrapper.getBoundStatement();
+        final int fetchSize = boundStatement.getFetchSize() > 0
+                ? boundStatement.getFetchSize()
+                : rte.getCluster().getConfiguration().getQueryOptions().getFetchSize();
+        if (fetchSize < expectedRows) {
+            boundStatement.setFetchSize(expectedRows);
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Find by ids async : %s", boundStatement.preparedStatement().getQueryString()));
+        }
+
+        final CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+        return futureRS
+                .thenApply(options::resultSetAsyncListener)
+                .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
+                .thenApply(statementWrapper::logTrace)
+                .thenApply(rs -> {
+                    final int available = rs.getAvailableWithoutFetching();
+                    final List<ENTITY> entities = new ArrayList<>(available);
+                    for (int i = 0; i < available; i++) {
+                        final Row row = rs.one();
+                        options.rowAsyncListener(row);
+                        final ENTITY entity = meta.createEntityFrom(row);
+                        meta.triggerInterceptorsForEvent(Event.POST_LOAD, entity);
+                        entities.add(entity);
+                    }
+                    return entities;
+                });
+    }
+
+    /**
+     * Start at most <em>concurrency</em> queries, each completion starts the next pending one
+     */
+    private CompletableFuture<List<List<ENTITY>>> executeWithConcurrency(List<Supplier<CompletableFuture<List<ENTITY>>>> queries) {
+        final int count = queries.size();
+        final List<List<ENTITY>> results = new ArrayList<>(Collections.nCopies(count, null));
+        final CompletableFuture<List<List<ENTITY>>> done = new CompletableFuture<>();
+        if (count == 0) {
+            done.complete(results);
+            return done;
+        }
+
+        final AtomicInteger next = new AtomicInteger(0);
+        final AtomicInteger completed = new AtomicInteger(0);
+        final Runnable[] startNext = new Runnable[1];
+        startNext[0] = () -> {
+            final int index = next.getAndIncrement();
+            if (index >= count || done.isDone()) {
+                return;
+            }
+            CompletableFuture<List<ENTITY>> future;
+            try {
+                future = queries.get(index).get();
+            } catch (Throwable throwable) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(throwable);
+            }
+            future.whenComplete((entities, throwable) -> {
+                if (throwable != null) {
+                    done.completeExceptionally(throwable);
+                    return;
+                }
+                synchronized (results) {
+                    results.set(index, entities);
+                }
+                if (completed.incrementAndGet() == count) {
+                    synchronized (results) {
+                        done.complete(results);
+                    }
+                } else {
+                    startNext[0].run();
+                }
+            });
+        };
+
+        for (int i = 0; i < Math.min(concurrency, count); i++) {
+            startNext[0].run();
+        }
+        return done;
+    }
+
+    private boolean supportsLastClusteringIn() {
+        final boolean selectsNonFrozenCollection = meta.allColumns
+                .stream()
+                .anyMatch(x -> (x instanceof ListProperty && !((ListProperty) x).frozen)
+                        || (x instanceof SetProperty && !((SetProperty) x).frozen)
+                        || (x instanceof MapProperty && !((MapProperty) x).frozen));
+        if (!selectsNonFrozenCollection) {
+            return true;
+        }
+        return rte.getCluster().getMetadata().getAllHosts()
+                .stream()
+                .allMatch(host -> host.getCassandraVersion() != null
+                        && host.getCassandraVersion().compareTo(IN_WITH_COLLECTIONS_MIN_VERSION) >= 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> encodeComponents(KEY key) {
+        validateNotNull(key, "Primary key of entity '%s' should not be null", meta.entityClass.getCanonicalName());
+        final List<Object> components = keyComponents.apply(key);
+        validateTrue(components.size() == primaryKeys.size(), "Primary key '%s' should have %s components", key, primaryKeys.size());
+
+        final Optional<CassandraOptions> cassandraOptions = Optional.of(options);
+        final List<Object> encodedComponents = new ArrayList<>(components.size());
+        for (int i = 0; i < components.size(); i++) {
+            final AbstractProperty property = primaryKeys.get(i);
+            final Object component = components.get(i);
+            validateNotNull(component, "Primary key component '%s' should not be null", property.fieldName);
+            encodedComponents.add(property.encodeFromJava(component, cassandraOptions));
+        }
+        return encodedComponents;
+    }
+
+    private List<Object> encodePrimaryKey(ENTITY entity) {
+        final Optional<CassandraOptions> cassandraOptions = Optional.of(options);
+        final List<Object> encodedComponents = new ArrayList<>(primaryKeys.size());
+        for (AbstractProperty<ENTITY, ?, ?> property : primaryKeys) {
+            encodedComponents.add(property.encodeField(entity, cassandraOptions));
+        }
+        return encodedComponents;
+    }
+}
@@ -32,6 +32,7 @@ import com.datastax.driver.core.*;
 import com.google.common.util.concurrent.Uninterruptibles;
 
 import info.archinnov.achilles.internals.cache.CacheKey;
+import info.archinnov.achilles.internals.cache.EntityCache;
 import info.archinnov.achilles.internals.dsl.AsyncAware;
 import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForSelect;
@@ -82,13 +83,39 @@ public class FindWithOptions<ENTITY> extends AbstractOptionsForSelect<FindWithOp
         }
     }
 
+    /**
+     * When the entity cache is enabled for this entity, the row is read from the cache
+     * and a fresh entity is mapped from it. <strong>getWithStats()</strong> and
+     * <strong>getAsyncWithStats()</strong> always hit Cassandra.
+     * <br/>
+     * The cache is also bypassed when a consistency level or a serial consistency level
+     * is set explicitly on this read, since a cached row carries no consistency guarantee
+     */
     public CompletableFuture<ENTITY> getAsync() {
+        final Optional<EntityCache> entityCache = meta.getEntityCache();
+        if (entityCache.isPresent() && canReadFromEntityCache()) {
+            return entityCache.get()
+                    .getOrLoad(encodedPrimaryKeyValues, this::loadRow)
+                    .thenApply(row -> {
+                        final ENTITY entity = meta.createEntityFrom(row.orElse(null));
+                        meta.triggerInterceptorsForEvent(Event.POST_LOAD, entity);
+                        return entity;
+                    });
+        }
         return getAsyncWithStats().thenApply(tuple2 -> tuple2._1());
     }
 
     public CompletableFuture<Tuple2<ENTITY, ExecutionInfo>> getAsyncWithStats() {
+        final CompletableFuture<PreparedStatement> preparation = FIND.getPreparedStatementAsync(rte, meta, options);
+        if (!preparation.isDone() || preparation.isCompletedExceptionally()) {
+            // Static statement prepared lazily, run once it is prepared without blocking
+            return preparation.thenCompose(this::getAsyncWithStats);
+        }
+        return getAsyncWithStats(preparation.join());
+    }
 
-        StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+    private CompletableFuture<Tuple2<ENTITY, ExecutionInfo>> getAsyncWithStats(PreparedStatement ps) {
+        StatementWrapper statementWrapper = getInternalBoundStatementWrapper(ps);
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Find async with execution info : %s",
                     statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
@@ -110,6 +137,39 @@ public class FindWithOptions<ENTITY> extends AbstractOptionsForSelect<FindWithOp
                 });
     }
 
+    private boolean canReadFromEntityCache() {
+        return !options.hasSchemaNameProvider()
+                && !options.getCl().isPresent()
+                && !options.getSerialCL().isPresent();
+    }
+
+    private CompletableFuture<Optional<Row>> loadRow() {
+        final CompletableFuture<PreparedStatement> preparation = FIND.getPreparedStatementAsync(rte, meta, options);
+        if (!preparation.isDone() || preparation.isCompletedExceptionally()) {
+            // Static statement prepared lazily, run once it is prepared without blocking
+            return preparation.thenCompose(this::loadRow);
+        }
+        return loadRow(preparation.join());
+    }
+
+    private CompletableFuture<Optional<Row>> loadRow(PreparedStatement ps) {
+        StatementWrapper statementWrapper = getInternalBoundStatementWrapper(ps);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Find async for entity cache : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        return rte.execute(statementWrapper)
+                .thenApply(options::resultSetAsyncListener)
+                .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
+                .thenApply(statementWrapper::logTrace)
+                .thenApply(rs -> {
+                    final Row row = rs.one();
+                    options.rowAsyncListener(row);
+                    return Optional.ofNullable(row);
+                });
+    }
+
     @Override
     protected CassandraOptions getOptions() {
         return options;
@@ -142,11 +202,14 @@ public class FindWithOptions<ENTITY> extends AbstractOptionsForSelect<FindWithOp
     }
 
     private StatementWrapper getInternalBoundStatementWrapper() {
+        return getInternalBoundStatementWrapper(FIND.getPreparedStatement(rte, meta, options));
+    }
+
+    private StatementWrapper getInternalBoundStatementWrapper(PreparedStatement ps) {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Get bound statement wrapper"));
         }
 
-        final PreparedStatement ps = FIND.getPreparedStatement(rte, meta, options);
         StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.SELECT, meta, ps, primaryKeyValues, encodedPrimaryKeyValues);
         statementWrapper.applyOptions(options);
         return statementWrapper;
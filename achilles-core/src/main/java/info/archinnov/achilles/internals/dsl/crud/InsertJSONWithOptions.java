@@ -34,6 +34,7 @@ import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 
+import info.archinnov.achilles.internals.cache.CacheKey;
 import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.action.MutationAction;
 import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForCRUDInsert;
@@ -66,8 +67,16 @@ public class InsertJSONWithOptions extends AbstractOptionsForCRUDInsert<InsertJS
     }
 
     public CompletableFuture<ExecutionInfo> executeAsyncWithStats() {
+        final CompletableFuture<PreparedStatement> preparation = getInternalOperation().getPreparedStatementAsync(rte, meta, getOptions());
+        if (!preparation.isDone() || preparation.isCompletedExceptionally()) {
+            // Static statement prepared lazily, run once it is prepared without blocking
+            return preparation.thenCompose(this::executeAsyncWithStats);
+        }
+        return executeAsyncWithStats(preparation.join());
+    }
 
-        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+    private CompletableFuture<ExecutionInfo> executeAsyncWithStats(PreparedStatement ps) {
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper(ps);
         final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
 
         if (LOGGER.isTraceEnabled()) {
@@ -75,6 +84,9 @@ public class InsertJSONWithOptions extends AbstractOptionsForCRUDInsert<InsertJS
         }
 
         CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
+        if (meta.getEntityCache().isPresent()) {
+            cfutureRS = cfutureRS.whenComplete((rs, throwable) -> meta.getEntityCache().get().invalidateAll());
+        }
 
         return cfutureRS
                 .thenApply(getOptions()::resultSetAsyncListener)
@@ -115,11 +127,14 @@ public class InsertJSONWithOptions extends AbstractOptionsForCRUDInsert<InsertJS
     }
 
     private StatementWrapper getInternalBoundStatementWrapper() {
+        return getInternalBoundStatementWrapper(getInternalPreparedStatement());
+    }
+
+    private StatementWrapper getInternalBoundStatementWrapper(PreparedStatement ps) {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Get bound statement wrapper"));
         }
 
-        final PreparedStatement ps = getInternalPreparedStatement();
         final BoundStatement bs = ps.bind(json);
 
         StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.INSERT, meta, bs, encodedBoundValues);
@@ -128,10 +143,14 @@ public class InsertJSONWithOptions extends AbstractOptionsForCRUDInsert<InsertJS
     }
 
     private PreparedStatement getInternalPreparedStatement() {
+        return getInternalOperation().getPreparedStatement(rte, meta, getOptions());
+    }
+
+    private CacheKey.Operation getInternalOperation() {
         if (ifNotExists.isPresent() && ifNotExists.get() == true) {
-            return INSERT_IF_NOT_EXISTS_JSON.getPreparedStatement(rte, meta, getOptions());
+            return INSERT_IF_NOT_EXISTS_JSON;
         } else {
-            return INSERT_JSON.getPreparedStatement(rte, meta, getOptions());
+            return INSERT_JSON;
         }
     }
 
@@ -21,7 +21,6 @@ import static info.archinnov.achilles.internals.dsl.LWTHelper.triggerLWTListener
 import static info.archinnov.achilles.type.interceptor.Event.POST_INSERT;
 import static info.archinnov.achilles.type.interceptor.Event.PRE_INSERT;
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toList;
 
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +34,7 @@ import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 
+import info.archinnov.achilles.internals.cache.CacheKey;
 import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.action.MutationAction;
 import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForCRUDInsert;
@@ -54,6 +54,8 @@ public class InsertWithOptions<ENTITY> extends AbstractOptionsForCRUDInsert<Inse
     private final ENTITY instance;
     private final CassandraOptions options;
     private final boolean insertStatic;
+    private BoundValuesWrapper boundValuesWrapper;
+    private Optional<Integer> boundValuesTimeToLive;
 
     public InsertWithOptions(AbstractEntityProperty<ENTITY> meta, RuntimeEngine rte, ENTITY instance, boolean insertStatic, Optional<CassandraOptions> cassandraOptions) {
         this.meta = meta;
@@ -64,11 +66,19 @@ public class InsertWithOptions<ENTITY> extends AbstractOptionsForCRUDInsert<Inse
     }
 
     public CompletableFuture<ExecutionInfo> executeAsyncWithStats() {
+        final CompletableFuture<PreparedStatement> preparation = getInternalOperation().getPreparedStatementAsync(rte, meta, options);
+        if (!preparation.isDone() || preparation.isCompletedExceptionally()) {
+            // Static statement prepared lazily, run once it is prepared without blocking
+            return preparation.thenCompose(this::executeAsyncWithStats);
+        }
+        return executeAsyncWithStats(preparation.join());
+    }
 
+    private CompletableFuture<ExecutionInfo> executeAsyncWithStats(PreparedStatement ps) {
         meta.triggerInterceptorsForEvent(PRE_INSERT, instance);
 
 
-        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper(ps);
         final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
 
         if (LOGGER.isTraceEnabled()) {
@@ -76,6 +86,9 @@ public class InsertWithOptions<ENTITY> extends AbstractOptionsForCRUDInsert<Inse
         }
 
         CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
+        if (meta.getEntityCache().isPresent()) {
+            cfutureRS = cfutureRS.whenComplete((rs, throwable) -> invalidateEntityCache());
+        }
 
         return cfutureRS
                 .thenApply(this.options::resultSetAsyncListener)
@@ -106,18 +119,12 @@ public class InsertWithOptions<ENTITY> extends AbstractOptionsForCRUDInsert<Inse
 
     @Override
     public List<Object> getBoundValues() {
-        BoundValuesWrapper wrapper = insertStatic == true
-                ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
-                : meta.extractAllValuesFromEntity(instance, options);
-        return wrapper.boundValuesInfo.stream().map(x -> x.boundValue).collect(toList());
+        return getBoundValuesWrapper().getBoundValues();
     }
 
     @Override
     public List<Object> getEncodedBoundValues() {
-        BoundValuesWrapper wrapper = insertStatic == true
-                ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
-                : meta.extractAllValuesFromEntity(instance, options);
-        return wrapper.boundValuesInfo.stream().map(x -> x.encodedValue).collect(toList());
+        return getBoundValuesWrapper().getEncodedValues();
     }
 
     @Override
@@ -125,30 +132,59 @@ public class InsertWithOptions<ENTITY> extends AbstractOptionsForCRUDInsert<Inse
         return this;
     }
 
+    /**
+     * A static insert touches every row of the partition, drop the whole cache in this case
+     */
+    private void invalidateEntityCache() {
+        if (insertStatic) {
+            meta.getEntityCache().get().invalidateAll();
+        } else {
+            meta.invalidateEntityCache(instance, options);
+        }
+    }
+
     private StatementWrapper getInternalBoundStatementWrapper() {
+        return getInternalBoundStatementWrapper(getInternalPreparedStatement());
+    }
+
+    private StatementWrapper getInternalBoundStatementWrapper(PreparedStatement ps) {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Get bound statement wrapper"));
         }
 
-        final PreparedStatement ps = getInternalPreparedStatement();
-        BoundValuesWrapper wrapper = insertStatic == true
-                ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
-                : meta.extractAllValuesFromEntity(instance, options);
-
-        StatementWrapper statementWrapper = wrapper.bindWithInsertStrategy(ps, getOverridenStrategy(meta));
+        StatementWrapper statementWrapper = getBoundValuesWrapper().bindWithInsertStrategy(ps, getOverridenStrategy(meta));
         statementWrapper.applyOptions(options);
         return statementWrapper;
     }
 
+    /**
+     * {@link #getBoundValues()}, {@link #getEncodedBoundValues()}, {@link #generateAndGetBoundStatement()}
+     * and execution share one snapshot of the extracted values, so the entity is encoded once. The snapshot
+     * is taken again when the time to live has changed or when a field of the entity has been set to another
+     * value since. A collection, UDT or JSON value mutated in place is not detected: set it again on the entity
+     * before executing
+     */
+    private BoundValuesWrapper getBoundValuesWrapper() {
+        if (boundValuesWrapper == null
+                || !options.getTimeToLive().equals(boundValuesTimeToLive)
+                || !boundValuesWrapper.holdsValuesOf(instance)) {
+            boundValuesWrapper = insertStatic == true
+                    ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
+                    : meta.extractAllValuesFromEntity(instance, options);
+            boundValuesTimeToLive = options.getTimeToLive();
+        }
+        return boundValuesWrapper;
+    }
+
     private PreparedStatement getInternalPreparedStatement() {
+        return getInternalOperation().getPreparedStatement(rte, meta, options);
+    }
+
+    private CacheKey.Operation getInternalOperation() {
         if (ifNotExists.isPresent() && ifNotExists.get() == true) {
-            return insertStatic == true
-                    ? INSERT_STATIC_IF_NOT_EXISTS.getPreparedStatement(rte, meta, options)
-                    : INSERT_IF_NOT_EXISTS.getPreparedStatement(rte, meta, options);
+            return insertStatic == true ? INSERT_STATIC_IF_NOT_EXISTS : INSERT_IF_NOT_EXISTS;
         } else {
-            return insertStatic == true
-                    ? INSERT_STATIC.getPreparedStatement(rte, meta, options)
-                    : INSERT.getPreparedStatement(rte, meta, options);
+            return insertStatic == true ? INSERT_STATIC : INSERT;
         }
     }
 
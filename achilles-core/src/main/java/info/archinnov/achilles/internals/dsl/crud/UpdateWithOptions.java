@@ -20,7 +20,6 @@ import static info.archinnov.achilles.internals.dsl.LWTHelper.triggerLWTListener
 import static info.archinnov.achilles.type.interceptor.Event.POST_UPDATE;
 import static info.archinnov.achilles.type.interceptor.Event.PRE_UPDATE;
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toList;
 
 import java.util.List;
 import java.util.Optional;
@@ -54,6 +53,8 @@ public class UpdateWithOptions<ENTITY> extends AbstractOptionsForCRUDUpdate<Upda
     private final ENTITY instance;
     private final CassandraOptions options;
     private final boolean updateStatic;
+    private BoundValuesWrapper boundValuesWrapper;
+    private Optional<Integer> boundValuesTimeToLive;
 
     public UpdateWithOptions(AbstractEntityProperty<ENTITY> meta, RuntimeEngine rte, ENTITY instance, boolean updateStatic, Optional<CassandraOptions> cassandraOptions) {
         this.meta = meta;
@@ -76,6 +77,9 @@ public class UpdateWithOptions<ENTITY> extends AbstractOptionsForCRUDUpdate<Upda
         }
 
         CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
+        if (meta.getEntityCache().isPresent()) {
+            cfutureRS = cfutureRS.whenComplete((rs, throwable) -> invalidateEntityCache());
+        }
 
         return cfutureRS
                 .thenApply(this.options::resultSetAsyncListener)
@@ -106,18 +110,12 @@ public class UpdateWithOptions<ENTITY> extends AbstractOptionsForCRUDUpdate<Upda
 
     @Override
     public List<Object> getBoundValues() {
-        BoundValuesWrapper wrapper = updateStatic == true
-                ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
-                : meta.extractAllValuesFromEntity(instance, options);
-        return wrapper.boundValuesInfo.stream().map(x -> x.boundValue).collect(toList());
+        return getBoundValuesWrapper().getBoundValues();
     }
 
     @Override
     public List<Object> getEncodedBoundValues() {
-        BoundValuesWrapper wrapper = updateStatic == true
-                ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
-                : meta.extractAllValuesFromEntity(instance, options);
-        return wrapper.boundValuesInfo.stream().map(x -> x.encodedValue).collect(toList());
+        return getBoundValuesWrapper().getEncodedValues();
     }
 
     @Override
@@ -125,24 +123,51 @@ public class UpdateWithOptions<ENTITY> extends AbstractOptionsForCRUDUpdate<Upda
         return this;
     }
 
+    /**
+     * A static update touches every row of the partition, drop the whole cache in this case
+     */
+    private void invalidateEntityCache() {
+        if (updateStatic) {
+            meta.getEntityCache().get().invalidateAll();
+        } else {
+            meta.invalidateEntityCache(instance, options);
+        }
+    }
+
     private StatementWrapper getInternalBoundStatementWrapper() {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Get bound statement wrapper"));
         }
 
         final PreparedStatement ps = getInternalPreparedStatement();
-        BoundValuesWrapper wrapper = updateStatic == true
-                ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
-                : meta.extractAllValuesFromEntity(instance, options);
-
-        StatementWrapper statementWrapper = wrapper.bindForUpdate(ps);
+        StatementWrapper statementWrapper = getBoundValuesWrapper().bindForUpdate(ps);
         statementWrapper.applyOptions(options);
         return statementWrapper;
     }
 
+    /**
+     * {@link #getBoundValues()}, {@link #getEncodedBoundValues()}, {@link #generateAndGetBoundStatement()}
+     * and execution share one snapshot of the extracted values, so the entity is encoded once. The snapshot
+     * is taken again when the time to live has changed or when a field of the entity has been set to another
+     * value since. A collection, UDT or JSON value mutated in place is not detected: set it again on the entity
+     * before executing
+     */
+    private BoundValuesWrapper getBoundValuesWrapper() {
+        if (boundValuesWrapper == null
+                || !options.getTimeToLive().equals(boundValuesTimeToLive)
+                || !boundValuesWrapper.holdsValuesOf(instance)) {
+            boundValuesWrapper = updateStatic == true
+                    ? meta.extractPartitionKeysAndStaticColumnsFromEntity(instance, options)
+                    : meta.extractAllValuesFromEntity(instance, options);
+            boundValuesTimeToLive = options.getTimeToLive();
+        }
+        return boundValuesWrapper;
+    }
+
     private PreparedStatement getInternalPreparedStatement() {
-        return rte.prepareDynamicQuery(PreparedStatementGenerator.generateUpdate(instance, meta, options, updateStatic,
-                (ifExists.isPresent() && ifExists.get() == true)));
+        final boolean updateIfExists = ifExists.isPresent() && ifExists.get() == true;
+        return rte.prepareDynamicQuery(PreparedStatementGenerator.generateUpdateKey(instance, meta, options, updateStatic, updateIfExists),
+                () -> PreparedStatementGenerator.generateUpdate(instance, meta, options, updateStatic, updateIfExists));
     }
 
 
@@ -22,8 +22,11 @@ import static java.util.stream.Collectors.toList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +44,8 @@ import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
 import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 import info.archinnov.achilles.internals.types.EntityIteratorWrapper;
+import info.archinnov.achilles.internals.types.ResultSetPager;
+import info.archinnov.achilles.internals.types.ResultSetPublisher;
 import info.archinnov.achilles.internals.types.TypedMapIteratorWrapper;
 import info.archinnov.achilles.type.TypedMap;
 import info.archinnov.achilles.type.interceptor.Event;
@@ -129,6 +134,42 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
                 });
     }
 
+    @Override
+    public Stream<ENTITY> stream(int prefetchPages) {
+        return pager("Generate stream for select : %s", prefetchPages).stream();
+    }
+
+    @Override
+    public CompletableFuture<List<ExecutionInfo>> forEachAsync(Consumer<ENTITY> consumer, int prefetchPages) {
+        return pager("Select async for each : %s", prefetchPages).forEachAsync(consumer);
+    }
+
+    @Override
+    public Publisher<ENTITY> publisher() {
+        final RuntimeEngine rte = getRte();
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Generate publisher for select : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        return ResultSetPublisher.forEntities(() -> rte.execute(statementWrapper), getMetaInternal(), statementWrapper, getOptions(), rte.completionDispatcher);
+    }
+
+    private ResultSetPager<ENTITY> pager(String logMessage, int prefetchPages) {
+        final RuntimeEngine rte = getRte();
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format(logMessage,
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+        return ResultSetPager.forEntities(futureRS, getMetaInternal(), statementWrapper, getOptions(), prefetchPages, rte.completionDispatcher);
+    }
+
     /***************************************************************************************
      * TypedMap API                                                                        *
      ***************************************************************************************/
@@ -195,6 +236,24 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
         final TypedMapIteratorWrapper iterator = (TypedMapIteratorWrapper)this.typedMapIterator();
         return Tuple2.of(iterator, iterator.getExecutionInfo());
     }
+
+    @Override
+    public Publisher<TypedMap> typedMapPublisher() {
+        final RuntimeEngine rte = getRte();
+        final CassandraOptions cassandraOptions = getOptions();
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Generate typed map publisher for select : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        return ResultSetPublisher.forRows(() -> rte.execute(statementWrapper), statementWrapper, cassandraOptions, row -> {
+            statementWrapper.logReturnedRow(row);
+            cassandraOptions.rowAsyncListener(row);
+            return mapRowToTypedMap(row);
+        }, rte.completionDispatcher);
+    }
     /***************************************************************************************
      * Utility API                                                                         *
      ***************************************************************************************/
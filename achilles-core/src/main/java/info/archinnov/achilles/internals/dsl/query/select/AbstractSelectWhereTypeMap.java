@@ -22,6 +22,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +41,7 @@ import info.archinnov.achilles.internals.runtime.RuntimeEngine;
 import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
 import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.types.ResultSetPublisher;
 import info.archinnov.achilles.internals.types.TypedMapIteratorWrapper;
 import info.archinnov.achilles.type.TypedMap;
 import info.archinnov.achilles.type.tuples.Tuple2;
@@ -135,6 +137,24 @@ public abstract class AbstractSelectWhereTypeMap<T extends AbstractSelectWhereTy
         return Tuple2.of(iterator, iterator.getExecutionInfo());
     }
 
+    @Override
+    public Publisher<TypedMap> typedMapPublisher() {
+        final RuntimeEngine rte = getRte();
+        final CassandraOptions cassandraOptions = getOptions();
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Generate typed map publisher for select : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        return ResultSetPublisher.forRows(() -> rte.execute(statementWrapper), statementWrapper, cassandraOptions, row -> {
+            statementWrapper.logReturnedRow(row);
+            cassandraOptions.rowAsyncListener(row);
+            return mapRowToTypedMap(row);
+        }, rte.completionDispatcher);
+    }
+
 
     /***************************************************************************************
      * Utility API                                                                         *
@@ -23,9 +23,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +45,8 @@ import info.archinnov.achilles.internals.runtime.RuntimeEngine;
 import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 import info.archinnov.achilles.internals.types.EntityIteratorWrapper;
+import info.archinnov.achilles.internals.types.ResultSetPager;
+import info.archinnov.achilles.internals.types.ResultSetPublisher;
 import info.archinnov.achilles.type.interceptor.Event;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
@@ -186,6 +191,57 @@ public class TypedQuery<ENTITY> implements SelectAction<ENTITY>, RawAndTypeMapDe
         return Tuple2.of(iterator, iterator.getExecutionInfo());
     }
 
+    /**
+     * Execute the typed query and return a lazy stream of entities over all the pages
+     *
+     * @return Stream&lt;ENTITY&gt;
+     */
+    @Override
+    public Stream<ENTITY> stream(int prefetchPages) {
+        return pager("Generate stream for typed query : %s", prefetchPages).stream();
+    }
+
+    /**
+     * Execute the typed query asynchronously and push the entities of all the pages to the consumer
+     *
+     * @return CompletableFuture&lt;List&lt;ExecutionInfo&gt;&gt;
+     */
+    @Override
+    public CompletableFuture<List<ExecutionInfo>> forEachAsync(Consumer<ENTITY> consumer, int prefetchPages) {
+        return pager("Typed query async for each : %s", prefetchPages).forEachAsync(consumer);
+    }
+
+    /**
+     * Return a publisher of entities over all the pages, driven by the subscriber demand
+     *
+     * @return Publisher&lt;ENTITY&gt;
+     */
+    @Override
+    public Publisher<ENTITY> publisher() {
+        StatementWrapper statementWrapper = new BoundStatementWrapper(getOperationType(boundStatement), meta,
+                boundStatement, encodedBoundValues);
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(String.format("Generate publisher for typed query : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        return ResultSetPublisher.forEntities(() -> rte.execute(statementWrapper), meta, statementWrapper, options, rte.completionDispatcher);
+    }
+
+    private ResultSetPager<ENTITY> pager(String logMessage, int prefetchPages) {
+        StatementWrapper statementWrapper = new BoundStatementWrapper(getOperationType(boundStatement), meta,
+                boundStatement, encodedBoundValues);
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(String.format(logMessage,
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+        return ResultSetPager.forEntities(futureRS, meta, statementWrapper, options, prefetchPages, rte.completionDispatcher);
+    }
+
     /**
      * Execute the typed query asynchronously and return a list of entities with execution info
      *
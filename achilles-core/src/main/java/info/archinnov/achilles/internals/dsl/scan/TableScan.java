@@ -0,0 +1,350 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.dsl.scan;
+
+import static com.datastax.driver.core.querybuilder.QueryBuilder.*;
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.core.querybuilder.Select;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.types.ResultSetPager;
+import info.archinnov.achilles.type.Empty;
+import info.archinnov.achilles.type.tuples.Tuple2;
+
+/**
+ * Full table scan split by token ranges. The token ranges of the cluster are split to reach
+ * at least <em>splits</em> sub-ranges, which are scanned with at most <em>parallelism</em>
+ * concurrent <code>SELECT * FROM table WHERE token(partition keys) &gt; :start AND token(partition keys) &lt;= :end</code>
+ * queries. Sub-ranges are interleaved by primary replica so the load is spread over the cluster.
+ * <br/>
+ * <br/>
+ * Each sub-range is reported to the checkpoint listener once completely consumed. A scan can be resumed
+ * later by skipping the ranges already completed.
+ *
+ * <pre class="code"><code class="java">
+ *   manager
+ *      .scan()
+ *      .withParallelism(16)
+ *      .withCheckpointListener(range -> saveCompleted(range))
+ *      .skipRanges(loadCompletedRanges())
+ *      .forEach(entity -> reconcile(entity));
+ * </code></pre>
+ */
+public class TableScan<ENTITY> implements AsyncAware {
+
+    public static final int DEFAULT_PARALLELISM = 8;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TableScan.class);
+    private static final String START = "start";
+    private static final String END = "end";
+
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final RuntimeEngine rte;
+    private final CassandraOptions options = new CassandraOptions();
+    private int parallelism = DEFAULT_PARALLELISM;
+    private Optional<Integer> splits = Optional.empty();
+    private Optional<Integer> fetchSize = Optional.empty();
+    private Optional<ConsistencyLevel> consistencyLevel = Optional.empty();
+    private Set<TokenRange> skippedRanges = new HashSet<>();
+    private Consumer<TokenRange> checkpointListener = range -> {};
+
+    public TableScan(AbstractEntityProperty<ENTITY> meta, RuntimeEngine rte) {
+        this.meta = meta;
+        this.rte = rte;
+    }
+
+    /**
+     * Maximum number of sub-ranges scanned concurrently. Default value is {@value #DEFAULT_PARALLELISM}
+     */
+    public TableScan<ENTITY> withParallelism(int parallelism) {
+        validateTrue(parallelism > 0, "The scan parallelism '%s' should be strictly positive", parallelism);
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Minimum number of sub-ranges to split the token ring into. Defaults to the parallelism
+     */
+    public TableScan<ENTITY> withSplits(int splits) {
+        validateTrue(splits > 0, "The scan splits count '%s' should be strictly positive", splits);
+        this.splits = Optional.of(splits);
+        return this;
+    }
+
+    public TableScan<ENTITY> withFetchSize(int fetchSize) {
+        validateTrue(fetchSize > 0, "The scan fetch size '%s' should be strictly positive", fetchSize);
+        this.fetchSize = Optional.of(fetchSize);
+        return this;
+    }
+
+    public TableScan<ENTITY> withConsistencyLevel(ConsistencyLevel consistencyLevel) {
+        this.consistencyLevel = Optional.ofNullable(consistencyLevel);
+        return this;
+    }
+
+    /**
+     * Listener notified with each sub-range once all its rows have been consumed.
+     * It may be called concurrently from different threads
+     */
+    public TableScan<ENTITY> withCheckpointListener(Consumer<TokenRange> checkpointListener) {
+        validateNotNull(checkpointListener, "The checkpoint listener should not be null");
+        this.checkpointListener = checkpointListener;
+        return this;
+    }
+
+    /**
+     * Resume a scan by skipping the sub-ranges already completed. The scan should be split the same way
+     * (same splits count and same cluster topology) as the one which reported them
+     */
+    public TableScan<ENTITY> skipRanges(Collection<TokenRange> completedRanges) {
+        validateNotNull(completedRanges, "The completed ranges should not be null");
+        this.skippedRanges = new HashSet<>(completedRanges);
+        return this;
+    }
+
+    /**
+     * @return the sub-ranges to be scanned, interleaved by primary replica
+     */
+    public List<TokenRange> getRanges() {
+        final Metadata metadata = rte.getCluster().getMetadata();
+        final String keyspace = getKeyspace();
+        final Set<TokenRange> tokenRanges = metadata.getTokenRanges();
+        final int splitCount = splits.orElse(parallelism);
+        final int splitsPerRange = Math.max(1, (splitCount + tokenRanges.size() - 1) / tokenRanges.size());
+
+        final Map<Host, Deque<TokenRange>> rangesByReplica = new LinkedHashMap<>();
+        final Deque<TokenRange> noReplica = new ArrayDeque<>();
+        for (TokenRange range : tokenRanges) {
+            final Set<Host> replicas = metadata.getReplicas(keyspace, range);
+            final Deque<TokenRange> queue = replicas.isEmpty()
+                    ? noReplica
+                    : rangesByReplica.computeIfAbsent(replicas.iterator().next(), x -> new ArrayDeque<>());
+            for (TokenRange subRange : split(range, splitsPerRange)) {
+                if (!skippedRanges.contains(subRange)) {
+                    queue.add(subRange);
+                }
+            }
+        }
+
+        final List<TokenRange> interleaved = new ArrayList<>();
+        final List<Deque<TokenRange>> queues = new ArrayList<>(rangesByReplica.values());
+        queues.add(noReplica);
+        boolean remaining = true;
+        while (remaining) {
+            remaining = false;
+            for (Deque<TokenRange> queue : queues) {
+                final TokenRange range = queue.poll();
+                if (range != null) {
+                    interleaved.add(range);
+                    remaining = true;
+                }
+            }
+        }
+        return interleaved;
+    }
+
+    /**
+     * Scan the table and wait for completion. The consumer is called concurrently
+     * from different threads and should be thread-safe
+     */
+    public void forEach(Consumer<ENTITY> consumer) {
+        try {
+            Uninterruptibles.getUninterruptibly(forEachAsync(consumer));
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * Scan the table asynchronously. The consumer is called concurrently
+     * from different threads and should be thread-safe. The scan stops at the first failing sub-range
+     */
+    public CompletableFuture<Empty> forEachAsync(Consumer<ENTITY> consumer) {
+        validateNotNull(consumer, "The scan consumer should not be null");
+        final List<TokenRange> ranges = getRanges();
+        final CompletableFuture<Empty> done = new CompletableFuture<>();
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Scanning table %s of entity %s over %s token ranges with parallelism %s",
+                    meta.getTableOrViewName(), meta.entityClass.getCanonicalName(), ranges.size(), parallelism));
+        }
+
+        if (ranges.isEmpty()) {
+            done.complete(Empty.INSTANCE);
+            return done;
+        }
+
+        final Queue<TokenRange> pending = new ConcurrentLinkedQueue<>(ranges);
+        final AtomicInteger remaining = new AtomicInteger(ranges.size());
+        for (int i = 0; i < Math.min(parallelism, ranges.size()); i++) {
+            scanNext(pending, remaining, consumer, done);
+        }
+        return done;
+    }
+
+    /**
+     * Lazy sequential {@link java.util.stream.Stream} over all the entities of the table.
+     * At most <em>parallelism</em> sub-ranges are queried concurrently: their first page is fetched
+     * in the background while the stream consumes them one after the other. Only the calling thread
+     * blocks, when the rows fetched so far are exhausted.
+     * <br/>
+     * The checkpoint listener is called from the calling thread
+     */
+    public Stream<ENTITY> stream() {
+        final Iterator<ENTITY> iterator = new ScanIterator(getRanges());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false);
+    }
+
+    private void scanNext(Queue<TokenRange> pending, AtomicInteger remaining, Consumer<ENTITY> consumer, CompletableFuture<Empty> done) {
+        final TokenRange range = pending.poll();
+        if (range == null || done.isDone()) {
+            return;
+        }
+        pager(range)
+                .forEachAsync(consumer)
+                .whenComplete((executionInfos, throwable) -> {
+                    if (throwable != null) {
+                        done.completeExceptionally(throwable);
+                        return;
+                    }
+                    // whenComplete swallows exceptions, a failing listener must fail the scan instead of hanging it
+                    try {
+                        checkpointListener.accept(range);
+                        if (remaining.decrementAndGet() == 0) {
+                            done.complete(Empty.INSTANCE);
+                        } else {
+                            scanNext(pending, remaining, consumer, done);
+                        }
+                    } catch (Throwable listenerThrowable) {
+                        done.completeExceptionally(listenerThrowable);
+                    }
+                });
+    }
+
+    private ResultSetPager<ENTITY> pager(TokenRange range) {
+        final BoundStatement bs = bind(range);
+        fetchSize.ifPresent(bs::setFetchSize);
+        consistencyLevel.ifPresent(bs::setConsistencyLevel);
+
+        final Object[] values = new Object[]{range.getStart(), range.getEnd()};
+        final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.SELECT, meta, bs, values, values);
+        return ResultSetPager.forEntities(rte.execute(statementWrapper), meta, statementWrapper, options, 1, rte.completionDispatcher);
+    }
+
+    private BoundStatement bind(TokenRange range) {
+        final Token start = range.getStart();
+        final Token end = range.getEnd();
+        final String tokenFunction = token(meta.partitionKeys.stream().map(x -> x.fieldInfo.quotedCqlColumn).toArray(String[]::new));
+        final Select.Where where = select().all().from(getKeyspace(), meta.getTableOrViewName()).where();
+
+        if (start.equals(end)) {
+            // Single token ring, the range covers the whole table
+            return rte.prepareDynamicQuery(where).bind();
+        } else if (end.compareTo(start) < 0) {
+            // (start, min token]: the end of the ring
+            return rte.prepareDynamicQuery(where.and(gt(tokenFunction, bindMarker(START)))).bind().setToken(START, start);
+        } else {
+            return rte.prepareDynamicQuery(where.and(gt(tokenFunction, bindMarker(START))).and(lte(tokenFunction, bindMarker(END))))
+                    .bind()
+                    .setToken(START, start)
+                    .setToken(END, end);
+        }
+    }
+
+    private List<TokenRange> split(TokenRange range, int splitsPerRange) {
+        final List<TokenRange> subRanges = new ArrayList<>();
+        for (TokenRange unwrapped : range.unwrap()) {
+            if (splitsPerRange > 1 && unwrapped.getEnd().compareTo(unwrapped.getStart()) > 0) {
+                subRanges.addAll(unwrapped.splitEvenly(splitsPerRange));
+            } else {
+                subRanges.add(unwrapped);
+            }
+        }
+        return subRanges;
+    }
+
+    private String getKeyspace() {
+        return meta.getKeyspace().orElse(rte.currentKeyspace);
+    }
+
+    /**
+     * Keep up to <em>parallelism</em> sub-ranges open and walk them in order, opening the next
+     * pending sub-range each time one is exhausted and checkpointed
+     */
+    private class ScanIterator implements Iterator<ENTITY> {
+
+        private final Iterator<TokenRange> pending;
+        private final Deque<Tuple2<TokenRange, Iterator<ENTITY>>> open = new ArrayDeque<>();
+
+        ScanIterator(List<TokenRange> ranges) {
+            this.pending = ranges.iterator();
+            openPendingRanges();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!open.isEmpty()) {
+                final Tuple2<TokenRange, Iterator<ENTITY>> current = open.peek();
+                if (current._2().hasNext()) {
+                    return true;
+                }
+                open.poll();
+                checkpointListener.accept(current._1());
+                openPendingRanges();
+            }
+            return false;
+        }
+
+        @Override
+        public ENTITY next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return open.peek()._2().next();
+        }
+
+        private void openPendingRanges() {
+            while (open.size() < parallelism && pending.hasNext()) {
+                final TokenRange range = pending.next();
+                open.add(Tuple2.of(range, pager(range).stream().iterator()));
+            }
+        }
+    }
+}
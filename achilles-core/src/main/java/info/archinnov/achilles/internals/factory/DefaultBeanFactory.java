@@ -18,6 +18,9 @@ package info.archinnov.achilles.internals.factory;
 
 import static java.lang.String.format;
 
+import java.util.Optional;
+import java.util.function.Supplier;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,6 +31,17 @@ public class DefaultBeanFactory implements BeanFactory {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultBeanFactory.class);
 
+    /**
+     * Use the constructor reference generated by the annotation processor when the bean factory is
+     * the default one, otherwise delegate to the provided bean factory
+     */
+    public static <T> Supplier<T> instantiatorFor(BeanFactory beanFactory, Class<T> clazz, Optional<Supplier<T>> generatedInstantiator) {
+        if (beanFactory.getClass() == DefaultBeanFactory.class && generatedInstantiator.isPresent()) {
+            return generatedInstantiator.get();
+        }
+        return () -> beanFactory.newInstance(clazz);
+    }
+
     @Override
     public <T> T newInstance(Class<T> clazz) {
         if (LOGGER.isTraceEnabled()) {
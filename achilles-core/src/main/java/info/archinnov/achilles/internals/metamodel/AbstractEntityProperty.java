@@ -20,20 +20,23 @@ import static info.archinnov.achilles.internals.schema.SchemaValidator.*;
 import static info.archinnov.achilles.internals.statements.PreparedStatementGenerator.*;
 import static info.archinnov.achilles.validation.Validator.validateNotNull;
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toList;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.BiMap;
 
-import info.archinnov.achilles.internals.cache.StatementsCache;
+import info.archinnov.achilles.internals.cache.EntityCache;
 import info.archinnov.achilles.internals.cassandra_version.InternalCassandraVersion;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.factory.DefaultBeanFactory;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.injectable.*;
@@ -43,6 +46,7 @@ import info.archinnov.achilles.internals.runtime.BeanValueExtractor;
 import info.archinnov.achilles.internals.schema.SchemaContext;
 import info.archinnov.achilles.internals.schema.SchemaCreator;
 import info.archinnov.achilles.internals.statements.BoundValuesWrapper;
+import info.archinnov.achilles.internals.statements.StaticStatementsPreparer;
 import info.archinnov.achilles.internals.strategy.naming.InternalNamingStrategy;
 import info.archinnov.achilles.internals.types.OverridingOptional;
 import info.archinnov.achilles.internals.utils.CollectionsHelper;
@@ -52,6 +56,7 @@ import info.archinnov.achilles.type.codec.CodecSignature;
 import info.archinnov.achilles.type.factory.BeanFactory;
 import info.archinnov.achilles.type.interceptor.Event;
 import info.archinnov.achilles.type.interceptor.Interceptor;
+import info.archinnov.achilles.type.metrics.MetricsRecorder;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
 import info.archinnov.achilles.validation.Validator;
 
@@ -61,7 +66,8 @@ public abstract class AbstractEntityProperty<T> implements
         InjectConsistency, InjectInsertStrategy,
         InjectUserAndTupleTypeFactory,
         InjectJacksonMapper, InjectSchemaStrategy,
-        InjectRuntimeCodecs {
+        InjectRuntimeCodecs, InjectMetricsRecorder,
+        InjectEntityCache {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractEntityProperty.class);
 
@@ -87,14 +93,20 @@ public abstract class AbstractEntityProperty<T> implements
     public final List<AbstractProperty<T, ?, ?>> constructorInjectedColumns;
     public final List<AbstractProperty<T, ?, ?>> allColumns;
     public final List<AbstractProperty<T, ?, ?>> allColumnsWithComputed;
+    public final List<AbstractProperty<T, ?, ?>> partitionKeysAndStaticColumns;
     public final List<Interceptor<T>> interceptors = new ArrayList<>();
+    private Map<Event, Interceptor<T>[]> interceptorsByEvent = new EnumMap<>(Event.class);
+    private final Cache<ColumnDefinitions, RowDecodingPlan<T>> decodingPlans = CacheBuilder.newBuilder().weakKeys().build();
     protected BeanFactory beanFactory;
+    protected Supplier<T> instantiator;
     protected Optional<String> keyspace = Optional.empty();
     protected ConsistencyLevel readConsistencyLevel;
     protected ConsistencyLevel writeConsistencyLevel;
     protected ConsistencyLevel serialConsistencyLevel;
     protected InsertStrategy insertStrategy;
     public Optional<SchemaNameProvider> schemaStrategy = Optional.empty();
+    protected MetricsRecorder metricsRecorder = MetricsRecorder.NO_OP;
+    protected Optional<EntityCache> entityCache = Optional.empty();
 
 
     public AbstractEntityProperty() {
@@ -120,10 +132,20 @@ public abstract class AbstractEntityProperty<T> implements
         counterColumns = getCounterColumns();
         allColumns = getAllColumns();
         allColumnsWithComputed = getAllColumnsWithComputed();
+        partitionKeysAndStaticColumns = CollectionsHelper.appendAll(partitionKeys, staticColumns);
+        buildInterceptorsDispatch();
     }
 
     protected abstract Class<T> getEntityClass();
 
+    /**
+     * Reference to the public default constructor, generated when the entity
+     * does not rely on a custom constructor
+     */
+    protected Optional<Supplier<T>> getInstantiator() {
+        return Optional.empty();
+    }
+
     protected abstract Optional<String> getStaticKeyspace();
 
     protected abstract Optional<String> getStaticTableOrViewName();
@@ -216,15 +238,62 @@ public abstract class AbstractEntityProperty<T> implements
         return staticInsertStrategy.orElse(insertStrategy);
     }
 
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+    public Optional<EntityCache> getEntityCache() {
+        return entityCache;
+    }
+
+    /**
+     * Invalidate the cached row of this instance, if the entity cache is enabled
+     */
+    public void invalidateEntityCache(T instance, CassandraOptions cassandraOptions) {
+        if (entityCache.isPresent()) {
+            entityCache.get().invalidate(BeanValueExtractor.extractPrimaryKeyValues(instance, this, Optional.of(cassandraOptions))._2());
+        }
+    }
+
+    /**
+     * Bucket the {@link #interceptors} by event. Must be called again after any change
+     * to the interceptors list, which is done once at bootstrap
+     */
+    @SuppressWarnings("unchecked")
+    public void buildInterceptorsDispatch() {
+        final Map<Event, Interceptor<T>[]> dispatch = new EnumMap<>(Event.class);
+        for (Event event : Event.values()) {
+            dispatch.put(event, interceptors
+                    .stream()
+                    .filter(x -> x.interceptOnEvents().contains(event))
+                    .toArray(Interceptor[]::new));
+        }
+        interceptorsByEvent = dispatch;
+    }
+
     public void triggerInterceptorsForEvent(Event event, T instance) {
+        final Interceptor<T>[] eventInterceptors = interceptorsByEvent.get(event);
+        if (eventInterceptors.length == 0) {
+            return;
+        }
+
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Trigger interceptors for entity %s on event %s",
                     instance, event.name()));
         }
-        interceptors
-                .stream()
-                .filter(x -> x.interceptOnEvents().contains(event))
-                .forEach(x -> x.onEvent(instance, event));
+        if (metricsRecorder.isEnabled()) {
+            final long start = System.nanoTime();
+            invokeInterceptors(eventInterceptors, event, instance);
+            metricsRecorder.recordInterceptors(entityClass, event, System.nanoTime() - start);
+        } else {
+            invokeInterceptors(eventInterceptors, event, instance);
+        }
+    }
+
+    private void invokeInterceptors(Interceptor<T>[] eventInterceptors, Event event, T instance) {
+        for (Interceptor<T> interceptor : eventInterceptors) {
+            interceptor.onEvent(instance, event);
+        }
     }
 
     protected abstract T newInstanceFromCustomConstructor(Row row, List<String> cqlColumns);
@@ -234,31 +303,52 @@ public abstract class AbstractEntityProperty<T> implements
             LOGGER.debug(format("Create entity of type %s from Cassandra row %s",
                     entityClass.getCanonicalName(), row));
         }
+        if (row != null && metricsRecorder.isEnabled()) {
+            final long start = System.nanoTime();
+            final T newInstance = decodeEntity(row);
+            metricsRecorder.recordDecoding(entityClass, System.nanoTime() - start);
+            return newInstance;
+        }
+        return decodeEntity(row);
+    }
+
+    private T decodeEntity(Row row) {
         if (row != null) {
+            final RowDecodingPlan<T> decodingPlan = getDecodingPlan(row.getColumnDefinitions());
             // No custom constructor
-            final List<String> cqlColumns = row.getColumnDefinitions().asList().stream().map(def -> def.getName()).collect(toList());
             if (constructorInjectedColumns.size() == 0) {
-                T newInstance = beanFactory.newInstance(entityClass);
-                allColumnsWithComputed
-                        .stream()
-                        .filter(x -> cqlColumns.contains(x.getColumnForSelect()))
-                        .forEach(x -> x.decodeField(row, newInstance));
+                T newInstance = instantiator.get();
+                decodingPlan.decodeAllColumns(row, newInstance);
                 return newInstance;
             } else {
 
-                final T newInstance = newInstanceFromCustomConstructor(row, cqlColumns);
+                final T newInstance = newInstanceFromCustomConstructor(row, decodingPlan.cqlColumns);
 
                 // Call setters for remaining fields not injected by constructor
-                allColumnsWithComputed
-                        .stream()
-                        .filter(x -> !constructorInjectedColumns.contains(x))
-                        .forEach(x -> x.decodeField(row, newInstance));
+                decodingPlan.decodeNonConstructorInjectedColumns(row, newInstance);
                 return newInstance;
             }
         }
         return null;
     }
 
+    /**
+     * Get the decoding plan for the given column definitions, computing it on first use.
+     * Plans are weakly keyed by column definitions identity since the Java driver shares the
+     * same instance for all rows of a page and for all pages of a prepared statement whose
+     * result metadata is skipped
+     * @param columnDefinitions
+     * @return
+     */
+    public RowDecodingPlan<T> getDecodingPlan(ColumnDefinitions columnDefinitions) {
+        RowDecodingPlan<T> decodingPlan = decodingPlans.getIfPresent(columnDefinitions);
+        if (decodingPlan == null) {
+            decodingPlan = RowDecodingPlan.create(columnDefinitions, allColumnsWithComputed, constructorInjectedColumns);
+            decodingPlans.put(columnDefinitions, decodingPlan);
+        }
+        return decodingPlan;
+    }
+
     public BoundValuesWrapper extractAllValuesFromEntity(T instance, CassandraOptions cassandraOptions) {
         return BeanValueExtractor.extractAllValues(instance, this, cassandraOptions);
     }
@@ -293,17 +383,17 @@ public abstract class AbstractEntityProperty<T> implements
         return tableName;
     }
 
-    public void prepareStaticStatements(InternalCassandraVersion cassandraVersion, Session session, StatementsCache cache) {
+    public void prepareStaticStatements(InternalCassandraVersion cassandraVersion, StaticStatementsPreparer preparer) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Preparing static statements for entity of type %s",
                     entityClass.getCanonicalName()));
         }
         if (!counterTable) {
-            generateStaticInsertQueries(cassandraVersion, session, cache, this);
+            generateStaticInsertQueries(cassandraVersion, preparer, this);
         }
 
-        generateStaticDeleteQueries(session, cache, this);
-        generateStaticSelectQuery(session, cache, this);
+        generateStaticDeleteQueries(preparer, this);
+        generateStaticSelectQuery(preparer, this);
     }
 
     protected List<AbstractProperty<T, ?, ?>> getAllColumns() {
@@ -455,6 +545,7 @@ public abstract class AbstractEntityProperty<T> implements
                     factory, entityClass.getCanonicalName()));
         }
         beanFactory = factory;
+        instantiator = DefaultBeanFactory.instantiatorFor(factory, entityClass, getInstantiator());
 
         for (AbstractProperty<T, ?, ?> x : allColumns) {
             x.inject(factory);
@@ -462,6 +553,23 @@ public abstract class AbstractEntityProperty<T> implements
 
     }
 
+    @Override
+    public void inject(MetricsRecorder metricsRecorder) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Injecting metrics recorder %s into entity meta of %s",
+                    metricsRecorder, entityClass.getCanonicalName()));
+        }
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    @Override
+    public void inject(EntityCache entityCache) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Injecting entity cache into entity meta of %s", entityClass.getCanonicalName()));
+        }
+        this.entityCache = Optional.of(entityCache);
+    }
+
     @Override
     public void inject(UserTypeFactory userTypeFactory, TupleTypeFactory tupleTypeFactory) {
         if (LOGGER.isDebugEnabled()) {
@@ -134,6 +134,22 @@ public abstract class AbstractProperty<ENTITY, VALUEFROM, VALUETO>
 
     abstract VALUEFROM decodeFromGettableInternal(GettableData gettableData);
 
+    /**
+     * Decode the given GettableData (Row, UDTValue, ...) to Java value using Achilles codec system,
+     * reading the column at the given pre-resolved index instead of looking it up by name
+     * @param gettableData
+     * @param index
+     * @return
+     */
+    public VALUEFROM decodeFromGettable(GettableData gettableData, int index) {
+        if (gettableData.isNull(index) && !isOptional()) return null;
+        return decodeFromGettableInternal(gettableData, index);
+    }
+
+    VALUEFROM decodeFromGettableInternal(GettableData gettableData, int index) {
+        return decodeFromGettableInternal(gettableData);
+    }
+
     /**
      * Decode the given raw object to Java value value using Achilles codec system
      * @param o
@@ -163,6 +179,16 @@ public abstract class AbstractProperty<ENTITY, VALUEFROM, VALUETO>
 
     abstract boolean isOptional();
 
+    /**
+     * Whether encoding and decoding return the value unchanged, e.g. a native CQL type
+     * or a primitive array mapped with a fall-through codec.
+     * Collection properties use it to copy their elements in bulk instead of one by one.
+     * The collection is still copied and its elements stay boxed
+     */
+    boolean isPassThrough() {
+        return false;
+    }
+
     /**
      * Encode the field of the given entity into CQL-compatible value using Achilles codec system
      * @param entity
@@ -245,6 +271,17 @@ public abstract class AbstractProperty<ENTITY, VALUEFROM, VALUETO>
         fieldInfo.setter.set(entity, valuefrom);
     }
 
+    /**
+     * Same as {@link #decodeField(GettableData, Object)} but read the column at the given pre-resolved index
+     * @param gettableData
+     * @param entity
+     * @param index
+     */
+    public void decodeField(GettableData gettableData, ENTITY entity, int index) {
+        final VALUEFROM valuefrom = decodeFromGettable(gettableData, index);
+        fieldInfo.setter.set(entity, valuefrom);
+    }
+
     /**
      * Call the getter on the given entity to get the value
      * @param entity
@@ -19,14 +19,18 @@ package info.archinnov.achilles.internals.metamodel;
 
 import static java.lang.String.format;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.GettableData;
 import com.datastax.driver.core.SettableData;
 import com.datastax.driver.core.TupleType;
 import com.datastax.driver.core.TupleValue;
@@ -52,6 +56,8 @@ public abstract class AbstractTupleProperty<ENTITY, T extends Tuple> extends Abs
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractTupleProperty.class);
     protected TupleType tupleType;
     protected TupleTypeFactory tupleTypeFactory;
+    private List<AbstractUDTClassProperty<?>> udtClassProperties = Collections.emptyList();
+    private final ConcurrentMap<Object, TupleType> tupleTypesByKeyspace = new ConcurrentHashMap<>();
 
     AbstractTupleProperty(TypeToken<T> valueFromTypeToken, FieldInfo<ENTITY, T> fieldInfo) {
         super(valueFromTypeToken, TUPLE_VALUE_TYPE_TOKEN, fieldInfo);
@@ -67,6 +73,15 @@ public abstract class AbstractTupleProperty<ENTITY, T extends Tuple> extends Abs
 
     protected abstract List<AbstractProperty<ENTITY, ?, ?>> componentsProperty();
 
+    @Override
+    T decodeFromGettableInternal(GettableData gettableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Decode '%s' tuple from gettable object %s at index %s", fieldName, gettableData, index));
+        }
+
+        return decodeFromRaw(gettableData.getTupleValue(index));
+    }
+
     @Override
     public void encodeToSettable(TupleValue tuple, SettableData<?> settableData) {
         if (LOGGER.isTraceEnabled()) {
@@ -97,6 +112,8 @@ public abstract class AbstractTupleProperty<ENTITY, T extends Tuple> extends Abs
         for (AbstractProperty<ENTITY, ?, ?> x : componentsProperty()) {
             x.inject(userTypeFactory, tupleTypeFactory);
         }
+        this.udtClassProperties = getUDTClassProperties();
+        this.tupleTypesByKeyspace.clear();
         this.tupleType = this.buildType(schemaNameProvider.map(CassandraOptions::withSchemaNameProvider));
     }
 
@@ -147,7 +164,21 @@ public abstract class AbstractTupleProperty<ENTITY, T extends Tuple> extends Abs
         }
     }
 
-     protected TupleType getRuntimeTupleType(Optional<CassandraOptions> options) {
-         return options.isPresent() ? buildType(options) : tupleType;
-     }
+    /**
+     * A tuple type only depends on the runtime schema name provider through its nested UDTs,
+     * so it is built once per resolved keyspace of these UDTs
+     */
+    protected TupleType getRuntimeTupleType(Optional<CassandraOptions> options) {
+        if (udtClassProperties.isEmpty() || !options.flatMap(CassandraOptions::getSchemaNameProvider).isPresent()) {
+            return tupleType;
+        }
+        final Object keyspaces = udtClassProperties.size() == 1
+                ? udtClassProperties.get(0).resolveKeyspace(options)
+                : udtClassProperties.stream().map(x -> x.resolveKeyspace(options)).collect(Collectors.toList());
+        final TupleType runtimeTupleType = tupleTypesByKeyspace.get(keyspaces);
+        if (runtimeTupleType != null) {
+            return runtimeTupleType;
+        }
+        return tupleTypesByKeyspace.computeIfAbsent(keyspaces, ks -> buildType(options));
+    }
 }
@@ -22,6 +22,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -34,6 +37,7 @@ import com.datastax.driver.core.schemabuilder.SchemaBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import info.archinnov.achilles.annotations.UDT;
+import info.archinnov.achilles.internals.factory.DefaultBeanFactory;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.injectable.*;
@@ -63,8 +67,10 @@ public abstract class AbstractUDTClassProperty<A>
     public final List<AbstractProperty<A, ?, ?>> constructorInjectedProperty;
     public final Class<?> parentEntityClass;
     protected BeanFactory udtFactory;
+    protected Supplier<A> instantiator;
     protected UserTypeFactory userTypeFactory;
-    protected UserType userType;
+    private final ConcurrentMap<String, UserType> userTypesByKeyspace = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, UserType> frozenUserTypesByKeyspace = new ConcurrentHashMap<>();
     protected Optional<SchemaNameProvider> schemaNameProvider = Optional.empty();
     String keyspace;
 
@@ -95,6 +101,14 @@ public abstract class AbstractUDTClassProperty<A>
 
     protected abstract Class<?> getParentEntityClass();
 
+    /**
+     * Reference to the public default constructor, generated when the UDT
+     * does not rely on a custom constructor
+     */
+    protected Optional<Supplier<A>> getInstantiator() {
+        return Optional.empty();
+    }
+
     protected abstract UDTValue createUDTFromBean(A instance, boolean frozen, Optional<CassandraOptions> cassandraOptions);
 
     protected abstract A newInstanceFromCustomConstructor(UDTValue udtValue);
@@ -103,7 +117,7 @@ public abstract class AbstractUDTClassProperty<A>
         if (udtValue != null) {
             final A instance;
             if (constructorInjectedProperty.size() == 0) {
-                instance = udtFactory.newInstance(udtClass);
+                instance = instantiator.get();
                 componentsProperty
                         .stream()
                         .forEach(x -> x.decodeField(udtValue, instance));
@@ -121,12 +135,18 @@ public abstract class AbstractUDTClassProperty<A>
         return null;
     }
 
+    /**
+     * The UserType only depends on the resolved keyspace and the frozen flag
+     * so it is built once per keyspace and then looked up
+     */
     protected UserType getUserType(boolean frozen, Optional<CassandraOptions> cassandraOptions) {
-        if (cassandraOptions.isPresent() || userType == null) {
-            return buildType(frozen, cassandraOptions);
-        } else {
+        final String keyspaceName = resolveKeyspace(cassandraOptions);
+        final ConcurrentMap<String, UserType> userTypes = frozen ? frozenUserTypesByKeyspace : userTypesByKeyspace;
+        final UserType userType = userTypes.get(keyspaceName);
+        if (userType != null) {
             return userType;
         }
+        return userTypes.computeIfAbsent(keyspaceName, ks -> buildType(frozen, cassandraOptions));
     }
 
     public UserType buildType(boolean frozen, Optional<CassandraOptions> cassandraOptions) {
@@ -134,6 +154,15 @@ public abstract class AbstractUDTClassProperty<A>
             LOGGER.debug(format("Building UserType instance for the current UDT class meta %s", this.toString()));
         }
 
+        final String keyspaceName = resolveKeyspace(cassandraOptions);
+        List<UserType.Field> fields = getComponentsProperty()
+                .stream()
+                .map(property -> userTypeFactory.fieldFor(property.fieldInfo.cqlColumn, property.buildType(cassandraOptions)))
+                .collect(Collectors.toList());
+        return userTypeFactory.typeFor(keyspaceName, udtName, frozen, fields);
+    }
+
+    String resolveKeyspace(Optional<CassandraOptions> cassandraOptions) {
         Optional<String> keyspaceName = OverridingOptional
                 .from(cassandraOptions.flatMap(CassandraOptions::getSchemaNameProvider).map(x -> x.keyspaceFor(parentEntityClass)))
                 .andThen(this.schemaNameProvider.map(x -> x.keyspaceFor(parentEntityClass)))
@@ -143,11 +172,7 @@ public abstract class AbstractUDTClassProperty<A>
         Validator.validateTrue(keyspaceName.isPresent(),
                 "The keyspace name for the UDT type '%s' should be either provided by the '%s' annotation or at runtime",
                 udtClass.getCanonicalName(), UDT.class.getSimpleName());
-        List<UserType.Field> fields = getComponentsProperty()
-                .stream()
-                .map(property -> userTypeFactory.fieldFor(property.fieldInfo.cqlColumn, property.buildType(cassandraOptions)))
-                .collect(Collectors.toList());
-        return userTypeFactory.typeFor(keyspaceName.get(), udtName, frozen, fields);
+        return keyspaceName.get();
     }
 
     public String generateSchema(SchemaContext context) {
@@ -172,6 +197,7 @@ public abstract class AbstractUDTClassProperty<A>
     @Override
     public void inject(BeanFactory factory) {
         udtFactory = factory;
+        instantiator = DefaultBeanFactory.instantiatorFor(factory, udtClass, getInstantiator());
         for (AbstractProperty<A, ?, ?> x : componentsProperty) {
             x.inject(udtFactory);
         }
@@ -180,10 +206,10 @@ public abstract class AbstractUDTClassProperty<A>
     @Override
     public void inject(UserTypeFactory userTypeFactory, TupleTypeFactory tupleTypeFactory) {
         this.userTypeFactory = userTypeFactory;
+        clearUserTypes();
         for (AbstractProperty<A, ?, ?> x : componentsProperty) {
             x.inject(userTypeFactory, tupleTypeFactory);
         }
-        //userType = this.buildType(frozen, schemaNameProvider.map(CassandraOptions::withSchemaNameProvider));
     }
 
     @Override
@@ -203,6 +229,7 @@ public abstract class AbstractUDTClassProperty<A>
     @Override
     public void injectKeyspace(String keyspace) {
         this.keyspace = keyspace;
+        clearUserTypes();
         for (AbstractProperty<A, ?, ?> x : componentsProperty) {
             x.injectKeyspace(keyspace);
         }
@@ -211,6 +238,12 @@ public abstract class AbstractUDTClassProperty<A>
     @Override
     public void inject(SchemaNameProvider schemaNameProvider) {
         this.schemaNameProvider = Optional.ofNullable(schemaNameProvider);
+        clearUserTypes();
+    }
+
+    private void clearUserTypes() {
+        userTypesByKeyspace.clear();
+        frozenUserTypesByKeyspace.clear();
     }
 
     @Override
@@ -107,6 +107,20 @@ public class JdkOptionalProperty<ENTITY, FROM, TO> extends AbstractProperty<ENTI
         }
     }
 
+    @Override
+    Optional<FROM> decodeFromGettableInternal(GettableData gettableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Decode '%s' optional from gettable object %s at index %s", fieldName, gettableData, index));
+        }
+
+        final FROM decoded = aProperty.decodeFromGettableInternal(gettableData, index);
+        if (decoded == null) {
+            return Optional.empty();
+        } else {
+            return Optional.of(decoded);
+        }
+    }
+
     @Override
     Optional<FROM> decodeFromRawInternal(Object o) {
         if (LOGGER.isTraceEnabled()) {
@@ -17,7 +17,6 @@
 package info.archinnov.achilles.internals.metamodel;
 
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toList;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -122,10 +121,15 @@ public class ListProperty<ENTITY, VALUEFROM, VALUETO> extends
             LOGGER.trace(format("Encode from Java '%s' list %s to CQL type", fieldName, list));
         }
 
-        return new ArrayList<>(list
-                .stream()
-                .map(value -> valueProperty.encodeFromJava(value, cassandraOptions))
-                .collect(toList()));
+        if (valueProperty.isPassThrough()) {
+            return new ArrayList<>((List<VALUETO>) list);
+        }
+
+        final List<VALUETO> encoded = new ArrayList<>(list.size());
+        for (VALUEFROM value : list) {
+            encoded.add(valueProperty.encodeFromJava(value, cassandraOptions));
+        }
+        return encoded;
     }
 
     @Override
@@ -144,6 +148,12 @@ public class ListProperty<ENTITY, VALUEFROM, VALUETO> extends
         return decodeFromGettableInternal(gettableData);
     }
 
+    @Override
+    public List<VALUEFROM> decodeFromGettable(GettableData gettableData, int index) {
+        if (gettableData.isNull(index) && !emptyCollectionIfNull) return null;
+        return decodeFromGettableInternal(gettableData, index);
+    }
+
     @Override
     public List<VALUEFROM> decodeFromGettableInternal(GettableData gettableData) {
         if (LOGGER.isTraceEnabled()) {
@@ -153,6 +163,15 @@ public class ListProperty<ENTITY, VALUEFROM, VALUETO> extends
         return decodeFromRaw(gettableData.getList(fieldInfo.quotedCqlColumn, valueProperty.valueToTypeToken));
     }
 
+    @Override
+    List<VALUEFROM> decodeFromGettableInternal(GettableData gettableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Decode '%s' list from gettable object %s at index %s", fieldName, gettableData, index));
+        }
+
+        return decodeFromRaw(gettableData.getList(index, valueProperty.valueToTypeToken));
+    }
+
     @Override
     public List<VALUEFROM> decodeFromRaw(Object o) {
         return decodeFromRawInternal(o);
@@ -173,10 +192,16 @@ public class ListProperty<ENTITY, VALUEFROM, VALUETO> extends
 
         Validator.validateTrue(List.class.isAssignableFrom(o.getClass()), "The class of object %s to decode should be List<%s>", o, o);
 
-        return new ArrayList<>(((List<VALUETO>) o)
-                .stream()
-                .map(valueTo -> valueProperty.decodeFromRaw(valueTo))
-                .collect(toList()));
+        if (valueProperty.isPassThrough()) {
+            return new ArrayList<>((List<VALUEFROM>) o);
+        }
+
+        final List<VALUETO> valueTos = (List<VALUETO>) o;
+        final List<VALUEFROM> decoded = new ArrayList<>(valueTos.size());
+        for (VALUETO valueTo : valueTos) {
+            decoded.add(valueProperty.decodeFromRaw(valueTo));
+        }
+        return decoded;
     }
 
     public VALUEFROM decodeSingleElement(VALUETO cassandraValue) {
@@ -17,7 +17,6 @@
 package info.archinnov.achilles.internals.metamodel;
 
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toMap;
 
 import java.util.HashMap;
 import java.util.List;
@@ -32,6 +31,7 @@ import com.datastax.driver.core.GettableData;
 import com.datastax.driver.core.SettableData;
 import com.datastax.driver.core.UDTValue;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Maps;
 import com.google.common.reflect.TypeParameter;
 import com.google.common.reflect.TypeToken;
 
@@ -154,11 +154,16 @@ public class MapProperty<ENTITY, KEYFROM, KEYTO, VALUEFROM, VALUETO> extends
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Encode from Java '%s' map %s to CQL type", fieldName, map));
         }
-        return new HashMap<>(map
-                .entrySet()
-                .stream()
-                .collect(toMap((Map.Entry entry) -> keyProperty.encodeFromRaw(entry.getKey(), cassandraOptions),
-                        (Map.Entry entry) -> valueProperty.encodeFromRaw(entry.getValue(), cassandraOptions))));
+        if (keyProperty.isPassThrough() && valueProperty.isPassThrough()) {
+            return new HashMap<>((Map<KEYTO, VALUETO>) map);
+        }
+
+        final Map<KEYTO, VALUETO> encoded = Maps.newHashMapWithExpectedSize(map.size());
+        for (Map.Entry<KEYFROM, VALUEFROM> entry : map.entrySet()) {
+            encoded.put(keyProperty.encodeFromRaw(entry.getKey(), cassandraOptions),
+                    valueProperty.encodeFromRaw(entry.getValue(), cassandraOptions));
+        }
+        return encoded;
     }
 
     @Override
@@ -176,6 +181,12 @@ public class MapProperty<ENTITY, KEYFROM, KEYTO, VALUEFROM, VALUETO> extends
         return decodeFromGettableInternal(gettableData);
     }
 
+    @Override
+    public Map<KEYFROM, VALUEFROM> decodeFromGettable(GettableData gettableData, int index) {
+        if (gettableData.isNull(index) && !emptyCollectionIfNull) return null;
+        return decodeFromGettableInternal(gettableData, index);
+    }
+
     @Override
     public Map<KEYFROM, VALUEFROM> decodeFromGettableInternal(GettableData gettableData) {
         if (LOGGER.isTraceEnabled()) {
@@ -185,6 +196,15 @@ public class MapProperty<ENTITY, KEYFROM, KEYTO, VALUEFROM, VALUETO> extends
         return decodeFromRaw(gettableData.getMap(fieldInfo.quotedCqlColumn, keyProperty.valueToTypeToken, valueProperty.valueToTypeToken));
     }
 
+    @Override
+    Map<KEYFROM, VALUEFROM> decodeFromGettableInternal(GettableData gettableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Decode '%s' map from gettable object %s at index %s", fieldName, gettableData, index));
+        }
+
+        return decodeFromRaw(gettableData.getMap(index, keyProperty.valueToTypeToken, valueProperty.valueToTypeToken));
+    }
+
     @Override
     public Map<KEYFROM, VALUEFROM> decodeFromRaw(Object o) {
         return decodeFromRawInternal(o);
@@ -206,10 +226,16 @@ public class MapProperty<ENTITY, KEYFROM, KEYTO, VALUEFROM, VALUETO> extends
         Validator.validateTrue(Map.class.isAssignableFrom(o.getClass()), "The class of object %s to decode should be Map<%s,%s>", o,
                 keyProperty.valueToTypeToken, valueProperty.valueToTypeToken);
 
-        return new HashMap<>(((Map<KEYTO, VALUETO>) o)
-                .entrySet()
-                .stream()
-                .collect(toMap((Map.Entry entry) -> keyProperty.decodeFromRaw(entry.getKey()), (Map.Entry entry) -> valueProperty.decodeFromRaw(entry.getValue()))));
+        if (keyProperty.isPassThrough() && valueProperty.isPassThrough()) {
+            return new HashMap<>((Map<KEYFROM, VALUEFROM>) o);
+        }
+
+        final Map<KEYTO, VALUETO> mapTo = (Map<KEYTO, VALUETO>) o;
+        final Map<KEYFROM, VALUEFROM> decoded = Maps.newHashMapWithExpectedSize(mapTo.size());
+        for (Map.Entry<KEYTO, VALUETO> entry : mapTo.entrySet()) {
+            decoded.put(keyProperty.decodeFromRaw(entry.getKey()), valueProperty.decodeFromRaw(entry.getValue()));
+        }
+        return decoded;
     }
 
     public KEYFROM decodeSingleKeyElement(KEYTO cassandraValue) {
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.metamodel;
+
+import static java.lang.String.format;
+
+import java.util.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.GettableData;
+
+/**
+ * Decoding plan mapping each property of an entity to the index of its column
+ * in a given {@link ColumnDefinitions}. The plan is computed once per distinct
+ * ColumnDefinitions instance so that decoding a row only performs index-based reads
+ */
+public class RowDecodingPlan<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RowDecodingPlan.class);
+
+    public final List<String> cqlColumns;
+    private final AbstractProperty<T, ?, ?>[] properties;
+    private final int[] indices;
+    private final AbstractProperty<T, ?, ?>[] nonConstructorInjectedProperties;
+    private final int[] nonConstructorInjectedIndices;
+
+    private RowDecodingPlan(List<String> cqlColumns,
+                            AbstractProperty<T, ?, ?>[] properties, int[] indices,
+                            AbstractProperty<T, ?, ?>[] nonConstructorInjectedProperties, int[] nonConstructorInjectedIndices) {
+        this.cqlColumns = cqlColumns;
+        this.properties = properties;
+        this.indices = indices;
+        this.nonConstructorInjectedProperties = nonConstructorInjectedProperties;
+        this.nonConstructorInjectedIndices = nonConstructorInjectedIndices;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> RowDecodingPlan<T> create(ColumnDefinitions columnDefinitions,
+                                                List<AbstractProperty<T, ?, ?>> allColumnsWithComputed,
+                                                List<AbstractProperty<T, ?, ?>> constructorInjectedColumns) {
+        final int columnsCount = columnDefinitions.size();
+        final List<String> cqlColumns = new ArrayList<>(columnsCount);
+        final Map<String, Integer> columnIndices = new HashMap<>(columnsCount * 2);
+        for (int i = 0; i < columnsCount; i++) {
+            final String name = columnDefinitions.getName(i);
+            cqlColumns.add(name);
+            columnIndices.putIfAbsent(name, i);
+        }
+
+        final List<AbstractProperty<T, ?, ?>> properties = new ArrayList<>(allColumnsWithComputed.size());
+        final List<Integer> indices = new ArrayList<>(allColumnsWithComputed.size());
+        final List<AbstractProperty<T, ?, ?>> nonConstructorInjectedProperties = new ArrayList<>(allColumnsWithComputed.size());
+        final List<Integer> nonConstructorInjectedIndices = new ArrayList<>(allColumnsWithComputed.size());
+
+        for (AbstractProperty<T, ?, ?> property : allColumnsWithComputed) {
+            final Integer index = columnIndices.get(property.getColumnForSelect());
+            if (index != null) {
+                properties.add(property);
+                indices.add(index);
+                if (!constructorInjectedColumns.contains(property)) {
+                    nonConstructorInjectedProperties.add(property);
+                    nonConstructorInjectedIndices.add(index);
+                }
+            }
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Create row decoding plan for columns %s", cqlColumns));
+        }
+
+        return new RowDecodingPlan<>(Collections.unmodifiableList(cqlColumns),
+                properties.toArray(new AbstractProperty[properties.size()]), toIntArray(indices),
+                nonConstructorInjectedProperties.toArray(new AbstractProperty[nonConstructorInjectedProperties.size()]),
+                toIntArray(nonConstructorInjectedIndices));
+    }
+
+    /**
+     * Decode all the columns of the given GettableData mapped by this plan into the entity instance
+     */
+    public void decodeAllColumns(GettableData gettableData, T instance) {
+        for (int i = 0; i < properties.length; i++) {
+            properties[i].decodeField(gettableData, instance, indices[i]);
+        }
+    }
+
+    /**
+     * Decode the columns of the given GettableData mapped by this plan
+     * and not already injected by the custom constructor into the entity instance
+     */
+    public void decodeNonConstructorInjectedColumns(GettableData gettableData, T instance) {
+        for (int i = 0; i < nonConstructorInjectedProperties.length; i++) {
+            nonConstructorInjectedProperties[i].decodeField(gettableData, instance, nonConstructorInjectedIndices[i]);
+        }
+    }
+
+    private static int[] toIntArray(List<Integer> list) {
+        final int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+}
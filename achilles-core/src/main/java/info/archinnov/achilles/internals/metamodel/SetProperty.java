@@ -17,7 +17,6 @@
 package info.archinnov.achilles.internals.metamodel;
 
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toSet;
 
 import java.util.*;
 
@@ -29,6 +28,7 @@ import com.datastax.driver.core.GettableData;
 import com.datastax.driver.core.SettableData;
 import com.datastax.driver.core.UDTValue;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Sets;
 import com.google.common.reflect.TypeParameter;
 import com.google.common.reflect.TypeToken;
 
@@ -111,10 +111,15 @@ public class SetProperty<ENTITY, VALUEFROM, VALUETO> extends
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Encode from Java '%s' set %s to CQL type", fieldName, set));
         }
-        return new HashSet<>(set
-                .stream()
-                .map(value -> valueProperty.encodeFromRaw(value, cassandraOptions))
-                .collect(toSet()));
+        if (valueProperty.isPassThrough()) {
+            return new HashSet<>((Set<VALUETO>) set);
+        }
+
+        final Set<VALUETO> encoded = Sets.newHashSetWithExpectedSize(set.size());
+        for (VALUEFROM value : set) {
+            encoded.add(valueProperty.encodeFromRaw(value, cassandraOptions));
+        }
+        return encoded;
     }
 
     @Override
@@ -133,6 +138,12 @@ public class SetProperty<ENTITY, VALUEFROM, VALUETO> extends
         return decodeFromGettableInternal(gettableData);
     }
 
+    @Override
+    public Set<VALUEFROM> decodeFromGettable(GettableData gettableData, int index) {
+        if (gettableData.isNull(index) && !emptyCollectionIfNull) return null;
+        return decodeFromGettableInternal(gettableData, index);
+    }
+
     @Override
     public Set<VALUEFROM> decodeFromGettableInternal(GettableData gettableData) {
         if (LOGGER.isTraceEnabled()) {
@@ -142,6 +153,15 @@ public class SetProperty<ENTITY, VALUEFROM, VALUETO> extends
         return decodeFromRaw(gettableData.getSet(fieldInfo.quotedCqlColumn, valueProperty.valueToTypeToken));
     }
 
+    @Override
+    Set<VALUEFROM> decodeFromGettableInternal(GettableData gettableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Decode '%s' set from gettable object %s at index %s", fieldName, gettableData, index));
+        }
+
+        return decodeFromRaw(gettableData.getSet(index, valueProperty.valueToTypeToken));
+    }
+
 
     @Override
     public Set<VALUEFROM> decodeFromRaw(Object o) {
@@ -163,10 +183,16 @@ public class SetProperty<ENTITY, VALUEFROM, VALUETO> extends
 
         Validator.validateTrue(Set.class.isAssignableFrom(o.getClass()), "The class of object %s to decode should be Set<%s>", o, valueToClass.getCanonicalName());
 
-        return new HashSet<>(((Set<VALUETO>) o)
-                .stream()
-                .map(valueTo -> valueProperty.decodeFromRaw(valueTo))
-                .collect(toSet()));
+        if (valueProperty.isPassThrough()) {
+            return new HashSet<>((Set<VALUEFROM>) o);
+        }
+
+        final Set<VALUETO> valueTos = (Set<VALUETO>) o;
+        final Set<VALUEFROM> decoded = Sets.newHashSetWithExpectedSize(valueTos.size());
+        for (VALUETO valueTo : valueTos) {
+            decoded.add(valueProperty.decodeFromRaw(valueTo));
+        }
+        return decoded;
     }
 
     public VALUEFROM decodeSingleElement(VALUETO cassandraValue) {
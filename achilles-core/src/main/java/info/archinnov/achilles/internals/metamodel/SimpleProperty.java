@@ -35,11 +35,14 @@ import com.datastax.driver.core.UDTValue;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.reflect.TypeToken;
 
+import info.archinnov.achilles.internals.codec.FallThroughCodec;
 import info.archinnov.achilles.internals.codec.JSONCodec;
+import info.archinnov.achilles.internals.codec.JSONSmileCodec;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.metamodel.columns.FieldInfo;
 import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.parser.accessors.IndexedGettable;
 import info.archinnov.achilles.internals.types.RuntimeCodecWrapper;
 import info.archinnov.achilles.type.codec.Codec;
 import info.archinnov.achilles.type.codec.CodecSignature;
@@ -52,11 +55,13 @@ public class SimpleProperty<ENTITY, VALUEFROM, VALUETO> extends AbstractProperty
 
     public final Codec<VALUEFROM, VALUETO> valueCodec;
     public final Function<GettableData, VALUETO> gettable;
+    public final IndexedGettable<VALUETO> indexedGettable;
     public final BiConsumer<SettableData, VALUETO> settable;
     public final DataType dataTypeInternal;
 
     public SimpleProperty(FieldInfo<ENTITY, VALUEFROM> fieldInfo, DataType dataType,
                           Function<GettableData, VALUETO> gettable,
+                          IndexedGettable<VALUETO> indexedGettable,
                           BiConsumer<SettableData, VALUETO> settable,
                           TypeToken<VALUEFROM> valueFromTypeToken,
                           TypeToken<VALUETO> valueToTypeToken,
@@ -64,15 +69,36 @@ public class SimpleProperty<ENTITY, VALUEFROM, VALUETO> extends AbstractProperty
         super(valueFromTypeToken, valueToTypeToken, fieldInfo);
         this.dataTypeInternal = dataType;
         this.gettable = gettable;
+        this.indexedGettable = indexedGettable;
         this.settable = settable;
         this.valueCodec = valueCodec;
     }
 
+    /**
+     * Constructor kept for meta classes generated before index-based decoding was introduced.
+     * The index-based accessor falls back to a lookup by value type token.
+     */
+    public SimpleProperty(FieldInfo<ENTITY, VALUEFROM> fieldInfo, DataType dataType,
+                          Function<GettableData, VALUETO> gettable,
+                          BiConsumer<SettableData, VALUETO> settable,
+                          TypeToken<VALUEFROM> valueFromTypeToken,
+                          TypeToken<VALUETO> valueToTypeToken,
+                          Codec<VALUEFROM, VALUETO> valueCodec) {
+        this(fieldInfo, dataType, gettable,
+                (gettableData, index) -> gettableData.get(index, valueToTypeToken),
+                settable, valueFromTypeToken, valueToTypeToken, valueCodec);
+    }
+
     @Override
     boolean isOptional() {
         return false;
     }
 
+    @Override
+    boolean isPassThrough() {
+        return valueCodec instanceof FallThroughCodec;
+    }
+
     @Override
     public void encodeToSettable(VALUETO valueTo, SettableData<?> settableData) {
         if (LOGGER.isTraceEnabled()) {
@@ -110,6 +136,15 @@ public class SimpleProperty<ENTITY, VALUEFROM, VALUETO> extends AbstractProperty
         return valueCodec.decode(gettable.apply(gettableData));
     }
 
+    @Override
+    VALUEFROM decodeFromGettableInternal(GettableData gettableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Decode '%s' from gettable object %s at index %s", fieldName, gettableData, index));
+        }
+
+        return valueCodec.decode(indexedGettable.get(gettableData, index));
+    }
+
 
     @Override
     public VALUEFROM decodeFromRawInternal(Object o) {
@@ -160,6 +195,8 @@ public class SimpleProperty<ENTITY, VALUEFROM, VALUETO> extends AbstractProperty
     public void inject(ObjectMapper mapper) {
         if (valueCodec instanceof JSONCodec) {
             ((JSONCodec) valueCodec).setObjectMapper(mapper);
+        } else if (valueCodec instanceof JSONSmileCodec) {
+            ((JSONSmileCodec) valueCodec).setObjectMapper(mapper);
         }
     }
 
@@ -104,6 +104,15 @@ public class UDTProperty<ENTITY, UDT_META extends AbstractUDTClassProperty<A>, A
         return decodeFromRaw(gettableData.getUDTValue(fieldInfo.quotedCqlColumn));
     }
 
+    @Override
+    A decodeFromGettableInternal(GettableData gettableData, int index) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Decode '%s' from gettable object %s at index %s", fieldName, gettableData, index));
+        }
+
+        return decodeFromRaw(gettableData.getUDTValue(index));
+    }
+
     @Override
     A decodeFromRawInternal(Object o) {
         if (LOGGER.isTraceEnabled()) {
@@ -120,7 +129,7 @@ public class UDTProperty<ENTITY, UDT_META extends AbstractUDTClassProperty<A>, A
             LOGGER.debug(format("Build current '%s' UDT data type", fieldName));
         }
 
-        return udtClassProperty.buildType(fieldInfo.columnInfo.frozen, cassandraOptions);
+        return udtClassProperty.getUserType(fieldInfo.columnInfo.frozen, cassandraOptions);
     }
 
     @Override
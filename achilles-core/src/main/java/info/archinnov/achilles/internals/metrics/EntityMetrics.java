@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.metrics;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import info.archinnov.achilles.type.interceptor.Event;
+
+/**
+ * Codec and interceptors metrics of one entity. Interceptors timings are kept per {@link Event}
+ */
+public class EntityMetrics implements EntityMetricsMXBean {
+
+    final LatencyHistogram encodings = new LatencyHistogram();
+    final LatencyHistogram decodings = new LatencyHistogram();
+    final Map<Event, LatencyHistogram> interceptors = new EnumMap<>(Event.class);
+
+    EntityMetrics() {
+        for (Event event : Event.values()) {
+            interceptors.put(event, new LatencyHistogram());
+        }
+    }
+
+    public LatencyHistogram getEncodingTimes() {
+        return encodings;
+    }
+
+    public LatencyHistogram getDecodingTimes() {
+        return decodings;
+    }
+
+    public LatencyHistogram getInterceptorsTimes(Event event) {
+        return interceptors.get(event);
+    }
+
+    @Override
+    public long getEncodings() {
+        return encodings.getCount();
+    }
+
+    @Override
+    public double getMeanEncodingMicros() {
+        return encodings.getMean(MICROSECONDS);
+    }
+
+    @Override
+    public long getDecodedRows() {
+        return decodings.getCount();
+    }
+
+    @Override
+    public double getMeanDecodingMicros() {
+        return decodings.getMean(MICROSECONDS);
+    }
+
+    @Override
+    public Map<String, Long> getInterceptorsCalls() {
+        final Map<String, Long> calls = new TreeMap<>();
+        interceptors.forEach((event, histogram) -> calls.put(event.name(), histogram.getCount()));
+        return calls;
+    }
+
+    @Override
+    public Map<String, Double> getMeanInterceptorsMicros() {
+        final Map<String, Double> means = new TreeMap<>();
+        interceptors.forEach((event, histogram) -> means.put(event.name(), histogram.getMean(MICROSECONDS)));
+        return means;
+    }
+}
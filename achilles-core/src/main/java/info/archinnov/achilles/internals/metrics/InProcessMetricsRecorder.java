@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import info.archinnov.achilles.type.interceptor.Event;
+import info.archinnov.achilles.type.metrics.MetricsRecorder;
+import info.archinnov.achilles.type.metrics.StatementCacheType;
+
+/**
+ * In-process {@link MetricsRecorder}. Recording only relies on {@link java.util.concurrent.atomic.LongAdder},
+ * atomic arrays and lock-free reads of {@link java.util.concurrent.ConcurrentHashMap}; metrics holders are
+ * only allocated the first time an entity/operation pair is seen.
+ * <br/>
+ * When built with a {@link JmxMetricsExporter}, each metrics holder is also exported as an MXBean
+ */
+public class InProcessMetricsRecorder implements MetricsRecorder {
+
+    private static final Class<?> NO_ENTITY = Void.class;
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<String, OperationMetrics>> operationMetrics = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, EntityMetrics> entityMetrics = new ConcurrentHashMap<>();
+    private final Map<StatementCacheType, StatementCacheMetrics> statementCacheMetrics = new EnumMap<>(StatementCacheType.class);
+    private final Optional<JmxMetricsExporter> exporter;
+
+    public InProcessMetricsRecorder() {
+        this(Optional.empty());
+    }
+
+    public InProcessMetricsRecorder(JmxMetricsExporter exporter) {
+        this(Optional.of(exporter));
+    }
+
+    private InProcessMetricsRecorder(Optional<JmxMetricsExporter> exporter) {
+        this.exporter = exporter;
+        for (StatementCacheType cacheType : StatementCacheType.values()) {
+            final StatementCacheMetrics metrics = new StatementCacheMetrics();
+            statementCacheMetrics.put(cacheType, metrics);
+            exporter.ifPresent(x -> x.register(metrics, "type=StatementCache,cache=" + cacheType.name()));
+        }
+    }
+
+    @Override
+    public void recordStatement(Class<?> entityClass, String operation, long latencyNanos, boolean success) {
+        final OperationMetrics metrics = operationMetrics(entityClass, operation);
+        metrics.latencies.record(latencyNanos);
+        if (!success) {
+            metrics.errors.increment();
+        }
+    }
+
+    @Override
+    public void recordBoundValues(Class<?> entityClass, String operation, int boundValuesCount, long boundBytes) {
+        final OperationMetrics metrics = operationMetrics(entityClass, operation);
+        metrics.boundValues.add(boundValuesCount);
+        metrics.boundBytes.add(boundBytes);
+    }
+
+    @Override
+    public void recordLWTNotApplied(Class<?> entityClass, String operation) {
+        operationMetrics(entityClass, operation).lwtNotApplied.increment();
+    }
+
+    @Override
+    public void recordEncoding(Class<?> entityClass, long encodingNanos) {
+        entityMetrics(entityClass).encodings.record(encodingNanos);
+    }
+
+    @Override
+    public void recordDecoding(Class<?> entityClass, long decodingNanos) {
+        entityMetrics(entityClass).decodings.record(decodingNanos);
+    }
+
+    @Override
+    public void recordInterceptors(Class<?> entityClass, Event event, long interceptorsNanos) {
+        entityMetrics(entityClass).interceptors.get(event).record(interceptorsNanos);
+    }
+
+    @Override
+    public void recordStatementCacheLookup(StatementCacheType cacheType, boolean hit) {
+        final StatementCacheMetrics metrics = statementCacheMetrics.get(cacheType);
+        if (hit) {
+            metrics.hits.increment();
+        } else {
+            metrics.misses.increment();
+        }
+    }
+
+    @Override
+    public void recordStatementCacheEviction(StatementCacheType cacheType) {
+        statementCacheMetrics.get(cacheType).evictions.increment();
+    }
+
+    @Override
+    public void close() {
+        exporter.ifPresent(JmxMetricsExporter::unregisterAll);
+    }
+
+    public Optional<OperationMetrics> getOperationMetrics(Class<?> entityClass, String operation) {
+        return Optional.ofNullable(operationMetrics.get(entityKey(entityClass)))
+                .map(metrics -> metrics.get(operation));
+    }
+
+    public Optional<EntityMetrics> getEntityMetrics(Class<?> entityClass) {
+        return Optional.ofNullable(entityMetrics.get(entityKey(entityClass)));
+    }
+
+    public StatementCacheMetrics getStatementCacheMetrics(StatementCacheType cacheType) {
+        return statementCacheMetrics.get(cacheType);
+    }
+
+    private OperationMetrics operationMetrics(Class<?> entityClass, String operation) {
+        final Class<?> entityKey = entityKey(entityClass);
+        ConcurrentMap<String, OperationMetrics> metricsByOperation = operationMetrics.get(entityKey);
+        if (metricsByOperation == null) {
+            metricsByOperation = operationMetrics.computeIfAbsent(entityKey, key -> new ConcurrentHashMap<>());
+        }
+
+        OperationMetrics metrics = metricsByOperation.get(operation);
+        if (metrics == null) {
+            final OperationMetrics newMetrics = new OperationMetrics();
+            metrics = metricsByOperation.putIfAbsent(operation, newMetrics);
+            if (metrics == null) {
+                metrics = newMetrics;
+                exporter.ifPresent(x -> x.register(newMetrics, "type=Operation,entity=" + entityName(entityKey) + ",operation=" + operation));
+            }
+        }
+        return metrics;
+    }
+
+    private EntityMetrics entityMetrics(Class<?> entityClass) {
+        final Class<?> entityKey = entityKey(entityClass);
+        EntityMetrics metrics = entityMetrics.get(entityKey);
+        if (metrics == null) {
+            final EntityMetrics newMetrics = new EntityMetrics();
+            metrics = entityMetrics.putIfAbsent(entityKey, newMetrics);
+            if (metrics == null) {
+                metrics = newMetrics;
+                exporter.ifPresent(x -> x.register(newMetrics, "type=Entity,entity=" + entityName(entityKey)));
+            }
+        }
+        return metrics;
+    }
+
+    private static Class<?> entityKey(Class<?> entityClass) {
+        return entityClass == null ? NO_ENTITY : entityClass;
+    }
+
+    private static String entityName(Class<?> entityKey) {
+        return entityKey == NO_ENTITY ? "none" : entityKey.getName();
+    }
+}
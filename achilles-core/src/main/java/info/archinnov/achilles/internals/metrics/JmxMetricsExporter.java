@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.metrics;
+
+import static java.lang.String.format;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Export the metrics of an {@link InProcessMetricsRecorder} as MXBeans named
+ * <strong>domain:type=Operation,entity=...,operation=...</strong>, <strong>domain:type=Entity,entity=...</strong>
+ * and <strong>domain:type=StatementCache,cache=...</strong>
+ * <br/>
+ * Registration failures are logged and never propagated to the caller
+ */
+public class JmxMetricsExporter {
+
+    public static final String DEFAULT_DOMAIN = "info.archinnov.achilles";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JmxMetricsExporter.class);
+
+    private final MBeanServer mBeanServer;
+    private final String domain;
+    private final Set<ObjectName> registeredNames = ConcurrentHashMap.newKeySet();
+
+    public JmxMetricsExporter() {
+        this(ManagementFactory.getPlatformMBeanServer(), DEFAULT_DOMAIN);
+    }
+
+    /**
+     * Use a distinct domain for each ManagerFactory when several of them live in the same JVM
+     */
+    public JmxMetricsExporter(MBeanServer mBeanServer, String domain) {
+        this.mBeanServer = mBeanServer;
+        this.domain = domain;
+    }
+
+    void register(Object mxBean, String keyProperties) {
+        final String name = domain + ":" + keyProperties;
+        try {
+            final ObjectName objectName = new ObjectName(name);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Registering metrics MXBean %s", objectName));
+            }
+            mBeanServer.registerMBean(mxBean, objectName);
+            registeredNames.add(objectName);
+        } catch (JMException e) {
+            LOGGER.warn(format("Cannot register metrics MXBean %s : %s", name, e.getMessage()));
+        }
+    }
+
+    public void unregisterAll() {
+        for (ObjectName objectName : registeredNames) {
+            try {
+                mBeanServer.unregisterMBean(objectName);
+            } catch (JMException e) {
+                LOGGER.warn(format("Cannot unregister metrics MXBean %s : %s", objectName, e.getMessage()));
+            }
+            registeredNames.remove(objectName);
+        }
+    }
+}
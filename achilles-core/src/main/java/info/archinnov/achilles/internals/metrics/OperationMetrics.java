@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.metrics;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of one operation type (INSERT, UPDATE, DELETE, SELECT, OTHER) for one entity
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+
+    final LatencyHistogram latencies = new LatencyHistogram();
+    final LongAdder errors = new LongAdder();
+    final LongAdder boundValues = new LongAdder();
+    final LongAdder boundBytes = new LongAdder();
+    final LongAdder lwtNotApplied = new LongAdder();
+
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    @Override
+    public long getCount() {
+        return latencies.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanLatencyMicros() {
+        return latencies.getMean(MICROSECONDS);
+    }
+
+    @Override
+    public long getMaxLatencyMicros() {
+        return latencies.getMax(MICROSECONDS);
+    }
+
+    @Override
+    public long getLatencyP50Micros() {
+        return latencies.getPercentile(0.5, MICROSECONDS);
+    }
+
+    @Override
+    public long getLatencyP95Micros() {
+        return latencies.getPercentile(0.95, MICROSECONDS);
+    }
+
+    @Override
+    public long getLatencyP99Micros() {
+        return latencies.getPercentile(0.99, MICROSECONDS);
+    }
+
+    @Override
+    public long getBoundValues() {
+        return boundValues.sum();
+    }
+
+    @Override
+    public long getBoundBytes() {
+        return boundBytes.sum();
+    }
+
+    @Override
+    public long getLWTNotApplied() {
+        return lwtNotApplied.sum();
+    }
+}
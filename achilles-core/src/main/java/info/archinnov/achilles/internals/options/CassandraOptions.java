@@ -198,25 +198,40 @@ public class CassandraOptions {
         this.retryPolicy = retryPolicy;
     }
 
+    /**
+     * Apply the result set async listeners, if any. Nothing is allocated when there is no listener
+     */
     public ResultSet resultSetAsyncListener(ResultSet originalResultSet) {
+        if (!resultSetAsyncListeners.isPresent()) {
+            return originalResultSet;
+        }
 
         final LimitedResultSetWrapper limitedRs = new LimitedResultSetWrapper(originalResultSet);
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(String.format("Applying Async listeners %s to the resultset %s",
                     resultSetAsyncListeners, limitedRs));
         }
-        resultSetAsyncListeners
-                .ifPresent(list -> list.forEach(x -> x.apply(limitedRs)));
+        for (Function<ResultSet, ResultSet> listener : resultSetAsyncListeners.get()) {
+            listener.apply(limitedRs);
+        }
         return originalResultSet;
     }
 
+    /**
+     * Apply the row async listeners, if any. Nothing is allocated when there is no listener
+     */
     public Row rowAsyncListener(Row row) {
+        if (!rowAsyncListeners.isPresent()) {
+            return row;
+        }
+
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(String.format("Applying Async listeners %s to row %s",
                     rowAsyncListeners, row));
         }
-
-        rowAsyncListeners.map(list -> list.stream().map(listener -> listener.apply(row)).count()).orElse(0L);
+        for (Function<Row, Row> listener : rowAsyncListeners.get()) {
+            listener.apply(row);
+        }
         return row;
     }
 
@@ -110,6 +110,10 @@ public class CodecFactory {
         return new RuntimeCodecContext(TypeName.get(currentType), TypeName.get(targetType), codecName);
     }
 
+    public static boolean isBinaryJSON(TypedMap jsonAnnotationInfo) {
+        return jsonAnnotationInfo.getTypedOr("format", JSON.Format.TEXT) == JSON.Format.SMILE;
+    }
+
     public CodecInfo createCodec(TypeName sourceType, AnnotationTree annotationTree, FieldParsingContext context, Optional<CodecInfo> codecFromRegistry) {
         final String fieldName = context.fieldName;
         final String className = context.className;
@@ -130,8 +134,13 @@ public class CodecFactory {
         CodeBlock codec;
 
         if (jsonTransform.isPresent()) {
-            codec = CodeBlock.builder().add("new $T<>($T.class, $L)", JSON_CODEC, getRawType(sourceType).box(), buildJavaTypeForJackson(sourceType)).build();
-            targetType = ClassName.get(String.class);
+            if (isBinaryJSON(jsonTransform.get())) {
+                codec = CodeBlock.builder().add("new $T<>($T.class, $L)", JSON_SMILE_CODEC, getRawType(sourceType).box(), buildJavaTypeForJackson(sourceType)).build();
+                targetType = BYTE_BUFFER;
+            } else {
+                codec = CodeBlock.builder().add("new $T<>($T.class, $L)", JSON_CODEC, getRawType(sourceType).box(), buildJavaTypeForJackson(sourceType)).build();
+                targetType = ClassName.get(String.class);
+            }
             return new CodecInfo(codec, sourceType, targetType);
         } else if (codecFromType.isPresent()) {
             final Tuple2<TypeName, CodeBlock> tuple2 = codecCodeGen(context, codecFromType.get(), sourceType, computedCQLClass, isCounter);
@@ -195,7 +204,7 @@ public class CodecFactory {
         final boolean isCounter = extractTypedMap(annotationTree, Counter.class).isPresent();
 
         if (jsonTransform.isPresent()) {
-            return ClassName.get(String.class);
+            return isBinaryJSON(jsonTransform.get()) ? BYTE_BUFFER : ClassName.get(String.class);
         } else if (codecFromType.isPresent()) {
             final CodecContext codecContext = codecFromType.get().getTyped("codecContext");
             context.fieldValidator().validateCodec(aptUtils, typeValidator, codecContext, sourceType, computedCQLClass, isCounter);
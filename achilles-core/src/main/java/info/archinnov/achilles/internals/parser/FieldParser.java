@@ -45,6 +45,7 @@ import info.archinnov.achilles.type.tuples.*;
 public class FieldParser {
 
     static final CodeBlock NO_GETTER = CodeBlock.builder().add("gettable$$ -> null").build();
+    static final CodeBlock NO_INDEXED_GETTER = CodeBlock.builder().add("(gettable$$, index$$) -> null").build();
     static final CodeBlock NO_UDT_SETTER = CodeBlock.builder().add("(udt$$, value$$) -> {}").build();
     private final AptUtils aptUtils;
     private final CodecFactory codecFactory;
@@ -182,12 +183,16 @@ public class FieldParser {
                 ? CodeBlock.builder().add("gettableData$$ -> gettableData$$.$L", TypeUtils.gettableDataGetter(rawTargetType, context.quotedCqlColumn)).build()
                 : NO_GETTER;
 
+        CodeBlock indexedGettable = context.buildExtractor
+                ? CodeBlock.builder().add("(gettableData$$, index$$) -> gettableData$$.$L", TypeUtils.gettableDataIndexGetter(rawTargetType)).build()
+                : NO_INDEXED_GETTER;
+
         CodeBlock settable = context.buildExtractor
                 ? CodeBlock.builder().add("(settableData$$, value$$) -> settableData$$.$L", TypeUtils.settableDataSetter(rawTargetType, context.quotedCqlColumn)).build()
                 : NO_UDT_SETTER;
 
 
-        CodeBlock typeCode = CodeBlock.builder().add("new $T<$T, $T, $T>($L, $L, $L, $L, new $T(){}, new $T(){}, $L)",
+        CodeBlock typeCode = CodeBlock.builder().add("new $T<$T, $T, $T>($L, $L, $L, $L, $L, new $T(){}, new $T(){}, $L)",
                 SIMPLE_PROPERTY,
                 context.entityRawType,
                 sourceType.box(),
@@ -195,6 +200,7 @@ public class FieldParser {
                 context.fieldInfoCode,
                 dataType,
                 gettable,
+                indexedGettable,
                 settable,
                 genericType(TYPE_TOKEN, sourceType.box()),
                 genericType(TYPE_TOKEN, codecInfo.targetType.box()),
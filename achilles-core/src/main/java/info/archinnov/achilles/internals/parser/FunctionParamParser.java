@@ -17,6 +17,7 @@
 package info.archinnov.achilles.internals.parser;
 
 import static info.archinnov.achilles.internals.apt.AptUtils.containsAnnotation;
+import static info.archinnov.achilles.internals.apt.AptUtils.extractTypedMap;
 import static info.archinnov.achilles.internals.parser.TypeUtils.*;
 import static info.archinnov.achilles.internals.strategy.naming.InternalNamingStrategy.inferNamingStrategy;
 import static java.lang.String.format;
@@ -59,6 +60,9 @@ public class FunctionParamParser {
                 && aptUtils.getAnnotationOnClass(currentTypeMirror, UDT.class).isPresent();
 
         if (containsAnnotation(annotationTree, JSON.class)) {
+            if (extractTypedMap(annotationTree, JSON.class).map(CodecFactory::isBinaryJSON).orElse(false)) {
+                return new FunctionParamSignature(paramName, sourceType, BYTE_BUFFER, "blob");
+            }
             return new FunctionParamSignature(paramName, sourceType, STRING, "text");
         } else if (containsAnnotation(annotationTree, Computed.class)) {
             throw new AchillesBeanMappingException(format("Cannot have @Computed annotation on param '%s' of method '%s''", paramName, methodName));
@@ -26,7 +26,9 @@ import java.nio.ByteBuffer;
 import java.text.SimpleDateFormat;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.ArrayUtils;
 
@@ -51,6 +53,7 @@ import info.archinnov.achilles.internals.cassandra_version.InternalCassandraVers
 import info.archinnov.achilles.internals.codec.*;
 import info.archinnov.achilles.internals.codegen.function.InternalSystemFunctionRegistry;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.dsl.bulk.BulkWrite;
 import info.archinnov.achilles.internals.dsl.crud.*;
 import info.archinnov.achilles.internals.dsl.query.delete.*;
 import info.archinnov.achilles.internals.dsl.query.select.*;
@@ -129,6 +132,7 @@ public class TypeUtils {
 
     // Codecs
     public static final ClassName JSON_CODEC = ClassName.get(JSONCodec.class);
+    public static final ClassName JSON_SMILE_CODEC = ClassName.get(JSONSmileCodec.class);
     public static final ClassName ENUM_NAME_CODEC = ClassName.get(EnumNameCodec.class);
 
     public static final ClassName ENUM_ORDINAL_CODEC = ClassName.get(EnumOrdinalCodec.class);
@@ -232,8 +236,10 @@ public class TypeUtils {
     public static final ClassName UPDATE_WITH_OPTIONS = ClassName.get(UpdateWithOptions.class);
     public static final ClassName INSERT_JSON_WITH_OPTIONS = ClassName.get(InsertJSONWithOptions.class);
     public static final ClassName FIND_WITH_OPTIONS = ClassName.get(FindWithOptions.class);
+    public static final ClassName FIND_BY_IDS_WITH_OPTIONS = ClassName.get(FindByIdsWithOptions.class);
     public static final ClassName DELETE_WITH_OPTIONS = ClassName.get(DeleteWithOptions.class);
     public static final ClassName DELETE_BY_PARTITION_WITH_OPTIONS = ClassName.get(DeleteByPartitionWithOptions.class);
+    public static final ClassName BULK_WRITE = ClassName.get(BulkWrite.class);
     public static final ClassName INTERNAL_CASSANDRA_VERSION = ClassName.get(InternalCassandraVersion.class);
 
     // UDF & UDA
@@ -245,11 +251,16 @@ public class TypeUtils {
     // Common
     public static final TypeName WILDCARD = WildcardTypeName.subtypeOf(TypeName.OBJECT);
     public static final ClassName OPTIONAL = ClassName.get(Optional.class);
+    public static final ClassName SUPPLIER = ClassName.get(Supplier.class);
     public static final ClassName CLASS = ClassName.get(Class.class);
     public static final ClassName ARRAYS_UTILS = ClassName.get(ArrayUtils.class);
     public static final ClassName ARRAY_LIST = ClassName.get(ArrayList.class);
     public static final ClassName ARRAYS = ClassName.get(Arrays.class);
     public static final ClassName COLLECTORS = ClassName.get(Collectors.class);
+    public static final ClassName ITERABLE = ClassName.get(Iterable.class);
+    public static final ClassName COLLECTION = ClassName.get(Collection.class);
+    public static final ClassName COLLECTIONS = ClassName.get(Collections.class);
+    public static final ClassName STREAM = ClassName.get(Stream.class);
     public static final ClassName SETS = ClassName.get(Sets.class);
     public static final ClassName SIMPLE_DATE_FORMAT = ClassName.get(SimpleDateFormat.class);
     public static final TypeName LIST_OBJECT = ParameterizedTypeName.get(ClassName.get(List.class), TypeName.OBJECT);
@@ -567,6 +578,10 @@ public class TypeUtils {
         return "get(\""+escapeDoubleQuotes(cqlColumn)+"\", "+typeName.toString()+".class)";
     }
 
+    public static String gettableDataIndexGetter(TypeName typeName) {
+        return "get(index$, "+typeName.toString()+".class)";
+    }
+
     public static String settableDataSetter(TypeName typeName, String cqlColumn) {
         return "set(\""+escapeDoubleQuotes(cqlColumn)+"\", value$, "+typeName.toString()+".class)";
     }
@@ -22,6 +22,7 @@ import static info.archinnov.achilles.internals.statement.StatementHelper.isSele
 import static info.archinnov.achilles.validation.Validator.*;
 import static java.lang.String.format;
 
+import java.util.Iterator;
 import java.util.Optional;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -30,12 +31,16 @@ import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.*;
 
+import info.archinnov.achilles.internals.dsl.batch.UnitOfWork;
+import info.archinnov.achilles.internals.dsl.bulk.BulkWrite;
+import info.archinnov.achilles.internals.dsl.counter.CounterCoalescer;
 import info.archinnov.achilles.internals.dsl.crud.DeleteWithOptions;
 import info.archinnov.achilles.internals.dsl.crud.InsertJSONWithOptions;
 import info.archinnov.achilles.internals.dsl.crud.InsertWithOptions;
 import info.archinnov.achilles.internals.dsl.crud.UpdateWithOptions;
 import info.archinnov.achilles.internals.dsl.raw.NativeQuery;
 import info.archinnov.achilles.internals.dsl.raw.TypedQuery;
+import info.archinnov.achilles.internals.dsl.scan.TableScan;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.type.tuples.Tuple2;
@@ -94,6 +99,35 @@ public abstract class AbstractManager<ENTITY> {
         return rte.getCluster();
     }
 
+    /**
+     * Create a new unit of work to collect mutations and flush them
+     * as UNLOGGED batches grouped by partition
+     *
+     * @return {@link info.archinnov.achilles.internals.dsl.batch.UnitOfWork}
+     */
+    public UnitOfWork batch() {
+        return new UnitOfWork(rte);
+    }
+
+    /**
+     * Scan the whole table in parallel, split by token ranges
+     *
+     * @return {@link info.archinnov.achilles.internals.dsl.scan.TableScan}
+     */
+    public TableScan<ENTITY> scan() {
+        return new TableScan<>(meta_internal, rte);
+    }
+
+    /**
+     * Coalescing writer summing the increments of this counter entity client-side,
+     * enabled with {@link info.archinnov.achilles.configuration.ConfigurationParameters#COUNTER_COALESCING}
+     *
+     * @return {@link info.archinnov.achilles.internals.dsl.counter.CounterCoalescer}
+     */
+    public CounterCoalescer<ENTITY> counterCoalescer() {
+        return rte.getCounterCoalescer(meta_internal);
+    }
+
     protected InsertWithOptions<ENTITY> insertInternal(ENTITY instance, boolean insertStatic, Optional<CassandraOptions> cassandraOptions) {
 
         validateNotNull(instance, "Entity to be inserted should not be null");
@@ -151,6 +185,39 @@ public abstract class AbstractManager<ENTITY> {
         return new DeleteWithOptions<>(entityClass, meta_internal, rte, tuple._1(), tuple._2(), Optional.of(instance), cassandraOptions);
     }
 
+    protected BulkWrite<ENTITY, InsertWithOptions<ENTITY>> insertAllInternal(Iterator<ENTITY> instances, Optional<CassandraOptions> cassandraOptions) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Create bulk insert CRUD for entity type %s", entityClass.getCanonicalName()));
+        }
+        return new BulkWrite<>(rte, instances, instance -> insertInternal(instance, false, cassandraOptions),
+                instance -> invalidateEntityCache(instance, cassandraOptions),
+                instance -> invalidateEntityCache(instance, cassandraOptions));
+    }
+
+    protected BulkWrite<ENTITY, UpdateWithOptions<ENTITY>> updateAllInternal(Iterator<ENTITY> instances, Optional<CassandraOptions> cassandraOptions) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Create bulk update CRUD for entity type %s", entityClass.getCanonicalName()));
+        }
+        return new BulkWrite<>(rte, instances, instance -> updateInternal(instance, false, cassandraOptions),
+                instance -> invalidateEntityCache(instance, cassandraOptions),
+                instance -> invalidateEntityCache(instance, cassandraOptions));
+    }
+
+    protected BulkWrite<ENTITY, DeleteWithOptions<ENTITY>> deleteAllInternal(Iterator<ENTITY> instances, Optional<CassandraOptions> cassandraOptions) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Create bulk delete CRUD for entity type %s", entityClass.getCanonicalName()));
+        }
+        return new BulkWrite<>(rte, instances, instance -> deleteInternal(instance, cassandraOptions),
+                instance -> invalidateEntityCache(instance, cassandraOptions),
+                instance -> invalidateEntityCache(instance, cassandraOptions));
+    }
+
+    private void invalidateEntityCache(ENTITY instance, Optional<CassandraOptions> cassandraOptions) {
+        if (meta_internal.getEntityCache().isPresent()) {
+            meta_internal.invalidateEntityCache(instance, cassandraOptions.orElse(new CassandraOptions()));
+        }
+    }
+
     protected TypedQuery<ENTITY> typedQueryForSelectInternal(BoundStatement boundStatement) {
         validateTrue(isSelectStatement(boundStatement), "Statement provided for typed query should be an SELECT statement");
 
@@ -18,8 +18,11 @@ package info.archinnov.achilles.internals.runtime;
 
 import static info.archinnov.achilles.internals.schema.SchemaCreator.generateSchemaAtRuntime;
 import static info.archinnov.achilles.internals.schema.SchemaCreator.generateUDTAtRuntime;
+import static info.archinnov.achilles.internals.statements.PreparedStatementGenerator.generateDSLTemplates;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -40,14 +43,19 @@ import com.datastax.driver.extras.codecs.jdk8.LocalTimeCodec;
 import com.datastax.driver.extras.codecs.jdk8.ZonedDateTimeCodec;
 
 import info.archinnov.achilles.internals.cassandra_version.InternalCassandraVersion;
+import info.archinnov.achilles.internals.codec.PrimitiveMapArraysCodec;
+import info.archinnov.achilles.internals.codec.PrimitiveSetArrayCodec;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.dsl.batch.UnitOfWork;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.metamodel.AbstractUDTClassProperty;
 import info.archinnov.achilles.internals.metamodel.AbstractViewProperty;
 import info.archinnov.achilles.internals.metamodel.functions.FunctionProperty;
+import info.archinnov.achilles.internals.statements.StaticStatementsPreparer;
 import info.archinnov.achilles.internals.utils.CodecRegistryHelper;
+import info.archinnov.achilles.type.metrics.MetricsRecorder;
 
 public abstract class AbstractManagerFactory {
 
@@ -101,6 +109,8 @@ public abstract class AbstractManagerFactory {
     public void shutDown() {
         LOGGER.info("Calling shutdown on ManagerFactory");
 
+        rte.drainCounterCoalescers();
+
         if (!configContext.isProvidedSession()) {
             LOGGER.info(format("Closing built Session object %s", rte.session));
             rte.session.close();
@@ -109,18 +119,70 @@ public abstract class AbstractManagerFactory {
             LOGGER.info(format("Closing built executor service (thread pool) %s", configContext.getExecutorService()));
             configContext.getExecutorService().shutdown();
         }
+        if (!configContext.isProvidedCompletionExecutorService()) {
+            configContext.getCompletionExecutorService().ifPresent(executorService -> {
+                LOGGER.info(format("Closing built completion executor service (thread pool) %s", executorService));
+                executorService.shutdown();
+            });
+        }
+        LOGGER.info(format("Query completion statistics : %s", rte.completionDispatcher));
+        rte.metricsRecorder.close();
+    }
+
+    /**
+     * Metrics recorder configured with {@link info.archinnov.achilles.configuration.ConfigurationParameters#METRICS_RECORDER}
+     */
+    public MetricsRecorder getMetricsRecorder() {
+        return rte.metricsRecorder;
+    }
+
+    /**
+     * Statistics about the completion of asynchronous queries: dispatched and rejected completions,
+     * executor queue depth and mean dispatch latency for the configured {@link info.archinnov.achilles.type.CompletionMode}
+     */
+    public CompletionDispatcher getCompletionDispatcher() {
+        return rte.completionDispatcher;
+    }
+
+    /**
+     * Drop the statements prepared for the keyspace resolved by a
+     * {@link info.archinnov.achilles.type.SchemaNameProvider}, e.g. when a tenant is removed.
+     * They are prepared again on next use
+     *
+     * @param keyspace tenant keyspace
+     */
+    public void invalidateTenantStatements(String keyspace) {
+        rte.cache.invalidateTenantStaticCache(keyspace);
+    }
+
+    /**
+     * Create a new unit of work to collect mutations of any managed entity and flush them
+     * as UNLOGGED batches grouped by partition
+     *
+     * @return {@link info.archinnov.achilles.internals.dsl.batch.UnitOfWork}
+     */
+    public UnitOfWork unitOfWork() {
+        return new UnitOfWork(rte);
     }
 
     protected void bootstrap() {
-        addNativeCodecs();
-        injectDependencies();
+        final long start = System.nanoTime();
+        timePhase("codecs registration", this::addNativeCodecs);
+        timePhase("dependencies injection", this::injectDependencies);
         if (configContext.isForceSchemaGeneration()) {
-            createSchema();
+            timePhase("schema creation", this::createSchema);
         }
         if (configContext.isValidateSchema()) {
-            validateSchema();
+            timePhase("schema validation", this::validateSchema);
         }
-        prepareStaticStatements();
+        timePhase("statements preparation", this::prepareStaticStatements);
+        LOGGER.info(format("Achilles bootstrap done in %s ms", NANOSECONDS.toMillis(System.nanoTime() - start)));
+    }
+
+    private void timePhase(String phase, Runnable action) {
+        final long start = System.nanoTime();
+        action.run();
+        LOGGER.info(format("Bootstrap phase '%s' done in %s ms", phase, NANOSECONDS.toMillis(System.nanoTime() - start)));
     }
 
     protected void addNativeCodecs() {
@@ -148,6 +210,20 @@ public abstract class AbstractManagerFactory {
             codecRegistry.register(LongArrayCodec.instance);
         }
 
+        // Numeric sets and maps decoded into primitive arrays without boxing
+        final List<TypeCodec<?>> primitiveCollectionCodecs = Arrays.asList(
+                PrimitiveSetArrayCodec.INT_SET, PrimitiveSetArrayCodec.BIGINT_SET,
+                PrimitiveSetArrayCodec.FLOAT_SET, PrimitiveSetArrayCodec.DOUBLE_SET,
+                PrimitiveMapArraysCodec.INT_INT_MAP, PrimitiveMapArraysCodec.INT_BIGINT_MAP,
+                PrimitiveMapArraysCodec.INT_FLOAT_MAP, PrimitiveMapArraysCodec.INT_DOUBLE_MAP,
+                PrimitiveMapArraysCodec.BIGINT_INT_MAP, PrimitiveMapArraysCodec.BIGINT_BIGINT_MAP,
+                PrimitiveMapArraysCodec.BIGINT_FLOAT_MAP, PrimitiveMapArraysCodec.BIGINT_DOUBLE_MAP);
+        for (TypeCodec<?> codec : primitiveCollectionCodecs) {
+            if (!codecRegistryHelper.hasCodecFor(codec.getCqlType(), codec.getJavaType())) {
+                codecRegistry.register(codec);
+            }
+        }
+
         if (!codecRegistryHelper.hasCodecFor(DataType.timestamp(), java.time.Instant.class)) {
             codecRegistry.register(InstantCodec.instance);
         }
@@ -238,10 +314,27 @@ public abstract class AbstractManagerFactory {
 
     protected void prepareStaticStatements() {
         final List<Class<?>> manageEntities = configContext.getManageEntities().isEmpty() ? entityClasses : configContext.getManageEntities();
+        final StaticStatementsPreparer preparer = new StaticStatementsPreparer(configContext.getSession(), rte.cache,
+                configContext.getPreparedStatementsParallelism());
+        final StaticStatementsPreparer lazyPreparer = new StaticStatementsPreparer(configContext.getSession(), rte.cache,
+                configContext.getPreparedStatementsParallelism(), true);
+        final boolean lazy = configContext.isLazyStaticStatementsPreparation();
+        final List<Class<?>> warmUpEntities = configContext.getStaticStatementsWarmUpEntities();
         entityProperties
                 .stream()
                 .filter(x -> manageEntities.contains(x.entityClass))
-                .forEach(x -> x.prepareStaticStatements(getCassandraVersion(), configContext.getSession(), rte.cache));
+                .forEach(x -> x.prepareStaticStatements(getCassandraVersion(),
+                        lazy && !warmUpEntities.contains(x.entityClass) ? lazyPreparer : preparer));
+
+        if (configContext.isPrepareDSLTemplates()) {
+            LOGGER.trace("Prepare DSL statement templates");
+            entityProperties
+                    .stream()
+                    .filter(x -> manageEntities.contains(x.entityClass))
+                    .flatMap(x -> generateDSLTemplates(x).stream())
+                    .forEach(preparer::prepareDynamic);
+        }
+        preparer.awaitCompletion();
     }
 
 
@@ -17,26 +17,22 @@
 package info.archinnov.achilles.internals.runtime;
 
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.ArrayUtils.addAll;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.datastax.driver.core.SettableData;
-
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.metamodel.AbstractProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
-import info.archinnov.achilles.internals.statements.BoundValueInfo;
 import info.archinnov.achilles.internals.statements.BoundValuesWrapper;
 import info.archinnov.achilles.internals.types.OverridingOptional;
+import info.archinnov.achilles.type.metrics.MetricsRecorder;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 public class BeanValueExtractor {
@@ -48,64 +44,7 @@ public class BeanValueExtractor {
             LOGGER.debug(format("Extract values from entity %s of type %s",
                     instance, entityProperty.entityClass.getCanonicalName()));
         }
-
-        final List<BoundValueInfo> boundValues = new ArrayList<>();
-        final List<BoundValueInfo> partitionKeys = entityProperty.partitionKeys
-                .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    final BiConsumer<Object, SettableData> lambda = x1::encodeToSettable;
-                    return BoundValueInfo.of(lambda, x.getFieldValue(instance), x.encodeField(instance, Optional.ofNullable(cassandraOptions)));
-                })
-                .collect(toList());
-
-        boundValues.addAll(partitionKeys);
-
-        boundValues.addAll(entityProperty.staticColumns
-                .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    return BoundValueInfo.of(x1::encodeToSettable, x.getFieldValue(instance), x.encodeField(instance, Optional.ofNullable(cassandraOptions)));
-                })
-                .collect(toList()));
-
-        boundValues.addAll(entityProperty.clusteringColumns
-                .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    return BoundValueInfo.of(x1::encodeToSettable, x.getFieldValue(instance), x.encodeField(instance, Optional.ofNullable(cassandraOptions)));
-                })
-                .collect(toList()));
-
-        boundValues.addAll(entityProperty.normalColumns
-                .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    return BoundValueInfo.of(x1::encodeToSettable, x.getFieldValue(instance), x.encodeField(instance, Optional.ofNullable(cassandraOptions)));
-                })
-                .collect(toList()));
-
-        boundValues.addAll(entityProperty.counterColumns
-                .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    return BoundValueInfo.of(x1::encodeToSettable, x.getFieldValue(instance), x.encodeField(instance, Optional.ofNullable(cassandraOptions)));
-                })
-                .collect(toList()));
-
-        final Optional<Integer> ttl = OverridingOptional
-                .from(cassandraOptions.getTimeToLive())
-                .andThen(entityProperty.staticTTL)
-                .getOptional();
-
-        boundValues.add(ttl.isPresent()
-                ? BoundValueInfo.of((Object value, SettableData settableData) -> settableData.setInt("ttl", ttl.get()), ttl.get(), ttl.get())
-                : BoundValueInfo.of((Object value, SettableData settableData) -> settableData.setInt("ttl", 0), 0, 0));
-
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug(format("Extracted encoded bound values : %s", boundValues));
-        }
-        return new BoundValuesWrapper(entityProperty, boundValues);
+        return extractValues(instance, entityProperty, entityProperty.allColumns, cassandraOptions);
     }
 
     public static <T> Tuple2<Object[], Object[]> extractPrimaryKeyValues(T instance, AbstractEntityProperty<T> entityProperty, Optional<CassandraOptions> cassandraOptions) {
@@ -139,40 +78,45 @@ public class BeanValueExtractor {
             LOGGER.debug(format("Extract partition key values and static columns from entity %s of type %s",
                     instance, entityProperty.entityClass.getCanonicalName()));
         }
+        return extractValues(instance, entityProperty, entityProperty.partitionKeysAndStaticColumns, cassandraOptions);
+    }
+
+    /**
+     * Extract raw and encoded values of the given columns straight into arrays sized
+     * for the columns plus the trailing <strong>ttl</strong> bind marker
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> BoundValuesWrapper extractValues(T instance, AbstractEntityProperty<T> entityProperty,
+                                                        List<AbstractProperty<T, ?, ?>> columns, CassandraOptions cassandraOptions) {
+        final int columnCount = columns.size();
+        final Object[] boundValues = new Object[columnCount + 1];
+        final Object[] encodedValues = new Object[columnCount + 1];
+        final Optional<CassandraOptions> options = Optional.ofNullable(cassandraOptions);
+        final MetricsRecorder metricsRecorder = entityProperty.getMetricsRecorder();
+        final long start = metricsRecorder.isEnabled() ? System.nanoTime() : 0L;
+
+        for (int i = 0; i < columnCount; i++) {
+            final AbstractProperty property = columns.get(i);
+            final Object value = property.getFieldValue(instance);
+            boundValues[i] = value;
+            encodedValues[i] = property.encodeFromJava(value, options);
+        }
 
-        final List<BoundValueInfo> boundValues = new ArrayList<>();
-        final List<BoundValueInfo> partitionKeys = entityProperty.partitionKeys
-                .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    final BiConsumer<Object, SettableData> lambda = x1::encodeToSettable;
-                    return BoundValueInfo.of(lambda, x.getFieldValue(instance), x.encodeField(instance, Optional.ofNullable(cassandraOptions)));
-                })
-                .collect(toList());
-
-        boundValues.addAll(partitionKeys);
-
-        boundValues.addAll(entityProperty.staticColumns
-                .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    return BoundValueInfo.of(x1::encodeToSettable, x.getFieldValue(instance), x.encodeField(instance, Optional.ofNullable(cassandraOptions)));
-                })
-                .collect(toList()));
-
-        final Optional<Integer> ttl = OverridingOptional
+        if (metricsRecorder.isEnabled()) {
+            metricsRecorder.recordEncoding(entityProperty.entityClass, System.nanoTime() - start);
+        }
+
+        final Integer ttl = OverridingOptional
                 .from(cassandraOptions.getTimeToLive())
                 .andThen(entityProperty.staticTTL)
-                .getOptional();
-
-        boundValues.add(ttl.isPresent()
-                ? BoundValueInfo.of((Object value, SettableData settableData) -> settableData.setInt("ttl", ttl.get()), ttl.get(), ttl.get())
-                : BoundValueInfo.of((Object value, SettableData settableData) -> settableData.setInt("ttl", 0), 0, 0));
+                .getOptional()
+                .orElse(0);
+        boundValues[columnCount] = ttl;
+        encodedValues[columnCount] = ttl;
 
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug(format("Extracted encoded bound values : %s", boundValues));
+            LOGGER.debug(format("Extracted encoded bound values : %s", Arrays.toString(encodedValues)));
         }
-        return new BoundValuesWrapper(entityProperty, boundValues);
-
+        return new BoundValuesWrapper(entityProperty, columns, boundValues, encodedValues);
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.archinnov.achilles.type.CompletionMode;
+
+/**
+ * Executor used to complete the futures of asynchronous queries, according to the configured
+ * {@link info.archinnov.achilles.type.CompletionMode}.
+ * <br/>
+ * It keeps track of the dispatched completions, their dispatch latency (time spent waiting in the queue)
+ * and the rejected ones. A rejected completion is run on the calling driver I/O thread so that no future is left
+ * uncompleted
+ */
+public class CompletionDispatcher implements Executor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompletionDispatcher.class);
+
+    public final CompletionMode mode;
+    private final Executor delegate;
+
+    private final LongAdder dispatchedCount = new LongAdder();
+    private final LongAdder dispatchLatencyNanos = new LongAdder();
+    private final LongAdder dispatchLatencySamples = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public CompletionDispatcher(CompletionMode mode, Executor delegate) {
+        this.mode = mode;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        dispatchedCount.increment();
+        if (mode == CompletionMode.DIRECT) {
+            command.run();
+            return;
+        }
+
+        final long enqueuedAt = System.nanoTime();
+        try {
+            delegate.execute(() -> {
+                dispatchLatencyNanos.add(System.nanoTime() - enqueuedAt);
+                dispatchLatencySamples.increment();
+                command.run();
+            });
+        } catch (RejectedExecutionException ex) {
+            rejectedCount.increment();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Completion rejected by %s executor, running it on the calling thread", mode));
+            }
+            command.run();
+        }
+    }
+
+    public long getDispatchedCount() {
+        return dispatchedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Mean time spent in the executor queue by the completions that started running on it.
+     * Completions run directly or after a rejection are not queued and are left out
+     */
+    public long getMeanDispatchLatency(TimeUnit unit) {
+        final long samples = dispatchLatencySamples.sum();
+        return samples == 0 ? 0 : unit.convert(dispatchLatencyNanos.sum() / samples, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Current number of completions waiting in the executor queue, 0 if it cannot be determined
+     */
+    public int getQueueDepth() {
+        if (delegate instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) delegate).getQueue().size();
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return format("CompletionDispatcher{mode=%s, dispatched=%s, rejected=%s, queueDepth=%s, meanDispatchLatencyMicros=%s}",
+                mode, getDispatchedCount(), getRejectedCount(), getQueueDepth(), getMeanDispatchLatency(TimeUnit.MICROSECONDS));
+    }
+}
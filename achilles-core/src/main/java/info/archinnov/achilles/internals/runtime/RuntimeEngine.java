@@ -17,68 +17,174 @@
 package info.archinnov.achilles.internals.runtime;
 
 import static info.archinnov.achilles.internals.futures.FutureUtils.toCompletableFuture;
+import static info.archinnov.achilles.validation.Validator.validateFalse;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
 import static java.lang.String.format;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjLongConsumer;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
 
 import info.archinnov.achilles.internals.cache.CacheKey;
+import info.archinnov.achilles.internals.cache.DynamicStatementKey;
 import info.archinnov.achilles.internals.cache.StatementsCache;
+import info.archinnov.achilles.internals.cache.TenantStatementKey;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.dsl.counter.CounterCoalescer;
+import info.archinnov.achilles.internals.dsl.counter.CounterCoalescingSettings;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 import info.archinnov.achilles.type.SchemaNameProvider;
+import info.archinnov.achilles.type.metrics.MetricsRecorder;
 
 public class RuntimeEngine {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RuntimeEngine.class);
+    private static final AtomicInteger COUNTER_FLUSH_THREAD_NUMBER = new AtomicInteger(0);
+    private static final long COUNTER_FLUSH_TERMINATION_TIMEOUT_SECONDS = 30L;
 
     public final StatementsCache cache;
     public final ConfigurationContext configContext;
     public final Session session;
     public final String currentKeyspace;
     public final ExecutorService executor;
+    public final CompletionDispatcher completionDispatcher;
+    public final MetricsRecorder metricsRecorder;
 
     public TupleTypeFactory tupleTypeFactory;
     public UserTypeFactory userTypeFactory;
 
+    private final Map<Class<?>, CounterCoalescer<?>> counterCoalescers = new ConcurrentHashMap<>();
+    private ScheduledExecutorService counterFlushScheduler;
+    private volatile boolean counterCoalescersDrained = false;
+
     public RuntimeEngine(ConfigurationContext configContext) {
         this.configContext = configContext;
         this.session = configContext.getSession();
         this.cache = configContext.getStatementsCache();
         this.currentKeyspace = configContext.getCurrentKeyspace().orElseGet(session::getLoggedKeyspace);
         this.executor = configContext.getExecutorService();
+        this.completionDispatcher = new CompletionDispatcher(configContext.getCompletionMode(), completionExecutor(configContext));
+        this.metricsRecorder = configContext.getMetricsRecorder();
+        this.cache.setMetricsRecorder(metricsRecorder);
+    }
+
+    private static Executor completionExecutor(ConfigurationContext configContext) {
+        switch (configContext.getCompletionMode()) {
+            case DIRECT:
+                return MoreExecutors.directExecutor();
+            case DEDICATED_EXECUTOR_SERVICE:
+                return configContext.getCompletionExecutorService().orElseGet(configContext::getExecutorService);
+            default:
+                return configContext.getExecutorService();
+        }
     }
 
     public PreparedStatement getStaticCache(CacheKey cacheKey) {
         return cache.getStaticCache(cacheKey);
     }
 
+    public CompletableFuture<PreparedStatement> getStaticCacheAsync(CacheKey cacheKey) {
+        return cache.getStaticCacheAsync(cacheKey);
+    }
+
+    /**
+     * Static statement of the entity for the given operation. With a schema name provider,
+     * the statement is looked up by entity, operation, keyspace and table so that
+     * a multi-tenant call does not render any query string once the tenant is cached
+     */
+    public PreparedStatement getStaticCache(AbstractEntityProperty<?> entityProperty, CacheKey.Operation operation,
+                                            Optional<SchemaNameProvider> schemaNameProvider,
+                                            Supplier<RegularStatement> statementSupplier) {
+        if (schemaNameProvider.isPresent()) {
+            final SchemaNameProvider provider = schemaNameProvider.get();
+            final Class<?> entityClass = entityProperty.entityClass;
+            final TenantStatementKey tenantKey = new TenantStatementKey(entityClass, operation,
+                    provider.keyspaceFor(entityClass), provider.tableNameFor(entityClass));
+            return cache.getTenantStaticCache(tenantKey, statementSupplier, session);
+        }
+        return cache.getStaticCache(new CacheKey(entityProperty.entityClass, operation));
+    }
+
     public CompletableFuture<ResultSet> execute(StatementWrapper wrapper) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Executing statement %s", wrapper.getBoundStatement().preparedStatement().getQueryString()));
         }
 
         wrapper.logDML();
-        return toCompletableFuture(session.executeAsync(wrapper.getBoundStatement()), executor);
+        if (metricsRecorder.isEnabled()) {
+            return toCompletableFuture(recordMetrics(wrapper.getBoundStatement(),
+                    (resultSet, latencyNanos) -> wrapper.recordMetrics(metricsRecorder, resultSet, latencyNanos)),
+                    completionDispatcher);
+        }
+        return toCompletableFuture(session.executeAsync(wrapper.getBoundStatement()), completionDispatcher);
+    }
+
+    /**
+     * The callback runs on the driver I/O thread so that the recorded latency
+     * does not include the completion dispatch
+     *
+     * @param recording receives the result set, or null if the execution failed, and the latency in nanoseconds
+     */
+    private ResultSetFuture recordMetrics(Statement statement, ObjLongConsumer<ResultSet> recording) {
+        final long start = System.nanoTime();
+        final ResultSetFuture resultSetFuture = session.executeAsync(statement);
+        Futures.addCallback(resultSetFuture, new FutureCallback<ResultSet>() {
+            @Override
+            public void onSuccess(ResultSet resultSet) {
+                recording.accept(resultSet, System.nanoTime() - start);
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                recording.accept(null, System.nanoTime() - start);
+            }
+        }, MoreExecutors.directExecutor());
+        return resultSetFuture;
     }
 
+    /**
+     * Bound statements executed without a wrapper are not bound to an entity,
+     * their metrics are recorded with the {@link OperationType#OTHER} operation
+     */
     public CompletableFuture<ResultSet> execute(BoundStatement boundStatement) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Executing bound statement %s", boundStatement.preparedStatement().getQueryString()));
         }
-        return toCompletableFuture(session.executeAsync(boundStatement), executor);
+        if (metricsRecorder.isEnabled()) {
+            return toCompletableFuture(recordMetrics(boundStatement,
+                    (resultSet, latencyNanos) -> StatementWrapper.recordMetricsInternal(metricsRecorder, null,
+                            OperationType.OTHER, boundStatement, resultSet, latencyNanos)),
+                    completionDispatcher);
+        }
+        return toCompletableFuture(session.executeAsync(boundStatement), completionDispatcher);
     }
 
+    /**
+     * Batches are recorded as a single statement with the {@link OperationType#OTHER} operation
+     * and without entity, the bound values of their statements are not recorded
+     */
     public CompletableFuture<ResultSet> execute(BatchStatement batchStatement) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Executing batch statement : %s",
@@ -87,13 +193,26 @@ public class RuntimeEngine {
                             .map(Statement::toString)
                             .reduce("", (x, y) -> x + y)));
         }
-        return toCompletableFuture(session.executeAsync(batchStatement), executor);
+        if (metricsRecorder.isEnabled()) {
+            return toCompletableFuture(recordMetrics(batchStatement,
+                    (resultSet, latencyNanos) -> metricsRecorder.recordStatement(null, OperationType.OTHER.name(),
+                            latencyNanos, resultSet != null)),
+                    completionDispatcher);
+        }
+        return toCompletableFuture(session.executeAsync(batchStatement), completionDispatcher);
     }
 
     public PreparedStatement prepareDynamicQuery(RegularStatement statement) {
         return prepareDynamicQuery(statement.getQueryString());
     }
 
+    public PreparedStatement prepareDynamicQuery(DynamicStatementKey statementKey, Supplier<RegularStatement> statementSupplier) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Preparing dynamic query for %s", statementKey));
+        }
+        return cache.getDynamicCache(statementKey, statementSupplier, session);
+    }
+
     public PreparedStatement prepareDynamicQuery(String queryString) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Preparing dynamic query %s", queryString));
@@ -101,26 +220,79 @@ public class RuntimeEngine {
         return cache.getDynamicCache(queryString, session);
     }
 
-    public Optional<PreparedStatement> maybePrepareIfDifferentSchemaNameFromCache(AbstractEntityProperty<?> entityProperty,
-                                                                                  PreparedStatement psFromCache,
-                                                                                  Optional<SchemaNameProvider> schemaNameProvider,
-                                                                                  Supplier<RegularStatement> lambda) {
-        if (schemaNameProvider.isPresent()) {
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug(format("Preparing statement %s using optional schema name provider %s",
-                        psFromCache.getQueryString(), schemaNameProvider));
-            }
-            final SchemaNameProvider provider = schemaNameProvider.get();
-            final String tableNameWithKeyspace = provider.keyspaceFor(entityProperty.entityClass) + "." + provider.tableNameFor(entityProperty.entityClass);
-            if (!psFromCache.getQueryString().toLowerCase().contains("from " + tableNameWithKeyspace)) {
-                return Optional.of(prepareDynamicQuery(lambda.get()));
+    public Cluster getCluster() {
+        return session.getCluster();
+    }
+
+    /**
+     * Counter coalescer of the given counter entity, created on first access with the settings
+     * of {@link info.archinnov.achilles.configuration.ConfigurationParameters#COUNTER_COALESCING}.
+     * Rejected once the manager factory has been shut down
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CounterCoalescer<T> getCounterCoalescer(AbstractEntityProperty<T> entityProperty) {
+        final Class<T> entityClass = entityProperty.entityClass;
+        final CounterCoalescingSettings settings = configContext.getCounterCoalescing().get(entityClass);
+        validateTrue(entityProperty.counterTable && settings != null,
+                "Counter coalescing is not enabled for entity '%s'", entityClass.getCanonicalName());
+        validateCounterCoalescersNotDrained(entityClass);
+        return (CounterCoalescer<T>) counterCoalescers.computeIfAbsent(entityClass,
+                x -> new CounterCoalescer<>(entityProperty, this, settings, getCounterFlushScheduler(entityClass)));
+    }
+
+    /**
+     * Stop the periodic flushes and wait for the running ones, then write the pending increments
+     * of all counter coalescers and wait for every write they started
+     */
+    public void drainCounterCoalescers() {
+        final ScheduledExecutorService scheduler;
+        synchronized (this) {
+            counterCoalescersDrained = true;
+            scheduler = counterFlushScheduler;
+        }
+        if (scheduler != null) {
+            LOGGER.info(format("Closing counter flush scheduler %s", scheduler));
+            scheduler.shutdown();
+            try {
+                if (!scheduler.awaitTermination(COUNTER_FLUSH_TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    LOGGER.warn(format("Counter flush scheduler %s did not terminate within %s seconds",
+                            scheduler, COUNTER_FLUSH_TERMINATION_TIMEOUT_SECONDS));
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
             }
         }
-        return Optional.empty();
 
+        final CompletableFuture<?>[] writes = counterCoalescers.values()
+                .stream()
+                .map(CounterCoalescer::close)
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(writes).join();
+        } catch (CompletionException ex) {
+            LOGGER.error("Cannot write all pending counter increments", ex.getCause());
+        }
     }
 
-    public Cluster getCluster() {
-        return session.getCluster();
+    private void validateCounterCoalescersNotDrained(Class<?> entityClass) {
+        validateFalse(counterCoalescersDrained, "Cannot get the counter coalescer of entity '%s', the manager factory has been shut down",
+                entityClass.getCanonicalName());
+    }
+
+    /**
+     * Checked again under the lock, a coalescer created concurrently with the shut down
+     * must not schedule its flushes on a terminated scheduler
+     */
+    private synchronized ScheduledExecutorService getCounterFlushScheduler(Class<?> entityClass) {
+        validateCounterCoalescersNotDrained(entityClass);
+        if (counterFlushScheduler == null) {
+            counterFlushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "achilles-counter-flush-" + COUNTER_FLUSH_THREAD_NUMBER.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setUncaughtExceptionHandler((t, ex) -> LOGGER.error("Uncaught exception in thread " + t.getName(), ex));
+                return thread;
+            });
+        }
+        return counterFlushScheduler;
     }
 }
@@ -36,7 +36,9 @@ import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.*;
 
 import info.archinnov.achilles.annotations.SASI;
+import info.archinnov.achilles.internals.codec.JSONSmileCodec;
 import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.SimpleProperty;
 import info.archinnov.achilles.internals.metamodel.columns.ColumnType;
 import info.archinnov.achilles.internals.metamodel.index.IndexImpl;
 import info.archinnov.achilles.internals.metamodel.index.IndexInfo;
@@ -117,6 +119,12 @@ public class SchemaValidator {
 
             final DataType runtimeType = columnMeta.getType();
             final DataType staticType = x.buildType(Optional.empty());
+            if (isSmileJSON(x)) {
+                validateBeanMappingTrue(runtimeType.equals(staticType),
+                        "Column '%s' of entity '%s' is mapped with @JSON(Format.SMILE) and should be of type '%s' but live schema type is '%s'. " +
+                                "The column should be migrated before switching its JSON format",
+                        cqlColumn, entityClass, staticType, runtimeType);
+            }
             validateBeanMappingTrue(runtimeType.equals(staticType),
                     "Data type '%s' for column '%s' of entity '%s' does not match type in live schema '%s'",
                     staticType, cqlColumn, entityClass, runtimeType);
@@ -145,6 +153,10 @@ public class SchemaValidator {
         }
     }
 
+    private static boolean isSmileJSON(AbstractProperty<?, ?, ?> property) {
+        return property instanceof SimpleProperty && ((SimpleProperty<?, ?, ?>) property).valueCodec instanceof JSONSmileCodec;
+    }
+
     private static void validateDSESearchIndex(Class<?> entityClass, TableMetadata tableMetadata) {
         final String tableName = tableMetadata.getName().toLowerCase();
         final String keyspaceName = tableMetadata.getKeyspace().getName().toLowerCase();
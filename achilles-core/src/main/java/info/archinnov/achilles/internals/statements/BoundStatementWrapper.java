@@ -18,8 +18,6 @@ package info.archinnov.achilles.internals.statements;
 
 import static java.lang.String.format;
 
-import java.util.UUID;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +29,7 @@ import com.datastax.driver.core.Row;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.types.ResultSetWrapper;
+import info.archinnov.achilles.type.metrics.MetricsRecorder;
 
 public class BoundStatementWrapper implements StatementWrapper {
 
@@ -42,7 +41,7 @@ public class BoundStatementWrapper implements StatementWrapper {
     private final Object[] encodedBoundValues;
     private final Logger actualLogger;
     private BoundStatement bs;
-    private UUID queryId;
+    private long queryId;
 
 
     public BoundStatementWrapper(OperationType operationType, AbstractEntityProperty<?> meta, PreparedStatement ps,
@@ -86,9 +85,8 @@ public class BoundStatementWrapper implements StatementWrapper {
             LOGGER.trace(format("Maybe log DML query %s", bs.preparedStatement().getQueryString()));
         }
 
-        queryId = UUID.randomUUID();
         if (actualLogger.isDebugEnabled()) {
-            writeDMLStatementLog(actualLogger, queryId, bs.preparedStatement().getQueryString(), bs.getConsistencyLevel(), boundValues, encodedBoundValues);
+            writeDMLStatementLog(actualLogger, queryId(), bs.preparedStatement().getQueryString(), bs.getConsistencyLevel(), boundValues, encodedBoundValues);
         }
     }
 
@@ -100,13 +98,18 @@ public class BoundStatementWrapper implements StatementWrapper {
 
         if (actualLogger.isDebugEnabled()) {
             final ResultSetWrapper wrapper = new ResultSetWrapper(originalResultSet);
-            logReturnedResultsInternal(actualLogger, queryId, wrapper, maxDisplayedRows);
+            logReturnedResultsInternal(actualLogger, queryId(), wrapper, maxDisplayedRows);
             return wrapper;
         } else {
             return originalResultSet;
         }
     }
 
+    @Override
+    public void recordMetrics(MetricsRecorder metricsRecorder, ResultSet resultSet, long latencyNanos) {
+        StatementWrapper.recordMetricsInternal(metricsRecorder, meta.entityClass, operationType, bs, resultSet, latencyNanos);
+    }
+
     @Override
     public Row logReturnedRow(Row row) {
         if (LOGGER.isTraceEnabled()) {
@@ -114,7 +117,7 @@ public class BoundStatementWrapper implements StatementWrapper {
         }
 
         if (actualLogger.isDebugEnabled()) {
-            logReturnedRowInternal(actualLogger, queryId, row);
+            logReturnedRowInternal(actualLogger, queryId(), row);
         }
         return row;
     }
@@ -124,7 +127,16 @@ public class BoundStatementWrapper implements StatementWrapper {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Maybe display tracing for query %s", bs.preparedStatement().getQueryString()));
         }
-        tracingInternal(actualLogger, queryId, resultSet);
+        if (actualLogger.isTraceEnabled()) {
+            tracingInternal(actualLogger, queryId(), resultSet);
+        }
         return resultSet;
     }
+
+    private long queryId() {
+        if (queryId == 0L) {
+            queryId = StatementWrapper.nextQueryId();
+        }
+        return queryId;
+    }
 }
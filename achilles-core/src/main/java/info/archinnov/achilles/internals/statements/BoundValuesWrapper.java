@@ -19,7 +19,9 @@ package info.archinnov.achilles.internals.statements;
 import static info.archinnov.achilles.type.strategy.InsertStrategy.ALL_FIELDS;
 import static java.lang.String.format;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,40 +30,66 @@ import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
 
-
+/**
+ * Raw and encoded values extracted from an entity, stored in pre-sized arrays
+ * in the order of the bind markers of the statement. The <strong>ttl</strong> value
+ * is always the last one
+ */
 public class BoundValuesWrapper {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BoundValuesWrapper.class);
 
-    public final List<BoundValueInfo> boundValuesInfo;
     public final AbstractEntityProperty<?> meta;
+    private final List<? extends AbstractProperty<?, ?, ?>> columns;
+    private final Object[] boundValues;
+    private final Object[] encodedValues;
 
-    public BoundValuesWrapper(AbstractEntityProperty<?> meta, List<BoundValueInfo> boundValuesInfo) {
+    public BoundValuesWrapper(AbstractEntityProperty<?> meta, List<? extends AbstractProperty<?, ?, ?>> columns,
+                              Object[] boundValues, Object[] encodedValues) {
         this.meta = meta;
-        this.boundValuesInfo = boundValuesInfo;
+        this.columns = columns;
+        this.boundValues = boundValues;
+        this.encodedValues = encodedValues;
+    }
+
+    public List<Object> getBoundValues() {
+        return Arrays.asList(boundValues);
+    }
+
+    public List<Object> getEncodedValues() {
+        return Arrays.asList(encodedValues);
+    }
+
+    /**
+     * Whether every field of the entity still holds a value equal to the extracted raw one.
+     * Only a field set to another value is detected, not a collection, UDT or JSON value
+     * mutated in place
+     */
+    @SuppressWarnings("unchecked")
+    public boolean holdsValuesOf(Object instance) {
+        for (int i = 0; i < columns.size(); i++) {
+            final AbstractProperty property = columns.get(i);
+            if (!Objects.equals(property.getFieldValue(instance), boundValues[i])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public StatementWrapper bindWithInsertStrategy(PreparedStatement ps, InsertStrategy insertStrategy) {
 
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Bind values %s to query %s with insert strategy %s",
-                    boundValuesInfo, ps.getQueryString(), insertStrategy.name()));
+                    Arrays.toString(encodedValues), ps.getQueryString(), insertStrategy.name()));
         }
 
         if (insertStrategy == ALL_FIELDS) {
-            return new BoundStatementWrapper(OperationType.INSERT, meta, ps,
-                    boundValuesInfo.stream().map(x -> x.boundValue).toArray(),
-                    boundValuesInfo.stream().map(x -> x.encodedValue).toArray());
+            return new BoundStatementWrapper(OperationType.INSERT, meta, ps, boundValues, encodedValues);
         } else {
-            BoundStatement bs = ps.bind();
-            boundValuesInfo.stream()
-                    .filter(x -> x.encodedValue != null)
-                    .forEach(x -> x.setter.accept(x.encodedValue, bs));
-            return new BoundStatementWrapper(OperationType.INSERT, meta, bs,
-                    boundValuesInfo.stream().map(x -> x.boundValue).toArray(),
-                    boundValuesInfo.stream().map(x -> x.encodedValue).toArray());
+            return new BoundStatementWrapper(OperationType.INSERT, meta, bindNotNullValues(ps), boundValues, encodedValues);
         }
     }
 
@@ -69,16 +97,23 @@ public class BoundValuesWrapper {
 
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Bind values %s to query %s for UPDATE",
-                    boundValuesInfo, ps.getQueryString()));
+                    Arrays.toString(encodedValues), ps.getQueryString()));
         }
 
-        BoundStatement bs = ps.bind();
-        boundValuesInfo.stream()
-                .filter(x -> x.encodedValue != null)
-                .forEach(x -> x.setter.accept(x.encodedValue, bs));
-        return new BoundStatementWrapper(OperationType.UPDATE, meta, bs,
-                boundValuesInfo.stream().map(x -> x.boundValue).toArray(),
-                boundValuesInfo.stream().map(x -> x.encodedValue).toArray());
+        return new BoundStatementWrapper(OperationType.UPDATE, meta, bindNotNullValues(ps), boundValues, encodedValues);
+    }
 
+    @SuppressWarnings("unchecked")
+    private BoundStatement bindNotNullValues(PreparedStatement ps) {
+        final BoundStatement bs = ps.bind();
+        final int columnCount = columns.size();
+        for (int i = 0; i < columnCount; i++) {
+            final Object encodedValue = encodedValues[i];
+            if (encodedValue != null) {
+                ((AbstractProperty) columns.get(i)).encodeToSettable(encodedValue, bs);
+            }
+        }
+        bs.setInt("ttl", (Integer) encodedValues[columnCount]);
+        return bs;
     }
 }
@@ -18,8 +18,6 @@ package info.archinnov.achilles.internals.statements;
 
 import static java.lang.String.format;
 
-import java.util.UUID;
-
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
@@ -27,13 +25,14 @@ import com.datastax.driver.core.Row;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.types.ResultSetWrapper;
+import info.archinnov.achilles.type.metrics.MetricsRecorder;
 
 public class NativeStatementWrapper implements StatementWrapper {
 
     private final AbstractEntityProperty<?> meta;
     private final BoundStatement boundStatement;
     private final Object[] encodedBoundValues;
-    private final UUID queryId = UUID.randomUUID();
+    private long queryId;
     private final OperationType operationType;
 
 
@@ -61,26 +60,33 @@ public class NativeStatementWrapper implements StatementWrapper {
 
     @Override
     public void logDML() {
-        writeDMLStatementLog(DML_LOGGER, queryId,
-                boundStatement.preparedStatement().getQueryString(),
-                boundStatement.getConsistencyLevel(), new Object[0], encodedBoundValues);
+        if (DML_LOGGER.isDebugEnabled()) {
+            writeDMLStatementLog(DML_LOGGER, queryId(),
+                    boundStatement.preparedStatement().getQueryString(),
+                    boundStatement.getConsistencyLevel(), new Object[0], encodedBoundValues);
+        }
     }
 
     @Override
     public ResultSet logReturnResults(ResultSet originalResultSet, int maxDisplayedRows) {
         if (DML_LOGGER.isDebugEnabled()) {
             final ResultSetWrapper wrapper = new ResultSetWrapper(originalResultSet);
-            logReturnedResultsInternal(DML_LOGGER, queryId, wrapper, maxDisplayedRows);
+            logReturnedResultsInternal(DML_LOGGER, queryId(), wrapper, maxDisplayedRows);
             return wrapper;
         } else {
             return originalResultSet;
         }
     }
 
+    @Override
+    public void recordMetrics(MetricsRecorder metricsRecorder, ResultSet resultSet, long latencyNanos) {
+        StatementWrapper.recordMetricsInternal(metricsRecorder, meta != null ? meta.entityClass : null, operationType, boundStatement, resultSet, latencyNanos);
+    }
+
     @Override
     public Row logReturnedRow(Row row) {
         if (DML_LOGGER.isDebugEnabled()) {
-            logReturnedRowInternal(DML_LOGGER, queryId, row);
+            logReturnedRowInternal(DML_LOGGER, queryId(), row);
         }
         return row;
     }
@@ -90,7 +96,16 @@ public class NativeStatementWrapper implements StatementWrapper {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Maybe display tracing for query %s", boundStatement.preparedStatement().getQueryString()));
         }
-        tracingInternal(DML_LOGGER, queryId, resultSet);
+        if (DML_LOGGER.isTraceEnabled()) {
+            tracingInternal(DML_LOGGER, queryId(), resultSet);
+        }
         return resultSet;
     }
+
+    private long queryId() {
+        if (queryId == 0L) {
+            queryId = StatementWrapper.nextQueryId();
+        }
+        return queryId;
+    }
 }
@@ -20,17 +20,20 @@ import static com.datastax.driver.core.querybuilder.QueryBuilder.*;
 import static info.archinnov.achilles.internals.cache.CacheKey.Operation.*;
 import static java.lang.String.format;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.RegularStatement;
-import com.datastax.driver.core.Session;
 import com.datastax.driver.core.querybuilder.*;
 
 import info.archinnov.achilles.internals.cache.CacheKey;
-import info.archinnov.achilles.internals.cache.StatementsCache;
+import info.archinnov.achilles.internals.cache.DynamicStatementKey;
 import info.archinnov.achilles.internals.cassandra_version.CassandraFeature;
 import info.archinnov.achilles.internals.cassandra_version.InternalCassandraVersion;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
@@ -46,15 +49,33 @@ public class PreparedStatementGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PreparedStatementGenerator.class);
 
-    public static void generateStaticSelectQuery(Session session, StatementsCache cache,  AbstractEntityProperty<?> entityProperty) {
+    public static void generateStaticSelectQuery(StaticStatementsPreparer preparer, AbstractEntityProperty<?> entityProperty) {
         final RegularStatement where = generateSelectQuery(entityProperty, Optional.empty());
-        cache.putStaticCache(new CacheKey(entityProperty.entityClass, FIND), () -> session.prepare(where));
+        preparer.prepare(new CacheKey(entityProperty.entityClass, FIND), where);
     }
 
     public static RegularStatement generateSelectQuery( AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Generate SELECT query for entity of type %s", entityProperty.entityClass.getCanonicalName()));
         }
+        return generateSelectQuery(entityProperty, schemaNameProvider, false);
+    }
+
+    /**
+     * Same as {@link #generateSelectQuery(AbstractEntityProperty, Optional)} but the last clustering
+     * column is restricted with <strong>IN</strong> instead of an equality
+     */
+    public static RegularStatement generateSelectQueryWithLastClusteringIn(AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Generate SELECT query with IN on last clustering column for entity of type %s", entityProperty.entityClass.getCanonicalName()));
+        }
+        Validator.validateTrue(entityProperty.clusteringColumns.size() > 0,
+                "Entity '%s' has no clustering column", entityProperty.entityClass.getCanonicalName());
+        return generateSelectQuery(entityProperty, schemaNameProvider, true);
+    }
+
+    private static RegularStatement generateSelectQuery(AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider,
+                                                        boolean lastClusteringIn) {
 
         final Select.Selection select = QueryBuilder.select();
         final Optional<String> keyspace = entityProperty.getKeyspace();
@@ -96,30 +117,91 @@ public class PreparedStatementGenerator {
             where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
         }
 
-        for (AbstractProperty<?, ?, ?> x : entityProperty.clusteringColumns) {
-            where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+        final int clusteringCount = entityProperty.clusteringColumns.size();
+        for (int i = 0; i < clusteringCount; i++) {
+            final AbstractProperty<?, ?, ?> x = entityProperty.clusteringColumns.get(i);
+            if (lastClusteringIn && i == clusteringCount - 1) {
+                where.and(in(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+            } else {
+                where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+            }
         }
 
         return where;
     }
 
-    public static void generateStaticDeleteQueries(Session session, StatementsCache cache,  AbstractEntityProperty<?> entityProperty) {
+    /**
+     * Statements rendered by the DSL for <code>select().allColumns_FromBaseTable().where()</code> and
+     * <code>delete().allColumns_FromBaseTable().where()</code> restricted with equalities on the full primary key
+     * and, for clustered entities, on the partition key only. Their CQL is identical to the one rendered
+     * by the generated DSL classes so preparing them warms up the dynamic statements cache. They are not
+     * templates bound directly by the DSL, which still renders and looks up its query string on each call.
+     * <br/>
+     * DSL updates are not covered, their SET clauses depend on the columns chosen by each call
+     */
+    public static List<RegularStatement> generateDSLTemplates(AbstractEntityProperty<?> entityProperty) {
+        final Optional<String> keyspace = entityProperty.getKeyspace();
+        if (!keyspace.isPresent()) {
+            return Collections.emptyList();
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Generate DSL templates for entity of type %s", entityProperty.entityClass.getCanonicalName()));
+        }
+
+        final String table = entityProperty.getTableOrViewName();
+        final List<RegularStatement> templates = new ArrayList<>();
+        templates.add(restrictByPrimaryKey(QueryBuilder.select().all().from(keyspace.get(), table).where(), entityProperty, true));
+        if (entityProperty.isClustered()) {
+            templates.add(restrictByPrimaryKey(QueryBuilder.select().all().from(keyspace.get(), table).where(), entityProperty, false));
+        }
+
+        if (!entityProperty.isView()) {
+            templates.add(restrictByPrimaryKey(QueryBuilder.delete().all().from(keyspace.get(), table).where(), entityProperty, true));
+            if (entityProperty.isClustered()) {
+                templates.add(restrictByPrimaryKey(QueryBuilder.delete().all().from(keyspace.get(), table).where(), entityProperty, false));
+            }
+        }
+        return templates;
+    }
+
+    private static Select.Where restrictByPrimaryKey(Select.Where where, AbstractEntityProperty<?> entityProperty, boolean withClusterings) {
+        primaryKeyRelations(entityProperty, withClusterings).forEach(where::and);
+        return where;
+    }
+
+    private static Delete.Where restrictByPrimaryKey(Delete.Where where, AbstractEntityProperty<?> entityProperty, boolean withClusterings) {
+        primaryKeyRelations(entityProperty, withClusterings).forEach(where::and);
+        return where;
+    }
+
+    private static List<Clause> primaryKeyRelations(AbstractEntityProperty<?> entityProperty, boolean withClusterings) {
+        final List<Clause> relations = new ArrayList<>();
+        for (AbstractProperty<?, ?, ?> x : entityProperty.partitionKeys) {
+            relations.add(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+        }
+        if (withClusterings) {
+            for (AbstractProperty<?, ?, ?> x : entityProperty.clusteringColumns) {
+                relations.add(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+            }
+        }
+        return relations;
+    }
+
+    public static void generateStaticDeleteQueries(StaticStatementsPreparer preparer, AbstractEntityProperty<?> entityProperty) {
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Generate DELETE queries for entity of type %s", entityProperty.entityClass.getCanonicalName()));
         }
 
-        cache.putStaticCache(new CacheKey(entityProperty.entityClass, DELETE),
-                () -> session.prepare(generateDeleteByKeys(entityProperty, Optional.empty())));
+        preparer.prepare(new CacheKey(entityProperty.entityClass, DELETE), generateDeleteByKeys(entityProperty, Optional.empty()));
 
         if (!entityProperty.isCounter()) {
-            cache.putStaticCache(new CacheKey(entityProperty.entityClass, DELETE_IF_EXISTS),
-                    () -> session.prepare(generateDeleteByKeysIfExists(entityProperty, Optional.empty())));
+            preparer.prepare(new CacheKey(entityProperty.entityClass, DELETE_IF_EXISTS), generateDeleteByKeysIfExists(entityProperty, Optional.empty()));
         }
 
         if (entityProperty.isClustered()) {
-            cache.putStaticCache(new CacheKey(entityProperty.entityClass, DELETE_BY_PARTITION),
-                    () -> session.prepare(generateDeleteByPartition(entityProperty, Optional.empty())));
+            preparer.prepare(new CacheKey(entityProperty.entityClass, DELETE_BY_PARTITION), generateDeleteByPartition(entityProperty, Optional.empty()));
         }
     }
 
@@ -194,32 +276,26 @@ public class PreparedStatementGenerator {
     }
 
 
-    public static void generateStaticInsertQueries(InternalCassandraVersion cassandraVersion, Session session, StatementsCache cache, AbstractEntityProperty<?> entityProperty) {
+    public static void generateStaticInsertQueries(InternalCassandraVersion cassandraVersion, StaticStatementsPreparer preparer, AbstractEntityProperty<?> entityProperty) {
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Generate INSERT queries for entity of type %s", entityProperty.entityClass.getCanonicalName()));
         }
 
-        cache.putStaticCache(new CacheKey(entityProperty.entityClass, INSERT),
-                () -> session.prepare(generateInsert(entityProperty, Optional.empty())));
+        preparer.prepare(new CacheKey(entityProperty.entityClass, INSERT), generateInsert(entityProperty, Optional.empty()));
 
-        cache.putStaticCache(new CacheKey(entityProperty.entityClass, INSERT_IF_NOT_EXISTS),
-                () -> session.prepare(generateInsertIfNotExists(entityProperty, Optional.empty())));
+        preparer.prepare(new CacheKey(entityProperty.entityClass, INSERT_IF_NOT_EXISTS), generateInsertIfNotExists(entityProperty, Optional.empty()));
 
         if (cassandraVersion.supportsFeature(CassandraFeature.JSON)) {
-            cache.putStaticCache(new CacheKey(entityProperty.entityClass, INSERT_JSON),
-                    () -> session.prepare(generateInsertJSON(entityProperty, Optional.empty())));
+            preparer.prepare(new CacheKey(entityProperty.entityClass, INSERT_JSON), generateInsertJSON(entityProperty, Optional.empty()));
 
-            cache.putStaticCache(new CacheKey(entityProperty.entityClass, INSERT_IF_NOT_EXISTS_JSON),
-                    () -> session.prepare(generateInsertIfNotExistsJson(entityProperty, Optional.empty())));
+            preparer.prepare(new CacheKey(entityProperty.entityClass, INSERT_IF_NOT_EXISTS_JSON), generateInsertIfNotExistsJson(entityProperty, Optional.empty()));
         }
 
         if (entityProperty.hasStaticColumn()) {
-            cache.putStaticCache(new CacheKey(entityProperty.entityClass, INSERT_STATIC),
-                    () -> session.prepare(generateInsertStatic(entityProperty, Optional.empty())));
+            preparer.prepare(new CacheKey(entityProperty.entityClass, INSERT_STATIC), generateInsertStatic(entityProperty, Optional.empty()));
 
-            cache.putStaticCache(new CacheKey(entityProperty.entityClass, INSERT_STATIC_IF_NOT_EXISTS),
-                    () -> session.prepare(generateInsertStaticIfNotExists(entityProperty, Optional.empty())));
+            preparer.prepare(new CacheKey(entityProperty.entityClass, INSERT_STATIC_IF_NOT_EXISTS), generateInsertStaticIfNotExists(entityProperty, Optional.empty()));
         }
     }
 
@@ -279,6 +355,60 @@ public class PreparedStatementGenerator {
         return where;
     }
 
+    /**
+     * Structural key of the statement built by {@link #generateUpdate(Object, AbstractEntityProperty, CassandraOptions, boolean, boolean)},
+     * computed without rendering any CQL
+     */
+    public static <T> DynamicStatementKey generateUpdateKey(T instance, AbstractEntityProperty<T> entityProperty, CassandraOptions options,
+                                                            boolean staticValuesOnly, boolean ifExists) {
+        final Class<T> entityClass = entityProperty.entityClass;
+        final String schemaName = options.getSchemaNameProvider()
+                .map(provider -> provider.keyspaceFor(entityClass) + "." + provider.tableNameFor(entityClass))
+                .orElse(null);
+
+        final List<AbstractProperty<T, ?, ?>> allColumns = entityProperty.allColumns;
+        final BitSet columns = new BitSet(allColumns.size());
+        for (int i = 0; i < allColumns.size(); i++) {
+            final AbstractProperty<T, ?, ?> x = allColumns.get(i);
+            final ColumnType columnType = x.fieldInfo.columnType;
+            if (columnType != ColumnType.PARTITION && columnType != ColumnType.CLUSTERING
+                    && (!staticValuesOnly || columnType == ColumnType.STATIC)
+                    && x.getJavaValue(instance) != null) {
+                columns.set(i);
+            }
+        }
+
+        final int flags = (options.hasDefaultTimestamp() ? 1 : 0)
+                | (staticValuesOnly ? 2 : 0)
+                | (ifExists ? 4 : 0);
+        return new DynamicStatementKey(entityClass, OperationType.UPDATE, schemaName, columns, flags);
+    }
+
+    /**
+     * UPDATE incrementing the counter columns whose indices in <em>allColumns</em> are set in the given bit set,
+     * bound with the deltas in column order followed by the primary key values
+     */
+    public static RegularStatement generateCounterIncrement(AbstractEntityProperty<?> entityProperty, BitSet counterColumns) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Generate counter increment UPDATE query for entity of type %s", entityProperty.entityClass.getCanonicalName()));
+        }
+
+        final Update.Assignments assignments = getUpdateWithTableName(entityProperty, Optional.empty()).with();
+        for (int i = counterColumns.nextSetBit(0); i >= 0; i = counterColumns.nextSetBit(i + 1)) {
+            final String column = entityProperty.allColumns.get(i).fieldInfo.quotedCqlColumn;
+            assignments.and(incr(column, bindMarker(column)));
+        }
+
+        final Update.Where where = assignments.where();
+        for (AbstractProperty<?, ?, ?> x : entityProperty.partitionKeys) {
+            where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+        }
+        for (AbstractProperty<?, ?, ?> x : entityProperty.clusteringColumns) {
+            where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+        }
+        return where;
+    }
+
     public static RegularStatement generateInsertJSON(AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Generate INSERT JSON query for entity of type %s", entityProperty.entityClass.getCanonicalName()));
@@ -20,7 +20,9 @@ import static info.archinnov.achilles.internals.cql.TypeMapper.toJavaType;
 import static info.archinnov.achilles.internals.utils.LoggerHelper.replaceByteBuffersByHexString;
 import static java.lang.String.format;
 
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -33,12 +35,22 @@ import com.datastax.driver.core.exceptions.TraceRetrievalException;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.types.ResultSetWrapper;
 import info.archinnov.achilles.logger.AchillesLoggers;
+import info.archinnov.achilles.type.metrics.MetricsRecorder;
 
 public interface StatementWrapper {
     Logger LOGGER = LoggerFactory.getLogger(StatementWrapper.class);
 
     EventComparator EVENT_TRACE_COMPARATOR = new EventComparator();
     Logger DML_LOGGER = LoggerFactory.getLogger(AchillesLoggers.ACHILLES_DML_STATEMENT);
+    AtomicLong QUERY_ID_SEQUENCE = new AtomicLong(0);
+
+    /**
+     * Monotonic query id used to correlate the DML, results and tracing logs of a statement.
+     * Only generated when one of those logs is enabled
+     */
+    static long nextQueryId() {
+        return QUERY_ID_SEQUENCE.incrementAndGet();
+    }
 
     Object[] getBoundValues();
 
@@ -52,16 +64,44 @@ public interface StatementWrapper {
 
     Row logReturnedRow(Row row);
 
+    /**
+     * Record latency, bound values and LWT outcome of this statement execution
+     *
+     * @param resultSet    returned result set, or null if the execution failed
+     * @param latencyNanos execution latency in nanoseconds
+     */
+    void recordMetrics(MetricsRecorder metricsRecorder, ResultSet resultSet, long latencyNanos);
+
+    static void recordMetricsInternal(MetricsRecorder metricsRecorder, Class<?> entityClass, OperationType operationType,
+                                      BoundStatement boundStatement, ResultSet resultSet, long latencyNanos) {
+        final String operation = operationType.name();
+        metricsRecorder.recordStatement(entityClass, operation, latencyNanos, resultSet != null);
+
+        final int boundValuesCount = boundStatement.preparedStatement().getVariables().size();
+        long boundBytes = 0L;
+        for (int i = 0; i < boundValuesCount; i++) {
+            final ByteBuffer bytes = boundStatement.getBytesUnsafe(i);
+            if (bytes != null) {
+                boundBytes += bytes.remaining();
+            }
+        }
+        metricsRecorder.recordBoundValues(entityClass, operation, boundValuesCount, boundBytes);
+
+        if (resultSet != null && operationType.isUpsert && !resultSet.wasApplied()) {
+            metricsRecorder.recordLWTNotApplied(entityClass, operation);
+        }
+    }
+
     ResultSet logTrace(ResultSet resultSet);
 
-    default void writeDMLStatementLog(Logger actualLogger, UUID queryId, String queryString, ConsistencyLevel consistencyLevel, Object[] boundValues, Object[] encodedValues) {
+    default void writeDMLStatementLog(Logger actualLogger, long queryId, String queryString, ConsistencyLevel consistencyLevel, Object[] boundValues, Object[] encodedValues) {
         if (actualLogger.isDebugEnabled()) {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(format("Writing DML log for query %s with id %s", queryString, queryId));
             }
             StringBuilder logBuilder = new StringBuilder("\n");
             logBuilder.append(String.format("Query ID %s : [%s] with CONSISTENCY LEVEL [%s]",
-                    queryId.toString(), queryString, consistencyLevel));
+                    queryId, queryString, consistencyLevel));
             if (ArrayUtils.isNotEmpty(boundValues)) {
                 logBuilder.append(String.format("\n\t Java bound values : %s", replaceByteBuffersByHexString(boundValues)));
                 logBuilder.append(String.format("\n\t Encoded bound values : %s", replaceByteBuffersByHexString(encodedValues)));
@@ -70,7 +110,7 @@ public interface StatementWrapper {
         }
     }
 
-    default void logReturnedResultsInternal(Logger actualLogger, UUID queryId, ResultSetWrapper resultSet, int maxDisplayedRows) {
+    default void logReturnedResultsInternal(Logger actualLogger, long queryId, ResultSetWrapper resultSet, int maxDisplayedRows) {
         if (maxDisplayedRows > 0) {
             final int availableWithoutFetching = resultSet.getAvailableWithoutFetching();
             StringBuilder results = new StringBuilder(format("Query ID %s results : \n", queryId));
@@ -83,7 +123,7 @@ public interface StatementWrapper {
         }
     }
 
-    default void logReturnedRowInternal(Logger actualLogger, UUID queryId, Row row) {
+    default void logReturnedRowInternal(Logger actualLogger, long queryId, Row row) {
         StringBuilder results = new StringBuilder(format("Query ID %s row : \n", queryId));
         appendRowDataToBuilder(row, row.getColumnDefinitions().asList(), results);
         actualLogger.debug(results.toString());
@@ -114,12 +154,12 @@ public interface StatementWrapper {
         }
     }
 
-    default void tracingInternal(Logger actualLogger, UUID queryId, ResultSet resultSet) {
+    default void tracingInternal(Logger actualLogger, long queryId, ResultSet resultSet) {
         StringBuilder trace = new StringBuilder();
         if (actualLogger.isTraceEnabled()) {
             for (ExecutionInfo executionInfo : resultSet.getAllExecutionInfo()) {
 
-                trace.append(format("\n\nTracing for Query ID %s at host %s with achieved consistency level %s \n", queryId.toString(), executionInfo.getQueriedHost(), executionInfo.getAchievedConsistencyLevel()));
+                trace.append(format("\n\nTracing for Query ID %s at host %s with achieved consistency level %s \n", queryId, executionInfo.getQueriedHost(), executionInfo.getAchievedConsistencyLevel()));
                 trace.append("****************************\n");
                 trace.append(format("%1$-80s | %2$-16s | %3$-24s | %4$-20s\n", "Description", "Source", "Source elapsed in micros", "Thread name"));
                 try {
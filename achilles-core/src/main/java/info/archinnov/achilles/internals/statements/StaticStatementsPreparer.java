@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.statements;
+
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Session;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.cache.CacheKey;
+import info.archinnov.achilles.internals.cache.StatementsCache;
+import info.archinnov.achilles.internals.futures.FutureUtils;
+
+/**
+ * Prepare static statements asynchronously, with at most <em>parallelism</em>
+ * preparations in flight. Each prepared statement is put into the static cache
+ * as soon as its preparation completes.
+ * <br/>
+ * A <em>lazy</em> preparer only registers the statements into the cache, they are
+ * prepared asynchronously the first time they are requested
+ */
+public class StaticStatementsPreparer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StaticStatementsPreparer.class);
+
+    private final Session session;
+    private final StatementsCache cache;
+    private final Semaphore permits;
+    private final boolean lazy;
+    private final List<CompletableFuture<?>> inFlight = new ArrayList<>();
+    private final AtomicReference<AchillesException> firstFailure = new AtomicReference<>();
+
+    public StaticStatementsPreparer(Session session, StatementsCache cache, int parallelism) {
+        this(session, cache, parallelism, false);
+    }
+
+    public StaticStatementsPreparer(Session session, StatementsCache cache, int parallelism, boolean lazy) {
+        this.session = session;
+        this.cache = cache;
+        this.permits = new Semaphore(parallelism);
+        this.lazy = lazy;
+    }
+
+    public void prepare(CacheKey cacheKey, RegularStatement statement) {
+        if (lazy) {
+            cache.putLazyStaticCache(cacheKey, () -> FutureUtils.toCompletableFuture(session.prepareAsync(statement), directExecutor()));
+            return;
+        }
+        prepareAsync("cache key " + cacheKey, statement, preparedStatement -> cache.putStaticCache(cacheKey, () -> preparedStatement));
+    }
+
+    /**
+     * Prepare asynchronously a statement rendered identically by the DSL and put it
+     * into the dynamic cache. Dynamic statements are never prepared lazily
+     */
+    public void prepareDynamic(RegularStatement statement) {
+        final String queryString = statement.getQueryString();
+        prepareAsync("DSL template", statement, preparedStatement -> cache.putDynamicCache(queryString, preparedStatement));
+    }
+
+    private void prepareAsync(String description, RegularStatement statement, Consumer<PreparedStatement> onPrepared) {
+        if (firstFailure.get() != null) {
+            return;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AchillesException(format("Interrupted while preparing statement for %s", description), e);
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Preparing asynchronously statement for %s : %s", description, statement.getQueryString()));
+        }
+
+        final CompletableFuture<?> future = FutureUtils
+                .toCompletableFuture(session.prepareAsync(statement), directExecutor())
+                .whenComplete((preparedStatement, throwable) -> {
+                    try {
+                        if (throwable != null) {
+                            firstFailure.compareAndSet(null, new AchillesException(
+                                    format("Cannot prepare statement for %s : %s", description, statement.getQueryString()), throwable));
+                        } else {
+                            onPrepared.accept(preparedStatement);
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                });
+        inFlight.add(future);
+    }
+
+    /**
+     * Wait for all submitted preparations to complete
+     *
+     * @throws AchillesException if any preparation failed
+     */
+    public void awaitCompletion() {
+        try {
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[inFlight.size()])).exceptionally(throwable -> null).join();
+        } finally {
+            inFlight.clear();
+        }
+        final AchillesException failure = firstFailure.get();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.types;
+
+import static com.google.common.util.concurrent.Uninterruptibles.getUninterruptibly;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.interceptor.Event;
+
+/**
+ * Walk all the pages of a {@link com.datastax.driver.core.ResultSet} without materializing them.
+ * <br/>
+ * The next page is requested in the background once fewer than <strong>prefetchPages</strong> pages
+ * worth of rows remain to be consumed. The driver fetches one page at a time, so at most one page
+ * is in flight and a slow consumer bounds the memory held by the client
+ * <br/>
+ * Fetch completions must run on an {@link java.util.concurrent.Executor} that never drops tasks,
+ * like the {@link info.archinnov.achilles.internals.runtime.CompletionDispatcher}, otherwise the paging stalls
+ */
+public class ResultSetPager<T> implements AsyncAware {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultSetPager.class);
+
+    private final CompletableFuture<ResultSet> futureRS;
+    private final Function<Row, T> rowMapper;
+    private final int prefetchPages;
+    private final Executor executor;
+    private int pageSize = 0;
+
+    public ResultSetPager(CompletableFuture<ResultSet> futureRS, Function<Row, T> rowMapper, int prefetchPages, Executor executor) {
+        validateTrue(prefetchPages >= 0, "The number of pages to prefetch '%s' should be positive or zero", prefetchPages);
+        this.futureRS = futureRS;
+        this.rowMapper = rowMapper;
+        this.prefetchPages = prefetchPages;
+        this.executor = executor;
+    }
+
+    public static <ENTITY> ResultSetPager<ENTITY> forEntities(CompletableFuture<ResultSet> futureRS, AbstractEntityProperty<ENTITY> meta,
+                                                              StatementWrapper statementWrapper, CassandraOptions options,
+                                                              int prefetchPages, Executor executor) {
+        final CompletableFuture<ResultSet> listenedRS = futureRS
+                .thenApply(options::resultSetAsyncListener)
+                .thenApply(statementWrapper::logTrace);
+        return new ResultSetPager<>(listenedRS, entityRowMapper(meta, statementWrapper, options), prefetchPages, executor);
+    }
+
+    static <ENTITY> Function<Row, ENTITY> entityRowMapper(AbstractEntityProperty<ENTITY> meta, StatementWrapper statementWrapper,
+                                                          CassandraOptions options) {
+        return row -> {
+            statementWrapper.logReturnedRow(row);
+            options.rowAsyncListener(row);
+            final ENTITY instance = meta.createEntityFrom(row);
+            meta.triggerInterceptorsForEvent(Event.POST_LOAD, instance);
+            return instance;
+        };
+    }
+
+    /**
+     * Push every row to the consumer, page by page. Next pages are fetched asynchronously
+     * so no thread is ever blocked waiting for Cassandra
+     *
+     * @return the execution info of all fetched pages, once the last row has been consumed
+     */
+    public CompletableFuture<List<ExecutionInfo>> forEachAsync(Consumer<T> consumer) {
+        final CompletableFuture<List<ExecutionInfo>> done = new CompletableFuture<>();
+        futureRS.whenComplete((rs, throwable) -> {
+            if (throwable != null) {
+                done.completeExceptionally(throwable);
+            } else {
+                consumePages(rs, consumer, done);
+            }
+        });
+        return done;
+    }
+
+    /**
+     * Lazy {@link java.util.stream.Stream} over all the rows. The calling thread
+     * only blocks when the rows fetched so far are exhausted
+     */
+    public Stream<T> stream() {
+        final Iterator<T> iterator = new PagingIterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private void consumePages(ResultSet rs, Consumer<T> consumer, CompletableFuture<List<ExecutionInfo>> done) {
+        try {
+            while (true) {
+                final int available = rs.getAvailableWithoutFetching();
+                maybePrefetch(rs, available);
+                if (available == 0) {
+                    if (rs.isFullyFetched()) {
+                        done.complete(rs.getAllExecutionInfo());
+                        return;
+                    }
+                    final ListenableFuture<ResultSet> nextPage = rs.fetchMoreResults();
+                    if (nextPage.isDone()) {
+                        // Already prefetched, keep consuming on this thread instead of recursing through the callback
+                        getUninterruptibly(nextPage);
+                        continue;
+                    }
+                    Futures.addCallback(nextPage, new FutureCallback<ResultSet>() {
+                        @Override
+                        public void onSuccess(ResultSet result) {
+                            consumePages(rs, consumer, done);
+                        }
+
+                        @Override
+                        public void onFailure(Throwable throwable) {
+                            done.completeExceptionally(throwable);
+                        }
+                    }, executor);
+                    return;
+                }
+                for (int i = 0; i < available; i++) {
+                    consumer.accept(rowMapper.apply(rs.one()));
+                }
+            }
+        } catch (ExecutionException e) {
+            done.completeExceptionally(e.getCause());
+        } catch (Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+    }
+
+    private void maybePrefetch(ResultSet rs, int available) {
+        if (pageSize == 0) {
+            pageSize = available;
+        }
+        if (prefetchPages > 0 && !rs.isFullyFetched() && available <= prefetchPages * pageSize) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("Prefetching next page, %s rows still available", available));
+            }
+            rs.fetchMoreResults();
+        }
+    }
+
+    private class PagingIterator implements Iterator<T> {
+
+        private ResultSet rs;
+
+        @Override
+        public boolean hasNext() {
+            try {
+                if (rs == null) {
+                    rs = getUninterruptibly(futureRS);
+                }
+                while (rs.getAvailableWithoutFetching() == 0 && !rs.isFullyFetched()) {
+                    getUninterruptibly(rs.fetchMoreResults());
+                }
+            } catch (ExecutionException e) {
+                throw extractCauseFromExecutionException(e);
+            }
+            return rs.getAvailableWithoutFetching() > 0;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            maybePrefetch(rs, rs.getAvailableWithoutFetching());
+            return rowMapper.apply(rs.one());
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.types;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+
+/**
+ * Cold {@link org.reactivestreams.Publisher} over all the pages of a query.
+ * <br/>
+ * The query is executed once per subscription and the next page is only fetched,
+ * asynchronously, when the subscriber demand exceeds the rows already fetched.
+ * <br/>
+ * Fetch completions should run on the {@link info.archinnov.achilles.internals.runtime.CompletionDispatcher}.
+ * If the given executor rejects a completion anyway, the subscription is terminated with the rejection
+ */
+public class ResultSetPublisher<T> implements Publisher<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultSetPublisher.class);
+
+    private final Supplier<CompletableFuture<ResultSet>> query;
+    private final Function<Row, T> rowMapper;
+    private final Executor executor;
+
+    public ResultSetPublisher(Supplier<CompletableFuture<ResultSet>> query, Function<Row, T> rowMapper, Executor executor) {
+        this.query = query;
+        this.rowMapper = rowMapper;
+        this.executor = executor;
+    }
+
+    public static <ENTITY> ResultSetPublisher<ENTITY> forEntities(Supplier<CompletableFuture<ResultSet>> query, AbstractEntityProperty<ENTITY> meta,
+                                                                  StatementWrapper statementWrapper, CassandraOptions options, Executor executor) {
+        return forRows(query, statementWrapper, options, ResultSetPager.entityRowMapper(meta, statementWrapper, options), executor);
+    }
+
+    public static <T> ResultSetPublisher<T> forRows(Supplier<CompletableFuture<ResultSet>> query, StatementWrapper statementWrapper,
+                                                    CassandraOptions options, Function<Row, T> rowMapper, Executor executor) {
+        final Supplier<CompletableFuture<ResultSet>> listenedQuery = () -> query.get()
+                .thenApply(options::resultSetAsyncListener)
+                .thenApply(statementWrapper::logTrace);
+        return new ResultSetPublisher<>(listenedQuery, rowMapper, executor);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber should not be null");
+        }
+        final PagingSubscription subscription = new PagingSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+
+    private class PagingSubscription implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile ResultSet resultSet;
+        private volatile Throwable error;
+        private volatile boolean fetching;
+        private volatile boolean cancelled;
+        private boolean terminated;
+
+        PagingSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void start() {
+            final CompletableFuture<ResultSet> futureRS;
+            try {
+                futureRS = query.get();
+            } catch (Throwable throwable) {
+                error = throwable;
+                drain();
+                return;
+            }
+            futureRS.whenComplete((rs, throwable) -> {
+                if (throwable != null) {
+                    error = throwable;
+                } else {
+                    resultSet = rs;
+                }
+                drain();
+            });
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Subscription request should be strictly positive, got " + n);
+            } else {
+                requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!terminated && !cancelled) {
+                    emitAvailableRows();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emitAvailableRows() {
+            if (error != null) {
+                terminate(error);
+                return;
+            }
+            final ResultSet rs = resultSet;
+            if (rs == null) {
+                return;
+            }
+            try {
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !cancelled && rs.getAvailableWithoutFetching() > 0) {
+                    subscriber.onNext(rowMapper.apply(rs.one()));
+                    emitted++;
+                }
+                if (emitted > 0 && demand != Long.MAX_VALUE) {
+                    demand = requested.addAndGet(-emitted);
+                }
+
+                final int available = rs.getAvailableWithoutFetching();
+                if (available == 0 && rs.isFullyFetched()) {
+                    terminate(null);
+                } else if (!fetching && !rs.isFullyFetched() && demand > available) {
+                    fetchNextPage(rs);
+                }
+            } catch (Throwable throwable) {
+                terminate(throwable);
+            }
+        }
+
+        private void fetchNextPage(ResultSet rs) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace("Fetching next page for publisher demand");
+            }
+            fetching = true;
+            Futures.addCallback(rs.fetchMoreResults(), new FutureCallback<ResultSet>() {
+                @Override
+                public void onSuccess(ResultSet result) {
+                    fetching = false;
+                    drain();
+                }
+
+                @Override
+                public void onFailure(Throwable throwable) {
+                    error = throwable;
+                    fetching = false;
+                    drain();
+                }
+            }, this::dispatchFetchCompletion);
+        }
+
+        private void dispatchFetchCompletion(Runnable completion) {
+            try {
+                executor.execute(completion);
+            } catch (RejectedExecutionException ex) {
+                LOGGER.error("Next page completion rejected by the executor, terminating the subscription", ex);
+                error = ex;
+                fetching = false;
+                drain();
+            }
+        }
+
+        private void terminate(Throwable throwable) {
+            terminated = true;
+            if (throwable != null) {
+                subscriber.onError(throwable);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+    }
+}
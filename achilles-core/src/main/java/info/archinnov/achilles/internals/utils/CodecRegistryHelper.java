@@ -19,6 +19,7 @@ package info.archinnov.achilles.internals.utils;
 import com.datastax.driver.core.CodecRegistry;
 import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.exceptions.CodecNotFoundException;
+import com.google.common.reflect.TypeToken;
 
 public class CodecRegistryHelper {
 
@@ -35,4 +36,12 @@ public class CodecRegistryHelper {
             return false;
         }
     }
+
+    public <T> boolean hasCodecFor(DataType cqlType, TypeToken<T> javaType) {
+        try {
+            return codecRegistry.codecFor(cqlType, javaType) != null;
+        } catch (CodecNotFoundException ex) {
+            return false;
+        }
+    }
 }
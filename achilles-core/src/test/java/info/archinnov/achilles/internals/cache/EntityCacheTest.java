@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.Row;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EntityCacheTest {
+
+    @Mock
+    private Row row;
+
+    private final EntityCache cache = new EntityCache(String.class, EntityCacheSettings.of(10L, 1L, TimeUnit.MINUTES));
+
+    @Test
+    public void should_share_in_flight_load_between_concurrent_misses() throws Exception {
+        //Given
+        final AtomicInteger loadCount = new AtomicInteger(0);
+        final CompletableFuture<Optional<Row>> pending = new CompletableFuture<>();
+
+        //When
+        final CompletableFuture<Optional<Row>> first = cache.getOrLoad(new Object[]{10L}, () -> {
+            loadCount.incrementAndGet();
+            return pending;
+        });
+        final CompletableFuture<Optional<Row>> second = cache.getOrLoad(new Object[]{10L}, () -> {
+            loadCount.incrementAndGet();
+            return pending;
+        });
+        pending.complete(Optional.of(row));
+
+        //Then
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(first.get().get()).isSameAs(row);
+        assertThat(second.get().get()).isSameAs(row);
+    }
+
+    @Test
+    public void should_cache_absent_row() throws Exception {
+        //Given
+        final AtomicInteger loadCount = new AtomicInteger(0);
+
+        //When
+        cache.getOrLoad(new Object[]{10L}, () -> {
+            loadCount.incrementAndGet();
+            return CompletableFuture.completedFuture(Optional.empty());
+        }).get();
+        final Optional<Row> cached = cache.getOrLoad(new Object[]{10L}, () -> {
+            loadCount.incrementAndGet();
+            return CompletableFuture.completedFuture(Optional.of(row));
+        }).get();
+
+        //Then
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(cached.isPresent()).isFalse();
+    }
+
+    @Test
+    public void should_not_cache_failed_load() throws Exception {
+        //Given
+        final CompletableFuture<Optional<Row>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new RuntimeException("timeout"));
+
+        //When
+        final CompletableFuture<Optional<Row>> first = cache.getOrLoad(new Object[]{10L}, () -> failed);
+        final Optional<Row> second = cache.getOrLoad(new Object[]{10L},
+                () -> CompletableFuture.completedFuture(Optional.of(row))).get();
+
+        //Then
+        assertThat(first.isCompletedExceptionally()).isTrue();
+        assertThat(second.get()).isSameAs(row);
+    }
+
+    @Test
+    public void should_reload_after_invalidation() throws Exception {
+        //Given
+        final AtomicInteger loadCount = new AtomicInteger(0);
+        cache.getOrLoad(new Object[]{10L, "a"}, () -> {
+            loadCount.incrementAndGet();
+            return CompletableFuture.completedFuture(Optional.of(row));
+        }).get();
+
+        //When
+        cache.invalidate(new Object[]{10L, "a"});
+        cache.getOrLoad(new Object[]{10L, "a"}, () -> {
+            loadCount.incrementAndGet();
+            return CompletableFuture.completedFuture(Optional.of(row));
+        }).get();
+
+        //Then
+        assertThat(loadCount.get()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_not_cache_load_invalidated_while_in_flight() throws Exception {
+        //Given
+        final CompletableFuture<Optional<Row>> pending = new CompletableFuture<>();
+        cache.getOrLoad(new Object[]{10L}, () -> pending);
+
+        //When
+        cache.invalidateAll();
+        pending.complete(Optional.of(row));
+
+        //Then
+        assertThat(cache.size()).isEqualTo(0L);
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StatementsCacheTest {
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Test
+    public void should_not_render_statement_on_structural_key_hit() throws Exception {
+        //Given
+        final StatementsCache cache = new StatementsCache(10);
+        final RegularStatement statement = QueryBuilder.select().from("ks", "table");
+        final AtomicInteger renderCount = new AtomicInteger(0);
+        when(session.prepare(statement)).thenReturn(preparedStatement);
+
+        //When
+        final PreparedStatement first = cache.getDynamicCache(buildKey(1), () -> {
+            renderCount.incrementAndGet();
+            return statement;
+        }, session);
+        final PreparedStatement second = cache.getDynamicCache(buildKey(1), () -> {
+            renderCount.incrementAndGet();
+            return statement;
+        }, session);
+
+        //Then
+        assertThat(first).isSameAs(preparedStatement);
+        assertThat(second).isSameAs(preparedStatement);
+        assertThat(renderCount.get()).isEqualTo(1);
+        verify(session, times(1)).prepare(statement);
+    }
+
+    @Test
+    public void should_share_prepared_statement_between_keys_rendering_same_query() throws Exception {
+        //Given
+        final StatementsCache cache = new StatementsCache(10);
+        final RegularStatement statement = QueryBuilder.select().from("ks", "table");
+        when(session.prepare(statement)).thenReturn(preparedStatement);
+
+        //When
+        cache.getDynamicCache(buildKey(1), () -> statement, session);
+        cache.getDynamicCache(buildKey(2), () -> statement, session);
+        cache.getDynamicCache(statement.getQueryString(), session);
+
+        //Then
+        verify(session, times(1)).prepare(statement);
+    }
+
+    @Test
+    public void should_bound_structural_keys_by_lru_cache_size() throws Exception {
+        //Given
+        final StatementsCache cache = new StatementsCache(1);
+        final RegularStatement statement1 = QueryBuilder.select().from("ks", "table1");
+        final RegularStatement statement2 = QueryBuilder.select().from("ks", "table2");
+        when(session.prepare(statement1)).thenReturn(preparedStatement);
+        when(session.prepare(statement2)).thenReturn(preparedStatement);
+
+        //When
+        cache.getDynamicCache(buildKey(1), () -> statement1, session);
+        cache.getDynamicCache(buildKey(2), () -> statement2, session);
+        cache.getDynamicCache(buildKey(1), () -> statement1, session);
+
+        //Then
+        verify(session, times(2)).prepare(statement1);
+        verify(session, times(1)).prepare(statement2);
+    }
+
+    @Test
+    public void should_set_idempotence_of_statement_already_prepared_from_query_string() throws Exception {
+        //Given
+        final StatementsCache cache = new StatementsCache(10);
+        final RegularStatement statement = QueryBuilder.insertInto("ks", "table").value("id", QueryBuilder.bindMarker("id"));
+        when(session.prepare(statement.getQueryString())).thenReturn(preparedStatement);
+        cache.getDynamicCache(statement.getQueryString(), session);
+
+        //When
+        final PreparedStatement found = cache.getDynamicCache(buildKey(1), () -> statement, session);
+
+        //Then
+        assertThat(found).isSameAs(preparedStatement);
+        verify(preparedStatement).setIdempotent(true);
+        verify(session, never()).prepare(statement);
+    }
+
+    @Test
+    public void should_distinguish_keys_by_columns() throws Exception {
+        //Given
+        final BitSet columns = new BitSet();
+        columns.set(3);
+
+        //When
+        final DynamicStatementKey key1 = new DynamicStatementKey(String.class, OperationType.UPDATE, null, columns, 0);
+        final DynamicStatementKey key2 = new DynamicStatementKey(String.class, OperationType.UPDATE, null, new BitSet(), 0);
+
+        //Then
+        assertThat(key1).isNotEqualTo(key2);
+        assertThat(key1).isEqualTo(new DynamicStatementKey(String.class, OperationType.UPDATE, null, (BitSet) columns.clone(), 0));
+    }
+
+    @Test
+    public void should_share_in_flight_lazy_static_preparation_without_blocking() throws Exception {
+        //Given
+        final StatementsCache cache = new StatementsCache(10);
+        final CacheKey cacheKey = new CacheKey(String.class, CacheKey.Operation.FIND);
+        final AtomicInteger prepareCount = new AtomicInteger(0);
+        final CompletableFuture<PreparedStatement> pendingPreparation = new CompletableFuture<>();
+        cache.putLazyStaticCache(cacheKey, () -> {
+            prepareCount.incrementAndGet();
+            return pendingPreparation;
+        });
+
+        //When
+        final CompletableFuture<PreparedStatement> first = cache.getStaticCacheAsync(cacheKey);
+        final CompletableFuture<PreparedStatement> second = cache.getStaticCacheAsync(cacheKey);
+
+        //Then
+        assertThat(first.isDone()).isFalse();
+        assertThat(second).isSameAs(first);
+
+        pendingPreparation.complete(preparedStatement);
+        assertThat(first.get()).isSameAs(preparedStatement);
+        assertThat(cache.getStaticCache(cacheKey)).isSameAs(preparedStatement);
+        assertThat(prepareCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_prepare_lazy_static_statement_again_after_failure() throws Exception {
+        //Given
+        final StatementsCache cache = new StatementsCache(10);
+        final CacheKey cacheKey = new CacheKey(String.class, CacheKey.Operation.FIND);
+        final AtomicInteger prepareCount = new AtomicInteger(0);
+        cache.putLazyStaticCache(cacheKey, () -> {
+            final CompletableFuture<PreparedStatement> preparation = new CompletableFuture<>();
+            if (prepareCount.incrementAndGet() == 1) {
+                preparation.completeExceptionally(new RuntimeException("boom"));
+            } else {
+                preparation.complete(preparedStatement);
+            }
+            return preparation;
+        });
+
+        //When
+        final CompletableFuture<PreparedStatement> failed = cache.getStaticCacheAsync(cacheKey);
+
+        //Then
+        assertThat(failed.isCompletedExceptionally()).isTrue();
+        assertThat(cache.getStaticCache(cacheKey)).isSameAs(preparedStatement);
+        assertThat(prepareCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_find_lazy_static_statement_for_callers_racing_with_its_preparation() throws Exception {
+        //Given
+        final int threads = 4;
+        final CacheKey cacheKey = new CacheKey(String.class, CacheKey.Operation.FIND);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            for (int iteration = 0; iteration < 100; iteration++) {
+                final StatementsCache cache = new StatementsCache(10);
+                cache.putLazyStaticCache(cacheKey, () -> CompletableFuture.completedFuture(preparedStatement));
+                final CyclicBarrier barrier = new CyclicBarrier(threads);
+
+                //When
+                final List<Future<PreparedStatement>> futures = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    futures.add(executor.submit(() -> {
+                        barrier.await();
+                        PreparedStatement lastFound = null;
+                        for (int lookup = 0; lookup < 10; lookup++) {
+                            lastFound = cache.getStaticCache(cacheKey);
+                        }
+                        return lastFound;
+                    }));
+                }
+
+                //Then
+                for (Future<PreparedStatement> future : futures) {
+                    assertThat(future.get()).isSameAs(preparedStatement);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void should_prepare_tenant_static_statement_once_per_keyspace() throws Exception {
+        //Given
+        final StatementsCache cache = new StatementsCache(10);
+        final RegularStatement tenant1 = QueryBuilder.select().from("tenant1", "table");
+        final RegularStatement tenant2 = QueryBuilder.select().from("tenant2", "table");
+        final AtomicInteger renderCount = new AtomicInteger(0);
+        when(session.prepare(tenant1)).thenReturn(preparedStatement);
+        when(session.prepare(tenant2)).thenReturn(preparedStatement);
+
+        //When
+        for (int i = 0; i < 3; i++) {
+            cache.getTenantStaticCache(tenantKey("tenant1"), () -> {
+                renderCount.incrementAndGet();
+                return tenant1;
+            }, session);
+            cache.getTenantStaticCache(tenantKey("tenant2"), () -> {
+                renderCount.incrementAndGet();
+                return tenant2;
+            }, session);
+        }
+
+        //Then
+        assertThat(renderCount.get()).isEqualTo(2);
+        verify(session, times(1)).prepare(tenant1);
+        verify(session, times(1)).prepare(tenant2);
+    }
+
+    @Test
+    public void should_invalidate_tenant_static_statements_of_keyspace() throws Exception {
+        //Given
+        final StatementsCache cache = new StatementsCache(10);
+        final RegularStatement tenant1 = QueryBuilder.select().from("tenant1", "table");
+        final RegularStatement tenant2 = QueryBuilder.select().from("tenant2", "table");
+        when(session.prepare(tenant1)).thenReturn(preparedStatement);
+        when(session.prepare(tenant2)).thenReturn(preparedStatement);
+        cache.getTenantStaticCache(tenantKey("tenant1"), () -> tenant1, session);
+        cache.getTenantStaticCache(tenantKey("tenant2"), () -> tenant2, session);
+
+        //When
+        cache.invalidateTenantStaticCache("tenant1");
+        cache.getTenantStaticCache(tenantKey("tenant1"), () -> tenant1, session);
+        cache.getTenantStaticCache(tenantKey("tenant2"), () -> tenant2, session);
+
+        //Then
+        verify(session, times(2)).prepare(tenant1);
+        verify(session, times(1)).prepare(tenant2);
+    }
+
+    private TenantStatementKey tenantKey(String keyspace) {
+        return new TenantStatementKey(String.class, CacheKey.Operation.FIND, keyspace, "table");
+    }
+
+    private DynamicStatementKey buildKey(int flags) {
+        return new DynamicStatementKey(String.class, OperationType.UPDATE, null, new BitSet(), flags);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+public class JSONSmileCodecTest {
+
+    @Test
+    public void should_encode_and_decode_heap_buffer() throws Exception {
+        //Given
+        final JSONSmileCodec<Payload> codec = codec(new ObjectMapper());
+        final Payload payload = new Payload("name", Arrays.asList(1, 2, 3));
+
+        //When
+        final ByteBuffer encoded = codec.encode(payload);
+        final Payload decoded = codec.decode(encoded);
+
+        //Then
+        assertThat(encoded.hasArray()).isTrue();
+        assertThat(decoded.name).isEqualTo("name");
+        assertThat(decoded.values).containsExactly(1, 2, 3);
+        assertThat(encoded.position()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_decode_direct_buffer() throws Exception {
+        //Given
+        final JSONSmileCodec<Payload> codec = codec(new ObjectMapper());
+        final ByteBuffer encoded = codec.encode(new Payload("direct", Arrays.asList(4)));
+        final ByteBuffer direct = ByteBuffer.allocateDirect(encoded.remaining());
+        direct.put(encoded.duplicate());
+        direct.flip();
+
+        //When
+        final Payload decoded = codec.decode(direct);
+
+        //Then
+        assertThat(decoded.name).isEqualTo("direct");
+        assertThat(decoded.values).containsExactly(4);
+        assertThat(direct.position()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_decode_buffer_with_non_zero_position_and_array_offset() throws Exception {
+        //Given
+        final JSONSmileCodec<Payload> codec = codec(new ObjectMapper());
+        final ByteBuffer encoded = codec.encode(new Payload("sliced", Arrays.asList(5, 6)));
+        final int length = encoded.remaining();
+        final byte[] backingArray = new byte[length + 12];
+        encoded.duplicate().get(backingArray, 7, length);
+
+        // Slice starting at offset 4 of the array, the value starts at position 3 of the slice
+        final ByteBuffer buffer = ByteBuffer.wrap(backingArray, 4, length + 3).slice();
+        buffer.position(3);
+
+        //When
+        final Payload decoded = codec.decode(buffer);
+
+        //Then
+        assertThat(buffer.arrayOffset()).isEqualTo(4);
+        assertThat(decoded.name).isEqualTo("sliced");
+        assertThat(decoded.values).containsExactly(5, 6);
+        assertThat(buffer.position()).isEqualTo(3);
+    }
+
+    @Test
+    public void should_apply_object_mapper_module() throws Exception {
+        //Given
+        final SimpleModule module = new SimpleModule();
+        module.addSerializer(Money.class, new MoneySerializer());
+        module.addDeserializer(Money.class, new MoneyDeserializer());
+        final ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(module);
+        final JSONSmileCodec<Money> codec = new JSONSmileCodec<>(Money.class, TypeFactory.defaultInstance().constructType(Money.class));
+        codec.setObjectMapper(objectMapper);
+
+        //When
+        final ByteBuffer encoded = codec.encode(new Money(12, "EUR"));
+        final Money decoded = codec.decode(encoded);
+
+        //Then
+        final JsonNode raw = new ObjectMapper(new SmileFactory()).readTree(toBytes(encoded));
+        assertThat(raw.asText()).isEqualTo("12 EUR");
+        assertThat(decoded.amount).isEqualTo(12);
+        assertThat(decoded.currency).isEqualTo("EUR");
+    }
+
+    @Test
+    public void should_encode_and_decode_null() throws Exception {
+        //Given
+        final JSONSmileCodec<Payload> codec = codec(new ObjectMapper());
+
+        //Then
+        assertThat(codec.encode(null)).isNull();
+        assertThat(codec.decode(null)).isNull();
+    }
+
+    private static JSONSmileCodec<Payload> codec(ObjectMapper objectMapper) {
+        final JSONSmileCodec<Payload> codec = new JSONSmileCodec<>(Payload.class, TypeFactory.defaultInstance().constructType(Payload.class));
+        codec.setObjectMapper(objectMapper);
+        return codec;
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    public static class Payload {
+        public String name;
+        public List<Integer> values;
+
+        public Payload() {
+        }
+
+        public Payload(String name, List<Integer> values) {
+            this.name = name;
+            this.values = values;
+        }
+    }
+
+    public static class Money {
+        public final int amount;
+        public final String currency;
+
+        public Money(int amount, String currency) {
+            this.amount = amount;
+            this.currency = currency;
+        }
+    }
+
+    public static class MoneySerializer extends JsonSerializer<Money> {
+        @Override
+        public void serialize(Money value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeString(value.amount + " " + value.currency);
+        }
+    }
+
+    public static class MoneyDeserializer extends JsonDeserializer<Money> {
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            final String[] parts = parser.getText().split(" ");
+            return new Money(Integer.parseInt(parts[0]), parts[1]);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.TypeCodec;
+import com.datastax.driver.core.exceptions.InvalidTypeException;
+import com.google.common.reflect.TypeToken;
+
+import info.archinnov.achilles.type.tuples.Tuple2;
+
+public class PrimitiveMapArraysCodecTest {
+
+    @Test
+    public void should_decode_int_float_map_serialized_by_driver() throws Exception {
+        //Given
+        final Map<Integer, Float> sparseVector = new LinkedHashMap<>();
+        sparseVector.put(3, 0.25f);
+        sparseVector.put(17, 0.75f);
+        final ByteBuffer bytes = TypeCodec.map(TypeCodec.cint(), TypeCodec.cfloat()).serialize(sparseVector, ProtocolVersion.V4);
+
+        //When
+        final Tuple2<int[], float[]> decoded = PrimitiveMapArraysCodec.INT_FLOAT_MAP.deserialize(bytes, ProtocolVersion.V4);
+
+        //Then
+        assertThat(decoded._1()).containsExactly(3, 17);
+        assertThat(decoded._2()).containsExactly(0.25f, 0.75f);
+    }
+
+    @Test
+    public void should_encode_bigint_double_map_readable_by_driver() throws Exception {
+        //Given
+        final Tuple2<long[], double[]> keysAndValues = Tuple2.of(new long[]{10L, 20L}, new double[]{1.5d, 2.5d});
+
+        //When
+        final ByteBuffer bytes = PrimitiveMapArraysCodec.BIGINT_DOUBLE_MAP.serialize(keysAndValues, ProtocolVersion.V4);
+
+        //Then
+        final Map<Long, Double> decoded = TypeCodec.map(TypeCodec.bigint(), TypeCodec.cdouble()).deserialize(bytes, ProtocolVersion.V4);
+        assertThat(decoded).hasSize(2).containsEntry(10L, 1.5d).containsEntry(20L, 2.5d);
+    }
+
+    @Test
+    public void should_round_trip_int_int_map_with_protocol_v2() throws Exception {
+        //Given
+        final Tuple2<int[], int[]> keysAndValues = Tuple2.of(new int[]{1, 2, 3}, new int[]{-1, -2, -3});
+
+        //When
+        final Tuple2<int[], int[]> decoded = PrimitiveMapArraysCodec.INT_INT_MAP.deserialize(
+                PrimitiveMapArraysCodec.INT_INT_MAP.serialize(keysAndValues, ProtocolVersion.V2), ProtocolVersion.V2);
+
+        //Then
+        assertThat(decoded._1()).containsExactly(1, 2, 3);
+        assertThat(decoded._2()).containsExactly(-1, -2, -3);
+    }
+
+    @Test
+    public void should_fail_encoding_keys_and_values_of_different_lengths() throws Exception {
+        //Given
+        final Tuple2<int[], long[]> keysAndValues = Tuple2.of(new int[]{1, 2}, new long[]{1L});
+
+        //When
+        try {
+            PrimitiveMapArraysCodec.INT_BIGINT_MAP.serialize(keysAndValues, ProtocolVersion.V4);
+            failBecauseExceptionWasNotThrown(InvalidTypeException.class);
+        } catch (InvalidTypeException ex) {
+            //Then
+            assertThat(ex).hasMessage("Cannot encode 2 keys with 1 values");
+        }
+    }
+
+    @Test
+    public void should_format_and_parse_map_literal() throws Exception {
+        //When
+        final String literal = PrimitiveMapArraysCodec.INT_DOUBLE_MAP.format(Tuple2.of(new int[]{1, 2}, new double[]{0.5d, 1.5d}));
+        final Tuple2<int[], double[]> parsed = PrimitiveMapArraysCodec.INT_DOUBLE_MAP.parse("{1 : 0.5, 2 : 1.5}");
+
+        //Then
+        assertThat(literal).isEqualTo("{1:0.5,2:1.5}");
+        assertThat(parsed._1()).containsExactly(1, 2);
+        assertThat(parsed._2()).containsExactly(0.5d, 1.5d);
+    }
+
+    @Test
+    public void should_map_to_tuple_of_arrays_java_type() throws Exception {
+        //Then
+        assertThat(PrimitiveMapArraysCodec.INT_FLOAT_MAP.getJavaType()).isEqualTo(new TypeToken<Tuple2<int[], float[]>>() {});
+    }
+}
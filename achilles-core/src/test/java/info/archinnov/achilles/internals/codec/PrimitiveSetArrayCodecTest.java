@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.TypeCodec;
+import com.google.common.collect.Sets;
+
+public class PrimitiveSetArrayCodecTest {
+
+    @Test
+    public void should_decode_int_set_serialized_by_driver() throws Exception {
+        //Given
+        final ByteBuffer bytes = TypeCodec.set(TypeCodec.cint()).serialize(Sets.newHashSet(1, 2, 3), ProtocolVersion.V4);
+
+        //When
+        final int[] decoded = PrimitiveSetArrayCodec.INT_SET.deserialize(bytes, ProtocolVersion.V4);
+
+        //Then
+        assertThat(decoded).containsOnly(1, 2, 3);
+        assertThat(bytes.position()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_encode_double_set_readable_by_driver() throws Exception {
+        //Given
+        final double[] values = new double[]{1.5d, 2.5d, -3.0d};
+
+        //When
+        final ByteBuffer bytes = PrimitiveSetArrayCodec.DOUBLE_SET.serialize(values, ProtocolVersion.V4);
+
+        //Then
+        final Set<Double> decoded = TypeCodec.set(TypeCodec.cdouble()).deserialize(bytes, ProtocolVersion.V4);
+        assertThat(decoded).containsOnly(1.5d, 2.5d, -3.0d);
+    }
+
+    @Test
+    public void should_round_trip_bigint_and_float_sets_with_protocol_v2() throws Exception {
+        //Given
+        final long[] longs = new long[]{Long.MIN_VALUE, 0L, Long.MAX_VALUE};
+        final float[] floats = new float[]{0.5f, 1.5f};
+
+        //When
+        final long[] decodedLongs = PrimitiveSetArrayCodec.BIGINT_SET.deserialize(
+                PrimitiveSetArrayCodec.BIGINT_SET.serialize(longs, ProtocolVersion.V2), ProtocolVersion.V2);
+        final float[] decodedFloats = PrimitiveSetArrayCodec.FLOAT_SET.deserialize(
+                PrimitiveSetArrayCodec.FLOAT_SET.serialize(floats, ProtocolVersion.V2), ProtocolVersion.V2);
+
+        //Then
+        assertThat(decodedLongs).containsExactly(Long.MIN_VALUE, 0L, Long.MAX_VALUE);
+        assertThat(decodedFloats).containsExactly(0.5f, 1.5f);
+    }
+
+    @Test
+    public void should_decode_from_buffer_with_non_zero_position() throws Exception {
+        //Given
+        final ByteBuffer serialized = PrimitiveSetArrayCodec.INT_SET.serialize(new int[]{7, 8}, ProtocolVersion.V4);
+        final ByteBuffer bytes = ByteBuffer.allocate(serialized.remaining() + 3);
+        bytes.position(3);
+        bytes.put(serialized);
+        bytes.position(3);
+
+        //When
+        final int[] decoded = PrimitiveSetArrayCodec.INT_SET.deserialize(bytes, ProtocolVersion.V4);
+
+        //Then
+        assertThat(decoded).containsExactly(7, 8);
+        assertThat(bytes.position()).isEqualTo(3);
+    }
+
+    @Test
+    public void should_decode_empty_buffer_to_empty_array() throws Exception {
+        //When
+        final int[] decoded = PrimitiveSetArrayCodec.INT_SET.deserialize(ByteBuffer.allocate(0), ProtocolVersion.V4);
+
+        //Then
+        assertThat(decoded).isEmpty();
+        assertThat(PrimitiveSetArrayCodec.INT_SET.serialize(null, ProtocolVersion.V4)).isNull();
+    }
+
+    @Test
+    public void should_format_and_parse_set_literal() throws Exception {
+        //When
+        final String literal = PrimitiveSetArrayCodec.INT_SET.format(new int[]{1, 2, 3});
+
+        //Then
+        assertThat(literal).isEqualTo("{1,2,3}");
+        assertThat(PrimitiveSetArrayCodec.INT_SET.parse(" { 1, 2 ,3 } ")).containsExactly(1, 2, 3);
+        assertThat(PrimitiveSetArrayCodec.INT_SET.parse("{}")).isEmpty();
+        assertThat(PrimitiveSetArrayCodec.INT_SET.parse("NULL")).isNull();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.metamodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.*;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.DataType;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import com.google.common.reflect.TypeToken;
+
+import info.archinnov.achilles.internals.codec.EnumNameCodec;
+import info.archinnov.achilles.internals.codec.EnumOrdinalCodec;
+import info.archinnov.achilles.internals.codec.FallThroughCodec;
+import info.archinnov.achilles.internals.metamodel.columns.FieldInfo;
+
+public class CollectionPropertiesTest {
+
+    @Test
+    public void should_encode_and_decode_list_of_native_type() throws Exception {
+        //Given
+        final ListProperty<Object, String, String> property = new ListProperty<>(FieldInfo.<Object, List<String>> of("list", "list"),
+                false, false, String.class, textProperty());
+        final List<String> list = Arrays.asList("a", "b", "a");
+
+        //When
+        final List<String> encoded = property.encodeFromJava(list);
+        final List<String> decoded = property.decodeFromRaw(encoded);
+
+        //Then
+        assertThat(property.valueProperty.isPassThrough()).isTrue();
+        assertThat(encoded).containsExactly("a", "b", "a");
+        assertThat(encoded).isNotSameAs(list);
+        assertThat(decoded).containsExactly("a", "b", "a");
+        assertThat(decoded).isNotSameAs(encoded);
+    }
+
+    @Test
+    public void should_encode_and_decode_list_with_codec() throws Exception {
+        //Given
+        final ListProperty<Object, ConsistencyLevel, Integer> property = new ListProperty<>(FieldInfo.<Object, List<ConsistencyLevel>> of("list", "list"),
+                false, false, Integer.class, ordinalProperty());
+        final List<ConsistencyLevel> list = Arrays.asList(ConsistencyLevel.ONE, ConsistencyLevel.QUORUM);
+
+        //When
+        final List<Integer> encoded = property.encodeFromJava(list);
+        final List<ConsistencyLevel> decoded = property.decodeFromRaw(encoded);
+
+        //Then
+        assertThat(property.valueProperty.isPassThrough()).isFalse();
+        assertThat(encoded).containsExactly(ConsistencyLevel.ONE.ordinal(), ConsistencyLevel.QUORUM.ordinal());
+        assertThat(decoded).containsExactly(ConsistencyLevel.ONE, ConsistencyLevel.QUORUM);
+    }
+
+    @Test
+    public void should_encode_and_decode_set_of_native_type() throws Exception {
+        //Given
+        final SetProperty<Object, String, String> property = new SetProperty<>(FieldInfo.<Object, Set<String>> of("set", "set"),
+                false, false, String.class, textProperty());
+        final Set<String> set = Sets.newHashSet("a", "b");
+
+        //When
+        final Set<String> encoded = property.encodeFromJava(set);
+        final Set<String> decoded = property.decodeFromRaw(encoded);
+
+        //Then
+        assertThat(encoded).containsOnly("a", "b");
+        assertThat(encoded).isNotSameAs(set);
+        assertThat(decoded).containsOnly("a", "b");
+        assertThat(decoded).isNotSameAs(encoded);
+    }
+
+    @Test
+    public void should_encode_and_decode_set_with_codec() throws Exception {
+        //Given
+        final SetProperty<Object, ConsistencyLevel, Integer> property = new SetProperty<>(FieldInfo.<Object, Set<ConsistencyLevel>> of("set", "set"),
+                false, false, Integer.class, ordinalProperty());
+        final Set<ConsistencyLevel> set = Sets.newHashSet(ConsistencyLevel.ONE, ConsistencyLevel.QUORUM);
+
+        //When
+        final Set<Integer> encoded = property.encodeFromJava(set);
+        final Set<ConsistencyLevel> decoded = property.decodeFromRaw(encoded);
+
+        //Then
+        assertThat(encoded).containsOnly(ConsistencyLevel.ONE.ordinal(), ConsistencyLevel.QUORUM.ordinal());
+        assertThat(decoded).containsOnly(ConsistencyLevel.ONE, ConsistencyLevel.QUORUM);
+    }
+
+    @Test
+    public void should_encode_and_decode_map_of_native_types() throws Exception {
+        //Given
+        final MapProperty<Object, String, String, String, String> property = new MapProperty<>(FieldInfo.<Object, Map<String, String>> of("map", "map"),
+                false, false, textProperty(), textProperty());
+        final Map<String, String> map = ImmutableMap.of("key1", "value1", "key2", "value2");
+
+        //When
+        final Map<String, String> encoded = property.encodeFromJava(map);
+        final Map<String, String> decoded = property.decodeFromRaw(encoded);
+
+        //Then
+        assertThat(encoded).isEqualTo(map);
+        assertThat(encoded).isInstanceOf(HashMap.class);
+        assertThat(decoded).isEqualTo(map);
+        assertThat(decoded).isNotSameAs(encoded);
+    }
+
+    @Test
+    public void should_encode_and_decode_map_with_value_codec() throws Exception {
+        //Given
+        final MapProperty<Object, String, String, ConsistencyLevel, String> property = new MapProperty<>(FieldInfo.<Object, Map<String, ConsistencyLevel>> of("map", "map"),
+                false, false, textProperty(), nameProperty());
+        final Map<String, ConsistencyLevel> map = ImmutableMap.of("key1", ConsistencyLevel.ONE, "key2", ConsistencyLevel.ALL);
+
+        //When
+        final Map<String, String> encoded = property.encodeFromJava(map);
+        final Map<String, ConsistencyLevel> decoded = property.decodeFromRaw(encoded);
+
+        //Then
+        assertThat(encoded).isEqualTo(ImmutableMap.of("key1", "ONE", "key2", "ALL"));
+        assertThat(decoded).isEqualTo(map);
+    }
+
+    private static SimpleProperty<Object, String, String> textProperty() {
+        return new SimpleProperty<>(FieldInfo.<Object, String> of("value", "value", true), DataType.text(),
+                gettable -> null, (gettable, index) -> null, (settable, value) -> {},
+                new TypeToken<String>() {}, new TypeToken<String>() {}, new FallThroughCodec<>(String.class));
+    }
+
+    private static SimpleProperty<Object, ConsistencyLevel, Integer> ordinalProperty() {
+        return new SimpleProperty<>(FieldInfo.<Object, ConsistencyLevel> of("value", "value", true), DataType.cint(),
+                gettable -> null, (gettable, index) -> null, (settable, value) -> {},
+                new TypeToken<ConsistencyLevel>() {}, new TypeToken<Integer>() {},
+                new EnumOrdinalCodec<>(Arrays.asList(ConsistencyLevel.values()), ConsistencyLevel.class));
+    }
+
+    private static SimpleProperty<Object, ConsistencyLevel, String> nameProperty() {
+        return new SimpleProperty<>(FieldInfo.<Object, ConsistencyLevel> of("value", "value", true), DataType.text(),
+                gettable -> null, (gettable, index) -> null, (settable, value) -> {},
+                new TypeToken<ConsistencyLevel>() {}, new TypeToken<String>() {},
+                new EnumNameCodec<>(Arrays.asList(ConsistencyLevel.values()), ConsistencyLevel.class));
+    }
+}
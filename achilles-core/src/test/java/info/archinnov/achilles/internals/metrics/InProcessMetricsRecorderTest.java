@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.metrics;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+import info.archinnov.achilles.type.interceptor.Event;
+import info.archinnov.achilles.type.metrics.StatementCacheType;
+
+public class InProcessMetricsRecorderTest {
+
+    @Test
+    public void should_record_statement_metrics_per_entity_and_operation() throws Exception {
+        //Given
+        final InProcessMetricsRecorder recorder = new InProcessMetricsRecorder();
+
+        //When
+        recorder.recordStatement(String.class, "INSERT", 1_000L, true);
+        recorder.recordStatement(String.class, "INSERT", 3_000L, false);
+        recorder.recordBoundValues(String.class, "INSERT", 4, 120L);
+        recorder.recordLWTNotApplied(String.class, "INSERT");
+        recorder.recordStatement(null, "OTHER", 500L, true);
+
+        //Then
+        final OperationMetrics inserts = recorder.getOperationMetrics(String.class, "INSERT").get();
+        assertThat(inserts.getCount()).isEqualTo(2L);
+        assertThat(inserts.getErrors()).isEqualTo(1L);
+        assertThat(inserts.getMeanLatencyMicros()).isEqualTo(2d);
+        assertThat(inserts.getMaxLatencyMicros()).isEqualTo(3L);
+        assertThat(inserts.getBoundValues()).isEqualTo(4L);
+        assertThat(inserts.getBoundBytes()).isEqualTo(120L);
+        assertThat(inserts.getLWTNotApplied()).isEqualTo(1L);
+        assertThat(recorder.getOperationMetrics(String.class, "SELECT").isPresent()).isFalse();
+        assertThat(recorder.getOperationMetrics(null, "OTHER").get().getCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_record_entity_and_statement_cache_metrics() throws Exception {
+        //Given
+        final InProcessMetricsRecorder recorder = new InProcessMetricsRecorder();
+
+        //When
+        recorder.recordEncoding(String.class, 2_000L);
+        recorder.recordDecoding(String.class, 1_000L);
+        recorder.recordDecoding(String.class, 3_000L);
+        recorder.recordInterceptors(String.class, Event.PRE_INSERT, 4_000L);
+        recorder.recordInterceptors(String.class, Event.PRE_INSERT, 2_000L);
+        recorder.recordInterceptors(String.class, Event.POST_LOAD, 1_000L);
+        recorder.recordStatementCacheLookup(StatementCacheType.DYNAMIC, true);
+        recorder.recordStatementCacheLookup(StatementCacheType.DYNAMIC, true);
+        recorder.recordStatementCacheLookup(StatementCacheType.DYNAMIC, false);
+        recorder.recordStatementCacheEviction(StatementCacheType.DYNAMIC);
+
+        //Then
+        final EntityMetrics entityMetrics = recorder.getEntityMetrics(String.class).get();
+        assertThat(entityMetrics.getEncodings()).isEqualTo(1L);
+        assertThat(entityMetrics.getDecodedRows()).isEqualTo(2L);
+        assertThat(entityMetrics.getMeanDecodingMicros()).isEqualTo(2d);
+        assertThat(entityMetrics.getInterceptorsTimes(Event.PRE_INSERT).getCount()).isEqualTo(2L);
+        assertThat(entityMetrics.getInterceptorsTimes(Event.PRE_INSERT).getMean(MICROSECONDS)).isEqualTo(3d);
+        assertThat(entityMetrics.getInterceptorsTimes(Event.POST_LOAD).getCount()).isEqualTo(1L);
+        assertThat(entityMetrics.getInterceptorsTimes(Event.PRE_DELETE).getCount()).isEqualTo(0L);
+        assertThat(entityMetrics.getInterceptorsCalls().get("PRE_INSERT")).isEqualTo(2L);
+        assertThat(entityMetrics.getMeanInterceptorsMicros().get("POST_LOAD")).isEqualTo(1d);
+
+        final StatementCacheMetrics dynamicCache = recorder.getStatementCacheMetrics(StatementCacheType.DYNAMIC);
+        assertThat(dynamicCache.getHits()).isEqualTo(2L);
+        assertThat(dynamicCache.getMisses()).isEqualTo(1L);
+        assertThat(dynamicCache.getEvictions()).isEqualTo(1L);
+        assertThat(recorder.getStatementCacheMetrics(StatementCacheType.STATIC).getHitRatio()).isEqualTo(0d);
+    }
+
+    @Test
+    public void should_compute_percentiles_from_power_of_two_buckets() throws Exception {
+        //Given
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        //When
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        //Then
+        assertThat(histogram.getCount()).isEqualTo(100L);
+        assertThat(histogram.getMax(MICROSECONDS)).isEqualTo(100L);
+        assertThat(histogram.getPercentile(0.5, NANOSECONDS)).isBetween(50_000L, 2 * 50_000L);
+        assertThat(histogram.getPercentile(0.99, NANOSECONDS)).isEqualTo(100_000L);
+        assertThat(new LatencyHistogram().getPercentile(0.99, NANOSECONDS)).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_export_and_unregister_mxbeans() throws Exception {
+        //Given
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final String domain = "info.archinnov.achilles.test" + System.nanoTime();
+        final InProcessMetricsRecorder recorder = new InProcessMetricsRecorder(new JmxMetricsExporter(mBeanServer, domain));
+
+        //When
+        recorder.recordStatement(String.class, "SELECT", 1_000L, true);
+
+        //Then
+        final ObjectName operationName = new ObjectName(domain + ":type=Operation,entity=java.lang.String,operation=SELECT");
+        assertThat(mBeanServer.isRegistered(operationName)).isTrue();
+        assertThat(mBeanServer.getAttribute(operationName, "Count")).isEqualTo(1L);
+        assertThat(mBeanServer.isRegistered(new ObjectName(domain + ":type=StatementCache,cache=STATIC"))).isTrue();
+
+        recorder.close();
+        assertThat(mBeanServer.isRegistered(operationName)).isFalse();
+    }
+}
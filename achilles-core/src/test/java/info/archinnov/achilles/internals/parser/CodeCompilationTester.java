@@ -54,7 +54,7 @@ public class CodeCompilationTester extends AbstractEntityProperty<TestEntityWith
      * </ul>
      */
     @SuppressWarnings({"serial", "unchecked"})
-    public static final SimpleProperty<TestEntityWithCustomConstructor, Long, Long> id = new SimpleProperty<TestEntityWithCustomConstructor, Long, Long>(new FieldInfo<>((TestEntityWithCustomConstructor entity$) -> entity$.getId(), (TestEntityWithCustomConstructor entity$, Long value$) -> {}, "id", "id", ColumnType.PARTITION, new PartitionKeyInfo(1, false), IndexInfo.noIndex()), DataType.bigint(), gettableData$ -> gettableData$.get("id", long.class), (settableData$, value$) -> settableData$.set("id", value$, long.class), new TypeToken<Long>(){}, new TypeToken<Long>(){}, new FallThroughCodec<>(Long.class));
+    public static final SimpleProperty<TestEntityWithCustomConstructor, Long, Long> id = new SimpleProperty<TestEntityWithCustomConstructor, Long, Long>(new FieldInfo<>((TestEntityWithCustomConstructor entity$) -> entity$.getId(), (TestEntityWithCustomConstructor entity$, Long value$) -> {}, "id", "id", ColumnType.PARTITION, new PartitionKeyInfo(1, false), IndexInfo.noIndex()), DataType.bigint(), gettableData$ -> gettableData$.get("id", long.class), (gettableData$, index$) -> gettableData$.get(index$, long.class), (settableData$, value$) -> settableData$.set("id", value$, long.class), new TypeToken<Long>(){}, new TypeToken<Long>(){}, new FallThroughCodec<>(Long.class));
 
     /**
      * Meta class for 'date' property <br/>
@@ -65,7 +65,7 @@ public class CodeCompilationTester extends AbstractEntityProperty<TestEntityWith
      * </ul>
      */
     @SuppressWarnings({"serial", "unchecked"})
-    public static final SimpleProperty<TestEntityWithCustomConstructor, Date, Date> date = new SimpleProperty<TestEntityWithCustomConstructor, Date, Date>(new FieldInfo<>((TestEntityWithCustomConstructor entity$) -> entity$.getDate(), (TestEntityWithCustomConstructor entity$, Date value$) -> {}, "date", "date", ColumnType.CLUSTERING, new ClusteringColumnInfo(1, false, ClusteringOrder.ASC), IndexInfo.noIndex()), DataType.timestamp(), gettableData$ -> gettableData$.get("date", java.util.Date.class), (settableData$, value$) -> settableData$.set("date", value$, java.util.Date.class), new TypeToken<Date>(){}, new TypeToken<Date>(){}, new FallThroughCodec<>(Date.class));
+    public static final SimpleProperty<TestEntityWithCustomConstructor, Date, Date> date = new SimpleProperty<TestEntityWithCustomConstructor, Date, Date>(new FieldInfo<>((TestEntityWithCustomConstructor entity$) -> entity$.getDate(), (TestEntityWithCustomConstructor entity$, Date value$) -> {}, "date", "date", ColumnType.CLUSTERING, new ClusteringColumnInfo(1, false, ClusteringOrder.ASC), IndexInfo.noIndex()), DataType.timestamp(), gettableData$ -> gettableData$.get("date", java.util.Date.class), (gettableData$, index$) -> gettableData$.get(index$, java.util.Date.class), (settableData$, value$) -> settableData$.set("date", value$, java.util.Date.class), new TypeToken<Date>(){}, new TypeToken<Date>(){}, new FallThroughCodec<>(Date.class));
 
     /**
      * Meta class for 'value' property <br/>
@@ -76,7 +76,7 @@ public class CodeCompilationTester extends AbstractEntityProperty<TestEntityWith
      * </ul>
      */
     @SuppressWarnings({"serial", "unchecked"})
-    public static final SimpleProperty<TestEntityWithCustomConstructor, Double, Double> value = new SimpleProperty<TestEntityWithCustomConstructor, Double, Double>(new FieldInfo<>((TestEntityWithCustomConstructor entity$) -> entity$.getValue(), (TestEntityWithCustomConstructor entity$, Double value$) -> {}, "value", "value", ColumnType.NORMAL, new ColumnInfo(false), IndexInfo.noIndex()), DataType.cdouble(), gettableData$ -> gettableData$.get("value", java.lang.Double.class), (settableData$, value$) -> settableData$.set("value", value$, java.lang.Double.class), new TypeToken<Double>(){}, new TypeToken<Double>(){}, new FallThroughCodec<>(Double.class));
+    public static final SimpleProperty<TestEntityWithCustomConstructor, Double, Double> value = new SimpleProperty<TestEntityWithCustomConstructor, Double, Double>(new FieldInfo<>((TestEntityWithCustomConstructor entity$) -> entity$.getValue(), (TestEntityWithCustomConstructor entity$, Double value$) -> {}, "value", "value", ColumnType.NORMAL, new ColumnInfo(false), IndexInfo.noIndex()), DataType.cdouble(), gettableData$ -> gettableData$.get("value", java.lang.Double.class), (gettableData$, index$) -> gettableData$.get(index$, java.lang.Double.class), (settableData$, value$) -> settableData$.set("value", value$, java.lang.Double.class), new TypeToken<Double>(){}, new TypeToken<Double>(){}, new FallThroughCodec<>(Double.class));
 
     /**
      * Static class to expose "TestEntityWithCustomConstructor_AchillesMeta" fields for <strong>type-safe</strong> function calls */
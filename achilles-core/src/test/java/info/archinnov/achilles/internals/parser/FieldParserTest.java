@@ -22,6 +22,7 @@ import static info.archinnov.achilles.internals.strategy.field_filtering.FieldFi
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -190,6 +191,26 @@ public class FieldParserTest extends AbstractTestProcessor {
         launchTest();
     }
 
+    @Test
+    public void should_parse_smile_json_type() throws Exception {
+        setExec(aptUtils -> {
+            final FieldParser fieldParser = new FieldParser(aptUtils);
+            final String className = TestEntityForCodecs.class.getCanonicalName();
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(className);
+            final EntityParsingContext entityContext = new EntityParsingContext(typeElement, ClassName.get(TestEntityForCodecs.class), strategy, globalParsingContext);
+
+            // private @JSON(JSON.Format.SMILE) Date smileTime
+            VariableElement elm = findFieldInType(typeElement, "smileTime");
+
+            FieldMetaSignature parsingResult = fieldParser.parse(elm, entityContext);
+
+            assertThat(parsingResult.targetType.toString()).isEqualTo(ByteBuffer.class.getCanonicalName());
+            assertThat(parsingResult.buildPropertyAsField().toString().trim().replaceAll("\n", ""))
+                    .isEqualTo(readCodeLineFromFile("expected_code/field_parser/should_parse_smile_json_type.txt"));
+        });
+        launchTest();
+    }
+
     @Test
     public void should_parse_string_type() throws Exception {
         setExec(aptUtils -> {
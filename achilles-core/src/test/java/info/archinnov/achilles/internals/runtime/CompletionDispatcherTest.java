@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import info.archinnov.achilles.type.CompletionMode;
+
+public class CompletionDispatcherTest {
+
+    @Test
+    public void should_run_completion_on_calling_thread_in_direct_mode() throws Exception {
+        //Given
+        final CompletionDispatcher dispatcher = new CompletionDispatcher(CompletionMode.DIRECT, command -> {
+            throw new IllegalStateException("Should not be called");
+        });
+        final AtomicReference<Thread> completionThread = new AtomicReference<>();
+
+        //When
+        dispatcher.execute(() -> completionThread.set(Thread.currentThread()));
+
+        //Then
+        assertThat(completionThread.get()).isSameAs(Thread.currentThread());
+        assertThat(dispatcher.getDispatchedCount()).isEqualTo(1L);
+        assertThat(dispatcher.getRejectedCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_dispatch_completion_to_executor() throws Exception {
+        //Given
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CompletionDispatcher dispatcher = new CompletionDispatcher(CompletionMode.EXECUTOR_SERVICE, executor);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<Thread> completionThread = new AtomicReference<>();
+
+        //When
+        dispatcher.execute(() -> {
+            completionThread.set(Thread.currentThread());
+            latch.countDown();
+        });
+
+        //Then
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(completionThread.get()).isNotSameAs(Thread.currentThread());
+        assertThat(dispatcher.getDispatchedCount()).isEqualTo(1L);
+        executor.shutdown();
+    }
+
+    @Test
+    public void should_run_rejected_completion_on_calling_thread() throws Exception {
+        //Given
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+        final CountDownLatch blocker = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> {});
+        final CompletionDispatcher dispatcher = new CompletionDispatcher(CompletionMode.DEDICATED_EXECUTOR_SERVICE, executor);
+        final AtomicReference<Thread> completionThread = new AtomicReference<>();
+
+        //When
+        dispatcher.execute(() -> completionThread.set(Thread.currentThread()));
+
+        //Then
+        assertThat(completionThread.get()).isSameAs(Thread.currentThread());
+        assertThat(dispatcher.getRejectedCount()).isEqualTo(1L);
+        assertThat(dispatcher.getQueueDepth()).isEqualTo(1);
+        blocker.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void should_compute_mean_dispatch_latency_over_queued_completions_only() throws Exception {
+        //Given
+        final AtomicReference<Runnable> queued = new AtomicReference<>();
+        final CompletionDispatcher dispatcher = new CompletionDispatcher(CompletionMode.EXECUTOR_SERVICE, command -> {
+            if (!queued.compareAndSet(null, command)) {
+                throw new RejectedExecutionException();
+            }
+        });
+        dispatcher.execute(() -> {});
+        dispatcher.execute(() -> {});
+        final long meanBeforeRun = dispatcher.getMeanDispatchLatency(TimeUnit.MILLISECONDS);
+
+        //When
+        Thread.sleep(20);
+        queued.get().run();
+
+        //Then
+        assertThat(meanBeforeRun).isEqualTo(0L);
+        assertThat(dispatcher.getDispatchedCount()).isEqualTo(2L);
+        assertThat(dispatcher.getRejectedCount()).isEqualTo(1L);
+        assertThat(dispatcher.getMeanDispatchLatency(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(20L);
+    }
+}
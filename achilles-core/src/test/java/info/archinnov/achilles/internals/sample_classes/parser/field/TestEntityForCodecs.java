@@ -45,6 +45,8 @@ public class TestEntityForCodecs {
 
     private @JSON Date time;
 
+    private @JSON(JSON.Format.SMILE) Date smileTime;
+
     private String value;
 
     private boolean primitiveBoolean;
@@ -270,6 +272,14 @@ public class TestEntityForCodecs {
         this.time = time;
     }
 
+    public Date getSmileTime() {
+        return smileTime;
+    }
+
+    public void setSmileTime(Date smileTime) {
+        this.smileTime = smileTime;
+    }
+
     public String getValue() {
         return value;
     }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.statements;
+
+import static info.archinnov.achilles.internals.cache.CacheKey.Operation.FIND;
+import static info.archinnov.achilles.internals.cache.CacheKey.Operation.INSERT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.cache.CacheKey;
+import info.archinnov.achilles.internals.cache.StatementsCache;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StaticStatementsPreparerTest {
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Test
+    public void should_put_statements_into_cache_as_preparations_complete() throws Exception {
+        //Given
+        final StatementsCache cache = new StatementsCache(10);
+        final RegularStatement select = QueryBuilder.select().from("ks", "table");
+        final RegularStatement insert = QueryBuilder.insertInto("ks", "table").value("id", QueryBuilder.bindMarker("id"));
+        final SettableFuture<PreparedStatement> pendingInsert = SettableFuture.create();
+        when(session.prepareAsync(select)).thenReturn(Futures.immediateFuture(preparedStatement));
+        when(session.prepareAsync(insert)).thenReturn(pendingInsert);
+        final StaticStatementsPreparer preparer = new StaticStatementsPreparer(session, cache, 2);
+
+        //When
+        preparer.prepare(new CacheKey(String.class, FIND), select);
+        preparer.prepare(new CacheKey(String.class, INSERT), insert);
+
+        //Then
+        assertThat(cache.getStaticCache(new CacheKey(String.class, FIND))).isSameAs(preparedStatement);
+
+        pendingInsert.set(preparedStatement);
+        preparer.awaitCompletion();
+        assertThat(cache.getStaticCache(new CacheKey(String.class, INSERT))).isSameAs(preparedStatement);
+    }
+
+    @Test
+    public void should_put_dsl_template_into_dynamic_cache() throws Exception {
+        //Given
+        final StatementsCache cache = new StatementsCache(10);
+        final RegularStatement template = QueryBuilder.select().all().from("ks", "table").where(QueryBuilder.eq("id", QueryBuilder.bindMarker("id")));
+        when(session.prepareAsync(template)).thenReturn(Futures.immediateFuture(preparedStatement));
+        final StaticStatementsPreparer preparer = new StaticStatementsPreparer(session, cache, 1);
+
+        //When
+        preparer.prepareDynamic(template);
+        preparer.awaitCompletion();
+
+        //Then
+        assertThat(cache.getDynamicCache(template.getQueryString(), session)).isSameAs(preparedStatement);
+        verify(session, never()).prepare(template.getQueryString());
+    }
+
+    @Test
+    public void should_report_failed_preparation_on_completion() throws Exception {
+        //Given
+        final StatementsCache cache = new StatementsCache(10);
+        final RegularStatement select = QueryBuilder.select().from("ks", "table");
+        when(session.prepareAsync(select)).thenReturn(Futures.<PreparedStatement>immediateFailedFuture(new RuntimeException("boom")));
+        final StaticStatementsPreparer preparer = new StaticStatementsPreparer(session, cache, 1);
+        preparer.prepare(new CacheKey(String.class, FIND), select);
+
+        //When
+        try {
+            preparer.awaitCompletion();
+            failBecauseExceptionWasNotThrown(AchillesException.class);
+        } catch (AchillesException ex) {
+            //Then
+            assertThat(ex.getMessage()).startsWith("Cannot prepare statement for cache key");
+            assertThat(ex.getCause()).hasMessage("boom");
+        }
+    }
+}
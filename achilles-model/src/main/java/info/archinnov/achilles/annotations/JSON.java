@@ -34,6 +34,15 @@ import java.lang.annotation.*;
  * {@literal @}Column
  * private List&lt;<strong>{@literal @}JSON</strong> MyObject&gt; myPojos;
  * </code></pre>
+
+ * The object can also be serialized with the binary <strong>Smile</strong> format into a <strong>blob</strong> column:
+
+ * <pre class="code"><code class="java">
+
+ * {@literal @}Column
+ * <strong>{@literal @}JSON(Format.SMILE)</strong>
+ * private MyObject myPojo;
+ * </code></pre>
  *
  * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Entity-Mapping#field-mapping" target="_blank">Field Mapping</a>
  */
@@ -41,4 +50,25 @@ import java.lang.annotation.*;
 @Target({ElementType.FIELD, ElementType.TYPE_USE})
 @Documented
 public @interface JSON {
+
+    /**
+     * (<strong>Optional</strong>) The serialization format for this value. Default value is <strong>Format.TEXT</strong> e.g. the value
+     * is serialized to a JSON string and saved in a <strong>text</strong> column.
+     * <br/>
+     * <br/>
+     * Alternatively it is possible to serialize using <strong>Format.SMILE</strong>. In this case the value is saved
+     * in a <strong>blob</strong> column using the binary Smile format, which is more compact and cheaper to (de)serialize.
+     * Please note that switching the format of an existing column requires a schema and data migration
+
+     * <pre class="code"><code class="java">
+
+     * {@literal @}JSON(<strong>Format.SMILE</strong>)
+     * private MyObject myPojo;
+     * </code></pre>
+     */
+    Format value() default Format.TEXT;
+
+    enum Format {
+        TEXT, SMILE
+    }
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type;
+
+/**
+ * Define on which thread the continuations of asynchronous queries are run. Available values are :
+ * <ul>
+ * <li>{@code info.archinnov.achilles.type.CompletionMode.DIRECT}: run directly on the Java driver I/O thread.
+ * Avoid a thread hop but <strong>never block</strong> in the continuations, it would stall the driver</li>
+ * <li>{@code info.archinnov.achilles.type.CompletionMode.EXECUTOR_SERVICE}: run on the executor service used by
+ * <strong>Achilles</strong> for its internal asynchronous operations</li>
+ * <li>{@code info.archinnov.achilles.type.CompletionMode.DEDICATED_EXECUTOR_SERVICE}: run on a dedicated executor service,
+ * isolating heavy decoding from other internal asynchronous operations</li>
+ * </ul>
+ * <br/>
+ * Default value = {@code info.archinnov.achilles.type.CompletionMode.EXECUTOR_SERVICE}
+ */
+public enum CompletionMode {
+    DIRECT,
+    EXECUTOR_SERVICE,
+    DEDICATED_EXECUTOR_SERVICE
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.metrics;
+
+import info.archinnov.achilles.type.interceptor.Event;
+
+/**
+ * SPI to collect metrics about every operation executed by Achilles.
+ * <br/>
+ * <br/>
+ * All methods are no-op by default so that implementations only override the metrics they are interested in.
+ * The methods are invoked on the hot path, from the driver I/O threads or the application threads,
+ * so implementations <strong>must</strong> be thread-safe and <strong>should</strong> be non-blocking
+ * <br/>
+ * <br/>
+ * <pre class="code"><code class="java">
+ * ManagerFactory factory = ManagerFactoryBuilder
+ *     .builder(cluster)
+ *     ...
+ *     <strong>.withMetricsRecorder(new InProcessMetricsRecorder(new JmxMetricsExporter()))</strong>
+ *     .build();
+ * </code></pre>
+ */
+public interface MetricsRecorder {
+
+    /**
+     * Default recorder, discarding all metrics. Achilles skips all timing computation when this recorder is used
+     */
+    MetricsRecorder NO_OP = new MetricsRecorder() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    /**
+     * Whether this recorder collects metrics. When false, Achilles does not compute any timing at all
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Record the round-trip latency of a statement execution
+     *
+     * @param entityClass  entity class, or null for queries not bound to an entity
+     * @param operation    operation type (INSERT, UPDATE, DELETE, SELECT or OTHER)
+     * @param latencyNanos latency in nanoseconds, from the submission of the statement to the reception of the first result page
+     * @param success      false if the execution failed with an exception
+     */
+    default void recordStatement(Class<?> entityClass, String operation, long latencyNanos, boolean success) {
+    }
+
+    /**
+     * Record the values bound to a statement before its execution
+     *
+     * @param entityClass      entity class, or null for queries not bound to an entity
+     * @param operation        operation type (INSERT, UPDATE, DELETE, SELECT or OTHER)
+     * @param boundValuesCount number of bound values
+     * @param boundBytes       total size in bytes of the serialized bound values
+     */
+    default void recordBoundValues(Class<?> entityClass, String operation, int boundValuesCount, long boundBytes) {
+    }
+
+    /**
+     * Record a lightweight transaction which has not been applied
+     *
+     * @param entityClass entity class, or null for queries not bound to an entity
+     * @param operation   operation type (INSERT, UPDATE or DELETE)
+     */
+    default void recordLWTNotApplied(Class<?> entityClass, String operation) {
+    }
+
+    /**
+     * Record the time spent encoding the values of an entity instance into CQL values
+     *
+     * @param entityClass   entity class
+     * @param encodingNanos encoding time in nanoseconds
+     */
+    default void recordEncoding(Class<?> entityClass, long encodingNanos) {
+    }
+
+    /**
+     * Record the time spent decoding a row into an entity instance. Each call accounts for one row read
+     *
+     * @param entityClass   entity class
+     * @param decodingNanos decoding time in nanoseconds
+     */
+    default void recordDecoding(Class<?> entityClass, long decodingNanos) {
+    }
+
+    /**
+     * Record the time spent executing all the interceptors registered for an event
+     *
+     * @param entityClass       entity class
+     * @param event             interceptor event
+     * @param interceptorsNanos execution time in nanoseconds
+     */
+    default void recordInterceptors(Class<?> entityClass, Event event, long interceptorsNanos) {
+    }
+
+    /**
+     * Record a lookup in the prepared statements cache
+     *
+     * @param cacheType static or dynamic statements cache
+     * @param hit       true if the statement was found in the cache, false if it had to be prepared
+     */
+    default void recordStatementCacheLookup(StatementCacheType cacheType, boolean hit) {
+    }
+
+    /**
+     * Record the eviction of a prepared statement from the cache
+     *
+     * @param cacheType static or dynamic statements cache
+     */
+    default void recordStatementCacheEviction(StatementCacheType cacheType) {
+    }
+
+    /**
+     * Release all resources held by this recorder. Called when the ManagerFactory is shut down
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.metrics;
+
+/**
+ * Prepared statements cache types. Available values are :
+ * <ul>
+ * <li>{@code STATIC}: statements generated for each entity at bootstrap</li>
+ * <li>{@code DYNAMIC}: statements built at runtime by the DSL, typed and native queries</li>
+ * <li>{@code TENANT_STATIC}: statements generated for each entity and keyspace/table resolved by a {@code SchemaNameProvider}</li>
+ * </ul>
+ */
+public enum StatementCacheType {
+    STATIC, DYNAMIC, TENANT_STATIC;
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.entities;
+
+import java.util.List;
+import java.util.Map;
+
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.JSON;
+import info.archinnov.achilles.annotations.JSON.Format;
+import info.archinnov.achilles.annotations.PartitionKey;
+import info.archinnov.achilles.annotations.Table;
+
+@Table(table = EntityWithSmileJSON.TABLE)
+public class EntityWithSmileJSON {
+
+    public static final String TABLE = "table_with_smile_json";
+
+    @PartitionKey
+    private Long id;
+
+    @JSON(Format.SMILE)
+    @Column
+    private Map<String, List<Integer>> payload;
+
+    public EntityWithSmileJSON() {
+    }
+
+    public EntityWithSmileJSON(Long id, Map<String, List<Integer>> payload) {
+        this.id = id;
+        this.payload = payload;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Map<String, List<Integer>> getPayload() {
+        return payload;
+    }
+
+    public void setPayload(Map<String, List<Integer>> payload) {
+        this.payload = payload;
+    }
+}
@@ -19,39 +19,67 @@ package info.archinnov.achilles.it;
 import static com.datastax.driver.core.ConsistencyLevel.*;
 import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.junit.Rule;
 import org.junit.Test;
 
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.HostDistance;
+import com.datastax.driver.core.QueryOptions;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.TokenRange;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
 import com.datastax.driver.core.policies.DowngradingConsistencyRetryPolicy;
+import com.datastax.driver.core.policies.LoadBalancingPolicy;
+import com.datastax.driver.core.policies.RoundRobinPolicy;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.generated.ManagerFactory;
 import info.archinnov.achilles.generated.ManagerFactoryBuilder;
 import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.dsl.bulk.BulkWriteStats;
 import info.archinnov.achilles.internals.dsl.crud.DeleteByPartitionWithOptions;
 import info.archinnov.achilles.internals.dsl.crud.DeleteWithOptions;
 import info.archinnov.achilles.internals.dsl.crud.InsertWithOptions;
+import info.archinnov.achilles.internals.dsl.crud.UpdateWithOptions;
+import info.archinnov.achilles.internals.dsl.scan.TableScan;
 import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.internals.metrics.InProcessMetricsRecorder;
 import info.archinnov.achilles.it.utils.CassandraLogAsserter;
 import info.archinnov.achilles.junit.AchillesTestResource;
 import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
 import info.archinnov.achilles.script.ScriptExecutor;
+import info.archinnov.achilles.type.Empty;
 import info.archinnov.achilles.type.SchemaNameProvider;
 import info.archinnov.achilles.type.lightweighttransaction.LWTResultListener;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
@@ -103,6 +131,96 @@ public class TestCRUDSimpleEntity {
         assertThat(row.getMap("simplemap", Integer.class, String.class)).containsEntry(2, "two");
     }
 
+    @Test
+    public void should_decode_numeric_set_column_into_primitive_array() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+        final SimpleEntity entity = new SimpleEntity(id, date, "value");
+        entity.setSimpleSet(Sets.newHashSet(11d, 10d));
+        manager.crud().insert(entity).execute();
+
+        //When
+        final Row row = session.execute("SELECT simpleset FROM simple WHERE id = " + id).one();
+        final double[] simpleSet = row.get("simpleset", double[].class);
+
+        //Then
+        assertThat(simpleSet).containsExactly(10d, 11d);
+    }
+
+    @Test
+    public void should_insert_changes_made_after_reading_bound_values() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+        final SimpleEntity entity = new SimpleEntity(id, date, "value");
+        final InsertWithOptions<SimpleEntity> insert = manager.crud().insert(entity);
+        assertThat(insert.getBoundValues()).contains("value");
+
+        //When
+        entity.setValue("new_value");
+        insert.execute();
+
+        //Then
+        final Row row = session.execute("SELECT value FROM simple WHERE id = " + id).one();
+        assertThat(row.getString("value")).isEqualTo("new_value");
+        assertThat(insert.getBoundValues()).contains("new_value");
+    }
+
+    @Test
+    public void should_encode_entity_once_for_bound_values_and_execution() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+        final SimpleEntity entity = new SimpleEntity(id, date, "value");
+        final InProcessMetricsRecorder metricsRecorder = new InProcessMetricsRecorder();
+        final Host host = session.getCluster().getMetadata().getAllHosts().iterator().next();
+        final Cluster cluster = Cluster.builder()
+                .addContactPointsWithPorts(host.getSocketAddress())
+                .build();
+
+        try {
+            final SimpleEntity_Manager recordedManager = ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .withMetricsRecorder(metricsRecorder)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build()
+                    .forSimpleEntity();
+            final InsertWithOptions<SimpleEntity> insert = recordedManager.crud().insert(entity);
+
+            //When
+            assertThat(insert.getBoundValues()).contains("value");
+            assertThat(insert.getEncodedBoundValues()).contains("value");
+            insert.execute();
+
+            //Then
+            assertThat(metricsRecorder.getEntityMetrics(SimpleEntity.class).get().getEncodings()).isEqualTo(1L);
+            final Row row = session.execute("SELECT value FROM simple WHERE id = " + id).one();
+            assertThat(row.getString("value")).isEqualTo("value");
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void should_update_changes_made_after_reading_bound_values() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+        final SimpleEntity entity = new SimpleEntity(id, date, "value");
+        final UpdateWithOptions<SimpleEntity> update = manager.crud().update(entity);
+        assertThat(update.getEncodedBoundValues()).contains("value");
+
+        //When
+        entity.setValue("new_value");
+        update.execute();
+
+        //Then
+        final Row row = session.execute("SELECT value FROM simple WHERE id = " + id).one();
+        assertThat(row.getString("value")).isEqualTo("new_value");
+    }
+
     @Test
     public void should_insert_with_execution_info() throws Exception {
         //Given
@@ -698,9 +816,402 @@ public class TestCRUDSimpleEntity {
         assertThat(delete.generateAndGetBoundStatement().preparedStatement().getQueryString()).isEqualTo(expectedQuery);
     }
 
+    @Test
+    public void should_flush_unit_of_work_grouped_by_partition() throws Exception {
+        //Given
+        final long id1 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final long id2 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = buildDateKey();
+
+        //When
+        final List<ExecutionInfo> executionInfos = manager
+                .batch()
+                .add(manager.crud().insert(new SimpleEntity(id1, date, "value1")))
+                .add(manager.crud().insert(new SimpleEntity(id1, new Date(date.getTime() + 1000L), "value2")))
+                .add(manager.crud().insert(new SimpleEntity(id1, new Date(date.getTime() + 2000L), "value3")))
+                .add(manager.crud().insert(new SimpleEntity(id2, date, "value4")))
+                .flushWithStats();
+
+        //Then
+        assertThat(executionInfos).hasSize(2);
+        assertThat(session.execute("SELECT * FROM simple WHERE id = " + id1).all()).hasSize(3);
+        assertThat(session.execute("SELECT * FROM simple WHERE id = " + id2).all()).hasSize(1);
+    }
+
+    @Test
+    public void should_scan_all_token_ranges_with_checkpoints() throws Exception {
+        //Given
+        final Date date = buildDateKey();
+        for (int i = 0; i < 50; i++) {
+            manager.crud().insert(new SimpleEntity(RandomUtils.nextLong(0L, Long.MAX_VALUE), date, "value" + i)).execute();
+        }
+        final AtomicLong count = new AtomicLong(0);
+        final List<TokenRange> completedRanges = new CopyOnWriteArrayList<>();
+
+        //When
+        final TableScan<SimpleEntity> scan = manager
+                .scan()
+                .withParallelism(4)
+                .withSplits(16)
+                .withFetchSize(7)
+                .withCheckpointListener(completedRanges::add);
+        scan.forEach(entity -> count.incrementAndGet());
+
+        //Then
+        assertThat(count.get()).isEqualTo(50L);
+        assertThat(completedRanges).hasSameSizeAs(scan.getRanges());
+        assertThat(manager.scan().withSplits(16).skipRanges(completedRanges).getRanges()).isEmpty();
+        assertThat(manager.scan().withSplits(16).stream().count()).isEqualTo(50L);
+    }
+
+    @Test
+    public void should_stream_scan_on_calling_thread_with_checkpoints() throws Exception {
+        //Given
+        final Date date = buildDateKey();
+        for (int i = 0; i < 30; i++) {
+            manager.crud().insert(new SimpleEntity(RandomUtils.nextLong(0L, Long.MAX_VALUE), date, "value" + i)).execute();
+        }
+        final Thread callingThread = Thread.currentThread();
+        final List<TokenRange> completedRanges = new CopyOnWriteArrayList<>();
+        final AtomicBoolean otherThread = new AtomicBoolean(false);
+
+        //When
+        final TableScan<SimpleEntity> scan = manager
+                .scan()
+                .withParallelism(2)
+                .withSplits(8)
+                .withFetchSize(4)
+                .withCheckpointListener(range -> {
+                    otherThread.compareAndSet(false, Thread.currentThread() != callingThread);
+                    completedRanges.add(range);
+                });
+        final long count = scan.stream()
+                .peek(entity -> otherThread.compareAndSet(false, Thread.currentThread() != callingThread))
+                .count();
+
+        //Then
+        assertThat(count).isEqualTo(30L);
+        assertThat(otherThread.get()).isFalse();
+        assertThat(completedRanges).hasSameSizeAs(scan.getRanges());
+    }
+
+    @Test
+    public void should_reject_scan_fetch_size_not_strictly_positive() throws Exception {
+        //When
+        try {
+            manager.scan().withFetchSize(0);
+            failBecauseExceptionWasNotThrown(AchillesException.class);
+        } catch (AchillesException ex) {
+            //Then
+            assertThat(ex).hasMessage("The scan fetch size '0' should be strictly positive");
+        }
+    }
+
+    @Test
+    public void should_fail_scan_when_checkpoint_listener_throws() throws Exception {
+        //Given
+        final Date date = buildDateKey();
+        for (int i = 0; i < 10; i++) {
+            manager.crud().insert(new SimpleEntity(RandomUtils.nextLong(0L, Long.MAX_VALUE), date, "value" + i)).execute();
+        }
+
+        //When
+        final CompletableFuture<Empty> scanned = manager
+                .scan()
+                .withParallelism(2)
+                .withSplits(4)
+                .withCheckpointListener(range -> {
+                    throw new IllegalStateException("checkpoint store unavailable");
+                })
+                .forEachAsync(entity -> {});
+
+        //Then
+        try {
+            scanned.get(30, TimeUnit.SECONDS);
+            failBecauseExceptionWasNotThrown(ExecutionException.class);
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isInstanceOf(IllegalStateException.class).hasMessage("checkpoint store unavailable");
+        }
+    }
+
+    @Test
+    public void should_bulk_insert_then_delete_with_bounded_in_flight_requests() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = buildDateKey();
+        final List<SimpleEntity> entities = IntStream.range(0, 100)
+                .mapToObj(i -> new SimpleEntity(id, new Date(date.getTime() + i * 1000L), "value" + i))
+                .collect(Collectors.toList());
+
+        //When
+        final BulkWriteStats<SimpleEntity> insertStats = manager
+                .crud()
+                .insertAll(entities.stream())
+                .withMaxInFlight(8)
+                .withRetries(1)
+                .withMutationOptions(insert -> insert.withConsistencyLevel(ConsistencyLevel.ONE))
+                .execute();
+
+        final BulkWriteStats<SimpleEntity> deleteStats = manager
+                .crud()
+                .deleteAll(entities.subList(0, 60))
+                .groupByPartition(50)
+                .withMaxStatementsPerBatch(20)
+                .execute();
+
+        //Then
+        assertThat(insertStats.getSucceeded()).isEqualTo(100L);
+        assertThat(insertStats.hasFailures()).isFalse();
+        assertThat(deleteStats.getSucceeded()).isEqualTo(60L);
+        assertThat(session.execute("SELECT * FROM simple WHERE id = " + id).all()).hasSize(40);
+    }
+
+    @Test
+    public void should_collect_bulk_insert_failures() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = buildDateKey();
+        final SimpleEntity invalid = new SimpleEntity(id, null, "invalid");
+
+        //When
+        final BulkWriteStats<SimpleEntity> stats = manager
+                .crud()
+                .insertAll(Arrays.asList(new SimpleEntity(id, date, "valid"), invalid))
+                .execute();
+
+        //Then
+        assertThat(stats.getSucceeded()).isEqualTo(1L);
+        assertThat(stats.getFailures()).hasSize(1);
+        assertThat(stats.getFailures().get(0)._1()).isSameAs(invalid);
+        assertThat(stats.getFailures().get(0)._2()).isInstanceOf(AchillesException.class);
+    }
+
+    @Test
+    public void should_not_retry_bulk_insert_failing_before_execution() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final SimpleEntity invalid = new SimpleEntity(id, null, "invalid");
+
+        //When
+        final BulkWriteStats<SimpleEntity> stats = manager
+                .crud()
+                .insertAll(Arrays.asList(invalid))
+                .withRetries(2)
+                .withRetryBackoff(10, TimeUnit.MILLISECONDS)
+                .execute();
+
+        //Then
+        assertThat(stats.getRetries()).isEqualTo(0L);
+        assertThat(stats.getFailures()).hasSize(1);
+        assertThat(stats.getFailures().get(0)._2()).isInstanceOf(AchillesException.class);
+    }
+
+    @Test
+    public void should_report_failed_batches_of_grouped_bulk_insert() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = buildDateKey();
+        final List<SimpleEntity> entities = IntStream.range(0, 5)
+                .mapToObj(i -> new SimpleEntity(id, new Date(date.getTime() + i * 1000L), "value" + i))
+                .collect(Collectors.toList());
+
+        //When
+        final BulkWriteStats<SimpleEntity> stats = manager
+                .crud()
+                .insertAll(entities)
+                .withMutationOptions(insert -> insert.usingTimeToLive(Integer.MAX_VALUE))
+                .groupByPartition(10)
+                .withRetries(1)
+                .withRetryBackoff(10, TimeUnit.MILLISECONDS)
+                .execute();
+
+        //Then
+        assertThat(stats.getSucceeded()).isEqualTo(0L);
+        assertThat(stats.getFailedBatches()).isEqualTo(1L);
+        assertThat(stats.getFailures()).hasSize(5);
+        assertThat(stats.getFailures().get(0)._2()).isInstanceOf(InvalidQueryException.class);
+        assertThat(session.execute("SELECT * FROM simple WHERE id = " + id).all()).isEmpty();
+    }
+
+    @Test
+    public void should_retry_bulk_insert_and_update_failing_on_execution() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = buildDateKey();
+        final SimpleEntity entity = new SimpleEntity(id, date, "value");
+        final FailingLoadBalancingPolicy policy = new FailingLoadBalancingPolicy();
+        final Host host = session.getCluster().getMetadata().getAllHosts().iterator().next();
+        final Cluster cluster = Cluster.builder()
+                .addContactPointsWithPorts(host.getSocketAddress())
+                .withLoadBalancingPolicy(policy)
+                .build();
+
+        try {
+            final SimpleEntity_Manager failingManager = ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build()
+                    .forSimpleEntity();
+
+            //When
+            policy.failNextBoundStatements(1);
+            final BulkWriteStats<SimpleEntity> insertStats = failingManager
+                    .crud()
+                    .insertAll(Arrays.asList(entity))
+                    .withRetries(2)
+                    .withRetryBackoff(10, TimeUnit.MILLISECONDS)
+                    .execute();
+
+            entity.setValue("new_value");
+            policy.failNextBoundStatements(1);
+            final BulkWriteStats<SimpleEntity> updateStats = failingManager
+                    .crud()
+                    .updateAll(Arrays.asList(entity))
+                    .withRetries(2)
+                    .withRetryBackoff(10, TimeUnit.MILLISECONDS)
+                    .execute();
+
+            //Then
+            assertThat(insertStats.getSucceeded()).isEqualTo(1L);
+            assertThat(insertStats.getRetries()).isEqualTo(1L);
+            assertThat(insertStats.hasFailures()).isFalse();
+            assertThat(updateStats.getSucceeded()).isEqualTo(1L);
+            assertThat(updateStats.getRetries()).isEqualTo(1L);
+            assertThat(updateStats.hasFailures()).isFalse();
+            final Row row = session.execute("SELECT value FROM simple WHERE id = " + id).one();
+            assertThat(row.getString("value")).isEqualTo("new_value");
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void should_find_by_ids_grouped_by_partition() throws Exception {
+        //Given
+        final long id1 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final long id2 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date1 = buildDateKey();
+        final Date date2 = new Date(date1.getTime() + 1000L);
+        final Date date3 = new Date(date1.getTime() + 2000L);
+        manager.crud().insert(new SimpleEntity(id1, date1, "value1")).execute();
+        manager.crud().insert(new SimpleEntity(id1, date2, "value2")).execute();
+        manager.crud().insert(new SimpleEntity(id1, date3, "value3")).execute();
+        manager.crud().insert(new SimpleEntity(id2, date1, "value4")).execute();
+
+        final List<Tuple2<Long, Date>> keys = Arrays.asList(Tuple2.of(id2, date1), Tuple2.of(id1, date3),
+                Tuple2.of(id1, date1), Tuple2.of(id2, date2), Tuple2.of(id1, date2));
+
+        //When
+        final Map<Tuple2<Long, Date>, SimpleEntity> found = manager
+                .crud()
+                .findByIds(keys)
+                .withConcurrency(1)
+                .getMap();
+        final List<SimpleEntity> list = manager.crud().findByIds(keys).getList();
+
+        //Then
+        assertThat(found).hasSize(4);
+        assertThat(found.get(Tuple2.of(id1, date3)).getValue()).isEqualTo("value3");
+        assertThat(found.get(Tuple2.of(id2, date1)).getValue()).isEqualTo("value4");
+        assertThat(found.containsKey(Tuple2.of(id2, date2))).isFalse();
+        assertThat(list.stream().map(SimpleEntity::getValue).collect(Collectors.toList()))
+                .containsExactly("value4", "value3", "value1", "value2");
+    }
+
+    @Test
+    public void should_find_by_ids_of_partition_larger_than_default_fetch_size() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = buildDateKey();
+        final List<Tuple2<Long, Date>> keys = IntStream.range(0, 5)
+                .mapToObj(i -> Tuple2.of(id, new Date(date.getTime() + i * 1000L)))
+                .collect(Collectors.toList());
+        keys.forEach(key -> manager.crud().insert(new SimpleEntity(key._1(), key._2(), "value")).execute());
+
+        final Host host = session.getCluster().getMetadata().getAllHosts().iterator().next();
+        final Cluster cluster = Cluster.builder()
+                .addContactPointsWithPorts(host.getSocketAddress())
+                .withQueryOptions(new QueryOptions().setFetchSize(2))
+                .build();
+
+        try {
+            final SimpleEntity_Manager smallPagesManager = ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build()
+                    .forSimpleEntity();
+
+            //When
+            final List<SimpleEntity> found = smallPagesManager.crud().findByIds(keys).getList();
+
+            //Then
+            assertThat(found).hasSize(5);
+        } finally {
+            cluster.close();
+        }
+    }
+
     private Date buildDateKey() throws ParseException {
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss z");
         dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
         return dateFormat.parse("2015-10-01 00:00:00 GMT");
     }
+
+    /**
+     * Return an empty query plan, hence a NoHostAvailableException, for the next bound statements
+     */
+    private static class FailingLoadBalancingPolicy implements LoadBalancingPolicy {
+
+        private final LoadBalancingPolicy delegate = new RoundRobinPolicy();
+        private final AtomicInteger remainingFailures = new AtomicInteger(0);
+
+        void failNextBoundStatements(int count) {
+            remainingFailures.set(count);
+        }
+
+        @Override
+        public void init(Cluster cluster, Collection<Host> hosts) {
+            delegate.init(cluster, hosts);
+        }
+
+        @Override
+        public HostDistance distance(Host host) {
+            return delegate.distance(host);
+        }
+
+        @Override
+        public Iterator<Host> newQueryPlan(String loggedKeyspace, Statement statement) {
+            if (statement instanceof BoundStatement && remainingFailures.getAndUpdate(x -> Math.max(x - 1, 0)) > 0) {
+                return Collections.emptyIterator();
+            }
+            return delegate.newQueryPlan(loggedKeyspace, statement);
+        }
+
+        @Override
+        public void onAdd(Host host) {
+            delegate.onAdd(host);
+        }
+
+        @Override
+        public void onUp(Host host) {
+            delegate.onUp(host);
+        }
+
+        @Override
+        public void onDown(Host host) {
+            delegate.onDown(host);
+        }
+
+        @Override
+        public void onRemove(Host host) {
+            delegate.onRemove(host);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
 }
@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithCounterColumn_Manager;
+import info.archinnov.achilles.internals.dsl.counter.CounterCoalescer;
+import info.archinnov.achilles.internals.entities.EntityWithCounterColumn;
+import info.archinnov.achilles.internals.metrics.InProcessMetricsRecorder;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+public class TestCounterCoalescer {
+
+    private static final int MAX_PENDING_KEYS = 3;
+
+    private final InProcessMetricsRecorder metricsRecorder = new InProcessMetricsRecorder();
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithCounterColumn.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithCounterColumn.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withMetricsRecorder(metricsRecorder)
+                    .withCounterCoalescing(EntityWithCounterColumn.class, MAX_PENDING_KEYS, 1, TimeUnit.HOURS)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+    private CounterCoalescer<EntityWithCounterColumn> coalescer = resource
+            .getManagerFactory()
+            .forEntityWithCounterColumn()
+            .counterCoalescer();
+
+    @Test
+    public void should_sum_concurrent_increments_of_same_key_into_one_write() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final int threads = 8;
+        final int incrementsPerThread = 100;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CyclicBarrier barrier = new CyclicBarrier(threads);
+
+        //When
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    for (int j = 0; j < incrementsPerThread; j++) {
+                        coalescer.increment(new EntityWithCounterColumn(id, 1L));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(coalescer.pendingKeys()).isEqualTo(1);
+        coalescer.flush().get();
+
+        //Then
+        assertThat(readCount(id)).isEqualTo((long) threads * incrementsPerThread);
+        assertThat(coalescer.pendingKeys()).isEqualTo(0);
+        assertThat(metricsRecorder.getOperationMetrics(EntityWithCounterColumn.class, "UPDATE").get().getCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_flush_when_max_pending_keys_is_reached() throws Exception {
+        //Given
+        final long id1 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final long id2 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final long id3 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+
+        //When
+        coalescer.increment(new EntityWithCounterColumn(id1, 1L));
+        coalescer.increment(new EntityWithCounterColumn(id2, 2L));
+        final int pendingBeforeMax = coalescer.pendingKeys();
+        final Long countBeforeMax = readCount(id1);
+        coalescer.increment(new EntityWithCounterColumn(id3, 3L));
+
+        //Then
+        assertThat(pendingBeforeMax).isEqualTo(MAX_PENDING_KEYS - 1);
+        assertThat(countBeforeMax).isNull();
+        assertThat(coalescer.pendingKeys()).isEqualTo(0);
+        assertThat(waitForCount(id1, 1L)).isEqualTo(1L);
+        assertThat(waitForCount(id2, 2L)).isEqualTo(2L);
+        assertThat(waitForCount(id3, 3L)).isEqualTo(3L);
+    }
+
+    @Test
+    public void should_flush_periodically() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final ManagerFactory managerFactory = buildManagerFactory(100, TimeUnit.MILLISECONDS);
+
+        try {
+            final CounterCoalescer<EntityWithCounterColumn> periodicCoalescer = managerFactory
+                    .forEntityWithCounterColumn()
+                    .counterCoalescer();
+
+            //When
+            periodicCoalescer.increment(new EntityWithCounterColumn(id, 5L));
+
+            //Then
+            assertThat(waitForCount(id, 5L)).isEqualTo(5L);
+            assertThat(periodicCoalescer.pendingKeys()).isEqualTo(0);
+        } finally {
+            managerFactory.shutDown();
+        }
+    }
+
+    @Test
+    public void should_decrement_on_negative_delta_and_ignore_null_delta() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final long nullOnlyId = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+
+        //When
+        coalescer.increment(new EntityWithCounterColumn(id, 10L));
+        coalescer.increment(new EntityWithCounterColumn(id, -3L));
+        coalescer.increment(new EntityWithCounterColumn(id, null));
+        coalescer.increment(new EntityWithCounterColumn(nullOnlyId, null));
+        final int pendingKeys = coalescer.pendingKeys();
+        coalescer.flush().get();
+
+        //Then
+        assertThat(pendingKeys).isEqualTo(1);
+        assertThat(readCount(id)).isEqualTo(7L);
+        assertThat(readCount(nullOnlyId)).isNull();
+    }
+
+    @Test
+    public void should_write_pending_increments_on_shut_down() throws Exception {
+        //Given
+        final long id1 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final long id2 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final ManagerFactory managerFactory = buildManagerFactory(1, TimeUnit.HOURS);
+        final CounterCoalescer<EntityWithCounterColumn> shutDownCoalescer = managerFactory
+                .forEntityWithCounterColumn()
+                .counterCoalescer();
+        shutDownCoalescer.increment(new EntityWithCounterColumn(id1, 4L));
+        shutDownCoalescer.increment(new EntityWithCounterColumn(id2, -6L));
+
+        //When
+        managerFactory.shutDown();
+
+        //Then
+        assertThat(readCount(id1)).isEqualTo(4L);
+        assertThat(readCount(id2)).isEqualTo(-6L);
+        try {
+            shutDownCoalescer.increment(new EntityWithCounterColumn(id1, 1L));
+            failBecauseExceptionWasNotThrown(AchillesException.class);
+        } catch (AchillesException ex) {
+            assertThat(ex).hasMessage("The counter coalescer of entity '"
+                    + EntityWithCounterColumn.class.getCanonicalName() + "' has been shut down");
+        }
+    }
+
+    @Test
+    public void should_invalidate_entity_cache_on_coalesced_write() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final ManagerFactory managerFactory = ManagerFactoryBuilder
+                .builder(session.getCluster())
+                .withManagedEntityClasses(EntityWithCounterColumn.class)
+                .withCounterCoalescing(EntityWithCounterColumn.class, 1_000, 1, TimeUnit.HOURS)
+                .withEntityCache(EntityWithCounterColumn.class, 100L, 5, TimeUnit.MINUTES)
+                .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .build();
+
+        try {
+            final EntityWithCounterColumn_Manager cachedManager = managerFactory.forEntityWithCounterColumn();
+            final CounterCoalescer<EntityWithCounterColumn> cachedCoalescer = cachedManager.counterCoalescer();
+            cachedCoalescer.increment(new EntityWithCounterColumn(id, 5L));
+            cachedCoalescer.flush().get();
+            final Long cachedCount = cachedManager.crud().findById(id).get().getCount();
+
+            //When
+            cachedCoalescer.increment(new EntityWithCounterColumn(id, 3L));
+            cachedCoalescer.flush().get();
+
+            //Then
+            assertThat(cachedCount).isEqualTo(5L);
+            assertThat(cachedManager.crud().findById(id).get().getCount()).isEqualTo(8L);
+        } finally {
+            managerFactory.shutDown();
+        }
+    }
+
+    @Test
+    public void should_reject_counter_coalescer_after_shut_down() throws Exception {
+        //Given
+        final ManagerFactory managerFactory = buildManagerFactory(1, TimeUnit.HOURS);
+        final EntityWithCounterColumn_Manager shutDownManager = managerFactory.forEntityWithCounterColumn();
+
+        //When
+        managerFactory.shutDown();
+
+        //Then
+        try {
+            shutDownManager.counterCoalescer();
+            failBecauseExceptionWasNotThrown(AchillesException.class);
+        } catch (AchillesException ex) {
+            assertThat(ex).hasMessage("Cannot get the counter coalescer of entity '"
+                    + EntityWithCounterColumn.class.getCanonicalName() + "', the manager factory has been shut down");
+        }
+    }
+
+    private ManagerFactory buildManagerFactory(long flushInterval, TimeUnit timeUnit) {
+        return ManagerFactoryBuilder
+                .builder(session.getCluster())
+                .withManagedEntityClasses(EntityWithCounterColumn.class)
+                .withCounterCoalescing(EntityWithCounterColumn.class, 1_000, flushInterval, timeUnit)
+                .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .build();
+    }
+
+    private Long readCount(long id) {
+        final Row row = session.execute("SELECT count FROM entity_counter WHERE id = " + id).one();
+        return row == null ? null : row.getLong("count");
+    }
+
+    private Long waitForCount(long id, long expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        Long count = readCount(id);
+        while ((count == null || count != expected) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            count = readCount(id);
+        }
+        return count;
+    }
+}
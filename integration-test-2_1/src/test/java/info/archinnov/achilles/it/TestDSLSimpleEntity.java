@@ -25,12 +25,17 @@ import static org.assertj.core.api.Assertions.entry;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.junit.Rule;
 import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.ExecutionInfo;
@@ -474,6 +479,163 @@ public class TestDSLSimpleEntity {
         assertThat(iterator.hasNext()).isFalse();
     }
 
+    @Test
+    public void should_dsl_select_with_stream_over_all_pages() throws Exception {
+        //Given
+        final Map<String, Object> values = new HashMap<>();
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        values.put("id", id);
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss z");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+
+        final Date date1 = dateFormat.parse("2015-10-01 00:00:00 GMT");
+        final Date date9 = dateFormat.parse("2015-10-09 00:00:00 GMT");
+
+        values.put("date1", "'2015-10-01 00:00:00+0000'");
+        values.put("date2", "'2015-10-02 00:00:00+0000'");
+        values.put("date3", "'2015-10-03 00:00:00+0000'");
+        values.put("date4", "'2015-10-04 00:00:00+0000'");
+        values.put("date5", "'2015-10-05 00:00:00+0000'");
+        values.put("date6", "'2015-10-06 00:00:00+0000'");
+        values.put("date7", "'2015-10-07 00:00:00+0000'");
+        values.put("date8", "'2015-10-08 00:00:00+0000'");
+        values.put("date9", "'2015-10-09 00:00:00+0000'");
+        scriptExecutor.executeScriptTemplate("SimpleEntity/insert_many_rows.cql", values);
+
+        //When
+        final List<Date> dates = manager
+                .dsl()
+                .select()
+                .allColumns_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .date().Gt_And_Lte(date1, date9)
+                .orderByDateDescending()
+                .withFetchSize(3)
+                .stream(2)
+                .map(SimpleEntity::getDate)
+                .collect(Collectors.toList());
+
+        //Then
+        assertThat(dates).hasSize(8);
+        assertThat(dates.get(0)).isEqualTo(date9);
+        assertThat(dates.get(7)).isEqualTo(dateFormat.parse("2015-10-02 00:00:00 GMT"));
+    }
+
+    @Test
+    public void should_dsl_select_for_each_async_over_all_pages() throws Exception {
+        //Given
+        final Map<String, Object> values = new HashMap<>();
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        values.put("id", id);
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss z");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+
+        final Date date1 = dateFormat.parse("2015-10-01 00:00:00 GMT");
+        final Date date9 = dateFormat.parse("2015-10-09 00:00:00 GMT");
+
+        values.put("date1", "'2015-10-01 00:00:00+0000'");
+        values.put("date2", "'2015-10-02 00:00:00+0000'");
+        values.put("date3", "'2015-10-03 00:00:00+0000'");
+        values.put("date4", "'2015-10-04 00:00:00+0000'");
+        values.put("date5", "'2015-10-05 00:00:00+0000'");
+        values.put("date6", "'2015-10-06 00:00:00+0000'");
+        values.put("date7", "'2015-10-07 00:00:00+0000'");
+        values.put("date8", "'2015-10-08 00:00:00+0000'");
+        values.put("date9", "'2015-10-09 00:00:00+0000'");
+        scriptExecutor.executeScriptTemplate("SimpleEntity/insert_many_rows.cql", values);
+
+        final List<Date> dates = new ArrayList<>();
+
+        //When
+        final List<ExecutionInfo> executionInfos = manager
+                .dsl()
+                .select()
+                .allColumns_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .date().Gt_And_Lte(date1, date9)
+                .orderByDateDescending()
+                .withFetchSize(3)
+                .forEachAsync(entity -> dates.add(entity.getDate()))
+                .get();
+
+        //Then
+        assertThat(dates).hasSize(8);
+        assertThat(dates.get(0)).isEqualTo(date9);
+        assertThat(executionInfos).hasSize(3);
+    }
+
+    @Test
+    public void should_dsl_select_with_publisher_honoring_demand() throws Exception {
+        //Given
+        final Map<String, Object> values = new HashMap<>();
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        values.put("id", id);
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss z");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+
+        final Date date1 = dateFormat.parse("2015-10-01 00:00:00 GMT");
+        final Date date9 = dateFormat.parse("2015-10-09 00:00:00 GMT");
+
+        values.put("date1", "'2015-10-01 00:00:00+0000'");
+        values.put("date2", "'2015-10-02 00:00:00+0000'");
+        values.put("date3", "'2015-10-03 00:00:00+0000'");
+        values.put("date4", "'2015-10-04 00:00:00+0000'");
+        values.put("date5", "'2015-10-05 00:00:00+0000'");
+        values.put("date6", "'2015-10-06 00:00:00+0000'");
+        values.put("date7", "'2015-10-07 00:00:00+0000'");
+        values.put("date8", "'2015-10-08 00:00:00+0000'");
+        values.put("date9", "'2015-10-09 00:00:00+0000'");
+        scriptExecutor.executeScriptTemplate("SimpleEntity/insert_many_rows.cql", values);
+
+        final List<Date> dates = new ArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        //When
+        manager
+                .dsl()
+                .select()
+                .allColumns_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .date().Gt_And_Lte(date1, date9)
+                .orderByDateDescending()
+                .withFetchSize(3)
+                .publisher()
+                .subscribe(new Subscriber<SimpleEntity>() {
+                    private Subscription subscription;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        this.subscription = subscription;
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onNext(SimpleEntity entity) {
+                        dates.add(entity.getDate());
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        completed.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed.countDown();
+                    }
+                });
+
+        //Then
+        assertThat(completed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(dates).hasSize(8);
+        assertThat(dates.get(0)).isEqualTo(date9);
+        assertThat(dates.get(7)).isEqualTo(dateFormat.parse("2015-10-02 00:00:00 GMT"));
+    }
+
     @Test
     public void should_dsl_delete() throws Exception {
         //Given
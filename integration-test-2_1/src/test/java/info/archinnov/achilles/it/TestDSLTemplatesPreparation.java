@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.cache.StatementsCache;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.internals.metrics.InProcessMetricsRecorder;
+import info.archinnov.achilles.internals.metrics.StatementCacheMetrics;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.script.ScriptExecutor;
+import info.archinnov.achilles.type.metrics.StatementCacheType;
+
+public class TestDSLTemplatesPreparation {
+
+    private final InProcessMetricsRecorder metricsRecorder = new InProcessMetricsRecorder();
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .withScript("create_keyspace.cql")
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(new StatementsCache(100))
+                    .withMetricsRecorder(metricsRecorder)
+                    .prepareDSLTemplates(true)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private ScriptExecutor scriptExecutor = resource.getScriptExecutor();
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    @Test
+    public void should_hit_pre_prepared_templates_for_dsl_select_and_delete_by_primary_key() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss z");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+        final Date date = dateFormat.parse("2015-10-01 00:00:00 GMT");
+        scriptExecutor.executeScriptTemplate("SimpleEntity/insert_single_row.cql", ImmutableMap.of("id", id, "table", "simple"));
+
+        //When
+        final SimpleEntity found = manager
+                .dsl()
+                .select()
+                .allColumns_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .date().Eq(date)
+                .getOne();
+
+        manager
+                .dsl()
+                .select()
+                .allColumns_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .getList();
+
+        manager
+                .dsl()
+                .delete()
+                .allColumns_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .date().Eq(date)
+                .execute();
+
+        //Then
+        assertThat(found).isNotNull();
+        final StatementCacheMetrics dynamicCacheMetrics = metricsRecorder.getStatementCacheMetrics(StatementCacheType.DYNAMIC);
+        assertThat(dynamicCacheMetrics.getMisses()).isEqualTo(0L);
+        assertThat(dynamicCacheMetrics.getHits()).isEqualTo(3L);
+    }
+}
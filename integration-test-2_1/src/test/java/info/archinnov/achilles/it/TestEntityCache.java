@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Session;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+public class TestEntityCache {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withEntityCache(SimpleEntity.class, 100L, 5, TimeUnit.MINUTES)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    @Test
+    public void should_serve_cached_row_until_invalidated() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date(0L);
+        manager.crud().insert(new SimpleEntity(id, date, "initial")).execute();
+        manager.crud().findById(id, date).get();
+
+        //When
+        session.execute("UPDATE simple SET value = ? WHERE id = ? AND date = ?", "external", id, date);
+        final SimpleEntity cached = manager.crud().findById(id, date).get();
+        manager.crud().update(new SimpleEntity(id, date, "updated")).execute();
+        final SimpleEntity reloaded = manager.crud().findById(id, date).get();
+
+        //Then
+        assertThat(cached.getValue()).isEqualTo("initial");
+        assertThat(reloaded.getValue()).isEqualTo("updated");
+    }
+
+    @Test
+    public void should_bypass_cache_when_consistency_level_is_set() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date(0L);
+        manager.crud().insert(new SimpleEntity(id, date, "initial")).execute();
+        manager.crud().findById(id, date).get();
+
+        //When
+        session.execute("UPDATE simple SET value = ? WHERE id = ? AND date = ?", "external", id, date);
+        final SimpleEntity withConsistency = manager
+                .crud()
+                .findById(id, date)
+                .withConsistencyLevel(ConsistencyLevel.ONE)
+                .get();
+        final SimpleEntity withSerialConsistency = manager
+                .crud()
+                .findById(id, date)
+                .withSerialConsistencyLevel(ConsistencyLevel.LOCAL_SERIAL)
+                .get();
+        final SimpleEntity cached = manager.crud().findById(id, date).get();
+
+        //Then
+        assertThat(withConsistency.getValue()).isEqualTo("external");
+        assertThat(withSerialConsistency.getValue()).isEqualTo("external");
+        assertThat(cached.getValue()).isEqualTo("initial");
+    }
+}
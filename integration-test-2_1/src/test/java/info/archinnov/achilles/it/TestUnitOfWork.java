@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithCounterColumn_Manager;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithCounterColumn;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+public class TestUnitOfWork {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class, EntityWithCounterColumn.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class, EntityWithCounterColumn.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+    private SimpleEntity_Manager simpleManager = resource.getManagerFactory().forSimpleEntity();
+    private EntityWithCounterColumn_Manager counterManager = resource.getManagerFactory().forEntityWithCounterColumn();
+
+    @Test
+    public void should_not_batch_together_counter_and_regular_mutations_of_same_partition_key() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+
+        //When
+        final List<ExecutionInfo> executionInfos = simpleManager
+                .batch()
+                .add(simpleManager.crud().insert(new SimpleEntity(id, date, "value1")))
+                .add(counterManager.dsl().update().fromBaseTable().count().Incr(5L).where().id().Eq(id))
+                .add(simpleManager.crud().insert(new SimpleEntity(id, new Date(date.getTime() + 1000L), "value2")))
+                .add(counterManager.dsl().update().fromBaseTable().count().Incr(3L).where().id().Eq(id))
+                .flushWithStats();
+
+        //Then
+        assertThat(executionInfos).hasSize(2);
+        assertThat(session.execute("SELECT * FROM simple WHERE id = " + id).all()).hasSize(2);
+        final Row counter = session.execute("SELECT count FROM entity_counter WHERE id = " + id).one();
+        assertThat(counter.getLong("count")).isEqualTo(8L);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it.bugs;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Test;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.embedded.CassandraEmbeddedServerBuilder;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithSmileJSON_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithSmileJSON;
+
+public class TestEntityWithSmileJSONIT {
+
+    @Test
+    public void should_insert_and_find_smile_json_column() throws Exception {
+        //Given
+        final Cluster cluster = CassandraEmbeddedServerBuilder
+                .builder()
+                .buildNativeCluster();
+
+        final Long id = RandomUtils.nextLong(0, Long.MAX_VALUE);
+        final Map<String, List<Integer>> payload = new HashMap<>();
+        payload.put("features", Arrays.asList(1, 2, 3));
+
+        final ManagerFactory managerFactory = ManagerFactoryBuilder
+                .builder(cluster)
+                .withManagedEntityClasses(EntityWithSmileJSON.class)
+                .doForceSchemaCreation(true)
+                .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .build();
+
+        final EntityWithSmileJSON_Manager manager = managerFactory
+                .forEntityWithSmileJSON();
+
+        //When
+        manager.crud().insert(new EntityWithSmileJSON(id, payload)).execute();
+
+        //Then
+        final EntityWithSmileJSON found = manager.crud().findById(id).get();
+        assertThat(found.getPayload()).isEqualTo(payload);
+
+        final Row one = manager.getNativeSession().execute("SELECT payload FROM " + EntityWithSmileJSON.TABLE +
+                " WHERE id = " + id).one();
+        assertThat(one.getColumnDefinitions().getType("payload")).isEqualTo(DataType.blob());
+        assertThat(one.getBytes("payload").remaining()).isGreaterThan(0);
+    }
+}
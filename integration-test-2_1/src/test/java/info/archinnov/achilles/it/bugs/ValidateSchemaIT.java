@@ -28,6 +28,7 @@ import info.archinnov.achilles.generated.ManagerFactoryBuilder;
 import info.archinnov.achilles.internals.entities.EntityWithMissingClustering;
 import info.archinnov.achilles.internals.entities.EntityWithMissingPartitionKey;
 import info.archinnov.achilles.internals.entities.EntityWithMissingStaticCol;
+import info.archinnov.achilles.internals.entities.EntityWithSmileJSON;
 
 public class ValidateSchemaIT {
 
@@ -95,4 +96,25 @@ public class ValidateSchemaIT {
                 .withManagedEntityClasses(EntityWithMissingStaticCol.class)
                 .build();
     }
+
+    @Test
+    public void should_fail_validating_schema_when_smile_json_column_is_text() throws Exception {
+        //Given
+        final Cluster cluster = CassandraEmbeddedServerBuilder.builder()
+                .withScript("EntityWithSmileJSON/schema_with_text_column.cql")
+                .buildNativeCluster();
+
+        //When
+        exception.expect(AchillesBeanMappingException.class);
+        exception.expectMessage("Column 'payload' of entity 'class " +
+                "info.archinnov.achilles.internals.entities.EntityWithSmileJSON' " +
+                "is mapped with @JSON(Format.SMILE) and should be of type 'blob' but live schema type is 'text'");
+
+        //Then
+        ManagerFactoryBuilder
+                .builder(cluster)
+                .withManagedEntityClasses(EntityWithSmileJSON.class)
+                .withDefaultKeyspaceName("smile_as_text")
+                .build();
+    }
 }